@@ -0,0 +1,165 @@
+#!/usr/bin/env bash
+#
+# measure-startup.sh - Startup time and memory of the backend per packaging
+#
+# Usage (from backend/, after the matching build):
+#   scripts/measure-startup.sh jar    [app args...]   mvn package -DskipTests
+#   scripts/measure-startup.sh cds    [app args...]   mvn -Pcds package -DskipTests
+#   scripts/measure-startup.sh native [app args...]   mvn -Pnative native:compile -DskipTests
+#
+# App args go to the application, e.g.
+#   --spring.datasource.url=jdbc:postgresql://localhost:5432/school_management_db --jwt.secret=...
+#
+# Each run starts the app, polls /actuator/health until it answers (any
+# status - a health indicator may be DOWN without an SMTP server) and
+# reports:
+#   ready_ms  - launch until the first HTTP response
+#   started_s - Spring's own "Started ... in X seconds"
+#   rss_mb    - resident memory once ready (VmRSS)
+# then stops it. Prints every run and the median of RUNS runs.
+#
+# cds extracts the jar into WORK_DIR, records an AppCDS archive in one
+# training run (stops once the context is refreshed) and starts from it;
+# with a -Pcds build it also runs the Spring AOT initializers.
+#
+# Environment: RUNS (5), PORT (18090), JAVA_OPTS, WORK_DIR (target/startup),
+#              TIMEOUT_S (120)
+
+set -euo pipefail
+
+MODE=${1:-}
+if [[ -z "$MODE" ]]; then
+    sed -n '3,8p' "$0" | sed 's/^# \{0,1\}//'
+    exit 2
+fi
+shift
+APP_ARGS=("$@")
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-18090}
+JAVA_OPTS=${JAVA_OPTS:-}
+WORK_DIR=${WORK_DIR:-target/startup}
+TIMEOUT_S=${TIMEOUT_S:-120}
+MAIN_CLASS=com.schoolsystem.SchoolManagementApplication
+
+cd "$(dirname "$0")/.."
+mkdir -p "$WORK_DIR"
+
+boot_jar() {
+    local jar
+    jar=$(ls target/school-management-system-*.jar 2>/dev/null | grep -v -- '-plain\.jar$' | head -n 1 || true)
+    if [[ -z "$jar" ]]; then
+        echo "No jar in target/ - run mvn package -DskipTests (or -Pcds) first" >&2
+        exit 1
+    fi
+    echo "$jar"
+}
+
+# Unpacks the fat jar into app.jar + lib/ - AppCDS only archives classes
+# loaded from plain jars on the class path, not from nested jars or directories
+prepare_cds() {
+    local jar dir
+    jar=$(boot_jar)
+    dir="$WORK_DIR/cds"
+    if [[ ! -f "$dir/app.jar" || "$jar" -nt "$dir/app.jar" ]]; then
+        echo "Extracting $jar into $dir"
+        rm -rf "$dir"
+        mkdir -p "$dir/unpacked"
+        (cd "$dir/unpacked" && jar -xf "$OLDPWD/$jar")
+        mv "$dir/unpacked/BOOT-INF/lib" "$dir/lib"
+        (cd "$dir/unpacked/BOOT-INF/classes" && jar -cf "$OLDPWD/$dir/app.jar" .)
+        rm -rf "$dir/unpacked" "$dir/app.jsa"
+    fi
+    CDS_CLASSPATH="app.jar:$(cd "$dir" && ls lib/*.jar | sort | paste -sd: -)"
+    CDS_FLAGS=()
+    if unzip -l "$dir/app.jar" | grep -q '__ApplicationContextInitializer.class'; then
+        CDS_FLAGS+=(-Dspring.aot.enabled=true)
+    fi
+    if [[ ! -f "$dir/app.jsa" ]]; then
+        echo "Training run to record $dir/app.jsa"
+        (cd "$dir" && java $JAVA_OPTS -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh \
+            "${CDS_FLAGS[@]}" -cp "$CDS_CLASSPATH" "$MAIN_CLASS" --server.port="$PORT" "${APP_ARGS[@]}" \
+            > "$OLDPWD/$WORK_DIR/cds-training.log" 2>&1) || true
+        if [[ ! -f "$dir/app.jsa" ]]; then
+            echo "Training run did not write an archive, see $WORK_DIR/cds-training.log" >&2
+            exit 1
+        fi
+    fi
+}
+
+launch() {
+    local log=$1
+    case "$MODE" in
+        jar)
+            java $JAVA_OPTS -jar "$(boot_jar)" --server.port="$PORT" "${APP_ARGS[@]}" > "$log" 2>&1 &
+            ;;
+        cds)
+            (cd "$WORK_DIR/cds" && exec java $JAVA_OPTS -XX:SharedArchiveFile=app.jsa "${CDS_FLAGS[@]}" \
+                -cp "$CDS_CLASSPATH" "$MAIN_CLASS" --server.port="$PORT" "${APP_ARGS[@]}") > "$log" 2>&1 &
+            ;;
+        native)
+            target/school-management-system --server.port="$PORT" "${APP_ARGS[@]}" > "$log" 2>&1 &
+            ;;
+    esac
+    APP_PID=$!
+}
+
+stop() {
+    kill "$APP_PID" 2>/dev/null || true
+    wait "$APP_PID" 2>/dev/null || true
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print "-"; else if (NR % 2) print v[(NR + 1) / 2]; else print (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+case "$MODE" in
+    jar) boot_jar > /dev/null ;;
+    cds) prepare_cds ;;
+    native)
+        if [[ ! -x target/school-management-system ]]; then
+            echo "No native executable - run mvn -Pnative native:compile -DskipTests (needs GraalVM)" >&2
+            exit 1
+        fi
+        ;;
+    *) echo "Unknown mode '$MODE' (jar, cds or native)" >&2; exit 2 ;;
+esac
+
+trap stop EXIT
+RESULTS="$WORK_DIR/$MODE.tsv"
+printf 'run\tready_ms\tstarted_s\trss_mb\n' > "$RESULTS"
+
+for run in $(seq 1 "$RUNS"); do
+    log="$WORK_DIR/$MODE-$run.log"
+    start=$(now_ms)
+    launch "$log"
+    ready=""
+    while (( $(now_ms) - start < TIMEOUT_S * 1000 )); do
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            break
+        fi
+        if [[ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health")" != 000 ]]; then
+            ready=$(( $(now_ms) - start ))
+            break
+        fi
+        sleep 0.05
+    done
+    if [[ -z "$ready" ]]; then
+        echo "Run $run did not answer within ${TIMEOUT_S}s, see $log" >&2
+        exit 1
+    fi
+    rss_kb=$(awk '/^VmRSS:/ { print $2 }' "/proc/$APP_PID/status" 2>/dev/null || echo 0)
+    started=$(grep -o 'Started [A-Za-z]* in [0-9.]* seconds' "$log" | awk '{ print $4 }' | head -n 1)
+    stop
+    printf '%s\t%s\t%s\t%s\n' "$run" "$ready" "${started:--}" "$(( rss_kb / 1024 ))" | tee -a "$RESULTS"
+done
+
+printf '%s median: ready %s ms, started %s s, RSS %s MB (%s runs, %s)\n' "$MODE" \
+    "$(tail -n +2 "$RESULTS" | cut -f2 | median)" \
+    "$(tail -n +2 "$RESULTS" | cut -f3 | grep -v -- - | median)" \
+    "$(tail -n +2 "$RESULTS" | cut -f4 | median)" \
+    "$RUNS" "$RESULTS"
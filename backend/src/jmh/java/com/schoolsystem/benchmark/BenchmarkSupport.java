@@ -0,0 +1,56 @@
+package com.schoolsystem.benchmark;
+
+import com.schoolsystem.entity.User;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.enums.JwtSigningAlgorithm;
+import com.schoolsystem.security.JwtKeyRing;
+import com.schoolsystem.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * BenchmarkSupport - Builds application components without a Spring context
+ *
+ * Field injection means the @Value / @Autowired fields are set by
+ * reflection, the same way the container would.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Provider signing with the given algorithm; key pairs are generated
+     * in memory (no jwt.key-ring.path)
+     */
+    static JwtTokenProvider jwtTokenProvider(JwtSigningAlgorithm algorithm) {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+
+        JwtKeyRing keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "jwtSecret", Base64.getEncoder().encodeToString(secret));
+        ReflectionTestUtils.setField(keyRing, "signingAlgorithm", algorithm);
+        ReflectionTestUtils.setField(keyRing, "acceptHmacTokens", true);
+        ReflectionTestUtils.setField(keyRing, "rotationHours", 24L);
+        ReflectionTestUtils.setField(keyRing, "refreshExpirationMs", 604_800_000L);
+        ReflectionTestUtils.setField(keyRing, "keyRingPath", "");
+        keyRing.init();
+
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 86_400_000L);
+        ReflectionTestUtils.setField(provider, "jwtRefreshExpirationMs", 604_800_000L);
+        ReflectionTestUtils.setField(provider, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "keyRing", keyRing);
+        provider.init();
+        return provider;
+    }
+
+    static User user(long id, String username, UserRole role) {
+        User user = new User(username, username + "@school.test", "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm", role);
+        user.setId(id);
+        return user;
+    }
+}
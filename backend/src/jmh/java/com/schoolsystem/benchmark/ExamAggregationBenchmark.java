@@ -0,0 +1,221 @@
+package com.schoolsystem.benchmark;
+
+import com.schoolsystem.service.ExamScoreAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExamAggregationBenchmark - ExamScoreAggregator vs SQL GROUP BY
+ *
+ * Default: 2,000 students x 12 subjects x 4 exams (96,000 grades), 5% of
+ * grades missing. Three variants:
+ * 1. sqlGroupByWindow       - the database does everything (GROUP BY + window functions)
+ * 2. engineLoadAndAggregate - two flat SELECTs, fill the arrays, aggregate
+ * 3. engineAggregateOnly    - arrays already filled (the pure compute cost)
+ *
+ * Runs against in-memory H2 by default. For numbers that mean something
+ * for production, use PostgreSQL:
+ *   -Djmh.args="ExamAggregation -jvmArgs -Dbench.jdbc.url=jdbc:postgresql://localhost/bench
+ *               -jvmArgs -Dbench.jdbc.user=postgres -jvmArgs -Dbench.jdbc.password=..."
+ * Only bench_exams / bench_grades tables are created there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExamAggregationBenchmark {
+
+    private static final String SQL_AGGREGATE =
+        "WITH scores AS ( " +
+        "    SELECT g.student_id, e.subject_id, " +
+        "           SUM(g.marks_obtained / e.max_marks * e.weightage) * 100 / SUM(e.weightage) AS score " +
+        "    FROM bench_grades g JOIN bench_exams e ON e.id = g.exam_id " +
+        "    GROUP BY g.student_id, e.subject_id " +
+        ") " +
+        "SELECT student_id, subject_id, score, " +
+        "       AVG(score) OVER (PARTITION BY subject_id) AS mean_score, " +
+        "       STDDEV_POP(score) OVER (PARTITION BY subject_id) AS std_dev, " +
+        "       PERCENT_RANK() OVER (PARTITION BY subject_id ORDER BY score) AS pct, " +
+        "       RANK() OVER (PARTITION BY subject_id ORDER BY score DESC) AS rnk " +
+        "FROM scores";
+
+    @Param({"2000"})
+    public int students;
+
+    @Param({"12"})
+    public int subjects;
+
+    @Param({"4"})
+    public int examsPerSubject;
+
+    private Connection connection;
+
+    private long[] studentIds;
+    private long[] examIds;
+    private long[] examSubjectIds;
+    private double[] maxMarks;
+    private double[] weightage;
+
+    private ExamScoreAggregator filled;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+            System.getProperty("bench.jdbc.url", "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1"),
+            System.getProperty("bench.jdbc.user", "sa"),
+            System.getProperty("bench.jdbc.password", ""));
+
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_grades");
+            st.execute("DROP TABLE IF EXISTS bench_exams");
+            st.execute("CREATE TABLE bench_exams (id BIGINT PRIMARY KEY, subject_id BIGINT NOT NULL, " +
+                       "max_marks DECIMAL(5, 2) NOT NULL, weightage DECIMAL(5, 2) NOT NULL)");
+            st.execute("CREATE TABLE bench_grades (student_id BIGINT NOT NULL, exam_id BIGINT NOT NULL, " +
+                       "marks_obtained DECIMAL(5, 2) NOT NULL, PRIMARY KEY (student_id, exam_id))");
+        }
+
+        Random random = new Random(42);
+        int exams = subjects * examsPerSubject;
+        studentIds = new long[students];
+        for (int s = 0; s < students; s++) {
+            studentIds[s] = s + 1;
+        }
+        examIds = new long[exams];
+        examSubjectIds = new long[exams];
+        maxMarks = new double[exams];
+        weightage = new double[exams];
+
+        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO bench_exams VALUES (?, ?, ?, ?)")) {
+            for (int e = 0; e < exams; e++) {
+                examIds[e] = e + 1;
+                examSubjectIds[e] = e / examsPerSubject + 1;
+                maxMarks[e] = e % examsPerSubject == examsPerSubject - 1 ? 100 : 30;
+                weightage[e] = e % examsPerSubject == examsPerSubject - 1 ? 60 : 40.0 / (examsPerSubject - 1);
+                ps.setLong(1, examIds[e]);
+                ps.setLong(2, examSubjectIds[e]);
+                ps.setBigDecimal(3, BigDecimal.valueOf(maxMarks[e]));
+                ps.setBigDecimal(4, BigDecimal.valueOf(weightage[e]).setScale(2, RoundingMode.HALF_UP));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        List<double[]> grades = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO bench_grades VALUES (?, ?, ?)")) {
+            int batched = 0;
+            for (int s = 0; s < students; s++) {
+                for (int e = 0; e < exams; e++) {
+                    if (random.nextDouble() < 0.05) {
+                        continue;
+                    }
+                    double mark = Math.round(random.nextDouble() * maxMarks[e] * 100) / 100.0;
+                    grades.add(new double[] {s, e, mark});
+                    ps.setLong(1, studentIds[s]);
+                    ps.setLong(2, examIds[e]);
+                    ps.setBigDecimal(3, BigDecimal.valueOf(mark));
+                    ps.addBatch();
+                    if (++batched % 5_000 == 0) {
+                        ps.executeBatch();
+                    }
+                }
+            }
+            ps.executeBatch();
+        }
+
+        filled = new ExamScoreAggregator(studentIds, examIds, examSubjectIds, maxMarks, weightage);
+        for (double[] g : grades) {
+            filled.setMarkAt((int) g[0], (int) g[1], g[2]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_grades");
+            st.execute("DROP TABLE IF EXISTS bench_exams");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void sqlGroupByWindow(Blackhole bh) throws SQLException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery(SQL_AGGREGATE)) {
+            while (rs.next()) {
+                bh.consume(rs.getLong(1));
+                bh.consume(rs.getLong(2));
+                bh.consume(rs.getDouble(3));
+                bh.consume(rs.getDouble(4));
+                bh.consume(rs.getDouble(5));
+                bh.consume(rs.getDouble(6));
+                bh.consume(rs.getInt(7));
+            }
+        }
+    }
+
+    @Benchmark
+    public ExamScoreAggregator.Result engineLoadAndAggregate() throws SQLException {
+        List<long[]> examKeys = new ArrayList<>();
+        List<double[]> examValues = new ArrayList<>();
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id, subject_id, max_marks, weightage FROM bench_exams ORDER BY subject_id, id")) {
+            while (rs.next()) {
+                examKeys.add(new long[] {rs.getLong(1), rs.getLong(2)});
+                examValues.add(new double[] {rs.getDouble(3), rs.getDouble(4)});
+            }
+        }
+
+        int exams = examKeys.size();
+        long[] ids = new long[exams];
+        long[] subjectIds = new long[exams];
+        double[] max = new double[exams];
+        double[] weights = new double[exams];
+        for (int e = 0; e < exams; e++) {
+            ids[e] = examKeys.get(e)[0];
+            subjectIds[e] = examKeys.get(e)[1];
+            max[e] = examValues.get(e)[0];
+            weights[e] = examValues.get(e)[1];
+        }
+
+        ExamScoreAggregator aggregator = new ExamScoreAggregator(studentIds, ids, subjectIds, max, weights);
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT student_id, exam_id, marks_obtained FROM bench_grades")) {
+            while (rs.next()) {
+                aggregator.setMark(rs.getLong(1), rs.getLong(2), rs.getDouble(3));
+            }
+        }
+        return aggregator.aggregate();
+    }
+
+    @Benchmark
+    public ExamScoreAggregator.Result engineAggregateOnly() {
+        return filled.aggregate();
+    }
+}
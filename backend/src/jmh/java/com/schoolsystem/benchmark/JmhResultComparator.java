@@ -0,0 +1,97 @@
+package com.schoolsystem.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JmhResultComparator - Compares two JMH JSON result files (baseline vs candidate)
+ *
+ * Usage:
+ *   mvn -Pbenchmark exec:java@jmh-compare -Djmh.compare="baseline.json candidate.json [thresholdPercent]"
+ *
+ * Benchmarks are matched on name + @Param values. A benchmark counts as a
+ * regression when it got slower by more than the threshold (default 10%)
+ * AND the difference is larger than both error margins together, so noisy
+ * runs do not fail the comparison. Exits with status 1 on any regression.
+ */
+public final class JmhResultComparator {
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultComparator <baseline.json> <candidate.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> candidate = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue().get("primaryMetric");
+            String unit = after.get("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", after.get("score").asDouble(), "new");
+                continue;
+            }
+            before = before.get("primaryMetric");
+
+            double oldScore = before.get("score").asDouble();
+            double newScore = after.get("score").asDouble();
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) * 100 / oldScore;
+
+            // Throughput modes ("ops/...") are better when higher, time modes when lower
+            boolean higherIsBetter = unit.startsWith("ops/");
+            double slowdown = higherIsBetter ? -change : change;
+            double noise = error(before) + error(after);
+            boolean regression = slowdown > threshold && Math.abs(newScore - oldScore) > noise;
+
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), oldScore, newScore, change,
+                unit, regression ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String name = result.get("benchmark").asText();
+            StringBuilder key = new StringBuilder(name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1));
+            JsonNode params = result.get("params");
+            if (params != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(key.indexOf("[") < 0 ? " [" : ", ")
+                        .append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+                key.append(']');
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
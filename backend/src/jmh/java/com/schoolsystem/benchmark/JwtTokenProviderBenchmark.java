@@ -0,0 +1,80 @@
+package com.schoolsystem.benchmark;
+
+import com.schoolsystem.enums.JwtSigningAlgorithm;
+import com.schoolsystem.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProviderBenchmark - Token issue and the per-request verify path
+ *
+ * Run once per signing algorithm (jwt.signing-algorithm): HMAC is the
+ * shared-secret path, ES256 and EDDSA sign with a key-ring key pair.
+ * filterPath is what JwtAuthenticationFilter does on every authenticated
+ * request (one parse, claims read from the result); legacyFilterPath is
+ * the old validate-then-parse-again sequence, kept for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    @Param({"HMAC", "ES256", "EDDSA"})
+    private JwtSigningAlgorithm algorithm;
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = BenchmarkSupport.jwtTokenProvider(algorithm);
+        token = tokenProvider.generateTokenFromUsername("teacher.jane", 42L, "CLASS_TEACHER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken("teacher.jane");
+    }
+
+    @Benchmark
+    public String generateTokenWithClaims() {
+        return tokenProvider.generateTokenFromUsername("teacher.jane", 42L, "CLASS_TEACHER");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    /**
+     * What JwtAuthenticationFilter does per request
+     */
+    @Benchmark
+    public String filterPath() {
+        Claims claims = tokenProvider.parseValidToken(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    /**
+     * The filter before it parsed once: validate, then parse again per claim
+     */
+    @Benchmark
+    public String legacyFilterPath() {
+        return tokenProvider.validateToken(token) ? tokenProvider.getUsernameFromToken(token) : null;
+    }
+}
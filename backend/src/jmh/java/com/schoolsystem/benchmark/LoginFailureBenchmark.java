@@ -0,0 +1,115 @@
+package com.schoolsystem.benchmark;
+
+import com.schoolsystem.exception.UnknownUserException;
+import com.schoolsystem.security.LoginAuthenticationProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LoginFailureBenchmark - Cost of rejecting a login, apart from BCrypt
+ *
+ * stock     - DaoAuthenticationProvider with the exceptions we used to
+ *             throw (stack trace captured, unknown user wrapped again)
+ * stackless - LoginAuthenticationProvider with UnknownUserException
+ *
+ * A plain-text password encoder keeps BCrypt (~70 ms at strength 10) out of
+ * the numbers; stackDepth puts the call as deep as the servlet filter chain
+ * does in the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoginFailureBenchmark {
+
+    private static final PasswordEncoder PLAIN_TEXT = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    };
+
+    @Param({"wrong_password", "unknown_user"})
+    private String failure;
+
+    @Param({"20", "150"})
+    private int stackDepth;
+
+    private AuthenticationProvider stock;
+    private AuthenticationProvider stackless;
+    private UsernamePasswordAuthenticationToken attempt;
+
+    @Setup
+    public void setUp() {
+        UserDetails known = User.withUsername("teacher.jane").password("Correct@123").roles("CLASS_TEACHER").build();
+
+        DaoAuthenticationProvider stockProvider = new DaoAuthenticationProvider();
+        stockProvider.setPasswordEncoder(PLAIN_TEXT);
+        stockProvider.setUserDetailsService(users(known, username -> {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }));
+        stock = stockProvider;
+
+        LoginAuthenticationProvider stacklessProvider = new LoginAuthenticationProvider();
+        stacklessProvider.setPasswordEncoder(PLAIN_TEXT);
+        stacklessProvider.setUserDetailsService(users(known, username -> {
+            throw new UnknownUserException("User not found");
+        }));
+        stackless = stacklessProvider;
+
+        String username = "unknown_user".equals(failure) ? "nobody" : "teacher.jane";
+        attempt = new UsernamePasswordAuthenticationToken(username, "Wrong@123");
+    }
+
+    @Benchmark
+    public Object stock() {
+        return authenticateAtDepth(stock, stackDepth);
+    }
+
+    @Benchmark
+    public Object stackless() {
+        return authenticateAtDepth(stackless, stackDepth);
+    }
+
+    private Object authenticateAtDepth(AuthenticationProvider provider, int depth) {
+        if (depth > 0) {
+            return authenticateAtDepth(provider, depth - 1);
+        }
+        try {
+            return provider.authenticate(attempt);
+        } catch (AuthenticationException e) {
+            return e;
+        }
+    }
+
+    private static UserDetailsService users(UserDetails known, UserDetailsService unknown) {
+        return username -> known.getUsername().equals(username) ? known : unknown.loadUserByUsername(username);
+    }
+}
@@ -0,0 +1,205 @@
+package com.schoolsystem.benchmark;
+
+import com.schoolsystem.entity.Notification;
+import com.schoolsystem.entity.User;
+import com.schoolsystem.entity.UserProfile;
+import com.schoolsystem.enums.NotificationStatus;
+import com.schoolsystem.enums.NotificationType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NotificationInsertBenchmark - Cost of persisting a burst of notifications
+ *
+ * One operation persists `rows` notifications in a single transaction
+ * through JPA, like a "term report published" fan-out. Modes:
+ * - identity               : IDENTITY ids (what Notification used before V14) -
+ *                            Hibernate must insert row by row to read each key back
+ * - sequence-unbatched     : pooled sequence ids, hibernate.jdbc.batch_size=0
+ * - sequence-batched       : pooled sequence ids, batch_size=50 + order_inserts (prod profile)
+ * - sequence-batched-rewrite: as above + reWriteBatchedInserts (PostgreSQL only,
+ *                            same as sequence-batched on H2)
+ *
+ * Database: in-memory H2 by default; -Dbench.jdbc.url=jdbc:postgresql://...
+ * for a scratch database migrated by Flyway (see UserRepositoryBenchmark).
+ * Only PostgreSQL shows the real network round-trip savings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationInsertBenchmark {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class InsertContext {
+
+        @Bean
+        PersistenceManagedTypes persistenceManagedTypes() {
+            return PersistenceManagedTypes.of(User.class.getName(), UserProfile.class.getName(),
+                Notification.class.getName(), IdentityNotification.class.getName());
+        }
+    }
+
+    /**
+     * The notifications table mapped the old way, for the identity mode
+     */
+    @Entity
+    @Table(name = "notifications")
+    public static class IdentityNotification {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Enumerated(EnumType.STRING)
+        @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+        @Column(name = "notification_type", nullable = false)
+        private NotificationType notificationType;
+
+        private String channel;
+
+        private String title;
+
+        private String message;
+
+        @Enumerated(EnumType.STRING)
+        @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+        private NotificationStatus status = NotificationStatus.PENDING;
+
+        @Column(name = "created_at")
+        private LocalDateTime createdAt = LocalDateTime.now();
+    }
+
+    private static final String[] H2_SCHEMA = {
+        "CREATE SEQUENCE notifications_id_seq INCREMENT BY 50",
+        "CREATE TABLE notifications (" +
+        "    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, recipient_id BIGINT, " +
+        "    notification_type VARCHAR(32) NOT NULL, channel VARCHAR(50), title VARCHAR(255), message TEXT NOT NULL, " +
+        "    status VARCHAR(16) DEFAULT 'PENDING', sent_at TIMESTAMP, read_at TIMESTAMP, metadata JSON, " +
+        "    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)"
+    };
+
+    @Param({"identity", "sequence-unbatched", "sequence-batched", "sequence-batched-rewrite"})
+    public String mode;
+
+    @Param({"500"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        String url = System.getProperty("bench.jdbc.url");
+        boolean postgres = url != null;
+        boolean batched = mode.startsWith("sequence-batched");
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(InsertContext.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.config.name=benchmark",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "spring.datasource.url=" + (postgres ? url
+                    : "jdbc:h2:mem:bench_notifications;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+                "spring.datasource.username=" + System.getProperty("bench.jdbc.user", "sa"),
+                "spring.datasource.password=" + System.getProperty("bench.jdbc.password", ""),
+                "spring.sql.init.mode=never",
+                "spring.flyway.enabled=" + postgres,
+                "spring.flyway.locations=classpath:db/migration,classpath:com/schoolsystem/migration",
+                "spring.flyway.postgresql.transactional-lock=false",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.open-in-view=false",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + (batched ? 50 : 0),
+                "spring.jpa.properties.hibernate.order_inserts=" + batched);
+        if (postgres && mode.endsWith("-rewrite")) {
+            builder.properties("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true");
+        }
+        if (!postgres) {
+            builder.properties("spring.jpa.database-platform=" + UserRepositoryBenchmark.H2NamedEnumDialect.class.getName());
+        }
+        context = builder.run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!postgres) {
+            jdbcTemplate.batchUpdate(H2_SCHEMA);
+        }
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManager = context.getBean(EntityManager.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("DELETE FROM notifications");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int persistBurst() {
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(newNotification(i));
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return rows;
+        });
+    }
+
+    private Object newNotification(int i) {
+        if ("identity".equals(mode)) {
+            IdentityNotification notification = new IdentityNotification();
+            notification.notificationType = NotificationType.IN_APP;
+            notification.channel = "APP";
+            notification.title = "Term report";
+            notification.message = "Term report #" + i + " is ready";
+            return notification;
+        }
+        Notification notification = new Notification(null, NotificationType.IN_APP, "Term report",
+            "Term report #" + i + " is ready");
+        notification.setChannel("APP");
+        return notification;
+    }
+}
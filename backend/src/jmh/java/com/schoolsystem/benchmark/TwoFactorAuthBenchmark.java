@@ -0,0 +1,135 @@
+package com.schoolsystem.benchmark;
+
+import com.schoolsystem.entity.User;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.service.TwoFactorAuthService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TwoFactorAuthBenchmark - Code send/verify with many logins at once
+ *
+ * Models the morning login storm: 6 threads on the same service instance
+ * (shared maps, SecureRandom per code), one path per benchmark:
+ * send            - generate and store a code. The SMS step throws without
+ *                   a phone number on the profile; the code is stored
+ *                   before that, which is the part measured here
+ * verifyCorrect   - the code the user was sent; it is used up, so each call
+ *                   first puts it back into the service's storage (two map
+ *                   puts, included in the number)
+ * verifyWrongCode - a code that does not match the stored one
+ *
+ * Known codes are seeded straight into the service's maps; setUp checks one
+ * round trip, so a renamed field fails the run instead of measuring misses.
+ * Each thread verifies its own slice of users, so threads never use up
+ * each other's codes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(6)
+@Fork(1)
+public class TwoFactorAuthBenchmark {
+
+    private static final int USERS = 4096;
+    private static final int THREAD_SLICE = 512;
+
+    private TwoFactorAuthService service;
+    private User[] users;
+    private String[] correctCodes;
+    private String[] wrongCodes;
+    private Map<String, String> storedCodes;
+    private Map<String, Long> storedExpirations;
+    private long expiresAt;
+
+    private final AtomicInteger threadSlices = new AtomicInteger();
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        service = new TwoFactorAuthService();
+        storedCodes = (Map<String, String>) ReflectionTestUtils.getField(service, "verificationCodes");
+        storedExpirations = (Map<String, Long>) ReflectionTestUtils.getField(service, "codeExpirations");
+        expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+
+        users = new User[USERS];
+        correctCodes = new String[USERS];
+        wrongCodes = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = BenchmarkSupport.user(i + 1, "user" + i, UserRole.PARENT);
+            correctCodes[i] = String.valueOf(100000 + i);
+            wrongCodes[i] = String.valueOf(999999 - i);
+            seed(i);
+        }
+
+        if (service.verifyTwoFactorCode(users[0].getUsername(), wrongCodes[0])
+                || !service.verifyTwoFactorCode(users[0].getUsername(), correctCodes[0])) {
+            throw new IllegalStateException("Seeded codes do not reach TwoFactorAuthService's storage");
+        }
+        seed(0);
+    }
+
+    /**
+     * Users [start, start + THREAD_SLICE) belong to one benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class ThreadUsers {
+        private int start;
+
+        @Setup
+        public void setUp(TwoFactorAuthBenchmark benchmark) {
+            start = (benchmark.threadSlices.getAndIncrement() * THREAD_SLICE) % USERS;
+        }
+
+        int next() {
+            return start + ThreadLocalRandom.current().nextInt(THREAD_SLICE);
+        }
+    }
+
+    @Benchmark
+    public boolean send() {
+        User user = users[ThreadLocalRandom.current().nextInt(USERS)];
+        try {
+            service.sendTwoFactorCode(user);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean verifyCorrect(ThreadUsers slice) {
+        int i = slice.next();
+        seed(i);
+        return service.verifyTwoFactorCode(users[i].getUsername(), correctCodes[i]);
+    }
+
+    @Benchmark
+    public boolean verifyWrongCode(ThreadUsers slice) {
+        int i = slice.next();
+        return service.verifyTwoFactorCode(users[i].getUsername(), wrongCodes[i]);
+    }
+
+    private void seed(int i) {
+        String username = users[i].getUsername();
+        storedCodes.put(username, correctCodes[i]);
+        storedExpirations.put(username, expiresAt);
+    }
+}
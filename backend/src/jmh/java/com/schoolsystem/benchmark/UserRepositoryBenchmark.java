@@ -0,0 +1,205 @@
+package com.schoolsystem.benchmark;
+
+import com.schoolsystem.entity.User;
+import com.schoolsystem.entity.UserProfile;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.repository.UserRepository;
+import org.hibernate.boot.model.TypeContributions;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.jdbc.VarcharJdbcType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserRepositoryBenchmark - UserRepository lookups done on every login/request
+ *
+ * Boots a JPA-only Spring context (no web, no security) holding the User
+ * and UserProfile entities and UserRepository, seeded with `users` rows.
+ *
+ * Database:
+ * - Default: in-memory H2 in PostgreSQL mode, users/user_profiles only
+ * - -Dbench.jdbc.url=jdbc:postgresql://... : an empty scratch database,
+ *   schema from the Flyway migrations like production
+ *   (also -Dbench.jdbc.user / -Dbench.jdbc.password)
+ *
+ * Each lookup runs in its own transaction and persistence context, so the
+ * numbers include the SQL round trip rather than a first-level cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserRepositoryBenchmark {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class,
+                           includeFilters = @Filter(type = FilterType.ASSIGNABLE_TYPE, classes = UserRepository.class))
+    static class RepositoryContext {
+
+        @Bean
+        PersistenceManagedTypes persistenceManagedTypes() {
+            return PersistenceManagedTypes.of(User.class.getName(), UserProfile.class.getName());
+        }
+    }
+
+    /**
+     * Binds @JdbcTypeCode(NAMED_ENUM) columns as plain VARCHAR on H2
+     */
+    public static class H2NamedEnumDialect extends H2Dialect {
+
+        @Override
+        public void contributeTypes(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
+            super.contributeTypes(typeContributions, serviceRegistry);
+            typeContributions.getTypeConfiguration().getJdbcTypeRegistry()
+                .addDescriptor(SqlTypes.NAMED_ENUM, VarcharJdbcType.INSTANCE);
+        }
+    }
+
+    /**
+     * H2 has no PostgreSQL enum types, so the two tables are declared by
+     * hand (enum columns as VARCHAR) instead of generated by Hibernate
+     */
+    private static final String[] H2_SCHEMA = {
+        "CREATE TABLE users (" +
+        "    id BIGSERIAL PRIMARY KEY, username VARCHAR(100) UNIQUE NOT NULL, email VARCHAR(255) UNIQUE NOT NULL, " +
+        "    password_hash VARCHAR(255) NOT NULL, role VARCHAR(32) NOT NULL, is_active BOOLEAN DEFAULT true, " +
+        "    two_factor_enabled BOOLEAN DEFAULT false, two_factor_secret VARCHAR(100), last_login TIMESTAMP, " +
+        "    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
+        "CREATE TABLE user_profiles (" +
+        "    id BIGSERIAL PRIMARY KEY, user_id BIGINT UNIQUE REFERENCES users(id) ON DELETE CASCADE, " +
+        "    first_name VARCHAR(100) NOT NULL, last_name VARCHAR(100) NOT NULL, date_of_birth DATE, " +
+        "    gender VARCHAR(10), profile_picture_url VARCHAR(500), address TEXT, bio TEXT, " +
+        "    emergency_contact VARCHAR(20), created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP)"
+    };
+
+    @Param({"10000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+
+    @Setup
+    public void setUp() {
+        String url = System.getProperty("bench.jdbc.url");
+        boolean postgres = url != null;
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(RepositoryContext.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.config.name=benchmark",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "spring.datasource.url=" + (postgres ? url
+                    : "jdbc:h2:mem:bench_users;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+                "spring.datasource.username=" + System.getProperty("bench.jdbc.user", "sa"),
+                "spring.datasource.password=" + System.getProperty("bench.jdbc.password", ""),
+                "spring.sql.init.mode=never",
+                "spring.flyway.enabled=" + postgres,
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.open-in-view=false",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=500");
+        if (!postgres) {
+            builder.properties("spring.jpa.database-platform=" + H2NamedEnumDialect.class.getName());
+        }
+        context = builder.run();
+        if (!postgres) {
+            context.getBean(JdbcTemplate.class).batchUpdate(H2_SCHEMA);
+        }
+        userRepository = context.getBean(UserRepository.class);
+
+        if (userRepository.count() < users) {
+            seed();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed() {
+        UserRole[] roles = UserRole.values();
+        List<User> batch = new ArrayList<>();
+        for (int i = (int) userRepository.count(); i < users; i++) {
+            batch.add(new User(username(i), username(i) + "@school.test",
+                "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm", roles[i % roles.length]));
+            if (batch.size() == 1000) {
+                userRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        userRepository.saveAll(batch);
+    }
+
+    private static String username(int i) {
+        return "bench.user" + i;
+    }
+
+    private String randomUsername() {
+        return username(ThreadLocalRandom.current().nextInt(users));
+    }
+
+    /**
+     * CustomUserDetailsService.loadUserByUsername
+     */
+    @Benchmark
+    public Optional<User> findByUsername() {
+        return userRepository.findByUsername(randomUsername());
+    }
+
+    /**
+     * Login form accepts either username or email
+     */
+    @Benchmark
+    public Optional<User> findByEmail() {
+        return userRepository.findByEmail(randomUsername() + "@school.test");
+    }
+
+    /**
+     * CustomUserDetailsService.loadUserById (JWT filter path)
+     */
+    @Benchmark
+    public Optional<User> findById() {
+        return userRepository.findById(ThreadLocalRandom.current().nextLong(1, users + 1));
+    }
+
+    /**
+     * Registration duplicate check
+     */
+    @Benchmark
+    public Boolean existsByUsername() {
+        return userRepository.existsByUsername(randomUsername());
+    }
+}
@@ -0,0 +1,92 @@
+package com.schoolsystem.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LatencyRecorder - Every request's latency per scenario step
+ *
+ * Keeps all samples (a morning run is at most a few hundred thousand
+ * requests), so percentiles are exact rather than bucketed.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Step> steps = new LinkedHashMap<>();
+
+    synchronized void record(String step, long nanos, boolean ok) {
+        steps.computeIfAbsent(step, name -> new Step()).add(nanos, ok);
+    }
+
+    synchronized Map<String, Summary> summarize(double wallSeconds) {
+        Map<String, Summary> result = new LinkedHashMap<>();
+        Step all = new Step();
+        for (Map.Entry<String, Step> entry : steps.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().summarize(wallSeconds));
+            all.addAll(entry.getValue());
+        }
+        result.put("TOTAL", all.summarize(wallSeconds));
+        return result;
+    }
+
+    private static final class Step {
+        private long[] samples = new long[1024];
+        private int count;
+        private int errors;
+
+        private void add(long nanos, boolean ok) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        private void addAll(Step other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.samples[i], true);
+            }
+            errors += other.errors;
+        }
+
+        private Summary summarize(double wallSeconds) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return new Summary(count, errors, percentile(sorted, 50), percentile(sorted, 90),
+                               percentile(sorted, 99), count > 0 ? sorted[count - 1] / 1e6 : 0, count / wallSeconds);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    /**
+     * Latencies in milliseconds, throughput in requests per second of wall time
+     */
+    static final class Summary {
+        final int count;
+        final int errors;
+        final double p50;
+        final double p90;
+        final double p99;
+        final double max;
+        final double throughput;
+
+        Summary(int count, int errors, double p50, double p90, double p99, double max, double throughput) {
+            this.count = count;
+            this.errors = errors;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.max = max;
+            this.throughput = throughput;
+        }
+    }
+}
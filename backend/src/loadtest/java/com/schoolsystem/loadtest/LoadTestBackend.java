@@ -0,0 +1,62 @@
+package com.schoolsystem.loadtest;
+
+import com.schoolsystem.SchoolManagementApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * LoadTestBackend - The application as MorningLoadDriver needs it
+ *
+ * Starts SchoolManagementApplication with the "loadtest" profile and:
+ * 1. SmsSinkTwoFactorAuthService in place of the SMS sender - codes stay
+ *    random and one-time, the driver fetches them from the outbox
+ * 2. GET /loadtest/sms/{username} (SmsSinkController), open to everyone
+ *
+ * Lives only in src/loadtest, so the production jar has neither. Refuses
+ * to start with the "prod" profile.
+ *
+ * Usage:
+ *   mvn -Ploadtest test-compile exec:java@serve \
+ *       -Dloadtest.args="--spring.datasource.url=jdbc:postgresql://localhost:5432/school_loadtest --jwt.secret=..."
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("loadtest")
+public class LoadTestBackend {
+
+    public LoadTestBackend(Environment environment) {
+        if (environment.acceptsProfiles(Profiles.of("prod"))) {
+            throw new IllegalStateException("LoadTestBackend exposes 2FA codes and must not run with the prod profile");
+        }
+    }
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(SchoolManagementApplication.class, LoadTestBackend.class);
+        application.setAdditionalProfiles("loadtest");
+        application.run(args);
+    }
+
+    @Bean
+    @Primary
+    public SmsSinkTwoFactorAuthService smsSinkTwoFactorAuthService() {
+        return new SmsSinkTwoFactorAuthService();
+    }
+
+    /** Ahead of SecurityConfig's chain, which would demand a JWT */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain smsSinkFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher("/loadtest/**")
+            .csrf(csrf -> csrf.disable())
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+        return http.build();
+    }
+}
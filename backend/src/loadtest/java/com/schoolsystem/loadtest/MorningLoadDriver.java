@@ -0,0 +1,314 @@
+package com.schoolsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MorningLoadDriver - Replays the first hour of a school day against a running backend
+ *
+ * Every virtual user (a row of the generator's manifest):
+ * 1. Logs in - POST /api/auth/login, then POST /api/auth/verify-2fa when
+ *    2FA is on, with the code read from the SMS outbox (the backend must be
+ *    LoadTestBackend; the outbox read is not timed)
+ * 2. Reads the dashboard `reads` times - upcoming events, unread count and
+ *    the first inbox page - with think time in between
+ * 3. Class teachers open today's register and mark the whole section
+ *
+ * Users start spread evenly over `ramp-seconds` (the login storm). At most
+ * `concurrency` users are active at once: a fixed pool of platform threads
+ * doing blocking HttpClient calls, which on Java 17 stands in for one
+ * virtual thread per user.
+ *
+ * Usage:
+ *   mvn -Ploadtest test-compile exec:java@drive \
+ *       -Dloadtest.args="base-url=http://localhost:8080 users=500 concurrency=100 ramp-seconds=60"
+ *
+ * Options (key=value):
+ *   base-url=http://localhost:8080
+ *   manifest=target/loadtest/users.csv   written by SchoolDataGenerator
+ *   users=300                            sampled from the manifest (all class teachers first)
+ *   concurrency=64, ramp-seconds=30, reads=3, think-ms=500
+ *   login-password=LoadTest@123
+ *   report=target/loadtest/report.json   the same table as printed, as JSON
+ *   seed=42
+ */
+public final class MorningLoadDriver {
+
+    private final Options options;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String password;
+    private final int reads;
+    private final int thinkMs;
+
+    private MorningLoadDriver(Options options) {
+        this.options = options;
+        this.baseUrl = options.get("base-url", "http://localhost:8080");
+        this.password = options.get("login-password", "LoadTest@123");
+        this.reads = options.getInt("reads", 3);
+        this.thinkMs = options.getInt("think-ms", 500);
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new MorningLoadDriver(new Options(args)).run();
+    }
+
+    private void run() throws IOException, InterruptedException {
+        List<VirtualUser> users = loadUsers();
+        int concurrency = options.getInt("concurrency", 64);
+        long rampMillis = options.getInt("ramp-seconds", 30) * 1000L;
+
+        System.out.printf("Driving %d users against %s (concurrency %d, ramp %d s)%n",
+                          users.size(), baseUrl, concurrency, rampMillis / 1000);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        ScheduledExecutorService starter = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch done = new CountDownLatch(users.size());
+        long started = System.nanoTime();
+
+        for (int i = 0; i < users.size(); i++) {
+            VirtualUser user = users.get(i);
+            long delay = users.size() > 1 ? rampMillis * i / (users.size() - 1) : 0;
+            starter.schedule(() -> workers.submit(() -> {
+                try {
+                    runScenario(user);
+                } finally {
+                    done.countDown();
+                }
+            }), delay, TimeUnit.MILLISECONDS);
+        }
+
+        done.await();
+        double wallSeconds = (System.nanoTime() - started) / 1e9;
+        starter.shutdown();
+        workers.shutdown();
+
+        report(recorder.summarize(wallSeconds), wallSeconds);
+    }
+
+    private void runScenario(VirtualUser user) {
+        try {
+            String token = login(user);
+            if (token == null) {
+                return;
+            }
+            for (int i = 0; i < reads; i++) {
+                call("events.upcoming", get("/api/events/upcoming?limit=10", token));
+                call("messages.unread-count", get("/api/messages/unread-count", token));
+                call("messages.inbox", get("/api/messages/inbox?size=20", token));
+                think();
+            }
+            if ("CLASS_TEACHER".equals(user.role) && user.sectionId != null) {
+                markAttendance(user, token);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String login(VirtualUser user) throws InterruptedException {
+        ObjectNode body = mapper.createObjectNode().put("username", user.username).put("password", password);
+        JsonNode response = call("auth.login", post("/api/auth/login", null, body));
+        if (response == null) {
+            return null;
+        }
+        if (response.path("requiresTwoFactor").asBoolean()) {
+            think();
+            String code = readSmsCode(user.username);
+            if (code == null) {
+                recorder.record("auth.sms-outbox", 0, false);
+                return null;
+            }
+            ObjectNode verify = mapper.createObjectNode().put("username", user.username).put("code", code);
+            response = call("auth.verify-2fa", post("/api/auth/verify-2fa", null, verify));
+            if (response == null) {
+                return null;
+            }
+        }
+        return response.path("accessToken").asText(null);
+    }
+
+    /**
+     * The code LoadTestBackend's SmsSinkTwoFactorAuthService "sent", or null
+     */
+    private String readSmsCode(String username) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/loadtest/sms/"
+                + URLEncoder.encode(username, StandardCharsets.UTF_8)))
+            .timeout(Duration.ofSeconds(options.getInt("timeout-seconds", 30)))
+            .GET()
+            .build();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return response.statusCode() == 200 ? mapper.readTree(response.body()).path("code").asText(null) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void markAttendance(VirtualUser user, String token) throws InterruptedException {
+        String path = "/api/sections/" + user.sectionId + "/attendance";
+        JsonNode register = call("attendance.register", get(path, token));
+        if (register == null || register.isEmpty()) {
+            return;
+        }
+        think();
+        ObjectNode body = mapper.createObjectNode();
+        ArrayNode entries = body.putArray("entries");
+        for (JsonNode student : register) {
+            boolean present = ThreadLocalRandom.current().nextDouble() >= 0.07;
+            ObjectNode entry = entries.addObject()
+                .put("studentId", student.path("studentId").asLong())
+                .put("present", present);
+            if (!present) {
+                entry.put("remarks", "Absent");
+            }
+        }
+        call("attendance.mark", send("PUT", path, token, body));
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(options.getInt("timeout-seconds", 30)))
+            .header("Authorization", "Bearer " + token)
+            .GET()
+            .build();
+    }
+
+    private HttpRequest post(String path, String token, JsonNode body) {
+        return send("POST", path, token, body);
+    }
+
+    private HttpRequest send(String method, String path, String token, JsonNode body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(options.getInt("timeout-seconds", 30)))
+            .header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Time one request; any non-2xx status or I/O failure counts as an error
+     * and returns null
+     */
+    private JsonNode call(String step, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+            boolean ok = response.statusCode() / 100 == 2;
+            recorder.record(step, elapsed, ok);
+            if (!ok) {
+                return null;
+            }
+            return response.body().length > 0 ? mapper.readTree(response.body()) : mapper.nullNode();
+        } catch (IOException e) {
+            recorder.record(step, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMs > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(thinkMs / 2, thinkMs * 3 / 2 + 1));
+        }
+    }
+
+    /**
+     * Class teachers first (the attendance path needs them), then a random
+     * sample of everyone else
+     */
+    private List<VirtualUser> loadUsers() throws IOException {
+        Path manifest = Paths.get(options.get("manifest", "target/loadtest/users.csv"));
+        List<String> lines = Files.readAllLines(manifest, StandardCharsets.UTF_8);
+        List<VirtualUser> teachers = new ArrayList<>();
+        List<VirtualUser> others = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(",", -1);
+            VirtualUser user = new VirtualUser(fields[0], fields[1],
+                fields[3].isEmpty() ? null : Long.valueOf(fields[3]));
+            if ("CLASS_TEACHER".equals(user.role)) {
+                teachers.add(user);
+            } else {
+                others.add(user);
+            }
+        }
+
+        int wanted = options.getInt("users", 300);
+        Collections.shuffle(others, new Random(options.getInt("seed", 42)));
+        List<VirtualUser> users = new ArrayList<>(teachers.subList(0, Math.min(wanted, teachers.size())));
+        users.addAll(others.subList(0, Math.min(wanted - users.size(), others.size())));
+        // Interleave so the teachers are not all in the first seconds of the ramp
+        Collections.shuffle(users, new Random(options.getInt("seed", 42)));
+        return users;
+    }
+
+    private void report(Map<String, LatencyRecorder.Summary> summary, double wallSeconds) throws IOException {
+        System.out.printf("%n%-24s %8s %7s %9s %9s %9s %9s %9s%n",
+                          "Step", "Count", "Errors", "p50 ms", "p90 ms", "p99 ms", "max ms", "req/s");
+        ObjectNode json = mapper.createObjectNode().put("wallSeconds", wallSeconds);
+        ObjectNode steps = json.putObject("steps");
+        for (Map.Entry<String, LatencyRecorder.Summary> entry : summary.entrySet()) {
+            LatencyRecorder.Summary s = entry.getValue();
+            System.out.printf("%-24s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                              entry.getKey(), s.count, s.errors, s.p50, s.p90, s.p99, s.max, s.throughput);
+            steps.putObject(entry.getKey())
+                .put("count", s.count).put("errors", s.errors)
+                .put("p50Ms", s.p50).put("p90Ms", s.p90).put("p99Ms", s.p99).put("maxMs", s.max)
+                .put("throughput", s.throughput);
+        }
+        System.out.printf("Wall time %.1f s%n", wallSeconds);
+
+        Path reportPath = Paths.get(options.get("report", "target/loadtest/report.json"));
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(reportPath.toFile(), json);
+        System.out.println("Report: " + reportPath.toAbsolutePath());
+    }
+
+    private static final class VirtualUser {
+        private final String username;
+        private final String role;
+        private final Long sectionId;
+
+        private VirtualUser(String username, String role, Long sectionId) {
+            this.username = username;
+            this.role = role;
+            this.sectionId = sectionId;
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.schoolsystem.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * SchoolDataGenerator - Fills a migrated database with one synthetic school
+ *
+ * Usage (database must already be migrated by Flyway, i.e. the app has started once):
+ *   mvn -Ploadtest test-compile exec:java@generate \
+ *       -Dloadtest.args="jdbc-url=jdbc:postgresql://localhost:5432/school_loadtest password=... students=2000"
+ *
+ * Options (key=value):
+ *   jdbc-url, user, password   target database (default local school_management_db, postgres)
+ *   students=1000              school size; everything else is derived from it
+ *   section-size=35            students per section (one class teacher each)
+ *   subjects=10                subjects taught in every section
+ *   exams-per-term=2           exams per subject, section and started term
+ *   attendance-days=20         school days of attendance history (up to yesterday)
+ *   two-factor-ratio=0.25      share of staff and parents with 2FA enabled
+ *   login-password=LoadTest@123  password of every generated user
+ *   prefix=lt                  username prefix, use a new one to load a second school
+ *   manifest=target/loadtest/users.csv  who logs in as what, read by MorningLoadDriver
+ *   seed=42
+ *
+ * All rows go in with COPY FROM STDIN inside one transaction, with ids
+ * assigned here (continuing after the current max) so that students,
+ * grades, ... can reference each other without reading anything back.
+ * The id sequences are moved past the new rows at the end.
+ */
+public final class SchoolDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+        "Amani", "Baraka", "Neema", "Juma", "Zawadi", "Imani", "Tumaini", "Wanjiru", "Otieno", "Akinyi",
+        "Kamau", "Njeri", "Mwangi", "Achieng", "Kiptoo", "Chebet", "Mutua", "Wambui", "Omondi", "Nyambura"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Ochieng", "Kariuki", "Wanjala", "Mohamed", "Kimani", "Mburu", "Njoroge", "Odhiambo", "Cheruiyot", "Maina",
+        "Kiprono", "Atieno", "Mugo", "Waweru", "Barasa", "Korir", "Nduta", "Onyango", "Gitau", "Wafula"
+    };
+
+    private static final String[] ROLES_AUDIENCE = {"STUDENT", "PARENT", "CLASS_TEACHER", "SUBJECT_TEACHER"};
+
+    private final Options options;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now();
+    private final LocalDate today = LocalDate.now();
+    private final Map<String, Long> nextIds = new LinkedHashMap<>();
+    private final List<String> manifest = new ArrayList<>();
+
+    private SchoolDataGenerator(Options options) {
+        this.options = options;
+        this.random = new Random(options.getInt("seed", 42));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new SchoolDataGenerator(new Options(args)).run();
+    }
+
+    private void run() throws SQLException, IOException {
+        String url = options.get("jdbc-url", "jdbc:postgresql://localhost:5432/school_management_db");
+        long started = System.nanoTime();
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.get("user", "postgres"), options.get("password", ""))) {
+            connection.setAutoCommit(false);
+            List<CopyWriter> written = generate(connection);
+            connection.commit();
+
+            double seconds = (System.nanoTime() - started) / 1e9;
+            long total = 0;
+            for (CopyWriter writer : written) {
+                System.out.printf("%-20s %,12d rows%n", writer.getTable(), writer.getRows());
+                total += writer.getRows();
+            }
+            System.out.printf("%-20s %,12d rows in %.1f s (%,.0f rows/s)%n", "total", total, seconds, total / seconds);
+        }
+    }
+
+    private List<CopyWriter> generate(Connection connection) throws SQLException, IOException {
+        String prefix = options.get("prefix", "lt");
+        int studentCount = options.getInt("students", 1000);
+        int sectionSize = options.getInt("section-size", 35);
+        int subjectCount = options.getInt("subjects", 10);
+        int examsPerTerm = options.getInt("exams-per-term", 2);
+        int attendanceDays = options.getInt("attendance-days", 20);
+        double twoFactorRatio = options.getDouble("two-factor-ratio", 0.25);
+
+        int sectionCount = (studentCount + sectionSize - 1) / sectionSize;
+        int classCount = Math.min(12, sectionCount);
+        int teachersPerSubject = Math.max(1, sectionCount / 8);
+        int parentCount = (int) Math.ceil(studentCount * 0.7);
+
+        System.out.printf("Generating %d students in %d sections, %d subjects, %d parents%n",
+                          studentCount, sectionCount, subjectCount, parentCount);
+
+        String passwordHash = new BCryptPasswordEncoder().encode(options.get("login-password", "LoadTest@123"));
+        CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+        for (String table : new String[]{"users", "user_profiles", "academic_years", "academic_periods", "classes",
+                "sections", "subjects", "students", "teachers", "teacher_subjects", "exams", "grades",
+                "attendance", "payments", "events"}) {
+            nextIds.put(table, maxId(connection, table) + 1);
+        }
+        List<CopyWriter> written = new ArrayList<>();
+
+        // Academic year starting in September with three terms
+        int startYear = today.getMonthValue() >= 9 ? today.getYear() : today.getYear() - 1;
+        LocalDate[][] terms = {
+            {LocalDate.of(startYear, 9, 1), LocalDate.of(startYear, 12, 15)},
+            {LocalDate.of(startYear + 1, 1, 6), LocalDate.of(startYear + 1, 4, 5)},
+            {LocalDate.of(startYear + 1, 4, 20), LocalDate.of(startYear + 1, 7, 31)}
+        };
+        long yearId = nextId("academic_years");
+        long[] periodIds = new long[terms.length];
+        try (CopyWriter years = new CopyWriter(copy, "academic_years", "id, year_name, start_date, end_date, is_current")) {
+            years.row(yearId, prefix + " " + startYear + "/" + (startYear + 1), terms[0][0], terms[2][1], true);
+            written.add(years);
+        }
+        try (CopyWriter periods = new CopyWriter(copy, "academic_periods",
+                "id, academic_year_id, period_name, period_type, period_number, start_date, end_date")) {
+            for (int t = 0; t < terms.length; t++) {
+                periodIds[t] = nextId("academic_periods");
+                periods.row(periodIds[t], yearId, "Term " + (t + 1), "TERM", t + 1, terms[t][0], terms[t][1]);
+            }
+            written.add(periods);
+        }
+
+        // Users: admin staff, one class teacher per section, subject teachers, students, parents
+        UserWriter users = new UserWriter(copy, passwordHash, twoFactorRatio, prefix);
+        long adminId = users.add("ADMIN", "admin", 0, true);
+        users.add("PRINCIPAL", "principal", 0, true);
+        users.add("VICE_PRINCIPAL", "viceprincipal", 0, true);
+
+        long[] classTeacherUserIds = new long[sectionCount];
+        long[] sectionIds = new long[sectionCount];
+        for (int s = 0; s < sectionCount; s++) {
+            sectionIds[s] = nextId("sections");
+            classTeacherUserIds[s] = users.add("CLASS_TEACHER", "teacher" + s, sectionIds[s], true);
+        }
+        long[] subjectTeacherUserIds = new long[subjectCount * teachersPerSubject];
+        for (int t = 0; t < subjectTeacherUserIds.length; t++) {
+            subjectTeacherUserIds[t] = users.add("SUBJECT_TEACHER", "subjectteacher" + t, 0, true);
+        }
+        long[] parentUserIds = new long[parentCount];
+        for (int p = 0; p < parentCount; p++) {
+            parentUserIds[p] = users.add("PARENT", "parent" + p, 0, true);
+        }
+        long[] studentUserIds = new long[studentCount];
+        for (int s = 0; s < studentCount; s++) {
+            studentUserIds[s] = users.add("STUDENT", "student" + s, sectionIds[s / sectionSize], false);
+        }
+        written.addAll(users.finish());
+
+        long[] classIds = new long[classCount];
+        try (CopyWriter classes = new CopyWriter(copy, "classes", "id, class_name, class_level")) {
+            for (int c = 0; c < classCount; c++) {
+                classIds[c] = nextId("classes");
+                classes.row(classIds[c], prefix + " Grade " + (c + 1), c + 1);
+            }
+            written.add(classes);
+        }
+        try (CopyWriter sections = new CopyWriter(copy, "sections",
+                "id, class_id, section_name, max_students, class_teacher_id")) {
+            for (int s = 0; s < sectionCount; s++) {
+                sections.row(sectionIds[s], classIds[s % classCount], sectionName(s / classCount), sectionSize,
+                    classTeacherUserIds[s]);
+            }
+            written.add(sections);
+        }
+
+        long[] subjectIds = new long[subjectCount];
+        try (CopyWriter subjects = new CopyWriter(copy, "subjects", "id, subject_name, subject_code")) {
+            for (int j = 0; j < subjectCount; j++) {
+                subjectIds[j] = nextId("subjects");
+                subjects.row(subjectIds[j], "Subject " + (j + 1), (prefix + "-S" + (j + 1)).toUpperCase());
+            }
+            written.add(subjects);
+        }
+
+        // Teacher rows: class teachers first, then subject teachers (same order as the user ids)
+        long[] classTeacherIds = new long[sectionCount];
+        long[] subjectTeacherIds = new long[subjectTeacherUserIds.length];
+        try (CopyWriter teachers = new CopyWriter(copy, "teachers", "id, user_id, employee_number, hire_date")) {
+            for (int s = 0; s < sectionCount; s++) {
+                classTeacherIds[s] = nextId("teachers");
+                teachers.row(classTeacherIds[s], classTeacherUserIds[s], prefix + "-EMP-C" + s, today.minusYears(3));
+            }
+            for (int t = 0; t < subjectTeacherIds.length; t++) {
+                subjectTeacherIds[t] = nextId("teachers");
+                teachers.row(subjectTeacherIds[t], subjectTeacherUserIds[t], prefix + "-EMP-S" + t, today.minusYears(2));
+            }
+            written.add(teachers);
+        }
+        try (CopyWriter teacherSubjects = new CopyWriter(copy, "teacher_subjects",
+                "id, teacher_id, subject_id, section_id, academic_year_id")) {
+            for (int s = 0; s < sectionCount; s++) {
+                for (int j = 0; j < subjectCount; j++) {
+                    teacherSubjects.row(nextId("teacher_subjects"),
+                        subjectTeacherIds[j * teachersPerSubject + s % teachersPerSubject], subjectIds[j], sectionIds[s], yearId);
+                }
+            }
+            written.add(teacherSubjects);
+        }
+
+        long[] studentIds = new long[studentCount];
+        double[] ability = new double[studentCount];
+        try (CopyWriter students = new CopyWriter(copy, "students",
+                "id, user_id, admission_number, admission_date, section_id, guardian_id")) {
+            for (int s = 0; s < studentCount; s++) {
+                studentIds[s] = nextId("students");
+                ability[s] = 45 + random.nextGaussian() * 15;
+                students.row(studentIds[s], studentUserIds[s], prefix.toUpperCase() + "-" + (100000 + s),
+                    terms[0][0].minusYears(random.nextInt(6)), sectionIds[s / sectionSize],
+                    parentUserIds[s % parentCount]);
+            }
+            written.add(students);
+        }
+
+        // Exams for every started term, grades for every student of the section
+        // (one COPY at a time per connection, so exams are kept as {id, section, teacher, date})
+        List<long[]> examRows = new ArrayList<>();
+        try (CopyWriter exams = new CopyWriter(copy, "exams",
+                "id, exam_name, subject_id, section_id, academic_period_id, exam_date, max_marks, weightage")) {
+            for (int t = 0; t < terms.length && !terms[t][0].isAfter(today); t++) {
+                LocalDate termEnd = terms[t][1].isBefore(today) ? terms[t][1] : today;
+                long termDays = Math.max(1, termEnd.toEpochDay() - terms[t][0].toEpochDay());
+                for (int s = 0; s < sectionCount; s++) {
+                    for (int j = 0; j < subjectCount; j++) {
+                        for (int e = 0; e < examsPerTerm; e++) {
+                            long examId = nextId("exams");
+                            LocalDate examDate = terms[t][0].plusDays(termDays * (e + 1) / (examsPerTerm + 1));
+                            exams.row(examId, "Exam " + (e + 1) + " T" + (t + 1), subjectIds[j], sectionIds[s],
+                                periodIds[t], examDate, 100, 100.0 / examsPerTerm);
+                            examRows.add(new long[]{examId, s, subjectTeacherIds[j * teachersPerSubject + s % teachersPerSubject],
+                                examDate.toEpochDay()});
+                        }
+                    }
+                }
+            }
+            written.add(exams);
+        }
+        try (CopyWriter grades = new CopyWriter(copy, "grades",
+                "id, student_id, exam_id, marks_obtained, grade, submitted_by, submitted_at")) {
+            for (long[] exam : examRows) {
+                int section = (int) exam[1];
+                LocalDateTime submittedAt = LocalDate.ofEpochDay(exam[3]).plusDays(3).atTime(16, 0);
+                for (int s = section * sectionSize; s < Math.min(studentCount, (section + 1) * sectionSize); s++) {
+                    double marks = Math.max(0, Math.min(100, ability[s] + random.nextGaussian() * 10));
+                    grades.row(nextId("grades"), studentIds[s], exam[0], Math.round(marks * 100) / 100.0,
+                        letter(marks), exam[2], submittedAt);
+                }
+            }
+            written.add(grades);
+        }
+
+        // Attendance for past school days; today is left for the load driver to mark
+        try (CopyWriter attendance = new CopyWriter(copy, "attendance", "id, student_id, date, is_present, marked_by")) {
+            LocalDate day = today.minusDays(1);
+            for (int d = 0; d < attendanceDays; day = day.minusDays(1)) {
+                if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                    continue;
+                }
+                for (int s = 0; s < studentCount; s++) {
+                    attendance.row(nextId("attendance"), studentIds[s], day, random.nextDouble() < 0.93,
+                        classTeacherIds[s / sectionSize]);
+                }
+                d++;
+            }
+            written.add(attendance);
+        }
+
+        try (CopyWriter payments = new CopyWriter(copy, "payments",
+                "id, student_id, academic_period_id, amount_due, amount_paid, payment_status, due_date, payment_date")) {
+            for (int t = 0; t < terms.length; t++) {
+                LocalDate dueDate = terms[t][0].plusDays(14);
+                for (int s = 0; s < studentCount; s++) {
+                    boolean paid = dueDate.isBefore(today) && random.nextDouble() < 0.85;
+                    payments.row(nextId("payments"), studentIds[s], periodIds[t], 15000, paid ? 15000 : 0,
+                        paid ? "PAID" : dueDate.isBefore(today) ? "OVERDUE" : "PENDING", dueDate,
+                        paid ? dueDate.minusDays(random.nextInt(10)) : null);
+                }
+            }
+            written.add(payments);
+        }
+
+        try (CopyWriter events = new CopyWriter(copy, "events",
+                "id, event_name, event_date, location, is_mandatory, target_audience, created_by")) {
+            for (int e = 0; e < 40; e++) {
+                String audience = e % 4 == 0
+                    ? "{" + ROLES_AUDIENCE[e / 4 % ROLES_AUDIENCE.length] + "}"
+                    : "{ADMIN,PRINCIPAL,VICE_PRINCIPAL,CLASS_TEACHER,SUBJECT_TEACHER,STUDENT,PARENT}";
+                events.row(nextId("events"), prefix + " event " + e,
+                    today.plusDays(e * 2L - 10).atTime(8 + e % 8, 0), "Main hall", e % 5 == 0, audience, adminId);
+            }
+            written.add(events);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, Long> table : nextIds.entrySet()) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table.getKey() + "', 'id'), "
+                    + Math.max(1, table.getValue() - 1) + ")");
+            }
+        }
+
+        writeManifest();
+        return written;
+    }
+
+    private long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private long nextId(String table) {
+        long id = nextIds.get(table);
+        nextIds.put(table, id + 1);
+        return id;
+    }
+
+    /**
+     * A, B, ... Z, A1, B1, ...
+     */
+    private static String sectionName(int n) {
+        return (char) ('A' + n % 26) + (n >= 26 ? String.valueOf(n / 26) : "");
+    }
+
+    private static String letter(double marks) {
+        return marks >= 80 ? "A" : marks >= 65 ? "B" : marks >= 50 ? "C" : marks >= 40 ? "D" : "E";
+    }
+
+    private void writeManifest() throws IOException {
+        Path path = Paths.get(options.get("manifest", "target/loadtest/users.csv"));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            out.println("username,role,two_factor,section_id");
+            manifest.forEach(out::println);
+        }
+        System.out.println("Manifest: " + path.toAbsolutePath());
+    }
+
+    /**
+     * users + user_profiles, written side by side (two COPY streams cannot
+     * be open on one connection, so profiles are buffered as rows first)
+     */
+    private final class UserWriter {
+
+        private final CopyWriter users;
+        private final List<Object[]> profiles = new ArrayList<>();
+        private final CopyManager copy;
+        private final String passwordHash;
+        private final double twoFactorRatio;
+        private final String prefix;
+
+        private UserWriter(CopyManager copy, String passwordHash, double twoFactorRatio, String prefix) throws SQLException {
+            this.copy = copy;
+            this.passwordHash = passwordHash;
+            this.twoFactorRatio = twoFactorRatio;
+            this.prefix = prefix;
+            this.users = new CopyWriter(copy, "users",
+                "id, username, email, password_hash, role, is_active, two_factor_enabled, created_at, updated_at");
+        }
+
+        private long add(String role, String name, long sectionId, boolean mayUseTwoFactor) throws SQLException {
+            long id = nextId("users");
+            String username = prefix + "." + name;
+            boolean twoFactor = mayUseTwoFactor && random.nextDouble() < twoFactorRatio;
+            users.row(id, username, username + "@loadtest.school", passwordHash, role, true, twoFactor, now, now);
+            profiles.add(new Object[]{nextId("user_profiles"), id,
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                random.nextBoolean() ? "MALE" : "FEMALE", "+2547" + (10000000 + random.nextInt(89999999)), now, now});
+            manifest.add(username + "," + role + "," + twoFactor + "," + (sectionId > 0 ? sectionId : ""));
+            return id;
+        }
+
+        private List<CopyWriter> finish() throws SQLException {
+            users.close();
+            try (CopyWriter writer = new CopyWriter(copy, "user_profiles",
+                    "id, user_id, first_name, last_name, gender, phone_number, created_at, updated_at")) {
+                for (Object[] profile : profiles) {
+                    writer.row(profile);
+                }
+                profiles.clear();
+                return List.of(users, writer);
+            }
+        }
+    }
+}
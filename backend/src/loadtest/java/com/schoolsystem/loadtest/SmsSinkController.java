@@ -0,0 +1,34 @@
+package com.schoolsystem.loadtest;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * SmsSinkController - The load-test backend's SMS outbox
+ *
+ * Endpoints:
+ * GET /loadtest/sms/{username} - {"code": "123456"}, 404 if nothing was sent
+ */
+@RestController
+@Profile("loadtest")
+@RequestMapping("/loadtest/sms")
+public class SmsSinkController {
+
+    private final SmsSinkTwoFactorAuthService smsSink;
+
+    public SmsSinkController(SmsSinkTwoFactorAuthService smsSink) {
+        this.smsSink = smsSink;
+    }
+
+    @GetMapping("/{username}")
+    public ResponseEntity<Map<String, String>> takeCode(@PathVariable String username) {
+        String code = smsSink.takeCode(username);
+        return code != null ? ResponseEntity.ok(Map.of("code", code)) : ResponseEntity.notFound().build();
+    }
+}
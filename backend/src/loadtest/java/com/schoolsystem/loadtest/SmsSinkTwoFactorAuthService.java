@@ -0,0 +1,31 @@
+package com.schoolsystem.loadtest;
+
+import com.schoolsystem.entity.User;
+import com.schoolsystem.service.TwoFactorAuthService;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SmsSinkTwoFactorAuthService - TwoFactorAuthService whose "SMS" lands in memory
+ *
+ * Codes are generated, stored and verified by the real service; only the
+ * send step is replaced. MorningLoadDriver reads each user's code back
+ * through SmsSinkController, the way a person reads it off their phone.
+ */
+public class SmsSinkTwoFactorAuthService extends TwoFactorAuthService {
+
+    private final Map<String, String> outbox = new ConcurrentHashMap<>();
+
+    @Override
+    protected void sendSmsCode(User user, String code) {
+        outbox.put(user.getUsername(), code);
+    }
+
+    /**
+     * Last code sent to the user, or null; each code is handed out once
+     */
+    public String takeCode(String username) {
+        return outbox.remove(username);
+    }
+}
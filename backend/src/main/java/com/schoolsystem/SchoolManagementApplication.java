@@ -1,13 +1,16 @@
 package com.schoolsystem;
 
+import com.schoolsystem.config.NativeImageHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
 @EnableScheduling
+@ImportRuntimeHints(NativeImageHints.class)
 public class SchoolManagementApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,41 @@
+package com.schoolsystem.config;
+
+import com.schoolsystem.listener.AuditEventListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Audit Configuration
+ * 
+ * Hooks AuditEventListener into Hibernate's post-commit events so every
+ * committed insert/update/delete is queued for the audit_log table.
+ * 
+ * Disable with audit.enabled=false
+ */
+@Configuration
+@ConditionalOnProperty(name = "audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditConfig {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private AuditEventListener auditEventListener;
+    
+    @PostConstruct
+    public void registerListeners() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, auditEventListener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, auditEventListener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, auditEventListener);
+    }
+}
@@ -0,0 +1,57 @@
+package com.schoolsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * DataSource Pool Configuration
+ * 
+ * Sizes the Hikari pool from the core count instead of the fixed default
+ * of 10:
+ * 
+ *   connections = cores * 2 + spindles
+ * 
+ * PostgreSQL cannot run more queries at once than it has cores; extra
+ * connections only queue inside the database. The pool is fixed-size
+ * (minimum-idle = maximum) so a traffic burst never waits on new
+ * connections being opened.
+ * 
+ * cores defaults to this machine's processors - set db.pool.cores to the
+ * database server's when they differ. An explicit
+ * spring.datasource.hikari.maximum-pool-size always wins.
+ * 
+ * Enabled with db.pool.size-from-cores=true (prod profile)
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.pool.size-from-cores", havingValue = "true")
+public class DataSourcePoolConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(DataSourcePoolConfig.class);
+    
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari
+                        && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                    int cores = environment.getProperty("db.pool.cores", Integer.class,
+                        Runtime.getRuntime().availableProcessors());
+                    int spindles = environment.getProperty("db.pool.spindles", Integer.class, 1);
+                    int size = cores * 2 + spindles;
+                    
+                    hikari.setMaximumPoolSize(size);
+                    hikari.setMinimumIdle(size);
+                    log.info("Connection pool {} sized to {} ({} cores, {} spindles)", beanName, size, cores, spindles);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.schoolsystem.config;
+
+import jakarta.persistence.Entity;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * NativeImageHints - Reflection and resource hints for the GraalVM native
+ * image (mvn -Pnative native:compile)
+ *
+ * Spring AOT already covers beans, controller payloads and repositories.
+ * This adds what it cannot see:
+ * 1. JPA entities and the enums Hibernate maps by name - Hibernate reads
+ *    fields and calls constructors reflectively
+ * 2. DTOs - also serialised inside maps and lists (dashboard widgets,
+ *    search results), where Spring's controller scan does not reach
+ * 3. JJWT - jjwt-api instantiates its jjwt-impl / jjwt-jackson classes by
+ *    name
+ * 4. Flyway SQL migrations as resources
+ *
+ * Classes are found by scanning packages at build time, so new entities,
+ * enums and DTOs need no change here. Only evaluated during AOT processing;
+ * has no effect on the JVM.
+ */
+public class NativeImageHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] FULL_REFLECTION = {
+        MemberCategory.DECLARED_FIELDS,
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+        MemberCategory.INVOKE_DECLARED_METHODS
+    };
+
+    /** Loaded by name from jjwt-api (Jwts, Jwks, Keys) and via ServiceLoader */
+    private static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+        "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+        "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+        "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+        "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+        "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+        "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+        "io.jsonwebtoken.impl.security.JwksBridge",
+        "io.jsonwebtoken.impl.security.KeysBridge",
+        "io.jsonwebtoken.impl.security.StandardCurves",
+        "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+        "io.jsonwebtoken.impl.security.StandardKeyOperations",
+        "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+        "io.jsonwebtoken.jackson.io.JacksonSerializer",
+        "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        scan(classLoader, "com.schoolsystem.entity", new AnnotationTypeFilter(Entity.class),
+                type -> hints.reflection().registerType(type, FULL_REFLECTION));
+        scan(classLoader, "com.schoolsystem.entity", new AssignableTypeFilter(Enum.class),
+                type -> hints.reflection().registerType(type, FULL_REFLECTION));
+        scan(classLoader, "com.schoolsystem.enums", new AssignableTypeFilter(Enum.class),
+                type -> hints.reflection().registerType(type, FULL_REFLECTION));
+
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        scan(classLoader, "com.schoolsystem.dto", (reader, factory) -> true,
+                type -> bindings.registerReflectionHints(hints.reflection(), type));
+
+        for (String type : JJWT_IMPLEMENTATIONS) {
+            hints.reflection().registerType(TypeReference.of(type), FULL_REFLECTION);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        hints.resources().registerPattern("db/migration/*.sql");
+    }
+
+    private static void scan(ClassLoader classLoader, String basePackage, TypeFilter filter,
+                             Consumer<Class<?>> register) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+                // Enums and DTOs without a public constructor count too
+                return definition.getMetadata().isIndependent();
+            }
+        };
+        scanner.addIncludeFilter(filter);
+        for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+            register.accept(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.schoolsystem.config;
+
+import com.schoolsystem.listener.QueryCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Query Guard Filter
+ * 
+ * Counts the SQL statements each HTTP request issues (including the JWT
+ * filter's user lookup - this runs ahead of the security chain):
+ * 1. Opens a QueryCounter scope for the request
+ * 2. Records the count in http.server.requests.statements{method,uri}
+ *    and exposes it as the request attribute STATEMENT_COUNT_ATTRIBUTE
+ *    (handy for MockMvc assertions)
+ * 3. Warns when one SQL string ran n-plus-one-threshold times or more
+ *    (counted in query.guard.n_plus_one), or when the request went over
+ *    max-statements-per-request
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "query.guard.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryGuardFilter extends OncePerRequestFilter {
+    
+    public static final String STATEMENT_COUNT_ATTRIBUTE = QueryGuardFilter.class.getName() + ".statementCount";
+    
+    private static final Logger log = LoggerFactory.getLogger(QueryGuardFilter.class);
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${query.guard.n-plus-one-threshold:10}")
+    private int nPlusOneThreshold;
+    
+    @Value("${query.guard.max-statements-per-request:50}")
+    private int maxStatementsPerRequest;
+    
+    @Override
+    protected void doFilterInternal(
+                        @NonNull   HttpServletRequest request,
+                        @NonNull   HttpServletResponse response,
+                        @NonNull   FilterChain filterChain)
+                    throws ServletException, IOException {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                inspect(request, scope);
+            }
+        }
+    }
+    
+    private void inspect(HttpServletRequest request, QueryCounter.Scope scope) {
+        int statements = scope.getStatementCount();
+        request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, statements);
+        if (statements == 0) {
+            return;
+        }
+        
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.statements")
+            .description("SQL statements per HTTP request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(statements);
+        
+        if (scope.getMaxRepeats() >= nPlusOneThreshold) {
+            Counter.builder("query.guard.n_plus_one")
+                .description("Requests that ran one statement n-plus-one-threshold times or more")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+            log.warn("Possible N+1 in {} {}: {} statements, {}x {}",
+                request.getMethod(), uri, statements, scope.getMaxRepeats(), scope.getMostRepeatedSql());
+        } else if (statements > maxStatementsPerRequest) {
+            log.warn("{} {} issued {} statements (limit {})",
+                request.getMethod(), uri, statements, maxStatementsPerRequest);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.schoolsystem.config;
+
+import com.schoolsystem.listener.QueryExecutionMonitor;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Query Instrumentation Configuration
+ * 
+ * Wraps every DataSource bean in a datasource-proxy ProxyDataSource that
+ * reports to QueryExecutionMonitor. Working at the JDBC level (rather than
+ * a Hibernate StatementInspector) is deliberate: most of our SQL goes
+ * through JdbcTemplate and would be invisible to Hibernate.
+ * 
+ * unwrap() still reaches the pool and the driver, so Hikari pool metrics
+ * and PGConnection COPY keep working.
+ * 
+ * Disable with query.guard.enabled=false
+ */
+@Configuration
+@ConditionalOnProperty(name = "query.guard.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentationConfig {
+    
+    /**
+     * Static so it is registered before the DataSource is created; the
+     * monitor is looked up lazily for the same reason.
+     */
+    @Bean
+    public static BeanPostProcessor queryInstrumentationPostProcessor(ObjectProvider<QueryExecutionMonitor> monitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(monitor.getObject())
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.schoolsystem.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.schoolsystem.entity.AcademicPeriod;
+import com.schoolsystem.entity.AcademicYear;
+import com.schoolsystem.entity.SchoolClass;
+import com.schoolsystem.entity.Section;
+import com.schoolsystem.entity.Subject;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reference Data Cache Configuration
+ *
+ * Hibernate second-level cache (JCache API, Caffeine in-process) for the
+ * tables nearly every screen joins but that change a few times a year:
+ * classes, sections, subjects, academic years and periods.
+ *
+ * Regions:
+ * - One entity region per table (SchoolClass.CACHE_REGION, ...)
+ * - reference.queries - cached list queries (ids only; rows come from the
+ *   entity regions)
+ * - Hibernate's update-timestamps region - lets a JPA write to a table
+ *   invalidate the cached queries over it; never expires
+ *
+ * Writes through JPA keep the cache current. Rows changed with plain SQL
+ * (psql, JdbcTemplate) are only picked up after reference.cache.ttl-minutes
+ * or an admin eviction (DELETE /api/admin/cache/reference).
+ *
+ * The caches are created here rather than in a provider config file so
+ * their bounds come from application.properties like everything else.
+ */
+@Configuration
+public class ReferenceDataCacheConfig {
+
+    public static final String QUERY_REGION = "reference.queries";
+
+    public static final List<String> ENTITY_REGIONS = List.of(
+        SchoolClass.CACHE_REGION,
+        Section.CACHE_REGION,
+        Subject.CACHE_REGION,
+        AcademicYear.CACHE_REGION,
+        AcademicPeriod.CACHE_REGION
+    );
+
+    @Value("${reference.cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${reference.cache.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager referenceCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager();
+        for (String region : ENTITY_REGIONS) {
+            createCache(cacheManager, region, OptionalLong.of(maxEntries), OptionalLong.of(ttlMinutes));
+        }
+        createCache(cacheManager, QUERY_REGION, OptionalLong.of(maxEntries), OptionalLong.of(ttlMinutes));
+        // One entry per table; expiring it would serve stale query results
+        createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+            OptionalLong.empty(), OptionalLong.empty());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer referenceCacheCustomizer(CacheManager referenceCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, referenceCacheManager);
+    }
+
+    private static void createCache(CacheManager cacheManager, String region,
+                                    OptionalLong maxEntries, OptionalLong ttlMinutes) {
+        // Survives a devtools restart, which reuses the provider's manager
+        if (cacheManager.getCache(region) != null) {
+            cacheManager.destroyCache(region);
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate caches disassembled state already; no copy on every read
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setMaximumSize(maxEntries);
+        if (ttlMinutes.isPresent()) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMinutes.getAsLong())));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,127 @@
+package com.schoolsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read Replica Configuration
+ * 
+ * Wraps the auto-configured primary DataSource in a ReplicaRoutingDataSource
+ * so @Transactional(readOnly = true) service methods (reports, dashboards,
+ * inbox reads) run on the replicas in db.replica.urls, while writes and
+ * plain calls such as AuthService stay on the primary.
+ * 
+ * Each replica gets its own Hikari pool, copied from the primary's settings
+ * (size, timeouts, driver properties) and opened read-only, so a write that
+ * ends up on a replica fails loudly instead of diverging.
+ * 
+ * Runs after TenancyConfig (replica connections are scoped to the school
+ * like the primary's) and before QueryInstrumentationConfig, so statements
+ * are counted once whichever pool they go to.
+ * 
+ * Enabled by setting db.replica.urls (comma-separated JDBC URLs)
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.replica.urls")
+public class ReplicaRoutingConfig {
+    
+    /**
+     * Postgres lag: 0 when every received WAL record is replayed (an idle
+     * primary must not look like lag), otherwise time since the last replayed
+     * transaction. A server that is not in recovery counts as 0.
+     */
+    private static final String POSTGRES_LAG_QUERY =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+    
+    /**
+     * Declared with its concrete type: Spring reads Ordered from the bean
+     * type before instantiating post-processors
+     */
+    @Bean
+    public static ReplicaRoutingPostProcessor replicaRoutingPostProcessor(Environment environment,
+                                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaRoutingPostProcessor(environment, meterRegistry);
+    }
+    
+    static class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered {
+        
+        private final Environment environment;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        
+        ReplicaRoutingPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.environment = environment;
+            this.meterRegistry = meterRegistry;
+        }
+        
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+                return bean;
+            }
+            HikariDataSource primary = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+            if (primary == null) {
+                return bean;
+            }
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            
+            List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+            String[] urls = StringUtils.commaDelimitedListToStringArray(environment.getRequiredProperty("db.replica.urls"));
+            for (int i = 0; i < urls.length; i++) {
+                String name = "replica-" + (i + 1);
+                HikariDataSource pool = replicaPool(primary, name, urls[i].trim(), registry);
+                replicas.add(dataSource instanceof TenantScopedDataSource scoped
+                    ? new ReplicaRoutingDataSource.Replica(name, pool, scoped.forPool(pool, name))
+                    : new ReplicaRoutingDataSource.Replica(name, pool));
+            }
+            
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(dataSource, replicas,
+                environment.getProperty("db.replica.max-lag-seconds", Double.class, 5.0),
+                environment.getProperty("db.replica.lag-query", POSTGRES_LAG_QUERY),
+                environment.getProperty("db.replica.lag-check-ms", Long.class, 5000L));
+            if (registry != null) {
+                routing.bindMetrics(registry);
+            }
+            return routing;
+        }
+        
+        /**
+         * Not started here - Hikari opens the pool on first use, so an
+         * unreachable replica never blocks startup
+         */
+        private HikariDataSource replicaPool(HikariDataSource primary, String name, String url, MeterRegistry registry) {
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url);
+            replica.setUsername(environment.getProperty("db.replica.username", primary.getUsername()));
+            replica.setPassword(environment.getProperty("db.replica.password", primary.getPassword()));
+            replica.setReadOnly(true);
+            // Start empty and keep retrying instead of failing (and logging) on every lag check
+            replica.setInitializationFailTimeout(-1);
+            if (registry != null && replica.getMetricRegistry() == null) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            return replica;
+        }
+        
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE + 10;
+        }
+    }
+}
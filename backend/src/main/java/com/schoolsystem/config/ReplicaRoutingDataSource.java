@@ -0,0 +1,195 @@
+package com.schoolsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ReplicaRoutingDataSource - Sends read-only transactions to replica pools
+ * 
+ * Routing:
+ * 1. @Transactional(readOnly = true) -> next available replica (round robin)
+ * 2. Everything else (writes, non-transactional JdbcTemplate calls,
+ *    Flyway) -> primary
+ * 3. No replica available (lagging past max-lag-seconds or unreachable)
+ *    -> primary, counted in db.replica.fallback
+ * 
+ * The connection is only fetched on the first statement (lazy proxy),
+ * because the transaction manager opens it before the read-only flag of
+ * the transaction is visible.
+ * 
+ * A background check runs lag-query on every replica each lag-check-ms
+ * and publishes db.replica.lag / db.replica.available per replica.
+ * 
+ * Reads right after a write in another transaction may not see it yet on
+ * a replica - keep such read-after-write paths in one read-write
+ * transaction.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    private static final String PRIMARY = "primary";
+    
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker;
+    private Counter fallbacks;
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas,
+                                    double maxLagSeconds, String lagQuery, long lagCheckMs) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        
+        Router router = new Router();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicas) {
+            targets.put(replica.name, replica.routed);
+        }
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        
+        setTargetDataSource(router);
+        // Known defaults, so the proxy does not open a connection just to find out
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        
+        lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Replicas join the rotation after their first successful check
+        lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0, lagCheckMs, TimeUnit.MILLISECONDS);
+    }
+    
+    public void bindMetrics(MeterRegistry meterRegistry) {
+        fallbacks = Counter.builder("db.replica.fallback")
+            .description("Read-only transactions sent to the primary because no replica was available")
+            .register(meterRegistry);
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                .description("Replication lag in seconds (NaN when unreachable)")
+                .baseUnit("seconds")
+                .tag("replica", replica.name)
+                .register(meterRegistry);
+            Gauge.builder("db.replica.available", replica, r -> r.available ? 1 : 0)
+                .tag("replica", replica.name)
+                .register(meterRegistry);
+        }
+    }
+    
+    private Object currentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica.name;
+            }
+        }
+        if (fallbacks != null) {
+            fallbacks.increment();
+        }
+        return PRIMARY;
+    }
+    
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            boolean firstCheck = !replica.checked;
+            replica.checked = true;
+            try {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.routed);
+                jdbcTemplate.setQueryTimeout(2);
+                Double lag = jdbcTemplate.queryForObject(lagQuery, Double.class);
+                replica.lagSeconds = lag != null ? lag : 0;
+                replica.available = replica.lagSeconds <= maxLagSeconds;
+            } catch (RuntimeException e) {
+                replica.lagSeconds = Double.NaN;
+                replica.available = false;
+                if (wasAvailable || firstCheck) {
+                    log.warn("Replica {} unreachable, reads go to the primary: {}", replica.name, e.getMessage());
+                }
+            }
+            if ((wasAvailable || firstCheck) && !replica.available && !Double.isNaN(replica.lagSeconds)) {
+                log.warn("Replica {} is {} s behind (max {} s), reads go to the primary",
+                    replica.name, replica.lagSeconds, maxLagSeconds);
+            } else if (!wasAvailable && replica.available) {
+                log.info("Replica {} in rotation (lag {} s)", replica.name, replica.lagSeconds);
+            }
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        lagChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+    
+    private class Router extends AbstractRoutingDataSource {
+        
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return currentLookupKey();
+        }
+    }
+    
+    /**
+     * One replica pool and its last lag check
+     */
+    public static class Replica {
+        
+        private final String name;
+        private final HikariDataSource dataSource;
+        /** What reads go to: the pool itself, or the pool wrapped (tenant scoping) */
+        private final DataSource routed;
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+        private volatile boolean checked;
+        
+        public Replica(String name, HikariDataSource dataSource) {
+            this(name, dataSource, dataSource);
+        }
+        
+        public Replica(String name, HikariDataSource dataSource, DataSource routed) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.routed = routed;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.schoolsystem.config;
 
 import com.schoolsystem.security.CustomUserDetailsService;
 import com.schoolsystem.security.JwtAuthenticationFilter;
+import com.schoolsystem.security.LoginAuthenticationProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -17,6 +19,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -44,6 +47,10 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
+    // Internal actuator port (application-prod.properties); -1 when actuator shares the public port
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+    
     /**
      * Password Encoder Bean
      * 
@@ -63,10 +70,11 @@ public class SecurityConfig {
      * Tells Spring Security:
      * - Where to load users from (CustomUserDetailsService)
      * - How to encode passwords (BCryptPasswordEncoder)
+     * - Failed logins throw stackless exceptions (LoginAuthenticationProvider)
      */
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new LoginAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
         return authProvider;
@@ -93,6 +101,8 @@ public class SecurityConfig {
      */
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        RequestMatcher managementPortRequest = request -> request.getLocalPort() == managementPort;
+        
         http
             // Disable CSRF (not needed for JWT-based APIs)
             .csrf(csrf -> csrf.disable())
@@ -106,6 +116,15 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
+                // Error dispatch for failures the handler does not map, so they are not turned into 403
+                .requestMatchers("/error").permitAll()
+                // Public halves of the token signing keys
+                .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                // Prometheus scrapes the internal management port; on the public port metrics are admin-only
+                .requestMatchers(managementPortRequest).permitAll()
+                .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
+                // Calendar subscriptions carry their own signed token
+                .requestMatchers(HttpMethod.GET, "/api/events/feed/*/calendar.ics").permitAll()
                 
                 // Admin-only endpoints
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
@@ -0,0 +1,88 @@
+package com.schoolsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Multi-School Tenancy Configuration
+ *
+ * One deployment, one database, many schools. Every table carries a
+ * school_id and a row-level security policy (V15); this wraps the pool in
+ * a TenantScopedDataSource so each connection is scoped to the school of
+ * the signed-in user (the JWT "school" claim, see JwtAuthenticationFilter).
+ *
+ * Row-level security rather than Hibernate filters: most of our SQL is
+ * JdbcTemplate, which a Hibernate filter never sees, and a forgotten
+ * WHERE school_id = ? is exactly the bug we cannot afford.
+ *
+ * Properties:
+ *   tenancy.max-connections-per-school  default half the pool (at least 2)
+ *   tenancy.acquire-timeout-ms          default the pool's connection-timeout
+ *   tenancy.db-role                     role the policies apply to (school_tenant);
+ *                                       blank when the app does not log in as the table owner
+ *
+ * Runs first among the DataSource post-processors, so replica pools
+ * (ReplicaRoutingConfig) are scoped the same way.
+ *
+ * Enabled with tenancy.enabled=true
+ */
+@Configuration
+@ConditionalOnProperty(name = "tenancy.enabled", havingValue = "true")
+public class TenancyConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(TenancyConfig.class);
+
+    /**
+     * Declared with its concrete type: Spring reads Ordered from the bean
+     * type before instantiating post-processors
+     */
+    @Bean
+    public static TenantScopingPostProcessor tenantScopingPostProcessor(Environment environment,
+                                                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TenantScopingPostProcessor(environment, meterRegistry);
+    }
+
+    static class TenantScopingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        TenantScopingPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.environment = environment;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource pool) || !"dataSource".equals(beanName)) {
+                return bean;
+            }
+            // -1 until the pool starts when not configured; Hikari then uses 10
+            int poolSize = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : 10;
+            int perSchool = environment.getProperty("tenancy.max-connections-per-school", Integer.class,
+                Math.max(2, poolSize / 2));
+            long timeoutMs = environment.getProperty("tenancy.acquire-timeout-ms", Long.class,
+                pool.getConnectionTimeout());
+            String role = environment.getProperty("tenancy.db-role", "school_tenant");
+            String name = pool.getPoolName() != null ? pool.getPoolName() : beanName;
+
+            log.info("Tenancy on: {} scoped per school, {} of {} connections per school, db role '{}'",
+                name, perSchool, poolSize, role);
+            return new TenantScopedDataSource(pool, name, perSchool, timeoutMs, role, meterRegistry.getIfAvailable());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
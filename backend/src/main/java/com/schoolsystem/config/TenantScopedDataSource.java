@@ -0,0 +1,185 @@
+package com.schoolsystem.config;
+
+import com.schoolsystem.security.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * TenantScopedDataSource - Hands out connections scoped to the current school
+ *
+ * For every connection taken from the pool:
+ * 1. Quota - at most max-connections-per-school of this pool's connections
+ *    serve one school at a time; a school over its quota waits up to
+ *    acquire-timeout-ms and then fails (db.tenant.connections.rejected),
+ *    so one busy school cannot starve the others
+ * 2. Scope - app.school_id is set to TenantContext's school (empty when
+ *    unscoped) and the session switches to db-role, the non-owner role the
+ *    row-level security policies from V15 apply to
+ * 3. Release - closing the connection returns the school's permit
+ *
+ * The settings stay on the pooled connection, so step 2 costs one round
+ * trip only when a connection changes school.
+ */
+public class TenantScopedDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final String APPLY_SCOPE =
+        "SELECT set_config('app.school_id', ?, false), set_config('role', ?, false)";
+    private static final String APPLY_SCHOOL =
+        "SELECT set_config('app.school_id', ?, false)";
+    private static final String UNSCOPED = "";
+
+    private final String poolName;
+    private final int maxConnectionsPerSchool;
+    private final long acquireTimeoutMs;
+    private final String dbRole;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Semaphore> quotas = new ConcurrentHashMap<>();
+    private final Map<Long, Counter> rejections = new ConcurrentHashMap<>();
+    /** Physical connection -> school it is currently scoped to */
+    private final Map<Connection, String> applied = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public TenantScopedDataSource(DataSource pool, String poolName, int maxConnectionsPerSchool,
+                                  long acquireTimeoutMs, String dbRole, MeterRegistry meterRegistry) {
+        super(pool);
+        this.poolName = poolName;
+        this.maxConnectionsPerSchool = maxConnectionsPerSchool;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.dbRole = dbRole;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Same scoping and quota for another pool (read replicas)
+     */
+    public TenantScopedDataSource forPool(DataSource pool, String name) {
+        return new TenantScopedDataSource(pool, name, maxConnectionsPerSchool, acquireTimeoutMs, dbRole, meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Long schoolId = TenantContext.getSchoolId();
+        Semaphore permit = schoolId != null ? acquire(schoolId) : null;
+        try {
+            Connection connection = super.getConnection();
+            try {
+                applyScope(connection, schoolId);
+            } catch (SQLException | RuntimeException e) {
+                connection.close();
+                throw e;
+            }
+            return permit != null ? releasingOnClose(connection, permit) : connection;
+        } catch (SQLException | RuntimeException e) {
+            if (permit != null) {
+                permit.release();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Tenant-scoped connections use the pool's credentials");
+    }
+
+    private Semaphore acquire(Long schoolId) throws SQLException {
+        Semaphore quota = quotas.computeIfAbsent(schoolId, id -> new Semaphore(maxConnectionsPerSchool, true));
+        try {
+            if (quota.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return quota;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (meterRegistry != null) {
+            rejections.computeIfAbsent(schoolId, id -> Counter.builder("db.tenant.connections.rejected")
+                .description("Connection requests refused because the school was at its connection quota")
+                .tag("pool", poolName)
+                .tag("school", String.valueOf(id))
+                .register(meterRegistry)).increment();
+        }
+        throw new SQLTransientConnectionException(String.format(
+            "%s - school %d is using all %d of its connections (waited %d ms)",
+            poolName, schoolId, maxConnectionsPerSchool, acquireTimeoutMs));
+    }
+
+    private void applyScope(Connection connection, Long schoolId) throws SQLException {
+        String school = schoolId != null ? schoolId.toString() : UNSCOPED;
+        Connection physical = connection.unwrap(Connection.class);
+        if (school.equals(applied.get(physical))) {
+            return;
+        }
+        boolean withRole = StringUtils.hasText(dbRole);
+        try (PreparedStatement statement = connection.prepareStatement(withRole ? APPLY_SCOPE : APPLY_SCHOOL)) {
+            statement.setString(1, school);
+            if (withRole) {
+                // "none" goes back to the login role (table owner) for unscoped work
+                statement.setString(2, schoolId != null ? dbRole : "none");
+            }
+            statement.execute();
+        }
+        // A rollback would undo set_config
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+        applied.put(physical, school);
+    }
+
+    private static Connection releasingOnClose(Connection connection, Semaphore permit) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+            TenantScopedDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "close":
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permit.release();
+                            }
+                        }
+                        return null;
+                    default:
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                }
+            });
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (Objects.requireNonNull(getTargetDataSource()) instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.dto.AppointmentDto;
+import com.schoolsystem.dto.BookAppointmentRequest;
+import com.schoolsystem.dto.TimeSlotDto;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.security.UserPrincipal;
+import com.schoolsystem.service.AppointmentService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * AppointmentController - REST API for parent-teacher appointments
+ * 
+ * Endpoints:
+ * GET  /api/appointments/availability   - Free slots for a teacher
+ * POST /api/appointments                - Book a slot (parents)
+ * POST /api/appointments/{id}/cancel    - Cancel a booking
+ */
+@RestController
+@RequestMapping("/api/appointments")
+public class AppointmentController {
+    
+    @Autowired
+    private AppointmentService appointmentService;
+    
+    /**
+     * GET /api/appointments/availability?teacherId=7&from=2024-05-13&to=2024-05-17&durationMinutes=15
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<List<TimeSlotDto>> availability(
+            @RequestParam Long teacherId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "30") int durationMinutes) {
+        return ResponseEntity.ok(appointmentService.findFreeSlots(teacherId, from, to, durationMinutes));
+    }
+    
+    /**
+     * POST /api/appointments
+     * 
+     * 409 Conflict when the slot was taken in the meantime
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('PARENT', 'ADMIN')")
+    public ResponseEntity<AppointmentDto> book(@AuthenticationPrincipal UserPrincipal currentUser,
+                                               @Valid @RequestBody BookAppointmentRequest request) {
+        return ResponseEntity.ok(
+            appointmentService.book(currentUser.getId(), currentUser.getRole() == UserRole.ADMIN, request)
+        );
+    }
+    
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<AppointmentDto> cancel(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                 @PathVariable Long id) {
+        return ResponseEntity.ok(
+            appointmentService.cancel(currentUser.getId(), currentUser.getRole() == UserRole.ADMIN, id)
+        );
+    }
+}
@@ -0,0 +1,65 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.dto.BatchGradeRequest;
+import com.schoolsystem.dto.BatchGradeResult;
+import com.schoolsystem.security.UserPrincipal;
+import com.schoolsystem.service.AssignmentGradingService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * AssignmentGradingController - Bulk grading for teachers
+ *
+ * Endpoints:
+ * GET /api/assignments/{id}/submissions.zip - All submitted files in one ZIP
+ * PUT /api/assignments/{id}/grades          - Grade many students at once
+ */
+@RestController
+@RequestMapping("/api/assignments")
+@PreAuthorize("hasAnyRole('ADMIN', 'PRINCIPAL', 'VICE_PRINCIPAL', 'CLASS_TEACHER', 'SUBJECT_TEACHER')")
+public class AssignmentGradingController {
+
+    @Autowired
+    private AssignmentGradingService gradingService;
+
+    /**
+     * GET /api/assignments/{id}/submissions.zip
+     *
+     * Streamed while it is being built: no Content-Length, the download
+     * starts immediately
+     */
+    @GetMapping("/{id}/submissions.zip")
+    public void downloadAll(@AuthenticationPrincipal UserPrincipal currentUser,
+                            @PathVariable Long id,
+                            HttpServletResponse response) throws IOException {
+        gradingService.checkCanManage(currentUser.getId(), currentUser.getRole(), id);
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("assignment-" + id + "-submissions.zip").build().toString());
+        gradingService.writeSubmissionsZip(id, response.getOutputStream());
+    }
+
+    /**
+     * PUT /api/assignments/{id}/grades
+     *
+     * {"grades": [{"studentId": 12, "marksObtained": 17.5, "feedback": "Good"}, ...]}
+     */
+    @PutMapping("/{id}/grades")
+    public ResponseEntity<BatchGradeResult> gradeBatch(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                       @PathVariable Long id,
+                                                       @Valid @RequestBody BatchGradeRequest request) {
+        return ResponseEntity.ok(
+            gradingService.gradeBatch(currentUser.getId(), currentUser.getRole(), id, request)
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.dto.AttendanceMarkResult;
+import com.schoolsystem.dto.AttendanceRecordDto;
+import com.schoolsystem.dto.MarkAttendanceRequest;
+import com.schoolsystem.security.UserPrincipal;
+import com.schoolsystem.service.AttendanceService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * AttendanceController - Daily register per section
+ *
+ * Endpoints:
+ * GET /api/sections/{sectionId}/attendance?date=2024-03-04 - Register for the day (default today)
+ * PUT /api/sections/{sectionId}/attendance?date=2024-03-04 - Mark the whole section at once
+ */
+@RestController
+@RequestMapping("/api/sections/{sectionId}/attendance")
+@PreAuthorize("hasAnyRole('ADMIN', 'PRINCIPAL', 'VICE_PRINCIPAL', 'CLASS_TEACHER', 'SUBJECT_TEACHER')")
+public class AttendanceController {
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @GetMapping
+    public ResponseEntity<List<AttendanceRecordDto>> register(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable Long sectionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(attendanceService.getRegister(
+            currentUser.getId(), currentUser.getRole(), sectionId, date != null ? date : LocalDate.now()));
+    }
+
+    /**
+     * PUT /api/sections/{sectionId}/attendance
+     *
+     * {"entries": [{"studentId": 12, "present": true}, {"studentId": 13, "present": false, "remarks": "Sick"}]}
+     */
+    @PutMapping
+    public ResponseEntity<AttendanceMarkResult> mark(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable Long sectionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid @RequestBody MarkAttendanceRequest request) {
+        return ResponseEntity.ok(attendanceService.markRegister(
+            currentUser.getId(), currentUser.getRole(), sectionId, date != null ? date : LocalDate.now(), request));
+    }
+}
@@ -15,10 +15,13 @@ import org.springframework.web.bind.annotation.*;
  * Endpoints:
  * POST /api/auth/login - Login with username/password
  * POST /api/auth/verify-2fa - Verify 2FA code
- * POST /api/auth/logout - Logout (optional, JWT is stateless)
+ * POST /api/auth/logout - Logout (revokes the bearer token)
  * 
  * All endpoints are public (no authentication required)
  * Configured in SecurityConfig
+ * 
+ * Failures are answered by GlobalExceptionHandler (ErrorResponse):
+ * 401 BAD_CREDENTIALS, 401 INVALID_TWO_FACTOR_CODE, 400 VALIDATION_FAILED
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -56,14 +59,8 @@ public class AuthController {
      * }
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
-        try {
-            LoginResponse response = authService.login(loginRequest);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body(new ErrorResponse("Login failed: " + e.getMessage()));
-        }
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+        return ResponseEntity.ok(authService.login(loginRequest));
     }
     
     /**
@@ -89,31 +86,26 @@ public class AuthController {
      * }
      */
     @PostMapping("/verify-2fa")
-    public ResponseEntity<?> verifyTwoFactor(@Valid @RequestBody TwoFactorVerifyRequest request) {
-        try {
-            LoginResponse response = authService.verifyTwoFactorAndLogin(
-                request.getUsername(),
-                request.getCode()
-            );
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body(new ErrorResponse("Verification failed: " + e.getMessage()));
-        }
+    public ResponseEntity<LoginResponse> verifyTwoFactor(@Valid @RequestBody TwoFactorVerifyRequest request) {
+        LoginResponse response = authService.verifyTwoFactorAndLogin(
+            request.getUsername(),
+            request.getCode()
+        );
+        return ResponseEntity.ok(response);
     }
     
     /**
      * POST /api/auth/logout
      * 
-     * Logout endpoint (optional for JWT)
-     * With JWT, logout is handled client-side by removing the token
-     * 
-     * This endpoint is mainly for logging purposes or if we add token blacklisting
+     * Revokes the token in the Authorization header: it is rejected from
+     * the next request on, on every instance within a few seconds.
+     * Always 200, also without (or with an invalid) token.
      */
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
-        // With JWT, we don't need to do anything server-side
-        // Client just deletes the token
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            authService.logout(authorization.substring(7));
+        }
         return ResponseEntity.ok(new MessageResponse("Logged out successfully"));
     }
     
@@ -127,23 +119,7 @@ public class AuthController {
         return ResponseEntity.ok(new MessageResponse("Auth API is working!"));
     }
     
-    // Inner classes for responses
-    
-    static class ErrorResponse {
-        private String message;
-        
-        public ErrorResponse(String message) {
-            this.message = message;
-        }
-        
-        public String getMessage() {
-            return message;
-        }
-        
-        public void setMessage(String message) {
-            this.message = message;
-        }
-    }
+    // Inner class for responses
     
     static class MessageResponse {
         private String message;
@@ -0,0 +1,35 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.dto.DashboardDto;
+import com.schoolsystem.security.UserPrincipal;
+import com.schoolsystem.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * DashboardController - Home screen numbers in one round trip
+ *
+ * Endpoints:
+ * GET /api/dashboard   - Widgets for my role (admin/principal: whole school,
+ *                        teachers: my sections, students: my results,
+ *                        parents: my children)
+ *
+ * Always 200: widgets that timed out or failed come back with status
+ * TIMEOUT / ERROR and no value, and "partial": true.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping
+    public ResponseEntity<DashboardDto> dashboard(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.ok(dashboardService.getDashboard(currentUser.getId(), currentUser.getRole()));
+    }
+}
@@ -0,0 +1,141 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.dto.EventDto;
+import com.schoolsystem.dto.EventRequest;
+import com.schoolsystem.exception.ResourceNotFoundException;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.security.TenantContext;
+import com.schoolsystem.security.UserPrincipal;
+import com.schoolsystem.service.EventService;
+import com.schoolsystem.service.ResourceVersionService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EventController - REST API for school events
+ *
+ * Endpoints:
+ * GET    /api/events/upcoming                 - Upcoming events for my role
+ * GET    /api/events/{id}                     - One event
+ * POST   /api/events                          - Create (admin, principal)
+ * PUT    /api/events/{id}                     - Update
+ * DELETE /api/events/{id}                     - Delete
+ * GET    /api/events/calendar.ics             - iCalendar feed for my role
+ * GET    /api/events/calendar-url             - Personal feed URL for calendar apps
+ * GET    /api/events/feed/{token}/calendar.ics - Same feed, authenticated by the URL token
+ *
+ * Both .ics endpoints, /upcoming and /{id} send an ETag and answer
+ * If-None-Match with 304 (the JSON ones without loading the events).
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<EventDto>> upcoming(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                   @RequestParam(defaultValue = "10") int limit,
+                                                   WebRequest request) {
+        String etag = resourceVersionService.upcomingEvents(currentUser.getRole());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(eventService.getUpcoming(currentUser.getRole(), Math.min(limit, 100)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<EventDto> get(@PathVariable Long id, WebRequest request) {
+        String etag = resourceVersionService.event(id);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(eventService.getEvent(id));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'PRINCIPAL', 'VICE_PRINCIPAL')")
+    public ResponseEntity<EventDto> create(@AuthenticationPrincipal UserPrincipal currentUser,
+                                           @Valid @RequestBody EventRequest request) {
+        return ResponseEntity.ok(eventService.create(currentUser.getId(), request));
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PRINCIPAL', 'VICE_PRINCIPAL')")
+    public ResponseEntity<EventDto> update(@PathVariable Long id, @Valid @RequestBody EventRequest request) {
+        return ResponseEntity.ok(eventService.update(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PRINCIPAL', 'VICE_PRINCIPAL')")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        eventService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/calendar.ics")
+    public ResponseEntity<byte[]> calendar(@AuthenticationPrincipal UserPrincipal currentUser, WebRequest request) {
+        return calendarResponse(currentUser.getRole(), request);
+    }
+
+    /**
+     * GET /api/events/calendar-url
+     *
+     * Path to subscribe to in Google Calendar / Outlook / Apple Calendar
+     */
+    @GetMapping("/calendar-url")
+    public ResponseEntity<Map<String, String>> calendarUrl(@AuthenticationPrincipal UserPrincipal currentUser) {
+        String token = eventService.feedToken(currentUser.getId(), currentUser.getRole());
+        return ResponseEntity.ok(Map.of("path", "/api/events/feed/" + token + "/calendar.ics"));
+    }
+
+    /**
+     * Public in SecurityConfig - the HMAC in the token is the credential
+     */
+    @GetMapping("/feed/{token}/calendar.ics")
+    public ResponseEntity<byte[]> feed(@PathVariable String token, WebRequest request) {
+        EventService.FeedSubscription subscription = eventService.subscriptionFromFeedToken(token);
+        if (subscription == null) {
+            throw new ResourceNotFoundException("Calendar not found");
+        }
+        // No bearer token on this path: the school comes from the signed URL
+        // (cleared with the rest of the request in JwtAuthenticationFilter)
+        TenantContext.setSchoolId(subscription.getSchoolId());
+        return calendarResponse(subscription.getRole(), request);
+    }
+
+    private ResponseEntity<byte[]> calendarResponse(UserRole role, WebRequest request) {
+        EventService.RoleFeed feed = eventService.getCalendar(role);
+        if (request.checkNotModified(feed.getEtag())) {
+            // 304 with the ETag already set by checkNotModified
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(feed.getEtag())
+                .body(feed.getIcs());
+    }
+}
@@ -0,0 +1,67 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.dto.SubjectStatsDto;
+import com.schoolsystem.security.UserPrincipal;
+import com.schoolsystem.service.ExamAggregationService;
+import com.schoolsystem.service.ResourceVersionService;
+import com.schoolsystem.service.SectionAccessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * ExamResultsController - Final weighted subject scores
+ *
+ * Endpoints:
+ * POST /api/sections/{sectionId}/periods/{periodId}/results/aggregate - Recompute from exam grades
+ * GET  /api/sections/{sectionId}/periods/{periodId}/results/stats     - Class statistics per subject
+ *
+ * Only for the section's class teacher, its subject teachers and school-wide
+ * roles (404 otherwise), checked before anything is computed - including the
+ * ETag. /stats sends an ETag that changes with every aggregation run and
+ * answers If-None-Match with 304.
+ */
+@RestController
+@RequestMapping("/api/sections/{sectionId}/periods/{periodId}/results")
+@PreAuthorize("hasAnyRole('ADMIN', 'PRINCIPAL', 'VICE_PRINCIPAL', 'CLASS_TEACHER', 'SUBJECT_TEACHER')")
+public class ExamResultsController {
+
+    @Autowired
+    private ExamAggregationService aggregationService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private SectionAccessService sectionAccessService;
+
+    @PostMapping("/aggregate")
+    public ResponseEntity<List<SubjectStatsDto>> aggregate(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                           @PathVariable Long sectionId,
+                                                           @PathVariable Long periodId) {
+        sectionAccessService.checkSectionAccess(currentUser.getId(), currentUser.getRole(), sectionId);
+        return ResponseEntity.ok(aggregationService.aggregate(sectionId, periodId));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<SubjectStatsDto>> stats(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                       @PathVariable Long sectionId,
+                                                       @PathVariable Long periodId,
+                                                       WebRequest request) {
+        sectionAccessService.checkSectionAccess(currentUser.getId(), currentUser.getRole(), sectionId);
+        String etag = resourceVersionService.resultStats(sectionId, periodId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(aggregationService.getStats(sectionId, periodId));
+    }
+}
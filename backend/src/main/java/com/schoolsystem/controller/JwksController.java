@@ -0,0 +1,38 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.security.JwtKeyRing;
+import io.jsonwebtoken.security.PublicJwk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwksController - Public keys for verifying our tokens elsewhere
+ *
+ * Endpoints:
+ * GET /.well-known/jwks.json   - JSON Web Key Set of every key still
+ *                                accepted (public, no authentication)
+ *
+ * Verifiers pick the key by the token's "kid" header. They may cache the
+ * set for five minutes and should refetch when they meet an unknown kid
+ * (a key rotated in since). Empty while jwt.signing-algorithm=HMAC.
+ */
+@RestController
+public class JwksController {
+
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<PublicJwk<?>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", keyRing.publicJwks()));
+    }
+}
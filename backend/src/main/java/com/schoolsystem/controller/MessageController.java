@@ -0,0 +1,100 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.dto.MessageDto;
+import com.schoolsystem.dto.MessagePage;
+import com.schoolsystem.dto.SendMessageRequest;
+import com.schoolsystem.security.UserPrincipal;
+import com.schoolsystem.service.MessageService;
+import com.schoolsystem.service.ResourceVersionService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MessageController - REST API for parent-teacher messaging
+ * 
+ * Endpoints:
+ * GET  /api/messages/inbox              - Inbox page (keyset cursor)
+ * GET  /api/messages/unread-count       - Unread badge
+ * GET  /api/messages/{id}/thread        - Whole conversation
+ * POST /api/messages                    - Send message / reply
+ * POST /api/messages/{id}/read          - Mark one read
+ * POST /api/messages/read-all           - Mark everything read
+ *
+ * The inbox sends an ETag (ResourceVersionService) and answers
+ * If-None-Match with 304 without loading the page.
+ */
+@RestController
+@RequestMapping("/api/messages")
+public class MessageController {
+    
+    @Autowired
+    private MessageService messageService;
+    
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
+    /**
+     * GET /api/messages/inbox?size=20
+     * GET /api/messages/inbox?beforeCreatedAt=2024-05-01T10:15:30&beforeId=420&size=20
+     * 
+     * The cursor values come from the previous response
+     * (nextCursorCreatedAt / nextCursorId)
+     */
+    @GetMapping("/inbox")
+    public ResponseEntity<MessagePage> inbox(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "" + MessageService.DEFAULT_PAGE_SIZE) int size,
+            WebRequest request) {
+        String etag = resourceVersionService.inbox(currentUser.getId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .eTag(etag)
+            .body(messageService.getInbox(currentUser.getId(), beforeCreatedAt, beforeId, size));
+    }
+    
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Integer>> unreadCount(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.ok(Map.of("unreadCount", messageService.getUnreadCount(currentUser.getId())));
+    }
+    
+    @GetMapping("/{id}/thread")
+    public ResponseEntity<List<MessageDto>> thread(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                   @PathVariable Long id) {
+        return ResponseEntity.ok(messageService.getThread(currentUser.getId(), id));
+    }
+    
+    @PostMapping
+    public ResponseEntity<MessageDto> send(@AuthenticationPrincipal UserPrincipal currentUser,
+                                           @Valid @RequestBody SendMessageRequest request) {
+        return ResponseEntity.ok(messageService.send(currentUser.getId(), request));
+    }
+    
+    @PostMapping("/{id}/read")
+    public ResponseEntity<Void> markRead(@AuthenticationPrincipal UserPrincipal currentUser,
+                                         @PathVariable Long id) {
+        messageService.markRead(currentUser.getId(), id);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/read-all")
+    public ResponseEntity<Void> markAllRead(@AuthenticationPrincipal UserPrincipal currentUser) {
+        messageService.markAllRead(currentUser.getId());
+        return ResponseEntity.noContent().build();
+    }
+}
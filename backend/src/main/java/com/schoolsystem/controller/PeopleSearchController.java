@@ -0,0 +1,48 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.dto.PersonSearchResultDto;
+import com.schoolsystem.security.UserPrincipal;
+import com.schoolsystem.service.PeopleSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * PeopleSearchController - Finding users in my school
+ *
+ * Endpoints:
+ * GET /api/search/people?q=            - Fuzzy search (typos, substrings,
+ *                                        "last first"), best match first
+ * GET /api/search/people/typeahead?prefix= - Prefix matches for pickers,
+ *                                        from memory
+ *
+ * Results only include roles the caller may see: students and parents
+ * find staff, teachers find everyone but administrators.
+ */
+@RestController
+@RequestMapping("/api/search/people")
+public class PeopleSearchController {
+
+    @Autowired
+    private PeopleSearchService peopleSearchService;
+
+    @GetMapping
+    public ResponseEntity<List<PersonSearchResultDto>> search(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                              @RequestParam String q,
+                                                              @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(peopleSearchService.search(q, currentUser.getRole(), limit));
+    }
+
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<PersonSearchResultDto>> typeahead(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                                 @RequestParam String prefix,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(peopleSearchService.typeahead(prefix, currentUser.getRole(), limit));
+    }
+}
@@ -0,0 +1,41 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.dto.CacheRegionStatsDto;
+import com.schoolsystem.service.ReferenceDataService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * ReferenceCacheAdminController - Second-level cache of reference data
+ *
+ * Endpoints:
+ * GET    /api/admin/cache/reference                  - Hit ratio per region
+ * DELETE /api/admin/cache/reference                  - Evict every reference region
+ * DELETE /api/admin/cache/reference?region=reference.sections - Evict one region
+ *
+ * Eviction is per node: call it on every instance (or wait for
+ * reference.cache.ttl-minutes) after changing reference rows with SQL.
+ */
+@RestController
+@RequestMapping("/api/admin/cache/reference")
+@PreAuthorize("hasRole('ADMIN')")
+public class ReferenceCacheAdminController {
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @GetMapping
+    public ResponseEntity<List<CacheRegionStatsDto>> stats() {
+        return ResponseEntity.ok(referenceDataService.getStats());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> evict(@RequestParam(required = false) String region) {
+        referenceDataService.evict(region);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.entity.AcademicPeriod;
+import com.schoolsystem.entity.AcademicYear;
+import com.schoolsystem.entity.SchoolClass;
+import com.schoolsystem.entity.Section;
+import com.schoolsystem.entity.Subject;
+import com.schoolsystem.service.ReferenceDataService;
+import com.schoolsystem.service.ResourceVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * ReferenceDataController - Lookup lists for forms and filters (cached)
+ *
+ * Endpoints:
+ * GET /api/reference/classes                       - Classes of my school
+ * GET /api/reference/sections?classId=3            - Sections (of one class)
+ * GET /api/reference/subjects                      - Subjects
+ * GET /api/reference/academic-years                - Years, newest first
+ * GET /api/reference/academic-years/current        - Current year
+ * GET /api/reference/academic-periods?yearId=2     - Terms (of one year)
+ * GET /api/reference/academic-periods/current      - Term covering today
+ *
+ * The academic calendar endpoints send an ETag (the calendar index's
+ * content version) and answer If-None-Match with 304.
+ */
+@RestController
+@RequestMapping("/api/reference")
+public class ReferenceDataController {
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @GetMapping("/classes")
+    public ResponseEntity<List<SchoolClass>> classes() {
+        return ResponseEntity.ok(referenceDataService.getClasses());
+    }
+
+    @GetMapping("/sections")
+    public ResponseEntity<List<Section>> sections(@RequestParam(required = false) Long classId) {
+        return ResponseEntity.ok(referenceDataService.getSections(classId));
+    }
+
+    @GetMapping("/subjects")
+    public ResponseEntity<List<Subject>> subjects() {
+        return ResponseEntity.ok(referenceDataService.getSubjects());
+    }
+
+    @GetMapping("/academic-years")
+    public ResponseEntity<List<AcademicYear>> academicYears(WebRequest request) {
+        return calendarResponse(request, referenceDataService::getAcademicYears);
+    }
+
+    @GetMapping("/academic-years/current")
+    public ResponseEntity<AcademicYear> currentAcademicYear(WebRequest request) {
+        return calendarResponse(request, referenceDataService::getCurrentAcademicYear);
+    }
+
+    @GetMapping("/academic-periods")
+    public ResponseEntity<List<AcademicPeriod>> academicPeriods(@RequestParam(required = false) Long yearId,
+                                                                WebRequest request) {
+        return calendarResponse(request, () -> referenceDataService.getPeriods(yearId));
+    }
+
+    @GetMapping("/academic-periods/current")
+    public ResponseEntity<AcademicPeriod> currentAcademicPeriod(WebRequest request) {
+        return calendarResponse(request, referenceDataService::getCurrentPeriod);
+    }
+
+    private <T> ResponseEntity<T> calendarResponse(WebRequest request, Supplier<T> body) {
+        String etag = resourceVersionService.academicCalendar();
+        if (request.checkNotModified(etag)) {
+            // 304 with the ETag already set by checkNotModified
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(body.get());
+    }
+}
@@ -0,0 +1,98 @@
+package com.schoolsystem.controller;
+
+import com.schoolsystem.dto.StartUploadRequest;
+import com.schoolsystem.dto.UploadStatusDto;
+import com.schoolsystem.exception.BadRequestException;
+import com.schoolsystem.security.UserPrincipal;
+import com.schoolsystem.service.FileStreamingService;
+import com.schoolsystem.service.SubmissionUploadService;
+import com.schoolsystem.service.SubmissionUploadService.StoredFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SubmissionUploadController - Resumable assignment uploads and downloads
+ *
+ * Endpoints:
+ * POST /api/assignments/{assignmentId}/uploads - Open an upload (students)
+ * GET  /api/uploads/{uploadId}                 - Progress, i.e. where to resume
+ * PUT  /api/uploads/{uploadId}                 - Send the next chunk (raw bytes)
+ * GET  /api/submissions/{id}/file              - Download a submission (Range supported)
+ *
+ * Chunks carry "Content-Range: bytes <first>-<last>/<total>". A 409 answer
+ * carries the offset the server expects (Upload-Offset header), so clients
+ * simply resume from it.
+ */
+@RestController
+@RequestMapping("/api")
+public class SubmissionUploadController {
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
+
+    @Autowired
+    private SubmissionUploadService uploadService;
+
+    @Autowired
+    private FileStreamingService fileStreamingService;
+
+    @PostMapping("/assignments/{assignmentId}/uploads")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<UploadStatusDto> start(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                 @PathVariable Long assignmentId,
+                                                 @Valid @RequestBody StartUploadRequest request) {
+        return ResponseEntity.ok(uploadService.start(currentUser.getId(), assignmentId, request));
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<UploadStatusDto> status(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                  @PathVariable UUID uploadId) {
+        return ResponseEntity.ok(uploadService.getStatus(currentUser.getId(), uploadId));
+    }
+
+    /**
+     * PUT /api/uploads/{uploadId}
+     *
+     * Body is read straight from the request stream (no multipart buffering)
+     */
+    @PutMapping(value = "/uploads/{uploadId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<UploadStatusDto> chunk(@AuthenticationPrincipal UserPrincipal currentUser,
+                                                 @PathVariable UUID uploadId,
+                                                 @RequestHeader(value = HttpHeaders.CONTENT_RANGE, required = false) String contentRange,
+                                                 HttpServletRequest request) throws IOException {
+        long offset = 0;
+        if (contentRange != null) {
+            Matcher matcher = CONTENT_RANGE.matcher(contentRange.trim());
+            if (!matcher.matches()) {
+                throw new BadRequestException("Invalid Content-Range header");
+            }
+            offset = Long.parseLong(matcher.group(1));
+        }
+
+        return ResponseEntity.ok(
+            uploadService.writeChunk(currentUser.getId(), uploadId, offset, request.getInputStream())
+        );
+    }
+
+    @GetMapping("/submissions/{id}/file")
+    public void download(@AuthenticationPrincipal UserPrincipal currentUser,
+                         @PathVariable Long id,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        StoredFile file = uploadService.openSubmissionFile(currentUser.getId(), currentUser.getRole(), id);
+        fileStreamingService.sendFile(file.getPath(), file.getContentType(), file.getFileName(), request, response);
+    }
+}
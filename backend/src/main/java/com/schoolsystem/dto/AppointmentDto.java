@@ -0,0 +1,64 @@
+package com.schoolsystem.dto;
+
+import com.schoolsystem.entity.Appointment;
+
+import java.time.LocalDateTime;
+
+/**
+ * AppointmentDto - Appointment as returned by the API
+ */
+public class AppointmentDto {
+    
+    private Long id;
+    private Long studentId;
+    private Long teacherId;
+    private Long parentId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private String purpose;
+    private String status;
+    
+    public AppointmentDto(Appointment appointment) {
+        this.id = appointment.getId();
+        this.studentId = appointment.getStudentId();
+        this.teacherId = appointment.getTeacherId();
+        this.parentId = appointment.getParentId();
+        this.start = appointment.getAppointmentDate();
+        this.end = appointment.getEndTime();
+        this.purpose = appointment.getPurpose();
+        this.status = appointment.getStatus().toString();
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public Long getTeacherId() {
+        return teacherId;
+    }
+    
+    public Long getParentId() {
+        return parentId;
+    }
+    
+    public LocalDateTime getStart() {
+        return start;
+    }
+    
+    public LocalDateTime getEnd() {
+        return end;
+    }
+    
+    public String getPurpose() {
+        return purpose;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,48 @@
+package com.schoolsystem.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * AttendanceEntry DTO - Present/absent for one student on one day
+ */
+public class AttendanceEntry {
+
+    @NotNull(message = "Student is required")
+    private Long studentId;
+
+    @NotNull(message = "Present flag is required")
+    private Boolean present;
+
+    @Size(max = 500, message = "Remarks must be at most 500 characters")
+    private String remarks;
+
+    // Constructors
+    public AttendanceEntry() {
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Boolean getPresent() {
+        return present;
+    }
+
+    public void setPresent(Boolean present) {
+        this.present = present;
+    }
+
+    public String getRemarks() {
+        return remarks;
+    }
+
+    public void setRemarks(String remarks) {
+        this.remarks = remarks;
+    }
+}
@@ -0,0 +1,27 @@
+package com.schoolsystem.dto;
+
+/**
+ * AttendanceMarkResult DTO - Outcome of marking a section's register
+ */
+public class AttendanceMarkResult {
+
+    private int marked;
+    private int skipped;
+
+    public AttendanceMarkResult(int marked, int skipped) {
+        this.marked = marked;
+        this.skipped = skipped;
+    }
+
+    // Getters
+    public int getMarked() {
+        return marked;
+    }
+
+    /**
+     * Entries ignored because the student is not in the section
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+}
@@ -0,0 +1,51 @@
+package com.schoolsystem.dto;
+
+/**
+ * AttendanceRecordDto - One student on the register
+ *
+ * present is null while the student has not been marked for the day.
+ */
+public class AttendanceRecordDto {
+
+    private Long studentId;
+    private String admissionNumber;
+    private String firstName;
+    private String lastName;
+    private Boolean present;
+    private String remarks;
+
+    public AttendanceRecordDto(Long studentId, String admissionNumber, String firstName, String lastName,
+                               Boolean present, String remarks) {
+        this.studentId = studentId;
+        this.admissionNumber = admissionNumber;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.present = present;
+        this.remarks = remarks;
+    }
+
+    // Getters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getAdmissionNumber() {
+        return admissionNumber;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public Boolean getPresent() {
+        return present;
+    }
+
+    public String getRemarks() {
+        return remarks;
+    }
+}
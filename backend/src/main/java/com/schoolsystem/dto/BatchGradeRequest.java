@@ -0,0 +1,33 @@
+package com.schoolsystem.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * BatchGradeRequest DTO - Grades for a whole section in one request
+ *
+ * Students who did not hand anything in can be graded too
+ * (e.g. paper submissions); their row is created.
+ */
+public class BatchGradeRequest {
+
+    @NotEmpty(message = "At least one grade is required")
+    @Size(max = 1000, message = "At most 1000 grades per request")
+    private List<@Valid GradeEntry> grades;
+
+    // Constructors
+    public BatchGradeRequest() {
+    }
+
+    // Getters and Setters
+    public List<GradeEntry> getGrades() {
+        return grades;
+    }
+
+    public void setGrades(List<GradeEntry> grades) {
+        this.grades = grades;
+    }
+}
@@ -0,0 +1,33 @@
+package com.schoolsystem.dto;
+
+/**
+ * BatchGradeResult DTO - Outcome of a batch grading request
+ */
+public class BatchGradeResult {
+
+    private int graded;
+    private int skipped;
+    private int performanceRowsUpdated;
+
+    public BatchGradeResult(int graded, int skipped, int performanceRowsUpdated) {
+        this.graded = graded;
+        this.skipped = skipped;
+        this.performanceRowsUpdated = performanceRowsUpdated;
+    }
+
+    // Getters
+    public int getGraded() {
+        return graded;
+    }
+
+    /**
+     * Entries ignored because the student is not in the assignment's section
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getPerformanceRowsUpdated() {
+        return performanceRowsUpdated;
+    }
+}
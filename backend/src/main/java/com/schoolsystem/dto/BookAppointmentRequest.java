@@ -0,0 +1,78 @@
+package com.schoolsystem.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * BookAppointmentRequest DTO
+ * 
+ * Sent by a parent picking one of the slots returned by
+ * GET /api/appointments/availability
+ */
+public class BookAppointmentRequest {
+    
+    @NotNull(message = "Teacher is required")
+    private Long teacherId;
+    
+    @NotNull(message = "Student is required")
+    private Long studentId;
+    
+    @NotNull(message = "Start time is required")
+    @Future(message = "Appointment must be in the future")
+    private LocalDateTime start;
+    
+    @Min(value = 5, message = "Appointments last at least 5 minutes")
+    @Max(value = 240, message = "Appointments last at most 4 hours")
+    private int durationMinutes = 30;
+    
+    private String purpose;
+    
+    // Constructors
+    public BookAppointmentRequest() {
+    }
+    
+    // Getters and Setters
+    public Long getTeacherId() {
+        return teacherId;
+    }
+    
+    public void setTeacherId(Long teacherId) {
+        this.teacherId = teacherId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public LocalDateTime getStart() {
+        return start;
+    }
+    
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+    
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+    
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+    
+    public String getPurpose() {
+        return purpose;
+    }
+    
+    public void setPurpose(String purpose) {
+        this.purpose = purpose;
+    }
+}
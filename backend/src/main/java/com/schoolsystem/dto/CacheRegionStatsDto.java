@@ -0,0 +1,50 @@
+package com.schoolsystem.dto;
+
+/**
+ * CacheRegionStatsDto - Second-level cache counters of one region since
+ * startup (or the last statistics reset)
+ */
+public class CacheRegionStatsDto {
+
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long entries;
+
+    public CacheRegionStatsDto(String region, long hits, long misses, long puts, long entries) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.entries = entries;
+    }
+
+    // Getters
+    public String getRegion() {
+        return region;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    /** Entries in memory, -1 when the provider does not say */
+    public long getEntries() {
+        return entries;
+    }
+
+    /** Hits / (hits + misses), 0 before the first lookup */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
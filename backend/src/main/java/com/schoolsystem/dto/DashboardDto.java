@@ -0,0 +1,41 @@
+package com.schoolsystem.dto;
+
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.enums.DashboardWidgetStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DashboardDto - The widgets of one user's dashboard, in display order
+ */
+public class DashboardDto {
+
+    private UserRole role;
+    private LocalDateTime generatedAt;
+    private List<DashboardWidgetDto> widgets;
+
+    public DashboardDto(UserRole role, LocalDateTime generatedAt, List<DashboardWidgetDto> widgets) {
+        this.role = role;
+        this.generatedAt = generatedAt;
+        this.widgets = widgets;
+    }
+
+    // Getters
+    public UserRole getRole() {
+        return role;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public List<DashboardWidgetDto> getWidgets() {
+        return widgets;
+    }
+
+    /** True when at least one widget timed out or failed */
+    public boolean isPartial() {
+        return widgets.stream().anyMatch(widget -> widget.getStatus() != DashboardWidgetStatus.OK);
+    }
+}
@@ -0,0 +1,42 @@
+package com.schoolsystem.dto;
+
+import com.schoolsystem.enums.DashboardWidgetStatus;
+
+/**
+ * DashboardWidgetDto - One number, list or card on a dashboard
+ *
+ * value is null unless status is OK; the rest of the dashboard is still
+ * returned when one widget times out or fails.
+ */
+public class DashboardWidgetDto {
+
+    private String name;
+    private DashboardWidgetStatus status;
+    private Object value;
+    private long elapsedMs;
+
+    public DashboardWidgetDto(String name, DashboardWidgetStatus status, Object value, long elapsedMs) {
+        this.name = name;
+        this.status = status;
+        this.value = value;
+        this.elapsedMs = elapsedMs;
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public DashboardWidgetStatus getStatus() {
+        return status;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    /** Time this request waited for the widget (cache hits are ~0) */
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+}
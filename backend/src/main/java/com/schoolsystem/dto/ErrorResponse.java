@@ -0,0 +1,93 @@
+package com.schoolsystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.schoolsystem.enums.ErrorCode;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * ErrorResponse DTO - Body of every error GlobalExceptionHandler returns
+ *
+ * {
+ *   "status": 401,
+ *   "code": "BAD_CREDENTIALS",
+ *   "message": "Invalid username or password",
+ *   "path": "/api/auth/login",
+ *   "timestamp": "2024-03-04T08:15:30",
+ *   "fieldErrors": { "password": "must not be blank" }   (validation only)
+ * }
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ErrorResponse {
+
+    private int status;
+    private ErrorCode code;
+    private String message;
+    private String path;
+    private LocalDateTime timestamp;
+    private Map<String, String> fieldErrors;
+
+    public ErrorResponse(ErrorCode code, String message, String path) {
+        this(code.getStatus().value(), code, message, path);
+    }
+
+    /** For Spring MVC failures whose status is more specific than the code's (415, 406, 503) */
+    public ErrorResponse(int status, ErrorCode code, String message, String path) {
+        this.status = status;
+        this.code = code;
+        this.message = message;
+        this.path = path;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+
+    public void setCode(ErrorCode code) {
+        this.code = code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /** Field name -> validation message; null unless code is VALIDATION_FAILED */
+    public Map<String, String> getFieldErrors() {
+        return fieldErrors;
+    }
+
+    public void setFieldErrors(Map<String, String> fieldErrors) {
+        this.fieldErrors = fieldErrors;
+    }
+}
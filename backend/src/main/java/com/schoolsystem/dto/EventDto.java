@@ -0,0 +1,66 @@
+package com.schoolsystem.dto;
+
+import com.schoolsystem.entity.UserRole;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * EventDto - A school event as shown in feeds and calendars
+ */
+public class EventDto {
+
+    private Long id;
+    private String eventName;
+    private String eventDescription;
+    private LocalDateTime eventDate;
+    private String location;
+    private boolean mandatory;
+    private Set<UserRole> targetAudience;
+    private LocalDateTime updatedAt;
+
+    public EventDto(Long id, String eventName, String eventDescription, LocalDateTime eventDate,
+                    String location, boolean mandatory, Set<UserRole> targetAudience, LocalDateTime updatedAt) {
+        this.id = id;
+        this.eventName = eventName;
+        this.eventDescription = eventDescription;
+        this.eventDate = eventDate;
+        this.location = location;
+        this.mandatory = mandatory;
+        this.targetAudience = targetAudience;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public String getEventDescription() {
+        return eventDescription;
+    }
+
+    public LocalDateTime getEventDate() {
+        return eventDate;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public boolean isMandatory() {
+        return mandatory;
+    }
+
+    public Set<UserRole> getTargetAudience() {
+        return targetAudience;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,86 @@
+package com.schoolsystem.dto;
+
+import com.schoolsystem.entity.UserRole;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * EventRequest DTO - Create or update a school event
+ *
+ * An empty or missing targetAudience means everyone
+ */
+public class EventRequest {
+
+    @NotBlank(message = "Event name is required")
+    @Size(max = 255, message = "Event name must be at most 255 characters")
+    private String eventName;
+
+    private String eventDescription;
+
+    @NotNull(message = "Event date is required")
+    private LocalDateTime eventDate;
+
+    @Size(max = 255, message = "Location must be at most 255 characters")
+    private String location;
+
+    private boolean mandatory;
+
+    private Set<UserRole> targetAudience;
+
+    // Constructors
+    public EventRequest() {
+    }
+
+    // Getters and Setters
+    public String getEventName() {
+        return eventName;
+    }
+
+    public void setEventName(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String getEventDescription() {
+        return eventDescription;
+    }
+
+    public void setEventDescription(String eventDescription) {
+        this.eventDescription = eventDescription;
+    }
+
+    public LocalDateTime getEventDate() {
+        return eventDate;
+    }
+
+    public void setEventDate(LocalDateTime eventDate) {
+        this.eventDate = eventDate;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public boolean isMandatory() {
+        return mandatory;
+    }
+
+    public void setMandatory(boolean mandatory) {
+        this.mandatory = mandatory;
+    }
+
+    public Set<UserRole> getTargetAudience() {
+        return targetAudience;
+    }
+
+    public void setTargetAudience(Set<UserRole> targetAudience) {
+        this.targetAudience = targetAudience;
+    }
+}
@@ -0,0 +1,52 @@
+package com.schoolsystem.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * GradeEntry DTO - Marks and feedback for one student
+ */
+public class GradeEntry {
+
+    @NotNull(message = "Student is required")
+    private Long studentId;
+
+    @NotNull(message = "Marks are required")
+    @DecimalMin(value = "0", message = "Marks must not be negative")
+    private BigDecimal marksObtained;
+
+    @Size(max = 5000, message = "Feedback must be at most 5000 characters")
+    private String feedback;
+
+    // Constructors
+    public GradeEntry() {
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public BigDecimal getMarksObtained() {
+        return marksObtained;
+    }
+
+    public void setMarksObtained(BigDecimal marksObtained) {
+        this.marksObtained = marksObtained;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+}
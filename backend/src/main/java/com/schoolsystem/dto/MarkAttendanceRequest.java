@@ -0,0 +1,32 @@
+package com.schoolsystem.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * MarkAttendanceRequest DTO - The morning register of a whole section
+ *
+ * Sending the register again for the same day overwrites it.
+ */
+public class MarkAttendanceRequest {
+
+    @NotEmpty(message = "At least one entry is required")
+    @Size(max = 200, message = "At most 200 entries per request")
+    private List<@Valid AttendanceEntry> entries;
+
+    // Constructors
+    public MarkAttendanceRequest() {
+    }
+
+    // Getters and Setters
+    public List<AttendanceEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<AttendanceEntry> entries) {
+        this.entries = entries;
+    }
+}
@@ -0,0 +1,110 @@
+package com.schoolsystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * MessageDto - One message as shown in the inbox or a thread
+ */
+public class MessageDto {
+    
+    private Long id;
+    private Long senderId;
+    private String senderUsername;
+    private Long recipientId;
+    private String subject;
+    private String body;
+    private boolean read;
+    private Long parentMessageId;
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public MessageDto() {
+    }
+    
+    public MessageDto(Long id, Long senderId, String senderUsername, Long recipientId,
+                      String subject, String body, Boolean read, Long parentMessageId,
+                      LocalDateTime createdAt) {
+        this.id = id;
+        this.senderId = senderId;
+        this.senderUsername = senderUsername;
+        this.recipientId = recipientId;
+        this.subject = subject;
+        this.body = body;
+        this.read = Boolean.TRUE.equals(read);
+        this.parentMessageId = parentMessageId;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getSenderId() {
+        return senderId;
+    }
+    
+    public void setSenderId(Long senderId) {
+        this.senderId = senderId;
+    }
+    
+    public String getSenderUsername() {
+        return senderUsername;
+    }
+    
+    public void setSenderUsername(String senderUsername) {
+        this.senderUsername = senderUsername;
+    }
+    
+    public Long getRecipientId() {
+        return recipientId;
+    }
+    
+    public void setRecipientId(Long recipientId) {
+        this.recipientId = recipientId;
+    }
+    
+    public String getSubject() {
+        return subject;
+    }
+    
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+    
+    public String getBody() {
+        return body;
+    }
+    
+    public void setBody(String body) {
+        this.body = body;
+    }
+    
+    public boolean isRead() {
+        return read;
+    }
+    
+    public void setRead(boolean read) {
+        this.read = read;
+    }
+    
+    public Long getParentMessageId() {
+        return parentMessageId;
+    }
+    
+    public void setParentMessageId(Long parentMessageId) {
+        this.parentMessageId = parentMessageId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
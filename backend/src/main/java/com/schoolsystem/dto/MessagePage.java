@@ -0,0 +1,41 @@
+package com.schoolsystem.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MessagePage - One page of the inbox plus the cursor for the next page
+ * 
+ * The client passes nextCursorCreatedAt / nextCursorId back as
+ * "beforeCreatedAt" / "beforeId" to get the following page.
+ * Both are null when there are no more messages.
+ */
+public class MessagePage {
+    
+    private List<MessageDto> messages;
+    private LocalDateTime nextCursorCreatedAt;
+    private Long nextCursorId;
+    
+    public MessagePage(List<MessageDto> messages, LocalDateTime nextCursorCreatedAt, Long nextCursorId) {
+        this.messages = messages;
+        this.nextCursorCreatedAt = nextCursorCreatedAt;
+        this.nextCursorId = nextCursorId;
+    }
+    
+    // Getters
+    public List<MessageDto> getMessages() {
+        return messages;
+    }
+    
+    public LocalDateTime getNextCursorCreatedAt() {
+        return nextCursorCreatedAt;
+    }
+    
+    public Long getNextCursorId() {
+        return nextCursorId;
+    }
+    
+    public boolean isHasMore() {
+        return nextCursorId != null;
+    }
+}
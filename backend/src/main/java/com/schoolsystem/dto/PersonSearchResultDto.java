@@ -0,0 +1,65 @@
+package com.schoolsystem.dto;
+
+import com.schoolsystem.entity.UserRole;
+
+/**
+ * PersonSearchResultDto - One user found by people search or typeahead
+ */
+public class PersonSearchResultDto {
+
+    private Long userId;
+    private UserRole role;
+    private String firstName;
+    private String lastName;
+    private String username;
+    private String email;
+    private String admissionNumber;
+    private Double score;
+
+    public PersonSearchResultDto(Long userId, UserRole role, String firstName, String lastName,
+                                 String username, String email, String admissionNumber, Double score) {
+        this.userId = userId;
+        this.role = role;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.username = username;
+        this.email = email;
+        this.admissionNumber = admissionNumber;
+        this.score = score;
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    /** Students only */
+    public String getAdmissionNumber() {
+        return admissionNumber;
+    }
+
+    /** Trigram similarity 0..1 for full search; null for typeahead */
+    public Double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,61 @@
+package com.schoolsystem.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * SendMessageRequest DTO
+ * 
+ * parentMessageId is set when replying inside an existing thread
+ */
+public class SendMessageRequest {
+    
+    @NotNull(message = "Recipient is required")
+    private Long recipientId;
+    
+    @Size(max = 255, message = "Subject must be at most 255 characters")
+    private String subject;
+    
+    @NotBlank(message = "Message body is required")
+    private String body;
+    
+    private Long parentMessageId;
+    
+    // Constructors
+    public SendMessageRequest() {
+    }
+    
+    // Getters and Setters
+    public Long getRecipientId() {
+        return recipientId;
+    }
+    
+    public void setRecipientId(Long recipientId) {
+        this.recipientId = recipientId;
+    }
+    
+    public String getSubject() {
+        return subject;
+    }
+    
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+    
+    public String getBody() {
+        return body;
+    }
+    
+    public void setBody(String body) {
+        this.body = body;
+    }
+    
+    public Long getParentMessageId() {
+        return parentMessageId;
+    }
+    
+    public void setParentMessageId(Long parentMessageId) {
+        this.parentMessageId = parentMessageId;
+    }
+}
@@ -0,0 +1,52 @@
+package com.schoolsystem.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * StartUploadRequest DTO - Opens a resumable upload for an assignment
+ */
+public class StartUploadRequest {
+    
+    @NotBlank(message = "File name is required")
+    @Size(max = 255, message = "File name must be at most 255 characters")
+    private String fileName;
+    
+    @Size(max = 100, message = "Content type must be at most 100 characters")
+    private String contentType;
+    
+    @NotNull(message = "File size is required")
+    @Positive(message = "File must not be empty")
+    private Long totalSize;
+    
+    // Constructors
+    public StartUploadRequest() {
+    }
+    
+    // Getters and Setters
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public Long getTotalSize() {
+        return totalSize;
+    }
+    
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+}
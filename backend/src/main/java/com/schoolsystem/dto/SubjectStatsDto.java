@@ -0,0 +1,57 @@
+package com.schoolsystem.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * SubjectStatsDto - Class statistics of one subject's weighted scores
+ */
+public class SubjectStatsDto {
+
+    private Long subjectId;
+    private int studentCount;
+    private BigDecimal mean;
+    private BigDecimal stdDev;
+    private BigDecimal p25;
+    private BigDecimal median;
+    private BigDecimal p75;
+
+    public SubjectStatsDto(Long subjectId, int studentCount, BigDecimal mean, BigDecimal stdDev,
+                           BigDecimal p25, BigDecimal median, BigDecimal p75) {
+        this.subjectId = subjectId;
+        this.studentCount = studentCount;
+        this.mean = mean;
+        this.stdDev = stdDev;
+        this.p25 = p25;
+        this.median = median;
+        this.p75 = p75;
+    }
+
+    // Getters
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public int getStudentCount() {
+        return studentCount;
+    }
+
+    public BigDecimal getMean() {
+        return mean;
+    }
+
+    public BigDecimal getStdDev() {
+        return stdDev;
+    }
+
+    public BigDecimal getP25() {
+        return p25;
+    }
+
+    public BigDecimal getMedian() {
+        return median;
+    }
+
+    public BigDecimal getP75() {
+        return p75;
+    }
+}
@@ -0,0 +1,26 @@
+package com.schoolsystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * TimeSlotDto - A bookable [start, end) window
+ */
+public class TimeSlotDto {
+    
+    private LocalDateTime start;
+    private LocalDateTime end;
+    
+    public TimeSlotDto(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+    
+    // Getters
+    public LocalDateTime getStart() {
+        return start;
+    }
+    
+    public LocalDateTime getEnd() {
+        return end;
+    }
+}
@@ -0,0 +1,70 @@
+package com.schoolsystem.dto;
+
+import java.util.UUID;
+
+/**
+ * UploadStatusDto - Where a resumable upload stands
+ * 
+ * The next chunk must start at receivedBytes. Once complete,
+ * submissionId points at the stored submission.
+ */
+public class UploadStatusDto {
+    
+    private UUID uploadId;
+    private String fileName;
+    private long totalSize;
+    private long receivedBytes;
+    private long maxChunkSize;
+    private boolean complete;
+    private Long submissionId;
+    private String sha256;
+    
+    public UploadStatusDto(UUID uploadId, String fileName, long totalSize, long receivedBytes,
+                           long maxChunkSize) {
+        this.uploadId = uploadId;
+        this.fileName = fileName;
+        this.totalSize = totalSize;
+        this.receivedBytes = receivedBytes;
+        this.maxChunkSize = maxChunkSize;
+    }
+    
+    public UploadStatusDto completed(Long submissionId, String sha256) {
+        this.complete = true;
+        this.submissionId = submissionId;
+        this.sha256 = sha256;
+        return this;
+    }
+    
+    // Getters
+    public UUID getUploadId() {
+        return uploadId;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public long getTotalSize() {
+        return totalSize;
+    }
+    
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+    
+    public long getMaxChunkSize() {
+        return maxChunkSize;
+    }
+    
+    public boolean isComplete() {
+        return complete;
+    }
+    
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+    
+    public String getSha256() {
+        return sha256;
+    }
+}
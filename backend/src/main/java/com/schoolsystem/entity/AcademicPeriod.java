@@ -0,0 +1,124 @@
+package com.schoolsystem.entity;
+
+import com.schoolsystem.enums.AcademicPeriodType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * AcademicPeriod - Term, quarter or semester of an academic year
+ *
+ * Second-level cached reference data (ReferenceDataCacheConfig)
+ */
+@Entity
+@Table(name = "academic_periods")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AcademicPeriod.CACHE_REGION)
+public class AcademicPeriod {
+    
+    public static final String CACHE_REGION = "reference.academic-periods";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "academic_year_id")
+    private Long academicYearId;
+    
+    @Column(name = "period_name", nullable = false, length = 50)
+    private String periodName;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "period_type", nullable = false)
+    private AcademicPeriodType periodType;
+    
+    @Column(name = "period_number", nullable = false)
+    private Integer periodNumber;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+    
+    // Filled by the column default (the connection's school); see V15
+    @Column(name = "school_id", insertable = false, updatable = false)
+    private Long schoolId;
+    
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public AcademicPeriod() {
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getAcademicYearId() {
+        return academicYearId;
+    }
+    
+    public void setAcademicYearId(Long academicYearId) {
+        this.academicYearId = academicYearId;
+    }
+    
+    public String getPeriodName() {
+        return periodName;
+    }
+    
+    public void setPeriodName(String periodName) {
+        this.periodName = periodName;
+    }
+    
+    public AcademicPeriodType getPeriodType() {
+        return periodType;
+    }
+    
+    public void setPeriodType(AcademicPeriodType periodType) {
+        this.periodType = periodType;
+    }
+    
+    public Integer getPeriodNumber() {
+        return periodNumber;
+    }
+    
+    public void setPeriodNumber(Integer periodNumber) {
+        this.periodNumber = periodNumber;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
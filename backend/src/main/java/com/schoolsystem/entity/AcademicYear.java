@@ -0,0 +1,97 @@
+package com.schoolsystem.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * AcademicYear - School year; one per school is_current
+ *
+ * Second-level cached reference data (ReferenceDataCacheConfig)
+ */
+@Entity
+@Table(name = "academic_years")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AcademicYear.CACHE_REGION)
+public class AcademicYear {
+    
+    public static final String CACHE_REGION = "reference.academic-years";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "year_name", nullable = false, length = 50)
+    private String yearName;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+    
+    @Column(name = "is_current")
+    private Boolean isCurrent;
+    
+    // Filled by the column default (the connection's school); see V15
+    @Column(name = "school_id", insertable = false, updatable = false)
+    private Long schoolId;
+    
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public AcademicYear() {
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getYearName() {
+        return yearName;
+    }
+    
+    public void setYearName(String yearName) {
+        this.yearName = yearName;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    public Boolean getIsCurrent() {
+        return isCurrent;
+    }
+    
+    public void setIsCurrent(Boolean isCurrent) {
+        this.isCurrent = isCurrent;
+    }
+    
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
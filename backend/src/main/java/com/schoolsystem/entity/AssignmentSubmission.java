@@ -0,0 +1,195 @@
+package com.schoolsystem.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * AssignmentSubmission - A student's hand-in for an assignment
+ * 
+ * One row per (assignment, student). submission_file_url holds the
+ * content-addressed storage key of the uploaded file (see
+ * SubmissionUploadService), not a public URL.
+ */
+@Entity
+@Table(name = "assignment_submissions")
+public class AssignmentSubmission {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "assignment_id")
+    private Long assignmentId;
+    
+    @Column(name = "student_id")
+    private Long studentId;
+    
+    @Column(name = "submission_file_url", length = 500)
+    private String submissionFileUrl;
+    
+    @Column(name = "file_name")
+    private String fileName;
+    
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+    
+    @Column(name = "file_size")
+    private Long fileSize;
+    
+    @Column(name = "file_sha256", length = 64)
+    private String fileSha256;
+    
+    @Column(name = "submission_text", columnDefinition = "TEXT")
+    private String submissionText;
+    
+    @Column(name = "submitted_at")
+    private LocalDateTime submittedAt;
+    
+    @Column(name = "marks_obtained", precision = 5, scale = 2)
+    private BigDecimal marksObtained;
+    
+    @Column(columnDefinition = "TEXT")
+    private String feedback;
+    
+    @Column(name = "graded_by")
+    private Long gradedBy;
+    
+    @Column(name = "graded_at")
+    private LocalDateTime gradedAt;
+    
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public AssignmentSubmission() {
+    }
+    
+    // Lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+    
+    public void setAssignmentId(Long assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public String getSubmissionFileUrl() {
+        return submissionFileUrl;
+    }
+    
+    public void setSubmissionFileUrl(String submissionFileUrl) {
+        this.submissionFileUrl = submissionFileUrl;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public Long getFileSize() {
+        return fileSize;
+    }
+    
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+    
+    public String getFileSha256() {
+        return fileSha256;
+    }
+    
+    public void setFileSha256(String fileSha256) {
+        this.fileSha256 = fileSha256;
+    }
+    
+    public String getSubmissionText() {
+        return submissionText;
+    }
+    
+    public void setSubmissionText(String submissionText) {
+        this.submissionText = submissionText;
+    }
+    
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+    
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+    
+    public BigDecimal getMarksObtained() {
+        return marksObtained;
+    }
+    
+    public void setMarksObtained(BigDecimal marksObtained) {
+        this.marksObtained = marksObtained;
+    }
+    
+    public String getFeedback() {
+        return feedback;
+    }
+    
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+    
+    public Long getGradedBy() {
+        return gradedBy;
+    }
+    
+    public void setGradedBy(Long gradedBy) {
+        this.gradedBy = gradedBy;
+    }
+    
+    public LocalDateTime getGradedAt() {
+        return gradedAt;
+    }
+    
+    public void setGradedAt(LocalDateTime gradedAt) {
+        this.gradedAt = gradedAt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,87 @@
+package com.schoolsystem.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * AuditLog - Read-only view of the audit_log table
+ * 
+ * Rows are written in batches by AuditLogService (plain JDBC), never
+ * through JPA, so the entity is immutable. The table is range-partitioned
+ * by month on created_at.
+ */
+@Entity
+@Immutable
+@Table(name = "audit_log")
+public class AuditLog {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(nullable = false, length = 100)
+    private String action;
+    
+    @Column(name = "entity_type", length = 100)
+    private String entityType;
+    
+    @Column(name = "entity_id")
+    private Long entityId;
+    
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "old_value", columnDefinition = "jsonb")
+    private String oldValue;
+    
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "new_value", columnDefinition = "jsonb")
+    private String newValue;
+    
+    @Column(name = "ip_address", length = 50)
+    private String ipAddress;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getAction() {
+        return action;
+    }
+    
+    public String getEntityType() {
+        return entityType;
+    }
+    
+    public Long getEntityId() {
+        return entityId;
+    }
+    
+    public String getOldValue() {
+        return oldValue;
+    }
+    
+    public String getNewValue() {
+        return newValue;
+    }
+    
+    public String getIpAddress() {
+        return ipAddress;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,39 @@
+package com.schoolsystem.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * MessageUnreadCounter - Maintained unread-message count per user
+ * 
+ * Updated by MessageService on send / read, so the inbox badge is a
+ * primary-key lookup instead of COUNT(*) over messages.
+ */
+@Entity
+@Table(name = "message_unread_counters")
+public class MessageUnreadCounter {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "unread_count", nullable = false)
+    private Integer unreadCount = 0;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public Integer getUnreadCount() {
+        return unreadCount;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
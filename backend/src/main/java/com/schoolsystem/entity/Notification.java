@@ -0,0 +1,173 @@
+package com.schoolsystem.entity;
+
+import com.schoolsystem.enums.NotificationStatus;
+import com.schoolsystem.enums.NotificationType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification - SMS / email / in-app message queued for a user
+ * 
+ * The notifications table is range-partitioned by month on created_at
+ * (see PartitionMaintenanceService), so reads should always carry a
+ * created_at window - see NotificationRepository.
+ * 
+ * Ids come from notifications_id_seq with a pooled optimizer (the
+ * sequence increments by 50, V14) so Hibernate can batch inserts -
+ * IDENTITY would force one round trip per row.
+ */
+@Entity
+@Table(name = "notifications")
+public class Notification {
+    
+    @Id
+    // allocationSize must equal the sequence's INCREMENT BY (V14); startup fails otherwise
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_id_seq")
+    @SequenceGenerator(name = "notifications_id_seq", sequenceName = "notifications_id_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recipient_id")
+    private User recipient;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "notification_type", nullable = false)
+    private NotificationType notificationType;
+    
+    @Column(length = 50)
+    private String channel;
+    
+    private String title;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+    
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    private NotificationStatus status = NotificationStatus.PENDING;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+    
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private String metadata;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public Notification() {
+    }
+    
+    public Notification(User recipient, NotificationType notificationType, String title, String message) {
+        this.recipient = recipient;
+        this.notificationType = notificationType;
+        this.title = title;
+        this.message = message;
+    }
+    
+    // Lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public User getRecipient() {
+        return recipient;
+    }
+    
+    public void setRecipient(User recipient) {
+        this.recipient = recipient;
+    }
+    
+    public NotificationType getNotificationType() {
+        return notificationType;
+    }
+    
+    public void setNotificationType(NotificationType notificationType) {
+        this.notificationType = notificationType;
+    }
+    
+    public String getChannel() {
+        return channel;
+    }
+    
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public NotificationStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(NotificationStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+    
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+    
+    public LocalDateTime getReadAt() {
+        return readAt;
+    }
+    
+    public void setReadAt(LocalDateTime readAt) {
+        this.readAt = readAt;
+    }
+    
+    public String getMetadata() {
+        return metadata;
+    }
+    
+    public void setMetadata(String metadata) {
+        this.metadata = metadata;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,87 @@
+package com.schoolsystem.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
+
+/**
+ * SchoolClass - A grade or form (Grade 1, Form 4)
+ *
+ * Named SchoolClass because Class is taken. Reference data: read by nearly
+ * every screen, changed a few times a year, so it lives in the
+ * second-level cache (ReferenceDataCacheConfig).
+ */
+@Entity
+@Table(name = "classes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SchoolClass.CACHE_REGION)
+public class SchoolClass {
+    
+    public static final String CACHE_REGION = "reference.classes";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "class_name", nullable = false, length = 100)
+    private String className;
+    
+    @Column(name = "class_level", nullable = false)
+    private Integer classLevel;
+    
+    @Column(columnDefinition = "TEXT")
+    private String description;
+    
+    // Filled by the column default (the connection's school); see V15
+    @Column(name = "school_id", insertable = false, updatable = false)
+    private Long schoolId;
+    
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public SchoolClass() {
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getClassName() {
+        return className;
+    }
+    
+    public void setClassName(String className) {
+        this.className = className;
+    }
+    
+    public Integer getClassLevel() {
+        return classLevel;
+    }
+    
+    public void setClassLevel(Integer classLevel) {
+        this.classLevel = classLevel;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,96 @@
+package com.schoolsystem.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
+
+/**
+ * Section - One stream of a class (Grade 1A), with its class teacher
+ *
+ * Second-level cached reference data (ReferenceDataCacheConfig)
+ */
+@Entity
+@Table(name = "sections")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Section.CACHE_REGION)
+public class Section {
+    
+    public static final String CACHE_REGION = "reference.sections";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "class_id")
+    private Long classId;
+    
+    @Column(name = "section_name", nullable = false, length = 50)
+    private String sectionName;
+    
+    @Column(name = "max_students")
+    private Integer maxStudents;
+    
+    @Column(name = "class_teacher_id")
+    private Long classTeacherId;
+    
+    // Filled by the column default (the connection's school); see V15
+    @Column(name = "school_id", insertable = false, updatable = false)
+    private Long schoolId;
+    
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public Section() {
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getClassId() {
+        return classId;
+    }
+    
+    public void setClassId(Long classId) {
+        this.classId = classId;
+    }
+    
+    public String getSectionName() {
+        return sectionName;
+    }
+    
+    public void setSectionName(String sectionName) {
+        this.sectionName = sectionName;
+    }
+    
+    public Integer getMaxStudents() {
+        return maxStudents;
+    }
+    
+    public void setMaxStudents(Integer maxStudents) {
+        this.maxStudents = maxStudents;
+    }
+    
+    public Long getClassTeacherId() {
+        return classTeacherId;
+    }
+    
+    public void setClassTeacherId(Long classTeacherId) {
+        this.classTeacherId = classTeacherId;
+    }
+    
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,124 @@
+package com.schoolsystem.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * SmsLog - One row per SMS sent through Africa's Talking
+ * 
+ * Range-partitioned by month on sent_at (see PartitionMaintenanceService)
+ */
+@Entity
+@Table(name = "sms_log")
+public class SmsLog {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "phone_number", nullable = false, length = 20)
+    private String phoneNumber;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+    
+    @Column(precision = 10, scale = 4)
+    private BigDecimal cost;
+    
+    @Column(length = 50)
+    private String status;
+    
+    @Column(name = "africas_talking_message_id", length = 100)
+    private String africasTalkingMessageId;
+    
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+    
+    @Column(name = "sent_at", nullable = false, updatable = false)
+    private LocalDateTime sentAt;
+    
+    // Constructors
+    public SmsLog() {
+    }
+    
+    public SmsLog(String phoneNumber, String message, String status) {
+        this.phoneNumber = phoneNumber;
+        this.message = message;
+        this.status = status;
+    }
+    
+    // Lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        if (sentAt == null) {
+            sentAt = LocalDateTime.now();
+        }
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+    
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public BigDecimal getCost() {
+        return cost;
+    }
+    
+    public void setCost(BigDecimal cost) {
+        this.cost = cost;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getAfricasTalkingMessageId() {
+        return africasTalkingMessageId;
+    }
+    
+    public void setAfricasTalkingMessageId(String africasTalkingMessageId) {
+        this.africasTalkingMessageId = africasTalkingMessageId;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+    
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+    
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+}
@@ -0,0 +1,85 @@
+package com.schoolsystem.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
+
+/**
+ * Subject - Taught subject; subject_code is unique per school
+ *
+ * Second-level cached reference data (ReferenceDataCacheConfig)
+ */
+@Entity
+@Table(name = "subjects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Subject.CACHE_REGION)
+public class Subject {
+    
+    public static final String CACHE_REGION = "reference.subjects";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "subject_name", nullable = false, length = 100)
+    private String subjectName;
+    
+    @Column(name = "subject_code", nullable = false, length = 20)
+    private String subjectCode;
+    
+    @Column(columnDefinition = "TEXT")
+    private String description;
+    
+    // Filled by the column default (the connection's school); see V15
+    @Column(name = "school_id", insertable = false, updatable = false)
+    private Long schoolId;
+    
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public Subject() {
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getSubjectName() {
+        return subjectName;
+    }
+    
+    public void setSubjectName(String subjectName) {
+        this.subjectName = subjectName;
+    }
+    
+    public String getSubjectCode() {
+        return subjectCode;
+    }
+    
+    public void setSubjectCode(String subjectCode) {
+        this.subjectCode = subjectCode;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,114 @@
+package com.schoolsystem.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * UploadSession - Progress of one resumable submission upload
+ * 
+ * The bytes themselves live in a .part file under the upload directory;
+ * this row only records where the next chunk has to start.
+ */
+@Entity
+@Table(name = "upload_sessions")
+public class UploadSession {
+    
+    @Id
+    private UUID id;
+    
+    @Column(name = "assignment_id", nullable = false)
+    private Long assignmentId;
+    
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+    
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+    
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+    
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+    
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes = 0L;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public UploadSession() {
+    }
+    
+    public UploadSession(Long assignmentId, Long studentId, String fileName, String contentType, Long totalSize) {
+        this.id = UUID.randomUUID();
+        this.assignmentId = assignmentId;
+        this.studentId = studentId;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.totalSize = totalSize;
+    }
+    
+    // Lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean isComplete() {
+        return receivedBytes.equals(totalSize);
+    }
+    
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+    
+    public Long getAssignmentId() {
+        return assignmentId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public Long getTotalSize() {
+        return totalSize;
+    }
+    
+    public Long getReceivedBytes() {
+        return receivedBytes;
+    }
+    
+    public void setReceivedBytes(Long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
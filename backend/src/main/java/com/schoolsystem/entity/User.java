@@ -1,6 +1,8 @@
 package com.schoolsystem.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 
 @Entity
@@ -21,6 +23,7 @@ public class User {
     private String passwordHash;
     
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
     @Column(nullable = false)
     private UserRole role;
     
@@ -42,6 +45,10 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Filled by the column default (the connection's school); see V15
+    @Column(name = "school_id", insertable = false, updatable = false)
+    private Long schoolId;
+    
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private UserProfile profile;
     
@@ -157,6 +164,10 @@ public class User {
         this.updatedAt = updatedAt;
     }
     
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
     public UserProfile getProfile() {
         return profile;
     }
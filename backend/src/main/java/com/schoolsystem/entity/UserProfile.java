@@ -4,6 +4,8 @@ package com.schoolsystem.entity;
 
 import com.schoolsystem.enums.Gender;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -34,6 +36,7 @@ public class UserProfile {
     private LocalDate dateOfBirth;
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
     @Column(length = 10)
     private Gender gender;
 
@@ -46,6 +49,9 @@ public class UserProfile {
     @Column(columnDefinition = "TEXT")
     private String address;
 
+    @Column(name = "phone_number", length = 20)
+    private String phoneNumber;
+
     @Column(name = "emergency_contact", length = 20)
     private String emergencyContact;
 
@@ -140,6 +146,14 @@ public class UserProfile {
         this.address = address;
     }
 
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
     public String getEmergencyContact() {
         return emergencyContact;
     }
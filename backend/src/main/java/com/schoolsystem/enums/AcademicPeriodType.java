@@ -0,0 +1,7 @@
+package com.schoolsystem.enums;
+
+public enum AcademicPeriodType {
+    TERM,
+    QUARTER,
+    SEMESTER
+}
@@ -0,0 +1,8 @@
+package com.schoolsystem.enums;
+
+public enum AppointmentStatus {
+    SCHEDULED,
+    COMPLETED,
+    CANCELLED,
+    RESCHEDULED
+}
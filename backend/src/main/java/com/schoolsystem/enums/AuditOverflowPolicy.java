@@ -0,0 +1,12 @@
+package com.schoolsystem.enums;
+
+/**
+ * What the audit queue does when it is full
+ * 
+ * DROP  - discard the new audit entry and count it (request never waits)
+ * BLOCK - make the calling thread wait until the writer frees a slot
+ */
+public enum AuditOverflowPolicy {
+    DROP,
+    BLOCK
+}
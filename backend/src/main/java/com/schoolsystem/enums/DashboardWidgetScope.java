@@ -0,0 +1,10 @@
+package com.schoolsystem.enums;
+
+/**
+ * Who a dashboard widget's cached value is shared with. Per-section parts
+ * of USER widgets are shared separately (see DashboardService).
+ */
+public enum DashboardWidgetScope {
+    USER,
+    SCHOOL
+}
@@ -0,0 +1,7 @@
+package com.schoolsystem.enums;
+
+public enum DashboardWidgetStatus {
+    OK,
+    TIMEOUT,
+    ERROR
+}
@@ -0,0 +1,40 @@
+package com.schoolsystem.enums;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Machine-readable reason in every error response (ErrorResponse.code)
+ *
+ * Clients branch on the code, not on the message. Each code has its HTTP
+ * status (Spring MVC failures keep their own, e.g. 415 as BAD_REQUEST).
+ * The message is fixed for authentication failures (no hint whether the
+ * username exists) and taken from the exception otherwise.
+ */
+public enum ErrorCode {
+    BAD_CREDENTIALS(HttpStatus.UNAUTHORIZED, "Invalid username or password"),
+    INVALID_TWO_FACTOR_CODE(HttpStatus.UNAUTHORIZED, "Invalid or expired verification code"),
+    ACCESS_DENIED(HttpStatus.FORBIDDEN, "Access denied"),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "Request is not valid"),
+    BAD_REQUEST(HttpStatus.BAD_REQUEST, "Request cannot be carried out"),
+    NOT_FOUND(HttpStatus.NOT_FOUND, "Not found"),
+    METHOD_NOT_ALLOWED(HttpStatus.METHOD_NOT_ALLOWED, "Method not allowed"),
+    CONFLICT(HttpStatus.CONFLICT, "Conflicts with the current state"),
+    PAYLOAD_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "Request is too large"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error");
+
+    private final HttpStatus status;
+    private final String defaultMessage;
+
+    ErrorCode(HttpStatus status, String defaultMessage) {
+        this.status = status;
+        this.defaultMessage = defaultMessage;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getDefaultMessage() {
+        return defaultMessage;
+    }
+}
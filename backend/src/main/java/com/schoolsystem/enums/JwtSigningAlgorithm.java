@@ -0,0 +1,15 @@
+package com.schoolsystem.enums;
+
+/**
+ * How JwtTokenProvider signs new tokens (jwt.signing-algorithm)
+ *
+ * HMAC  - HS256/384/512 with jwt.secret, picked by the secret's length;
+ *         anyone verifying needs the secret
+ * ES256 - ECDSA P-256 key pair from JwtKeyRing, public keys on the JWKS endpoint
+ * EDDSA - Ed25519 key pair from JwtKeyRing, public keys on the JWKS endpoint
+ */
+public enum JwtSigningAlgorithm {
+    HMAC,
+    ES256,
+    EDDSA
+}
@@ -0,0 +1,8 @@
+package com.schoolsystem.enums;
+
+public enum NotificationStatus {
+    PENDING,
+    SENT,
+    FAILED,
+    READ
+}
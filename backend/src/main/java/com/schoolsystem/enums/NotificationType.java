@@ -0,0 +1,7 @@
+package com.schoolsystem.enums;
+
+public enum NotificationType {
+    SMS,
+    EMAIL,
+    IN_APP
+}
@@ -0,0 +1,14 @@
+package com.schoolsystem.enums;
+
+/**
+ * What happens to a monthly partition once it is older than its retention
+ * 
+ * KEEP    - leave it alone
+ * DROP    - drop the partition (data is gone)
+ * ARCHIVE - export to a gzipped CSV under partition.archive.dir, then drop
+ */
+public enum PartitionRetentionPolicy {
+    KEEP,
+    DROP,
+    ARCHIVE
+}
@@ -0,0 +1,14 @@
+package com.schoolsystem.enums;
+
+/**
+ * How bind parameters appear in the slow query log
+ * 
+ * NONE   - SQL only
+ * TYPES  - parameter types and string lengths, no values (safe for production logs)
+ * VALUES - actual values, except for statements touching password/secret/token columns
+ */
+public enum QueryParameterLogging {
+    NONE,
+    TYPES,
+    VALUES
+}
@@ -0,0 +1,16 @@
+package com.schoolsystem.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a request is well-formed but cannot be carried out
+ * (e.g. replying to a thread you are not part of). Mapped to HTTP 400.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException {
+    
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,174 @@
+package com.schoolsystem.exception;
+
+import com.schoolsystem.dto.ErrorResponse;
+import com.schoolsystem.enums.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GlobalExceptionHandler - One error format (ErrorResponse) for every
+ * controller
+ *
+ * Handles:
+ * 1. Authentication failures - 401 with a fixed message, whatever the
+ *    reason (unknown user, wrong password, deactivated), so responses do
+ *    not reveal which usernames exist. Not logged: AuthService already
+ *    counts them (auth.login.failures) and they are routine.
+ *    AuthenticationServiceException (e.g. the user lookup failing) is not a
+ *    credential failure: 500, logged
+ * 2. Our exceptions - BadRequestException 400, ResourceNotFoundException
+ *    404, SlotUnavailableException and UploadOffsetMismatchException 409
+ *    (with an Upload-Offset header to resume from)
+ * 3. Spring MVC failures - validation (field errors listed), unreadable
+ *    body, missing parameter, unknown path, wrong method, oversized upload;
+ *    their status is kept
+ * 4. Anything else - 500 with a generic message, logged with stack trace
+ *
+ * Metric: api.errors{code} - error responses by ErrorCode
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
+
+    @PostConstruct
+    public void initMetrics() {
+        for (ErrorCode code : ErrorCode.values()) {
+            errorCounters.put(code, Counter.builder("api.errors")
+                    .description("Error responses by error code")
+                    .tag("code", code.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthentication(AuthenticationException ex, HttpServletRequest request) {
+        return respond(ErrorCode.BAD_CREDENTIALS, ErrorCode.BAD_CREDENTIALS.getDefaultMessage(), request);
+    }
+
+    /** Also InternalAuthenticationServiceException: the lookup broke, not the credentials */
+    @ExceptionHandler(AuthenticationServiceException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationService(AuthenticationServiceException ex,
+                                                                     HttpServletRequest request) {
+        log.error("{} {} failed during authentication", request.getMethod(), request.getRequestURI(), ex);
+        return respond(ErrorCode.INTERNAL_ERROR, ErrorCode.INTERNAL_ERROR.getDefaultMessage(), request);
+    }
+
+    @ExceptionHandler(InvalidTwoFactorCodeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidTwoFactorCode(InvalidTwoFactorCodeException ex,
+                                                                    HttpServletRequest request) {
+        return respond(ErrorCode.INVALID_TWO_FACTOR_CODE, ErrorCode.INVALID_TWO_FACTOR_CODE.getDefaultMessage(), request);
+    }
+
+    /** @PreAuthorize denials reach us before Spring Security's filter */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex, HttpServletRequest request) {
+        return respond(ErrorCode.ACCESS_DENIED, ErrorCode.ACCESS_DENIED.getDefaultMessage(), request);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponse> handleBadRequest(BadRequestException ex, HttpServletRequest request) {
+        return respond(ErrorCode.BAD_REQUEST, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFound(ResourceNotFoundException ex, HttpServletRequest request) {
+        return respond(ErrorCode.NOT_FOUND, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(SlotUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSlotUnavailable(SlotUnavailableException ex, HttpServletRequest request) {
+        return respond(ErrorCode.CONFLICT, ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(UploadOffsetMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleUploadOffsetMismatch(UploadOffsetMismatchException ex,
+                                                                    HttpServletRequest request) {
+        errorCounters.get(ErrorCode.CONFLICT).increment();
+        return ResponseEntity.status(ErrorCode.CONFLICT.getStatus())
+                .header("Upload-Offset", String.valueOf(ex.getExpectedOffset()))
+                .body(new ErrorResponse(ErrorCode.CONFLICT, ex.getMessage(), request.getRequestURI()));
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest request) {
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            fieldErrors.putIfAbsent(error.getField(), error.getDefaultMessage());
+        }
+        ErrorResponse body = new ErrorResponse(ErrorCode.VALIDATION_FAILED,
+                ErrorCode.VALIDATION_FAILED.getDefaultMessage(), request.getRequestURI());
+        body.setFieldErrors(fieldErrors);
+        errorCounters.get(ErrorCode.VALIDATION_FAILED).increment();
+        return ResponseEntity.status(ErrorCode.VALIDATION_FAILED.getStatus()).body(body);
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleUnreadableBody(HttpMessageNotReadableException ex,
+                                                              HttpServletRequest request) {
+        return respond(ErrorCode.VALIDATION_FAILED, "Request body is missing or not valid JSON", request);
+    }
+
+    /**
+     * Spring MVC's own failures (all implement its ErrorResponse) keep their
+     * status; everything else is an unexpected 500
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleOther(Exception ex, HttpServletRequest request) {
+        if (ex instanceof org.springframework.web.ErrorResponse springError) {
+            HttpStatusCode status = springError.getStatusCode();
+            ErrorCode code = codeFor(status);
+            if (status.is5xxServerError()) {
+                log.warn("{} {} failed: {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+            }
+            String detail = springError.getBody().getDetail();
+            errorCounters.get(code).increment();
+            return ResponseEntity.status(status)
+                    .headers(springError.getHeaders())
+                    .body(new ErrorResponse(status.value(), code, detail != null ? detail : code.getDefaultMessage(),
+                            request.getRequestURI()));
+        }
+        log.error("{} {} failed", request.getMethod(), request.getRequestURI(), ex);
+        return respond(ErrorCode.INTERNAL_ERROR, ErrorCode.INTERNAL_ERROR.getDefaultMessage(), request);
+    }
+
+    private ResponseEntity<ErrorResponse> respond(ErrorCode code, String message, HttpServletRequest request) {
+        errorCounters.get(code).increment();
+        return ResponseEntity.status(code.getStatus())
+                .body(new ErrorResponse(code, message, request.getRequestURI()));
+    }
+
+    private static ErrorCode codeFor(HttpStatusCode status) {
+        return switch (status.value()) {
+            case 400 -> ErrorCode.VALIDATION_FAILED;
+            case 404 -> ErrorCode.NOT_FOUND;
+            case 405 -> ErrorCode.METHOD_NOT_ALLOWED;
+            case 413 -> ErrorCode.PAYLOAD_TOO_LARGE;
+            default -> status.is4xxClientError() ? ErrorCode.BAD_REQUEST : ErrorCode.INTERNAL_ERROR;
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.schoolsystem.exception;
+
+import org.springframework.security.authentication.BadCredentialsException;
+
+/**
+ * Thrown when the password does not match (LoginAuthenticationProvider).
+ * Mapped to HTTP 401 BAD_CREDENTIALS.
+ *
+ * An expected outcome, thrown on every failed login - during a credential
+ * stuffing burst thousands a second - so it carries no stack trace.
+ */
+public class InvalidCredentialsException extends BadCredentialsException {
+    
+    public InvalidCredentialsException() {
+        super("Bad credentials");
+    }
+    
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
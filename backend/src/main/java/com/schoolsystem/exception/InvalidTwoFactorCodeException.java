@@ -0,0 +1,15 @@
+package com.schoolsystem.exception;
+
+/**
+ * Thrown when a 2FA code is wrong, expired or already used.
+ * Mapped to HTTP 401 INVALID_TWO_FACTOR_CODE.
+ *
+ * An expected outcome (and a brute-force target), so it carries no stack
+ * trace.
+ */
+public class InvalidTwoFactorCodeException extends RuntimeException {
+    
+    public InvalidTwoFactorCodeException() {
+        super("Invalid verification code", null, false, false);
+    }
+}
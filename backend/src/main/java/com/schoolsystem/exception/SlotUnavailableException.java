@@ -0,0 +1,16 @@
+package com.schoolsystem.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an appointment slot is no longer free (taken by a
+ * concurrent booking or blocked by the timetable). Mapped to HTTP 409.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SlotUnavailableException extends RuntimeException {
+    
+    public SlotUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.schoolsystem.exception;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Thrown when no active user has the username or id (CustomUserDetailsService).
+ * Mapped to HTTP 401 BAD_CREDENTIALS, the same as a wrong password.
+ *
+ * Thrown for every login with a made-up username, so it carries no stack
+ * trace, and the message never contains the username.
+ */
+public class UnknownUserException extends UsernameNotFoundException {
+    
+    public UnknownUserException(String message) {
+        super(message);
+    }
+    
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
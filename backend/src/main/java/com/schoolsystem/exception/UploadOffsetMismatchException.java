@@ -0,0 +1,25 @@
+package com.schoolsystem.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a chunk does not start where the upload currently ends
+ * (lost or duplicated chunk, or two chunks sent in parallel).
+ * Mapped to HTTP 409 - the client should GET the upload status and
+ * resume from receivedBytes.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class UploadOffsetMismatchException extends RuntimeException {
+    
+    private final long expectedOffset;
+    
+    public UploadOffsetMismatchException(long expectedOffset) {
+        super("Upload continues at byte " + expectedOffset);
+        this.expectedOffset = expectedOffset;
+    }
+    
+    public long getExpectedOffset() {
+        return expectedOffset;
+    }
+}
@@ -0,0 +1,77 @@
+package com.schoolsystem.listener;
+
+import com.schoolsystem.entity.AcademicPeriod;
+import com.schoolsystem.entity.AcademicYear;
+import com.schoolsystem.security.TenantContext;
+import com.schoolsystem.service.AcademicCalendarService;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * AcademicCalendarListener - Marks a school's calendar index stale when its
+ * academic years or periods change
+ *
+ * Registered with Hibernate by AcademicCalendarService. Post-commit only,
+ * so the rebuild never sees (or misses) an uncommitted edit.
+ */
+public class AcademicCalendarListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final AcademicCalendarService academicCalendarService;
+
+    public AcademicCalendarListener(AcademicCalendarService academicCalendarService) {
+        this.academicCalendarService = academicCalendarService;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == AcademicYear.class || type == AcademicPeriod.class;
+    }
+
+    private void invalidate(Object entity) {
+        Long schoolId;
+        if (entity instanceof AcademicYear year) {
+            schoolId = year.getSchoolId();
+        } else if (entity instanceof AcademicPeriod period) {
+            schoolId = period.getSchoolId();
+        } else {
+            return;
+        }
+        // school_id is filled by the column default, so a fresh insert only
+        // knows it through the connection's school
+        academicCalendarService.invalidate(schoolId != null ? schoolId : TenantContext.getSchoolId());
+    }
+}
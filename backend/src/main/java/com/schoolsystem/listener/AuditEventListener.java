@@ -0,0 +1,175 @@
+package com.schoolsystem.listener;
+
+import com.schoolsystem.service.AuditLogService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * AuditEventListener - Captures entity changes for the audit log
+ *
+ * Registered with Hibernate in AuditConfig. Uses the post-commit
+ * variants so rolled-back changes are never audited.
+ *
+ * Only a detached snapshot is taken here (associations become ids,
+ * collections are skipped). Diffing and JSON work happen later on the
+ * AuditLogService writer thread.
+ */
+@Component
+public class AuditEventListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Value("${audit.excluded-entities:}")
+    private String[] excludedEntities;
+
+    private Set<String> excluded;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        String entityType = entityType(event.getEntity());
+        if (isExcluded(entityType)) {
+            return;
+        }
+        auditLogService.recordCreate(
+            entityType,
+            toLong(event.getId()),
+            propertyNames(event.getPersister()),
+            snapshot(event.getPersister(), event.getState())
+        );
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        String entityType = entityType(event.getEntity());
+        if (isExcluded(entityType)) {
+            return;
+        }
+        auditLogService.recordUpdate(
+            entityType,
+            toLong(event.getId()),
+            propertyNames(event.getPersister()),
+            snapshot(event.getPersister(), event.getOldState()),
+            snapshot(event.getPersister(), event.getState())
+        );
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        String entityType = entityType(event.getEntity());
+        if (isExcluded(entityType)) {
+            return;
+        }
+        auditLogService.recordDelete(
+            entityType,
+            toLong(event.getId()),
+            propertyNames(event.getPersister()),
+            snapshot(event.getPersister(), event.getDeletedState())
+        );
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed, nothing to audit
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    @PostConstruct
+    public void init() {
+        excluded = new HashSet<>(Arrays.asList(excludedEntities));
+    }
+
+    private boolean isExcluded(String entityType) {
+        return excluded.contains(entityType);
+    }
+
+    private String entityType(Object entity) {
+        return entity.getClass().getSimpleName();
+    }
+
+    private String[] propertyNames(EntityPersister persister) {
+        return persister.getPropertyNames();
+    }
+
+    private Long toLong(Object id) {
+        return id instanceof Number number ? number.longValue() : null;
+    }
+
+    /**
+     * Copy the state array, replacing anything session-bound with plain values
+     */
+    private Object[] snapshot(EntityPersister persister, Object[] state) {
+        if (state == null) {
+            return null;
+        }
+        PersistenceUnitUtil unitUtil = persister.getFactory().getPersistenceUnitUtil();
+        Object[] copy = new Object[state.length];
+        for (int i = 0; i < state.length; i++) {
+            copy[i] = simplify(unitUtil, state[i]);
+        }
+        return copy;
+    }
+
+    private Object simplify(PersistenceUnitUtil unitUtil, Object value) {
+        if (value == null
+                || value instanceof Number
+                || value instanceof CharSequence
+                || value instanceof Boolean
+                || value instanceof Enum<?>
+                || value instanceof Temporal
+                || value instanceof UUID) {
+            return value instanceof CharSequence ? value.toString() : value;
+        }
+
+        // Lazy association: read the id without initializing the proxy
+        if (value instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getInternalIdentifier();
+        }
+
+        // Collections are not part of the row, skip them
+        if (value instanceof PersistentCollection<?> || value instanceof Collection<?> || value instanceof Map<?, ?>) {
+            return null;
+        }
+
+        // Loaded association: record the foreign key only
+        if (value.getClass().isAnnotationPresent(Entity.class)) {
+            return unitUtil.getIdentifier(value);
+        }
+
+        return value.toString();
+    }
+}
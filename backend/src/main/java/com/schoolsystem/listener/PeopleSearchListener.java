@@ -0,0 +1,78 @@
+package com.schoolsystem.listener;
+
+import com.schoolsystem.entity.User;
+import com.schoolsystem.entity.UserProfile;
+import com.schoolsystem.security.TenantContext;
+import com.schoolsystem.service.PeopleSearchService;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * PeopleSearchListener - Marks a school's typeahead index dirty when its
+ * users or profiles change
+ *
+ * Registered with Hibernate by PeopleSearchService. Post-commit only, so
+ * the merge reads the committed rows.
+ */
+public class PeopleSearchListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final PeopleSearchService peopleSearchService;
+
+    public PeopleSearchListener(PeopleSearchService peopleSearchService) {
+        this.peopleSearchService = peopleSearchService;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == User.class || type == UserProfile.class;
+    }
+
+    private void invalidate(Object entity) {
+        User user;
+        if (entity instanceof User changed) {
+            user = changed;
+        } else if (entity instanceof UserProfile profile) {
+            user = profile.getUser();
+        } else {
+            return;
+        }
+        Long schoolId = user != null ? user.getSchoolId() : null;
+        // school_id is filled by the column default, so a fresh insert only
+        // knows it through the connection's school
+        peopleSearchService.invalidate(schoolId != null ? schoolId : TenantContext.getSchoolId());
+    }
+}
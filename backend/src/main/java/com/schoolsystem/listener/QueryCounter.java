@@ -0,0 +1,110 @@
+package com.schoolsystem.listener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * QueryCounter - Counts the SQL statements issued on the current thread
+ * 
+ * QueryGuardFilter opens a scope around every HTTP request, and
+ * QueryExecutionMonitor records each statement the proxied DataSource
+ * executes into every open scope of the calling thread. Work on other
+ * threads (audit writer, async SMS) is not attributed to the request.
+ * 
+ * Tests use the same API to pin an endpoint's statement budget:
+ * 
+ *   try (QueryCounter.Scope scope = QueryCounter.open()) {
+ *       mockMvc.perform(get("/api/messages/inbox")...);
+ *       scope.assertAtMost(3);
+ *   }
+ * 
+ * A JDBC batch counts as one statement (one round trip).
+ */
+public final class QueryCounter {
+    
+    private static final ThreadLocal<Deque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+    
+    private QueryCounter() {
+    }
+    
+    /**
+     * Start counting on this thread; close the scope to stop.
+     * Scopes nest - an inner scope's statements also count for the outer one.
+     */
+    public static Scope open() {
+        Scope scope = new Scope();
+        SCOPES.get().push(scope);
+        return scope;
+    }
+    
+    /**
+     * Called by QueryExecutionMonitor after every statement
+     */
+    static void record(String sql) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            return;
+        }
+        for (Scope scope : scopes) {
+            scope.add(sql);
+        }
+    }
+    
+    public static final class Scope implements AutoCloseable {
+        
+        private final Map<String, Integer> executions = new HashMap<>();
+        private int statementCount;
+        private int maxRepeats;
+        private String mostRepeatedSql;
+        private boolean closed;
+        
+        private Scope() {
+        }
+        
+        private void add(String sql) {
+            statementCount++;
+            int repeats = executions.merge(sql, 1, Integer::sum);
+            if (repeats > maxRepeats) {
+                maxRepeats = repeats;
+                mostRepeatedSql = sql;
+            }
+        }
+        
+        public int getStatementCount() {
+            return statementCount;
+        }
+        
+        /**
+         * How often the most repeated SQL string ran - the N+1 signal
+         */
+        public int getMaxRepeats() {
+            return maxRepeats;
+        }
+        
+        public String getMostRepeatedSql() {
+            return mostRepeatedSql;
+        }
+        
+        public void assertAtMost(int expected) {
+            if (statementCount > expected) {
+                throw new AssertionError("Expected at most " + expected + " statements but " + statementCount
+                    + " were executed (most repeated, " + maxRepeats + "x: " + mostRepeatedSql + ")");
+            }
+        }
+        
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Deque<Scope> scopes = SCOPES.get();
+            scopes.remove(this);
+            if (scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+}
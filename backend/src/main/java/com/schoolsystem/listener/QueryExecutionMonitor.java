@@ -0,0 +1,133 @@
+package com.schoolsystem.listener;
+
+import com.schoolsystem.enums.QueryParameterLogging;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * QueryExecutionMonitor - Sees every statement run through the proxied DataSource
+ * 
+ * Wired in by QueryInstrumentationConfig, so it covers JdbcTemplate and
+ * Hibernate alike. After each statement:
+ * 1. Records the SQL in the current thread's QueryCounter scopes
+ * 2. If it took slow-query-ms or longer, counts it and logs a WARN with
+ *    the bind parameters rendered per query.guard.slow-query-parameters
+ * 
+ * Values are never logged for statements that mention password, secret
+ * or token columns, whatever the setting.
+ */
+@Component
+public class QueryExecutionMonitor implements QueryExecutionListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(QueryExecutionMonitor.class);
+    
+    private static final Pattern SENSITIVE = Pattern.compile("password|secret|token", Pattern.CASE_INSENSITIVE);
+    private static final int MAX_LOGGED_SQL = 2000;
+    private static final int MAX_LOGGED_VALUE = 64;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${query.guard.slow-query-ms:500}")
+    private long slowQueryMs;
+    
+    @Value("${query.guard.slow-query-parameters:TYPES}")
+    private QueryParameterLogging parameterLogging;
+    
+    private Counter slowQueries;
+    
+    @PostConstruct
+    public void initMetrics() {
+        slowQueries = Counter.builder("query.guard.slow")
+            .description("Statements slower than query.guard.slow-query-ms")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            QueryCounter.record(queryInfo.getQuery());
+        }
+        
+        if (execInfo.getElapsedTime() >= slowQueryMs) {
+            slowQueries.increment();
+            for (QueryInfo queryInfo : queryInfoList) {
+                log.warn("Slow query ({} ms{}): {} {}",
+                    execInfo.getElapsedTime(),
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                    abbreviate(queryInfo.getQuery(), MAX_LOGGED_SQL),
+                    describeParameters(queryInfo));
+            }
+        }
+    }
+    
+    private String describeParameters(QueryInfo queryInfo) {
+        List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+        if (parameterLogging == QueryParameterLogging.NONE || parametersList.isEmpty()) {
+            return "";
+        }
+        boolean showValues = parameterLogging == QueryParameterLogging.VALUES
+            && !SENSITIVE.matcher(queryInfo.getQuery()).find();
+        
+        // Batches: the first parameter set is enough to reproduce the plan
+        List<ParameterSetOperation> operations = new ArrayList<>(parametersList.get(0));
+        operations.sort(Comparator.comparingInt(op -> op.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE));
+        
+        List<String> rendered = new ArrayList<>(operations.size());
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            Object value = args.length > 1 ? args[1] : null;
+            rendered.add(args[0] + "=" + (showValues ? renderValue(value) : renderType(operation, value)));
+        }
+        return rendered.toString();
+    }
+    
+    private String renderType(ParameterSetOperation operation, Object value) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation) || value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        return value.getClass().getSimpleName();
+    }
+    
+    private String renderValue(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence) {
+            return "'" + abbreviate(value.toString(), MAX_LOGGED_VALUE) + "'";
+        }
+        if (value instanceof byte[] bytes) {
+            return "byte[" + bytes.length + "]";
+        }
+        return abbreviate(value.toString(), MAX_LOGGED_VALUE);
+    }
+    
+    private static String abbreviate(String text, int max) {
+        String singleLine = text.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= max
+            ? singleLine
+            : singleLine.substring(0, max) + "...(" + singleLine.length() + " chars)";
+    }
+}
@@ -0,0 +1,128 @@
+package com.schoolsystem.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ConcurrentIndexMigration - Base class for online (CONCURRENTLY) index builds
+ * 
+ * Why not a plain .sql migration?
+ * 1. CREATE INDEX CONCURRENTLY cannot run inside a transaction
+ * 2. It is not supported on partitioned tables (notifications, audit_log,
+ *    sms_log - see PartitionMaintenanceService). There the index is created
+ *    ON ONLY the parent, built concurrently on each partition and attached.
+ * 3. A failed concurrent build leaves an INVALID index behind; it is dropped
+ *    and rebuilt so the migration can simply be re-run.
+ * 
+ * Subclasses only describe the index:
+ * 
+ *   public class V7__ExamDateIndex extends ConcurrentIndexMigration {
+ *       public V7__ExamDateIndex() {
+ *           super("idx_exams_date", "exams", "(exam_date)");
+ *       }
+ *   }
+ */
+public abstract class ConcurrentIndexMigration extends BaseJavaMigration {
+    
+    private final String indexName;
+    private final String tableName;
+    private final String definition;
+    
+    /**
+     * @param indexName  name of the index to create
+     * @param tableName  table to index
+     * @param definition everything after "ON table", e.g. "(recipient_id) WHERE status = 'PENDING'"
+     */
+    protected ConcurrentIndexMigration(String indexName, String tableName, String definition) {
+        this.indexName = indexName;
+        this.tableName = tableName;
+        this.definition = definition;
+    }
+    
+    /**
+     * Flyway runs this migration with autocommit on, outside any transaction
+     */
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+    
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        
+        try (Statement statement = connection.createStatement()) {
+            if (isPartitioned(connection, tableName)) {
+                // Parent index starts INVALID and becomes valid once every partition is attached
+                statement.execute("CREATE INDEX IF NOT EXISTS " + indexName +
+                                  " ON ONLY " + tableName + " " + definition);
+                
+                for (String partition : partitionsOf(connection, tableName)) {
+                    String childIndex = indexName + partition.substring(tableName.length());
+                    createConcurrently(connection, statement, childIndex, partition);
+                    if (!isAttached(connection, childIndex)) {
+                        statement.execute("ALTER INDEX " + indexName + " ATTACH PARTITION " + childIndex);
+                    }
+                }
+            } else {
+                createConcurrently(connection, statement, indexName, tableName);
+            }
+        }
+    }
+    
+    private void createConcurrently(Connection connection, Statement statement,
+                                    String index, String table) throws SQLException {
+        if (isInvalid(connection, index)) {
+            statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+        }
+        statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + index +
+                          " ON " + table + " " + definition);
+    }
+    
+    private boolean isPartitioned(Connection connection, String table) throws SQLException {
+        return exists(connection,
+            "SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?)", table);
+    }
+    
+    private boolean isInvalid(Connection connection, String index) throws SQLException {
+        return exists(connection,
+            "SELECT 1 FROM pg_index WHERE indexrelid = to_regclass(?) AND NOT indisvalid", index);
+    }
+    
+    private boolean isAttached(Connection connection, String index) throws SQLException {
+        return exists(connection,
+            "SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(?)", index);
+    }
+    
+    private List<String> partitionsOf(Connection connection, String table) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname")) {
+            query.setString(1, table);
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(rs.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+    
+    private boolean exists(Connection connection, String sql, String argument) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            query.setString(1, argument);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.schoolsystem.migration;
+
+/**
+ * Role feed: WHERE target_audience @> ARRAY[role] AND event_date BETWEEN ? AND ?
+ *
+ * GIN on the role array, with event_date in the same index through
+ * btree_gin (extension created in V12)
+ */
+public class V13__EventsAudienceDateIndex extends ConcurrentIndexMigration {
+
+    public V13__EventsAudienceDateIndex() {
+        super("idx_events_audience_date", "events",
+              "USING gin (target_audience, event_date)");
+    }
+}
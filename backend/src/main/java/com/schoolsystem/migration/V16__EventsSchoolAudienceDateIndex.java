@@ -0,0 +1,16 @@
+package com.schoolsystem.migration;
+
+/**
+ * Role feed per school: WHERE school_id = ? AND target_audience @> ARRAY[role]
+ * AND event_date BETWEEN ? AND ? (school_id comes from the RLS policy)
+ *
+ * Same GIN as V13 with school_id in front, so one school's feed does not
+ * read every school's matching events
+ */
+public class V16__EventsSchoolAudienceDateIndex extends ConcurrentIndexMigration {
+
+    public V16__EventsSchoolAudienceDateIndex() {
+        super("idx_events_school_audience_date", "events",
+              "USING gin (school_id, target_audience, event_date)");
+    }
+}
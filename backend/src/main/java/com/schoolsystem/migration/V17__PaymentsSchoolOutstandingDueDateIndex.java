@@ -0,0 +1,15 @@
+package com.schoolsystem.migration;
+
+/**
+ * Outstanding fees by due date for one school (fee reports under tenancy)
+ *
+ * V5 with school_id leading; the cross-school overdue reminder job keeps
+ * using V5
+ */
+public class V17__PaymentsSchoolOutstandingDueDateIndex extends ConcurrentIndexMigration {
+
+    public V17__PaymentsSchoolOutstandingDueDateIndex() {
+        super("idx_payments_school_outstanding_due_date", "payments",
+              "(school_id, due_date) WHERE payment_status <> 'PAID'");
+    }
+}
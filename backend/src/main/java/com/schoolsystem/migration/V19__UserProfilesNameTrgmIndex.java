@@ -0,0 +1,14 @@
+package com.schoolsystem.migration;
+
+/**
+ * People search: (first_name || ' ' || last_name) % ? / ILIKE '%...%'
+ *
+ * Trigram GIN on the full name (pg_trgm, created in V18)
+ */
+public class V19__UserProfilesNameTrgmIndex extends ConcurrentIndexMigration {
+
+    public V19__UserProfilesNameTrgmIndex() {
+        super("idx_user_profiles_name_trgm", "user_profiles",
+              "USING gin ((first_name || ' ' || last_name) gin_trgm_ops)");
+    }
+}
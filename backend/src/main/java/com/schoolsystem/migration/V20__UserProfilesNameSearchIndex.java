@@ -0,0 +1,15 @@
+package com.schoolsystem.migration;
+
+/**
+ * People search: to_tsvector('simple', first_name || ' ' || last_name) @@ 'smi:* & jo:*'
+ *
+ * Word-prefix matching in any order ("smith jo" finds John Smith); the
+ * 'simple' configuration because names must not be stemmed
+ */
+public class V20__UserProfilesNameSearchIndex extends ConcurrentIndexMigration {
+
+    public V20__UserProfilesNameSearchIndex() {
+        super("idx_user_profiles_name_tsv", "user_profiles",
+              "USING gin (to_tsvector('simple', first_name || ' ' || last_name))");
+    }
+}
@@ -0,0 +1,14 @@
+package com.schoolsystem.migration;
+
+/**
+ * People search: username % ? OR username ILIKE ? OR email ILIKE ?
+ *
+ * One multi-column trigram GIN; each column can be searched on its own
+ */
+public class V21__UsersUsernameEmailTrgmIndex extends ConcurrentIndexMigration {
+
+    public V21__UsersUsernameEmailTrgmIndex() {
+        super("idx_users_username_email_trgm", "users",
+              "USING gin (username gin_trgm_ops, email gin_trgm_ops)");
+    }
+}
@@ -0,0 +1,12 @@
+package com.schoolsystem.migration;
+
+/**
+ * People search: admission_number ILIKE '%0421%' (partial numbers)
+ */
+public class V22__StudentsAdmissionNumberTrgmIndex extends ConcurrentIndexMigration {
+
+    public V22__StudentsAdmissionNumberTrgmIndex() {
+        super("idx_students_admission_number_trgm", "students",
+              "USING gin (admission_number gin_trgm_ops)");
+    }
+}
@@ -0,0 +1,14 @@
+package com.schoolsystem.migration;
+
+/**
+ * Unread/pending notification badge lookups by recipient
+ * 
+ * Partial index: only PENDING rows are indexed, so it stays small
+ */
+public class V2__NotificationsPendingRecipientIndex extends ConcurrentIndexMigration {
+    
+    public V2__NotificationsPendingRecipientIndex() {
+        super("idx_notifications_pending_recipient", "notifications",
+              "(recipient_id) WHERE status = 'PENDING'");
+    }
+}
@@ -0,0 +1,15 @@
+package com.schoolsystem.migration;
+
+/**
+ * Grade sheet per exam (all students of one exam)
+ * 
+ * Covering index: marks and letter grade are in the index, so the
+ * grade sheet is served by an index-only scan
+ */
+public class V3__GradesExamStudentIndex extends ConcurrentIndexMigration {
+    
+    public V3__GradesExamStudentIndex() {
+        super("idx_grades_exam_student", "grades",
+              "(exam_id, student_id) INCLUDE (marks_obtained, grade)");
+    }
+}
@@ -0,0 +1,12 @@
+package com.schoolsystem.migration;
+
+/**
+ * Inbox listing and unread filter for a recipient, newest first
+ */
+public class V4__MessagesRecipientInboxIndex extends ConcurrentIndexMigration {
+    
+    public V4__MessagesRecipientInboxIndex() {
+        super("idx_messages_recipient_read_created", "messages",
+              "(recipient_id, is_read, created_at)");
+    }
+}
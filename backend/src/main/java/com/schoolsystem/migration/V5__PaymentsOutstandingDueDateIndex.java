@@ -0,0 +1,14 @@
+package com.schoolsystem.migration;
+
+/**
+ * Outstanding fees by due date (overdue reminders, fee reports)
+ * 
+ * Partial index: PAID rows, the vast majority over time, are left out
+ */
+public class V5__PaymentsOutstandingDueDateIndex extends ConcurrentIndexMigration {
+    
+    public V5__PaymentsOutstandingDueDateIndex() {
+        super("idx_payments_outstanding_due_date", "payments",
+              "(due_date) WHERE payment_status <> 'PAID'");
+    }
+}
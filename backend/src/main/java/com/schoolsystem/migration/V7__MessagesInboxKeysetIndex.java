@@ -0,0 +1,13 @@
+package com.schoolsystem.migration;
+
+/**
+ * Keyset-paginated inbox: WHERE recipient_id = ? AND (created_at, id) < (?, ?)
+ * ORDER BY created_at DESC, id DESC - served straight from the index
+ */
+public class V7__MessagesInboxKeysetIndex extends ConcurrentIndexMigration {
+    
+    public V7__MessagesInboxKeysetIndex() {
+        super("idx_messages_recipient_created_id", "messages",
+              "(recipient_id, created_at DESC, id DESC)");
+    }
+}
@@ -0,0 +1,12 @@
+package com.schoolsystem.migration;
+
+/**
+ * Thread loading walks parent_message_id in both directions
+ */
+public class V8__MessagesParentIndex extends ConcurrentIndexMigration {
+    
+    public V8__MessagesParentIndex() {
+        super("idx_messages_parent", "messages",
+              "(parent_message_id) WHERE parent_message_id IS NOT NULL");
+    }
+}
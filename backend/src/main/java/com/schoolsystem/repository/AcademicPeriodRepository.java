@@ -0,0 +1,27 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.config.ReferenceDataCacheConfig;
+import com.schoolsystem.entity.AcademicPeriod;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * AcademicPeriodRepository - Terms, quarters and semesters
+ *
+ * Lists are query-cached; the school is always a parameter so one school's
+ * cached result is never served to another
+ */
+@Repository
+public interface AcademicPeriodRepository extends JpaRepository<AcademicPeriod, Long> {
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceDataCacheConfig.QUERY_REGION)
+    })
+    List<AcademicPeriod> findBySchoolIdOrderByStartDate(Long schoolId);
+}
@@ -0,0 +1,27 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.config.ReferenceDataCacheConfig;
+import com.schoolsystem.entity.AcademicYear;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * AcademicYearRepository - School years
+ *
+ * Lists are query-cached; the school is always a parameter so one school's
+ * cached result is never served to another
+ */
+@Repository
+public interface AcademicYearRepository extends JpaRepository<AcademicYear, Long> {
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceDataCacheConfig.QUERY_REGION)
+    })
+    List<AcademicYear> findBySchoolIdOrderByStartDateDesc(Long schoolId);
+}
@@ -0,0 +1,61 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.entity.Appointment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * AppointmentRepository - Data access for parent-teacher appointments
+ */
+@Repository
+public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+    
+    /**
+     * Active appointments of a teacher that start inside [from, to)
+     * (used to build the availability index)
+     */
+    @Query("SELECT a FROM Appointment a " +
+           "WHERE a.teacherId = :teacherId " +
+           "AND a.status IN (com.schoolsystem.enums.AppointmentStatus.SCHEDULED, " +
+           "                 com.schoolsystem.enums.AppointmentStatus.RESCHEDULED) " +
+           "AND a.appointmentDate >= :from AND a.appointmentDate < :to")
+    List<Appointment> findActiveForTeacher(@Param("teacherId") Long teacherId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+    
+    /**
+     * Queue reminders for every active appointment starting before :until
+     * in one statement - flags the appointments and inserts the
+     * notifications (parent + teacher) together
+     * 
+     * Runs unscoped (scheduler), so each notification takes its
+     * appointment's school_id
+     * 
+     * Returns the number of notifications created
+     */
+    @Modifying
+    @Query(value = "WITH due AS ( " +
+                   "    UPDATE appointments SET reminder_sent_at = CURRENT_TIMESTAMP " +
+                   "    WHERE reminder_sent_at IS NULL " +
+                   "      AND status IN ('SCHEDULED', 'RESCHEDULED') " +
+                   "      AND appointment_date >= CURRENT_TIMESTAMP AND appointment_date < :until " +
+                   "    RETURNING id, parent_id, teacher_id, appointment_date, school_id " +
+                   "), recipients AS ( " +
+                   "    SELECT d.id, d.appointment_date, d.school_id, d.parent_id AS user_id FROM due d WHERE d.parent_id IS NOT NULL " +
+                   "    UNION ALL " +
+                   "    SELECT d.id, d.appointment_date, d.school_id, t.user_id FROM due d JOIN teachers t ON t.id = d.teacher_id " +
+                   ") " +
+                   "INSERT INTO notifications (recipient_id, notification_type, channel, title, message, status, metadata, created_at, school_id) " +
+                   "SELECT r.user_id, CAST('IN_APP' AS notification_type), 'APPOINTMENT', 'Appointment reminder', " +
+                   "       'Reminder: you have an appointment on ' || to_char(r.appointment_date, 'Dy DD Mon YYYY \"at\" HH24:MI'), " +
+                   "       CAST('PENDING' AS notification_status), jsonb_build_object('appointmentId', r.id), CURRENT_TIMESTAMP, r.school_id " +
+                   "FROM recipients r",
+           nativeQuery = true)
+    int queueReminders(@Param("until") LocalDateTime until);
+}
@@ -0,0 +1,20 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.entity.AssignmentSubmission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * AssignmentSubmissionRepository - Data access for assignment hand-ins
+ */
+@Repository
+public interface AssignmentSubmissionRepository extends JpaRepository<AssignmentSubmission, Long> {
+    
+    /**
+     * Generated SQL:
+     * SELECT * FROM assignment_submissions WHERE assignment_id = ? AND student_id = ?
+     */
+    Optional<AssignmentSubmission> findByAssignmentIdAndStudentId(Long assignmentId, Long studentId);
+}
@@ -0,0 +1,35 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.entity.AuditLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * AuditLogRepository - Read access to audit_log
+ * 
+ * audit_log is partitioned by month on created_at. Lookups always take
+ * a created_at window so only the matching partitions are scanned.
+ */
+@Repository
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+    
+    /**
+     * History of one entity
+     * 
+     * Generated SQL:
+     * SELECT * FROM audit_log
+     * WHERE entity_type = ? AND entity_id = ? AND created_at >= ? AND created_at < ?
+     * ORDER BY created_at DESC
+     */
+    List<AuditLog> findByEntityTypeAndEntityIdAndCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDesc(
+            String entityType, Long entityId, LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Everything one user did inside a window
+     */
+    List<AuditLog> findByUserIdAndCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDesc(
+            Long userId, LocalDateTime from, LocalDateTime to);
+}
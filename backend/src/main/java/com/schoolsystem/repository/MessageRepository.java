@@ -0,0 +1,87 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.dto.MessageDto;
+import com.schoolsystem.entity.Message;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MessageRepository - Data access for internal messages
+ * 
+ * The inbox uses keyset pagination on (created_at, id) instead of OFFSET:
+ * page N costs the same as page 1 because the database seeks straight to
+ * the cursor in idx_messages_recipient_created_id. The Pageable argument
+ * is only used as a LIMIT (always page 0).
+ */
+@Repository
+public interface MessageRepository extends JpaRepository<Message, Long> {
+    
+    /**
+     * First inbox page (newest first)
+     */
+    @Query("SELECT new com.schoolsystem.dto.MessageDto(" +
+           "m.id, s.id, s.username, m.recipient.id, m.subject, m.body, m.isRead, m.parentMessageId, m.createdAt) " +
+           "FROM Message m LEFT JOIN m.sender s " +
+           "WHERE m.recipient.id = :recipientId " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MessageDto> findInbox(@Param("recipientId") Long recipientId, Pageable limit);
+    
+    /**
+     * Following inbox pages: everything strictly older than the cursor
+     * 
+     * Generated SQL (roughly):
+     * ... WHERE recipient_id = ? AND (created_at < ? OR (created_at = ? AND id < ?))
+     * ORDER BY created_at DESC, id DESC LIMIT ?
+     */
+    @Query("SELECT new com.schoolsystem.dto.MessageDto(" +
+           "m.id, s.id, s.username, m.recipient.id, m.subject, m.body, m.isRead, m.parentMessageId, m.createdAt) " +
+           "FROM Message m LEFT JOIN m.sender s " +
+           "WHERE m.recipient.id = :recipientId " +
+           "AND (m.createdAt < :cursorCreatedAt OR (m.createdAt = :cursorCreatedAt AND m.id < :cursorId)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MessageDto> findInboxBefore(@Param("recipientId") Long recipientId,
+                                     @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable limit);
+    
+    /**
+     * Is the user the sender or the recipient of this message?
+     */
+    @Query("SELECT COUNT(m) > 0 FROM Message m " +
+           "WHERE m.id = :messageId AND (m.sender.id = :userId OR m.recipient.id = :userId)")
+    boolean isParticipant(@Param("messageId") Long messageId, @Param("userId") Long userId);
+    
+    /**
+     * Mark one message read - returns 1 only if it was unread before,
+     * so the caller knows whether to decrement the counter
+     */
+    @Modifying
+    @Query("UPDATE Message m SET m.isRead = true " +
+           "WHERE m.id = :messageId AND m.recipient.id = :recipientId AND m.isRead = false")
+    int markRead(@Param("messageId") Long messageId, @Param("recipientId") Long recipientId);
+    
+    /**
+     * Mark every unread message read and adjust the counter - one statement
+     * 
+     * The counter is reduced by exactly the number of rows flipped, so a
+     * message arriving concurrently is never lost from the badge.
+     */
+    @Modifying
+    @Query(value = "WITH marked AS (" +
+                   "  UPDATE messages SET is_read = true " +
+                   "  WHERE recipient_id = :recipientId AND is_read = false RETURNING id" +
+                   ") " +
+                   "UPDATE message_unread_counters " +
+                   "SET unread_count = GREATEST(unread_count - (SELECT COUNT(*) FROM marked), 0), " +
+                   "    updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE user_id = :recipientId",
+           nativeQuery = true)
+    int markAllRead(@Param("recipientId") Long recipientId);
+}
@@ -0,0 +1,33 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.entity.MessageUnreadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * MessageUnreadCounterRepository - Atomic updates of the unread badge counters
+ * 
+ * All changes are single-row UPSERT/UPDATE statements so concurrent
+ * senders never overwrite each other's increments.
+ */
+@Repository
+public interface MessageUnreadCounterRepository extends JpaRepository<MessageUnreadCounter, Long> {
+    
+    @Modifying
+    @Query(value = "INSERT INTO message_unread_counters (user_id, unread_count, updated_at) " +
+                   "VALUES (:userId, 1, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (user_id) DO UPDATE " +
+                   "SET unread_count = message_unread_counters.unread_count + 1, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void increment(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "UPDATE message_unread_counters " +
+                   "SET unread_count = GREATEST(unread_count - 1, 0), updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE user_id = :userId",
+           nativeQuery = true)
+    void decrement(@Param("userId") Long userId);
+}
@@ -0,0 +1,43 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.entity.Notification;
+import com.schoolsystem.enums.NotificationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * NotificationRepository - Data access for the notifications table
+ * 
+ * notifications is partitioned by month on created_at. Every query here
+ * takes a created_at bound so PostgreSQL can prune the partitions it
+ * does not need instead of scanning all of them.
+ */
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    
+    /**
+     * Recent notifications for a user
+     * 
+     * Generated SQL:
+     * SELECT * FROM notifications
+     * WHERE recipient_id = ? AND created_at >= ? ORDER BY created_at DESC
+     */
+    List<Notification> findByRecipientIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+            Long recipientId, LocalDateTime since);
+    
+    /**
+     * Notifications in a given status inside a [from, to) window
+     * (e.g. PENDING ones for the sender job)
+     */
+    @Query("SELECT n FROM Notification n " +
+           "WHERE n.status = :status AND n.createdAt >= :from AND n.createdAt < :to " +
+           "ORDER BY n.createdAt")
+    List<Notification> findByStatusInWindow(@Param("status") NotificationStatus status,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+}
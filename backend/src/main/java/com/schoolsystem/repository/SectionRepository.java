@@ -0,0 +1,33 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.config.ReferenceDataCacheConfig;
+import com.schoolsystem.entity.Section;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * SectionRepository - Sections (streams) of a class
+ *
+ * Lists are query-cached; the school is always a parameter so one school's
+ * cached result is never served to another
+ */
+@Repository
+public interface SectionRepository extends JpaRepository<Section, Long> {
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceDataCacheConfig.QUERY_REGION)
+    })
+    List<Section> findBySchoolIdOrderByClassIdAscSectionNameAsc(Long schoolId);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceDataCacheConfig.QUERY_REGION)
+    })
+    List<Section> findBySchoolIdAndClassIdOrderBySectionName(Long schoolId, Long classId);
+}
@@ -0,0 +1,37 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.entity.SmsLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * SmsLogRepository - Data access for the sms_log table
+ * 
+ * sms_log is partitioned by month on sent_at, so every query is bounded
+ * by a sent_at window to keep partition pruning in play.
+ */
+@Repository
+public interface SmsLogRepository extends JpaRepository<SmsLog, Long> {
+    
+    /**
+     * SMS history for one phone number
+     * 
+     * Generated SQL:
+     * SELECT * FROM sms_log
+     * WHERE phone_number = ? AND sent_at >= ? AND sent_at < ? ORDER BY sent_at DESC
+     */
+    List<SmsLog> findByPhoneNumberAndSentAtGreaterThanEqualAndSentAtLessThanOrderBySentAtDesc(
+            String phoneNumber, LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Total SMS spend inside a [from, to) window (monthly billing report)
+     */
+    @Query("SELECT COALESCE(SUM(s.cost), 0) FROM SmsLog s WHERE s.sentAt >= :from AND s.sentAt < :to")
+    BigDecimal sumCostBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,27 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.config.ReferenceDataCacheConfig;
+import com.schoolsystem.entity.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * SubjectRepository - Subjects taught at a school
+ *
+ * Lists are query-cached; the school is always a parameter so one school's
+ * cached result is never served to another
+ */
+@Repository
+public interface SubjectRepository extends JpaRepository<Subject, Long> {
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceDataCacheConfig.QUERY_REGION)
+    })
+    List<Subject> findBySchoolIdOrderBySubjectName(Long schoolId);
+}
@@ -0,0 +1,36 @@
+package com.schoolsystem.repository;
+
+import com.schoolsystem.entity.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * UploadSessionRepository - Progress rows of resumable uploads
+ */
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+    
+    /**
+     * Advance the offset only if nobody else moved it in the meantime
+     * 
+     * Returns 0 when the expected offset no longer matches
+     */
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.receivedBytes = :newOffset, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id = :id AND s.receivedBytes = :expectedOffset")
+    int advance(@Param("id") UUID id,
+                @Param("expectedOffset") long expectedOffset,
+                @Param("newOffset") long newOffset);
+    
+    /**
+     * Abandoned uploads (for the cleanup job)
+     */
+    List<UploadSession> findByUpdatedAtBefore(LocalDateTime cutoff);
+}
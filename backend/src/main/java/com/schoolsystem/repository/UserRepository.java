@@ -3,8 +3,12 @@ package com.schoolsystem.repository;
 import com.schoolsystem.entity.User;
 import com.schoolsystem.entity.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -74,4 +78,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Combining multiple conditions in method name
      */
     Optional<User> findByUsernameAndIsActiveTrue(String username);
+    
+    /**
+     * Record a login - runs the UPDATE now instead of at commit
+     * 
+     * Generated SQL:
+     * UPDATE users SET last_login = ? WHERE id = ?
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.lastLogin = :lastLogin WHERE u.id = :userId")
+    int updateLastLogin(@Param("userId") Long userId, @Param("lastLogin") LocalDateTime lastLogin);
 }
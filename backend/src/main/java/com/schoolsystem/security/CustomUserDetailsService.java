@@ -1,7 +1,10 @@
 package com.schoolsystem.security;
 
 import com.schoolsystem.entity.User;
+import com.schoolsystem.exception.UnknownUserException;
 import com.schoolsystem.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -14,6 +17,9 @@ import org.springframework.transaction.annotation.Transactional;
  * 
  * Spring Security calls this service when it needs to authenticate a user
  * This is the bridge between Spring Security and our database
+ * 
+ * Metric: security.user.lookup{method, outcome} - runs on every login
+ * and on every authenticated request (JwtAuthenticationFilter)
  */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -21,28 +27,39 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     /**
      * Load user by username
      * 
      * Called by Spring Security during authentication
-     * Must return UserDetails or throw UsernameNotFoundException
+     * Must return UserDetails or throw UsernameNotFoundException - here the
+     * stackless UnknownUserException, as every failed login with a made-up
+     * username ends up here
      */
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // Find user in database
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> 
-                    new UsernameNotFoundException("User not found with username: " + username)
-                );
-        
-        // Check if user is active
-        if (!user.getIsActive()) {
-            throw new UsernameNotFoundException("User account is deactivated: " + username);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "not_found";
+        try {
+            // Find user in database
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UnknownUserException("User not found"));
+            
+            // Check if user is active
+            if (!user.getIsActive()) {
+                outcome = "inactive";
+                throw new UnknownUserException("User account is deactivated");
+            }
+            
+            // Convert to UserPrincipal (which implements UserDetails)
+            outcome = "found";
+            return UserPrincipal.create(user);
+        } finally {
+            sample.stop(lookupTimer("by_username", outcome));
         }
-        
-        // Convert to UserPrincipal (which implements UserDetails)
-        return UserPrincipal.create(user);
     }
     
     /**
@@ -50,11 +67,24 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Transactional
     public UserDetails loadUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> 
-                    new UsernameNotFoundException("User not found with id: " + id)
-                );
-        
-        return UserPrincipal.create(user);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "not_found";
+        try {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new UnknownUserException("User not found"));
+            
+            outcome = "found";
+            return UserPrincipal.create(user);
+        } finally {
+            sample.stop(lookupTimer("by_id", outcome));
+        }
+    }
+    
+    private Timer lookupTimer(String method, String outcome) {
+        return Timer.builder("security.user.lookup")
+                .description("User lookup for authentication")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 }
@@ -1,10 +1,13 @@
 package com.schoolsystem.security;
 
+import com.schoolsystem.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -25,8 +28,16 @@ import java.io.IOException;
  * 3. Load user details
  * 4. Set authentication in SecurityContext
  * 
+ * With tenancy.enabled the token's school claim is put in TenantContext
+ * before the user is loaded, so everything the request reads - the user
+ * lookup included - is scoped to that school. Tokens without the claim
+ * are not accepted in that mode.
+ * 
+ * Revoked tokens (logout, password change, deactivation) are turned away
+ * after the signature check; TokenRevocationService answers from memory.
+ * 
  * Flow:
- * Request → Filter → Validate Token → Load User → Set Auth → Continue to Controller
+ * Request → Filter → Validate Token → Check Revocation → Load User → Set Auth → Continue to Controller
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -37,6 +48,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
     
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Value("${tenancy.enabled:false}")
+    private boolean tenancyEnabled;
+    
     @Override
     protected void doFilterInternal(
                         @NonNull   HttpServletRequest request, 
@@ -47,9 +64,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 1. Get JWT token from request header
             String jwt = getJwtFromRequest(request);
             
-            // 2. Validate token and extract username
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            // 2. Validate token (parsed once) and extract username
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseValidToken(jwt) : null;
+            if (claims != null && !tokenRevocationService.isRevoked(claims) && resolveTenant(claims)) {
+                String username = claims.getSubject();
                 
                 // 3. Load user details from database
                 UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
@@ -73,7 +91,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         // Continue with the request
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+    
+    /**
+     * Scope the request to the token's school (tenancy mode only)
+     * 
+     * @return false when tenancy is on and the token carries no school
+     */
+    private boolean resolveTenant(Claims claims) {
+        if (!tenancyEnabled) {
+            return true;
+        }
+        Long schoolId = claims.get(JwtTokenProvider.SCHOOL_CLAIM, Long.class);
+        TenantContext.setSchoolId(schoolId);
+        return schoolId != null;
     }
     
     /**
@@ -0,0 +1,443 @@
+package com.schoolsystem.security;
+
+import com.schoolsystem.enums.JwtSigningAlgorithm;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * JwtKeyRing - Signing keys for JwtTokenProvider and their public halves
+ *
+ * With jwt.signing-algorithm=ES256 or EDDSA tokens are signed with the
+ * newest active key pair of the ring and carry its id in the "kid" header;
+ * other services verify them against GET /.well-known/jwks.json instead of
+ * sharing jwt.secret.
+ *
+ * Handles:
+ * 1. Rotate - a new key pair is generated when the signing one is older
+ *    than jwt.key-rotation-hours. It is published (directory and JWKS) at
+ *    once but only signs after two jwt.key-ring.check-ms intervals, by when
+ *    every instance has read it; the previous key signs until then. If
+ *    several instances rotated in that window, the lowest kid wins and the
+ *    others are dropped before they sign anything. On an empty ring the
+ *    new key signs right away.
+ * 2. Retire - an old key keeps verifying until the longest-lived token it
+ *    can have signed (a refresh token) has expired, then it is dropped
+ * 3. Share - with jwt.key-ring.path set, keys are written there (one file
+ *    per key, owner-only) and picked up by every instance using the same
+ *    directory; without it keys live in memory and tokens do not survive a
+ *    restart
+ * 4. Look up - verification reads an immutable kid -> key map, never a
+ *    file or the network. An unknown kid fails the token and, at most every
+ *    few seconds, triggers a background re-read of the directory (a key
+ *    another instance just rotated in).
+ *
+ * The HMAC key from jwt.secret is always in the ring, so tokens issued
+ * before switching algorithms stay valid unless jwt.accept-hmac-tokens=false.
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private static final String KEY_FILE_SUFFIX = ".key";
+
+    /** Clock skew between instances sharing a key directory */
+    private static final long RETENTION_MARGIN_MS = TimeUnit.HOURS.toMillis(1);
+
+    private static final long MIN_RELOAD_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${jwt.signing-algorithm:HMAC}")
+    private JwtSigningAlgorithm signingAlgorithm;
+
+    @Value("${jwt.accept-hmac-tokens:true}")
+    private boolean acceptHmacTokens;
+
+    @Value("${jwt.key-rotation-hours:24}")
+    private long rotationHours;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpirationMs;
+
+    @Value("${jwt.key-ring.path:}")
+    private String keyRingPath;
+
+    @Value("${jwt.key-ring.check-ms:60000}")
+    private long checkMs;
+
+    private RingKey hmacKey;
+
+    /** Published together by refresh(); readers never lock */
+    private volatile RingKey active;
+    private volatile Map<String, RingKey> keysById = Map.of();
+
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+    private volatile long lastReloadNanos;
+
+    @PostConstruct
+    public void init() {
+        hmacKey = RingKey.hmac(jwtSecret);
+        refresh();
+        log.info("JWT signing with {} (kid {}), {} key(s) accepted", signingAlgorithm, active.getKeyId(),
+                keysById.size());
+    }
+
+    /**
+     * The key new tokens are signed with
+     */
+    public RingKey activeKey() {
+        return active;
+    }
+
+    /**
+     * The key a token's header points to, or null when it is unknown (or
+     * an HMAC token that is no longer accepted). Tokens without a kid were
+     * issued before the ring existed and are HMAC.
+     */
+    public Key verificationKey(String keyId) {
+        if (keyId == null || keyId.equals(hmacKey.getKeyId())) {
+            return acceptHmacTokens || signingAlgorithm == JwtSigningAlgorithm.HMAC
+                    ? hmacKey.getVerificationKey() : null;
+        }
+        RingKey key = keysById.get(keyId);
+        if (key == null) {
+            requestReload();
+            return null;
+        }
+        return key.getVerificationKey();
+    }
+
+    /**
+     * Public keys still accepted for verification, newest first (the JWKS
+     * "keys" array). Never contains the HMAC secret.
+     */
+    public List<PublicJwk<?>> publicJwks() {
+        return keysById.values().stream()
+                .filter(key -> key.getJwk() != null)
+                .sorted(Comparator.comparingLong(RingKey::getCreatedAt).reversed())
+                .<PublicJwk<?>>map(RingKey::getJwk)
+                .toList();
+    }
+
+    /**
+     * Read keys other instances wrote, rotate when due, drop retired keys
+     */
+    @Scheduled(fixedDelayString = "${jwt.key-ring.check-ms:60000}",
+               initialDelayString = "${jwt.key-ring.check-ms:60000}")
+    public synchronized void refresh() {
+        lastReloadNanos = System.nanoTime();
+        reloadPending.set(false);
+        Map<String, RingKey> keys = new HashMap<>(keysById);
+        keys.put(hmacKey.getKeyId(), hmacKey);
+        loadDirectory(keys);
+
+        long now = System.currentTimeMillis();
+        RingKey signing = hmacKey;
+        if (signingAlgorithm != JwtSigningAlgorithm.HMAC) {
+            RingKey current = newestActive(keys, now);
+            RingKey pending = electPending(keys, now, current != null);
+            if (pending == null && (current == null || current.getAlgorithm() != signingAlgorithm
+                    || now - current.getCreatedAt() > TimeUnit.HOURS.toMillis(rotationHours))) {
+                pending = RingKey.generate(signingAlgorithm, now);
+                keys.put(pending.getKeyId(), pending);
+                store(pending);
+                current = newestActive(keys, now);
+                log.info("JWT signing key rotated in: {} {}, signing {}", pending.getAlgorithm(), pending.getKeyId(),
+                        current != null && current != pending ? "in " + activationDelayMs() + " ms" : "now");
+            }
+            signing = current != null ? current : pending;
+        }
+        retire(keys, now);
+
+        keysById = Map.copyOf(keys);
+        active = signing;
+    }
+
+    private void requestReload() {
+        if (keyRingPath.isBlank() || System.nanoTime() - lastReloadNanos < MIN_RELOAD_INTERVAL_NANOS
+                || !reloadPending.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("JWT key ring reload failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Time between writing a key and signing with it: one check interval for
+     * every instance to read the directory, one more for slow checks and
+     * clock skew. Keys that are not shared sign at once.
+     */
+    private long activationDelayMs() {
+        return keyRingPath.isBlank() ? 0 : 2 * checkMs;
+    }
+
+    private boolean isActive(RingKey key, long now) {
+        return now - key.getCreatedAt() >= activationDelayMs();
+    }
+
+    /**
+     * The key that signs next, among keys not active yet. Keys of a
+     * concurrent rotation lose to the lowest kid and are dropped on every
+     * instance by this same rule - unless the ring was empty, in which case
+     * they may already have signed and are kept until retired.
+     */
+    private RingKey electPending(Map<String, RingKey> keys, long now, boolean dropLosers) {
+        List<RingKey> pending = keys.values().stream()
+                .filter(key -> key.getJwk() != null && !isActive(key, now))
+                .sorted(Comparator.comparing(RingKey::getKeyId))
+                .toList();
+        if (dropLosers && pending.size() > 1) {
+            for (RingKey loser : pending.subList(1, pending.size())) {
+                keys.remove(loser.getKeyId());
+                delete(loser);
+                log.info("JWT signing key dropped, {} was elected: {}", pending.get(0).getKeyId(), loser.getKeyId());
+            }
+        }
+        return pending.isEmpty() ? null : pending.get(0);
+    }
+
+    /**
+     * A key is retired once its successor has signed every token for
+     * longer than a refresh token lives
+     */
+    private void retire(Map<String, RingKey> keys, long now) {
+        List<RingKey> asymmetric = new ArrayList<>(keys.values());
+        asymmetric.removeIf(key -> key.getJwk() == null);
+        asymmetric.sort(Comparator.comparingLong(RingKey::getCreatedAt));
+        for (int i = 0; i < asymmetric.size() - 1; i++) {
+            RingKey key = asymmetric.get(i);
+            long replacedAt = asymmetric.get(i + 1).getCreatedAt() + activationDelayMs();
+            if (now - replacedAt > refreshExpirationMs + RETENTION_MARGIN_MS) {
+                keys.remove(key.getKeyId());
+                delete(key);
+                log.info("JWT signing key retired: {} {}", key.getAlgorithm(), key.getKeyId());
+            }
+        }
+    }
+
+    private RingKey newestActive(Map<String, RingKey> keys, long now) {
+        return keys.values().stream()
+                .filter(key -> key.getJwk() != null && isActive(key, now))
+                .max(Comparator.comparingLong(RingKey::getCreatedAt))
+                .orElse(null);
+    }
+
+    private void loadDirectory(Map<String, RingKey> keys) {
+        if (keyRingPath.isBlank()) {
+            return;
+        }
+        Path directory = Paths.get(keyRingPath);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + KEY_FILE_SUFFIX)) {
+            for (Path file : files) {
+                String keyId = file.getFileName().toString().replace(KEY_FILE_SUFFIX, "");
+                if (keys.containsKey(keyId)) {
+                    continue;
+                }
+                try (InputStream in = Files.newInputStream(file)) {
+                    Properties properties = new Properties();
+                    properties.load(in);
+                    RingKey key = RingKey.fromProperties(properties);
+                    keys.put(key.getKeyId(), key);
+                } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                    log.warn("Skipping unreadable JWT key file {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot read JWT key ring directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void store(RingKey key) {
+        if (keyRingPath.isBlank()) {
+            return;
+        }
+        Path directory = Paths.get(keyRingPath);
+        Path target = directory.resolve(key.getKeyId() + KEY_FILE_SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, ".jwt-key-", ".tmp");
+            try {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                // Not a POSIX file system; rely on the directory's permissions
+            }
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                key.toProperties().store(out, null);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // The key still signs here once active; others reject its tokens until it is shared
+            log.error("Could not write JWT key {} to {}: {}", key.getKeyId(), directory, e.getMessage());
+        }
+    }
+
+    private void delete(RingKey key) {
+        if (keyRingPath.isBlank()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(keyRingPath).resolve(key.getKeyId() + KEY_FILE_SUFFIX));
+        } catch (IOException e) {
+            log.warn("Could not delete retired JWT key {}: {}", key.getKeyId(), e.getMessage());
+        }
+    }
+
+    /**
+     * One key of the ring. HMAC keys sign and verify with the same secret
+     * and have no JWK; key pairs sign with the private half and publish the
+     * public half.
+     */
+    public static final class RingKey {
+
+        private final String keyId;
+        private final JwtSigningAlgorithm algorithm;
+        private final Key signingKey;
+        private final Key verificationKey;
+        private final long createdAt;
+        private final PublicJwk<?> jwk;
+
+        private RingKey(String keyId, JwtSigningAlgorithm algorithm, Key signingKey, Key verificationKey,
+                        long createdAt, PublicJwk<?> jwk) {
+            this.keyId = keyId;
+            this.algorithm = algorithm;
+            this.signingKey = signingKey;
+            this.verificationKey = verificationKey;
+            this.createdAt = createdAt;
+            this.jwk = jwk;
+        }
+
+        static RingKey hmac(String secret) {
+            byte[] secretBytes = Decoders.BASE64.decode(secret);
+            Key key = Keys.hmacShaKeyFor(secretBytes);
+            String keyId;
+            try {
+                // Identifies the secret without revealing it
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(secretBytes);
+                keyId = "hmac-" + HexFormat.of().formatHex(digest, 0, 8);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+            return new RingKey(keyId, JwtSigningAlgorithm.HMAC, key, key, 0, null);
+        }
+
+        static RingKey generate(JwtSigningAlgorithm algorithm, long createdAt) {
+            KeyPair pair = algorithm == JwtSigningAlgorithm.ES256
+                    ? Jwts.SIG.ES256.keyPair().build()
+                    : Jwks.CRV.Ed25519.keyPair().build();
+            return of(algorithm, pair.getPrivate(), pair.getPublic(), createdAt);
+        }
+
+        static RingKey fromProperties(Properties properties) throws GeneralSecurityException {
+            JwtSigningAlgorithm algorithm = JwtSigningAlgorithm.valueOf(properties.getProperty("algorithm"));
+            KeyFactory factory = KeyFactory.getInstance(keyFactoryAlgorithm(algorithm));
+            PrivateKey privateKey = factory.generatePrivate(
+                    new PKCS8EncodedKeySpec(Base64.getDecoder().decode(properties.getProperty("private"))));
+            PublicKey publicKey = factory.generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(properties.getProperty("public"))));
+            return of(algorithm, privateKey, publicKey, Long.parseLong(properties.getProperty("created")));
+        }
+
+        private static RingKey of(JwtSigningAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey,
+                                  long createdAt) {
+            PublicJwk<?> jwk = Jwks.builder()
+                    .key(publicKey)
+                    .algorithm(algorithm == JwtSigningAlgorithm.ES256 ? "ES256" : "EdDSA")
+                    .publicKeyUse("sig")
+                    .idFromThumbprint()
+                    .build();
+            return new RingKey(jwk.getId(), algorithm, privateKey, publicKey, createdAt, jwk);
+        }
+
+        private static String keyFactoryAlgorithm(JwtSigningAlgorithm algorithm) {
+            return algorithm == JwtSigningAlgorithm.ES256 ? "EC" : "Ed25519";
+        }
+
+        Properties toProperties() {
+            Properties properties = new Properties();
+            properties.setProperty("algorithm", algorithm.name());
+            properties.setProperty("created", Long.toString(createdAt));
+            properties.setProperty("private", Base64.getEncoder().encodeToString(signingKey.getEncoded()));
+            properties.setProperty("public", Base64.getEncoder().encodeToString(verificationKey.getEncoded()));
+            return properties;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public JwtSigningAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public Key getSigningKey() {
+            return signingKey;
+        }
+
+        public Key getVerificationKey() {
+            return verificationKey;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        /** Null for the HMAC key */
+        public PublicJwk<?> getJwk() {
+            return jwk;
+        }
+    }
+}
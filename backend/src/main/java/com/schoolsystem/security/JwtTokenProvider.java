@@ -1,20 +1,39 @@
 package com.schoolsystem.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
-
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider - Issues and verifies access and refresh tokens
+ *
+ * Tokens are signed with JwtKeyRing's active key (HMAC from jwt.secret,
+ * or an ES256 / Ed25519 key pair) and carry its id in the "kid" header.
+ * Verification goes through one parser built at startup whose key locator
+ * picks the key by kid from the ring's in-memory map.
+ *
+ * JwtAuthenticationFilter calls parseValidToken() once per request and
+ * reads every claim from the result; the getXFromToken() methods parse
+ * again and are meant for one-off callers.
+ */
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    public static final String SCHOOL_CLAIM = "school";
 
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
@@ -22,11 +41,47 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration}")
     private long jwtRefreshExpirationMs;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    /** Immutable and thread-safe; keys come from the ring per token */
+    private JwtParser parser;
+
+    /** security.jwt.verify{outcome} - signature check + parse on every request */
+    private Timer verifyValidTimer;
+    private Timer verifyExpiredTimer;
+    private Timer verifyInvalidTimer;
+
+    @PostConstruct
+    public void init() {
+        parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        Key key = keyRing.verificationKey(header.getKeyId());
+                        if (key == null) {
+                            throw new UnsupportedJwtException("Unknown signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        verifyValidTimer = verifyTimer("valid");
+        verifyExpiredTimer = verifyTimer("expired");
+        verifyInvalidTimer = verifyTimer("invalid");
+    }
+
     /**
      * Generate JWT token from Authentication
      */
     public String generateToken(Authentication authentication) {
         String username = authentication.getName();
+        if (authentication.getPrincipal() instanceof UserPrincipal principal && principal.getSchoolId() != null) {
+            return buildToken(username, principal.getSchoolId());
+        }
         return generateToken(username);
     }
 
@@ -34,17 +89,18 @@ public class JwtTokenProvider {
      * Generate JWT token from username
      */
     public String generateToken(String username) {
+        return buildToken(username, null);
+    }
+
+    private String buildToken(String username, Long schoolId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        SecretKey key = getSigningKey();
-
-        return Jwts.builder()
+        return signed(Jwts.builder()
                 .subject(username)
+                .claim(SCHOOL_CLAIM, schoolId)  // null claims are left out
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(key)
-                .compact();
+                .expiration(expiryDate));
     }
 
     /**
@@ -52,19 +108,24 @@ public class JwtTokenProvider {
      * Used by AuthService after login
      */
     public String generateTokenFromUsername(String username, Long userId, String role) {
+        return generateTokenFromUsername(username, userId, role, null);
+    }
+
+    /**
+     * Same, plus the user's school - JwtAuthenticationFilter scopes the
+     * request to it when tenancy.enabled
+     */
+    public String generateTokenFromUsername(String username, Long userId, String role, Long schoolId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        SecretKey key = getSigningKey();
-
-        return Jwts.builder()
+        return signed(Jwts.builder()
                 .subject(username)           // Username as subject
                 .claim("userId", userId)     // Add userId as claim
                 .claim("role", role)         // Add role as claim
+                .claim(SCHOOL_CLAIM, schoolId)
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(key)
-                .compact();
+                .expiration(expiryDate));
     }
 
     /**
@@ -74,27 +135,17 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtRefreshExpirationMs);
 
-        SecretKey key = getSigningKey();
-
-        return Jwts.builder()
+        return signed(Jwts.builder()
                 .subject(username)
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(key)
-                .compact();
+                .expiration(expiryDate));
     }
 
     /**
      * Get username from JWT token
      */
     public String getUsernameFromToken(String token) {
-        SecretKey key = getSigningKey();
-
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parseClaims(token);
 
         return claims.getSubject();
     }
@@ -103,13 +154,7 @@ public class JwtTokenProvider {
      * Get userId from JWT token
      */
     public Long getUserIdFromToken(String token) {
-        SecretKey key = getSigningKey();
-
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parseClaims(token);
 
         return claims.get("userId", Long.class);
     }
@@ -118,47 +163,54 @@ public class JwtTokenProvider {
      * Get role from JWT token
      */
     public String getRoleFromToken(String token) {
-        SecretKey key = getSigningKey();
-
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parseClaims(token);
 
         return claims.get("role", String.class);
     }
 
+    /**
+     * Get school (tenant) from JWT token; null for tokens issued before tenancy
+     */
+    public Long getSchoolIdFromToken(String token) {
+        Claims claims = parseClaims(token);
+
+        return claims.get(SCHOOL_CLAIM, Long.class);
+    }
+
     /**
      * Validate JWT token
      */
     public boolean validateToken(String token) {
-        try {
-            SecretKey key = getSigningKey();
-
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
+        return parseValidToken(token) != null;
+    }
 
-            return true;
+    /**
+     * Verify the token and return its claims, or null when it is expired,
+     * tampered with or signed by a key the ring does not know
+     */
+    public Claims parseValidToken(String token) {
+        long start = System.nanoTime();
+        Timer outcome = verifyInvalidTimer;
+        try {
+            Claims claims = parseClaims(token);
+            outcome = verifyValidTimer;
+            return claims;
+        } catch (ExpiredJwtException e) {
+            outcome = verifyExpiredTimer;
+            log.debug("Expired JWT token: {}", e.getMessage());
         } catch (JwtException | IllegalArgumentException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
+            log.debug("Invalid JWT token: {}", e.getMessage());
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
-        return false;
+        return null;
     }
 
     /**
      * Get expiration date from token
      */
     public Date getExpirationDateFromToken(String token) {
-        SecretKey key = getSigningKey();
-
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parseClaims(token);
 
         return claims.getExpiration();
     }
@@ -171,11 +223,26 @@ public class JwtTokenProvider {
         return expiration.before(new Date());
     }
 
+    private Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
     /**
-     * Get signing key from secret
+     * Sign with the ring's active key, naming it in the header; every token
+     * gets a random id (jti) so it can be revoked on its own
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private String signed(JwtBuilder builder) {
+        JwtKeyRing.RingKey key = keyRing.activeKey();
+        return builder.id(UUID.randomUUID().toString())
+                .header().keyId(key.getKeyId()).and()
+                .signWith(key.getSigningKey())
+                .compact();
+    }
+
+    private Timer verifyTimer(String outcome) {
+        return Timer.builder("security.jwt.verify")
+                .description("JWT signature verification and parsing")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.schoolsystem.security;
+
+import com.schoolsystem.exception.InvalidCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * LoginAuthenticationProvider - DaoAuthenticationProvider whose expected
+ * failures carry no stack trace
+ *
+ * The stock provider builds a fresh BadCredentialsException for a wrong
+ * password and another to replace UsernameNotFoundException for an
+ * unknown username. Filling in their stack traces (150+ frames deep
+ * inside the filter chain) cost more than the rest of a rejected login
+ * except BCrypt itself. Here:
+ * 1. A wrong password throws InvalidCredentialsException (stackless)
+ * 2. An unknown or deactivated username passes CustomUserDetailsService's
+ *    UnknownUserException through as is (also stackless) instead of
+ *    wrapping it - GlobalExceptionHandler answers both alike, so the
+ *    response still does not reveal whether the username exists
+ *
+ * Unknown usernames still pay a dummy BCrypt check (timing mitigation
+ * from DaoAuthenticationProvider).
+ */
+public class LoginAuthenticationProvider extends DaoAuthenticationProvider {
+
+    public LoginAuthenticationProvider() {
+        setHideUserNotFoundExceptions(false);
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication) {
+        Object credentials = authentication.getCredentials();
+        if (credentials == null || !getPasswordEncoder().matches(credentials.toString(), userDetails.getPassword())) {
+            throw new InvalidCredentialsException();
+        }
+    }
+}
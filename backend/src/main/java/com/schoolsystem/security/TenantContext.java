@@ -0,0 +1,48 @@
+package com.schoolsystem.security;
+
+/**
+ * TenantContext - The school the current thread works for
+ *
+ * Set by JwtAuthenticationFilter from the token's "school" claim (and by
+ * EventController for calendar feeds), cleared when the request ends.
+ * TenantScopedDataSource reads it when a connection is handed out and
+ * tells PostgreSQL (app.school_id), so row-level security does the
+ * filtering for JPA and JdbcTemplate alike.
+ *
+ * Null means unscoped: single-school mode, login, scheduled jobs.
+ */
+public final class TenantContext {
+
+    /** Where all rows live when tenancy is off (the V15 column default) */
+    public static final long DEFAULT_SCHOOL_ID = 1L;
+
+    private static final ThreadLocal<Long> SCHOOL_ID = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static Long getSchoolId() {
+        return SCHOOL_ID.get();
+    }
+
+    /**
+     * The current school, or DEFAULT_SCHOOL_ID when unscoped - for caches
+     * and queries keyed by school that must work without tenancy too
+     */
+    public static long currentOrDefault() {
+        Long schoolId = SCHOOL_ID.get();
+        return schoolId != null ? schoolId : DEFAULT_SCHOOL_ID;
+    }
+
+    public static void setSchoolId(Long schoolId) {
+        if (schoolId == null) {
+            SCHOOL_ID.remove();
+        } else {
+            SCHOOL_ID.set(schoolId);
+        }
+    }
+
+    public static void clear() {
+        SCHOOL_ID.remove();
+    }
+}
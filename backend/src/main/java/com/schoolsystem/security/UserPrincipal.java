@@ -22,17 +22,19 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private UserRole role;
+    private Long schoolId;
     private boolean isActive;
     private Collection<? extends GrantedAuthority> authorities;
     
     public UserPrincipal(Long id, String username, String email, String password, 
-                        UserRole role, boolean isActive,
+                        UserRole role, Long schoolId, boolean isActive,
                         Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
         this.role = role;
+        this.schoolId = schoolId;
         this.isActive = isActive;
         this.authorities = authorities;
     }
@@ -53,6 +55,7 @@ public class UserPrincipal implements UserDetails {
             user.getEmail(),
             user.getPasswordHash(),
             user.getRole(),
+            user.getSchoolId(),
             user.getIsActive(),
             Collections.singletonList(authority)
         );
@@ -71,6 +74,10 @@ public class UserPrincipal implements UserDetails {
         return role;
     }
     
+    public Long getSchoolId() {
+        return schoolId;
+    }
+    
     // UserDetails interface methods (required by Spring Security)
     
     @Override
@@ -0,0 +1,188 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.entity.AcademicPeriod;
+import com.schoolsystem.entity.AcademicYear;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * AcademicCalendarIndex - Immutable day -> year/period lookup for one school
+ *
+ * Years and periods are flattened into sorted, non-overlapping day ranges:
+ * every start and every (end + 1) is a boundary, and each range between two
+ * boundaries remembers the row that wins there (the shortest one containing
+ * it, ties by id - so a term wins over a semester spanning it). A lookup is
+ * then a binary search over the range starts.
+ *
+ * Built by AcademicCalendarService and shared by all threads; never changed
+ * after construction, so a rebuilt index is swapped in whole.
+ */
+public final class AcademicCalendarIndex {
+
+    private final long schoolId;
+    private final long builtAtNanos;
+    private final String version;
+    private final List<AcademicYear> years;
+    private final List<AcademicPeriod> periods;
+    private final AcademicYear flaggedCurrentYear;
+    private final DayRanges<AcademicYear> yearRanges;
+    private final DayRanges<AcademicPeriod> periodRanges;
+
+    /**
+     * @param years   the school's years, any order
+     * @param periods the school's periods, any order
+     */
+    public AcademicCalendarIndex(long schoolId, List<AcademicYear> years, List<AcademicPeriod> periods) {
+        this.schoolId = schoolId;
+        this.builtAtNanos = System.nanoTime();
+        this.years = years.stream()
+                .sorted(Comparator.comparing(AcademicYear::getStartDate).reversed())
+                .toList();
+        this.periods = periods.stream()
+                .sorted(Comparator.comparing(AcademicPeriod::getStartDate).thenComparing(AcademicPeriod::getId))
+                .toList();
+        this.flaggedCurrentYear = this.years.stream()
+                .filter(year -> Boolean.TRUE.equals(year.getIsCurrent()))
+                .findFirst()
+                .orElse(null);
+        this.yearRanges = DayRanges.of(this.years, AcademicYear::getStartDate, AcademicYear::getEndDate,
+                AcademicYear::getId);
+        this.periodRanges = DayRanges.of(this.periods, AcademicPeriod::getStartDate, AcademicPeriod::getEndDate,
+                AcademicPeriod::getId);
+        this.version = contentVersion(this.years, this.periods);
+    }
+
+    public long getSchoolId() {
+        return schoolId;
+    }
+
+    public long getBuiltAtNanos() {
+        return builtAtNanos;
+    }
+
+    /**
+     * Hash of the rows' contents: equal on every instance holding the same
+     * calendar, so it can back an ETag
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Newest first
+     */
+    public List<AcademicYear> getYears() {
+        return years;
+    }
+
+    /**
+     * In calendar order
+     */
+    public List<AcademicPeriod> getPeriods() {
+        return periods;
+    }
+
+    /**
+     * The year flagged is_current, else the one containing the date, or null
+     */
+    public AcademicYear currentYear(LocalDate today) {
+        return flaggedCurrentYear != null ? flaggedCurrentYear : yearRanges.at(today);
+    }
+
+    /**
+     * Year containing the date, or null
+     */
+    public AcademicYear yearOn(LocalDate date) {
+        return yearRanges.at(date);
+    }
+
+    /**
+     * Shortest period containing the date, or null
+     */
+    public AcademicPeriod periodOn(LocalDate date) {
+        return periodRanges.at(date);
+    }
+
+    private static String contentVersion(List<AcademicYear> years, List<AcademicPeriod> periods) {
+        long hash = 1;
+        for (AcademicYear year : years) {
+            hash = 31 * hash + Objects.hash(year.getId(), year.getYearName(), year.getStartDate(),
+                    year.getEndDate(), year.getIsCurrent());
+        }
+        for (AcademicPeriod period : periods) {
+            // Enum hash codes differ between JVMs; names do not
+            hash = 31 * hash + Objects.hash(period.getId(), period.getAcademicYearId(), period.getPeriodName(),
+                    Objects.toString(period.getPeriodType(), null), period.getPeriodNumber(),
+                    period.getStartDate(), period.getEndDate());
+        }
+        return Long.toHexString(hash);
+    }
+
+    /**
+     * Sorted day ranges; values[i] covers [starts[i], starts[i + 1]), null
+     * for a gap. The last range is always a gap (after every end).
+     */
+    private static final class DayRanges<T> {
+
+        private final long[] starts;
+        private final Object[] values;
+
+        private DayRanges(long[] starts, Object[] values) {
+            this.starts = starts;
+            this.values = values;
+        }
+
+        static <T> DayRanges<T> of(List<T> rows, Function<T, LocalDate> start, Function<T, LocalDate> end,
+                                   Function<T, Long> id) {
+            TreeSet<Long> boundaries = new TreeSet<>();
+            for (T row : rows) {
+                boundaries.add(start.apply(row).toEpochDay());
+                boundaries.add(end.apply(row).toEpochDay() + 1);
+            }
+            // A school calendar has tens of rows, so scanning them per boundary is fine
+            long[] starts = new long[boundaries.size()];
+            Object[] values = new Object[boundaries.size()];
+            int size = 0;
+            for (long day : boundaries) {
+                T best = null;
+                long bestLength = Long.MAX_VALUE;
+                for (T row : rows) {
+                    long from = start.apply(row).toEpochDay();
+                    long to = end.apply(row).toEpochDay();
+                    if (day < from || day > to) {
+                        continue;
+                    }
+                    long length = to - from;
+                    if (length < bestLength || (length == bestLength && id.apply(row) < id.apply(best))) {
+                        best = row;
+                        bestLength = length;
+                    }
+                }
+                // Merge with the previous range when the same row wins
+                if (size > 0 && values[size - 1] == best) {
+                    continue;
+                }
+                starts[size] = day;
+                values[size] = best;
+                size++;
+            }
+            return new DayRanges<>(Arrays.copyOf(starts, size), Arrays.copyOf(values, size));
+        }
+
+        @SuppressWarnings("unchecked")
+        T at(LocalDate date) {
+            int index = Arrays.binarySearch(starts, date.toEpochDay());
+            if (index < 0) {
+                // Insertion point - 1: the last range starting before the date
+                index = -index - 2;
+            }
+            return index >= 0 ? (T) values[index] : null;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.entity.AcademicPeriod;
+import com.schoolsystem.entity.AcademicYear;
+import com.schoolsystem.listener.AcademicCalendarListener;
+import com.schoolsystem.repository.AcademicPeriodRepository;
+import com.schoolsystem.repository.AcademicYearRepository;
+import com.schoolsystem.security.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AcademicCalendarService - "Which academic period is it?" without a query
+ *
+ * Attendance, grading, fees and the timetable all need the current year or
+ * the period a date falls in. Each school's years and periods are held in
+ * an AcademicCalendarIndex and answered with a binary search.
+ *
+ * Handles:
+ * 1. Load - first lookup for a school builds its index (from the
+ *    query-cached repositories, so usually without touching PostgreSQL)
+ * 2. Swap - a rebuilt index replaces the old one in a single volatile
+ *    write; readers see either the old or the new calendar, never a mix
+ * 3. Invalidate - committed JPA edits to academic_years/academic_periods
+ *    (AcademicCalendarListener) and admin cache evictions mark the school
+ *    stale; the next lookup rebuilds
+ * 4. Expire - indexes older than calendar.index.max-age-minutes are rebuilt,
+ *    which picks up plain-SQL edits and edits made on another instance
+ */
+@Service
+public class AcademicCalendarService {
+
+    private static final Logger log = LoggerFactory.getLogger(AcademicCalendarService.class);
+
+    @Autowired
+    private AcademicYearRepository academicYearRepository;
+
+    @Autowired
+    private AcademicPeriodRepository academicPeriodRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${calendar.index.max-age-minutes:60}")
+    private long maxAgeMinutes;
+
+    private final Map<Long, SchoolCalendar> schools = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerListener() {
+        AcademicCalendarListener listener = new AcademicCalendarListener(this);
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    /**
+     * The current school's calendar, rebuilt first if stale or expired
+     */
+    public AcademicCalendarIndex index() {
+        long schoolId = TenantContext.currentOrDefault();
+        SchoolCalendar calendar = schools.computeIfAbsent(schoolId, id -> new SchoolCalendar());
+        AcademicCalendarIndex index = calendar.index;
+        if (index != null && !calendar.stale && !expired(index)) {
+            return index;
+        }
+        synchronized (calendar) {
+            if (calendar.index == null || calendar.stale || expired(calendar.index)) {
+                // Cleared before loading, so an edit committed meanwhile marks it again
+                calendar.stale = false;
+                try {
+                    calendar.index = load(schoolId);
+                } catch (RuntimeException e) {
+                    calendar.stale = true;
+                    if (calendar.index == null) {
+                        throw e;
+                    }
+                    log.warn("Academic calendar rebuild failed for school {}, serving the previous one: {}",
+                            schoolId, e.getMessage());
+                }
+            }
+            return calendar.index;
+        }
+    }
+
+    /**
+     * The year flagged is_current, else the one containing today, or null
+     */
+    public AcademicYear currentYear() {
+        return index().currentYear(LocalDate.now());
+    }
+
+    /**
+     * The period containing today, or null between terms
+     */
+    public AcademicPeriod currentPeriod() {
+        return periodOn(LocalDate.now());
+    }
+
+    /**
+     * Shortest period containing the date (a term wins over the whole
+     * year), or null
+     */
+    public AcademicPeriod periodOn(LocalDate date) {
+        return index().periodOn(date);
+    }
+
+    /**
+     * Mark one school's calendar stale, or every school's when schoolId is
+     * null (unscoped edits, cache evictions)
+     */
+    public void invalidate(Long schoolId) {
+        if (schoolId == null) {
+            schools.values().forEach(calendar -> calendar.stale = true);
+            return;
+        }
+        SchoolCalendar calendar = schools.get(schoolId);
+        if (calendar != null) {
+            calendar.stale = true;
+        }
+    }
+
+    private AcademicCalendarIndex load(long schoolId) {
+        long start = System.nanoTime();
+        List<AcademicYear> years = academicYearRepository.findBySchoolIdOrderByStartDateDesc(schoolId);
+        List<AcademicPeriod> periods = academicPeriodRepository.findBySchoolIdOrderByStartDate(schoolId);
+        AcademicCalendarIndex index = new AcademicCalendarIndex(schoolId, years, periods);
+        log.debug("Academic calendar for school {} indexed: {} years, {} periods in {} ms",
+                schoolId, years.size(), periods.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    private boolean expired(AcademicCalendarIndex index) {
+        return System.nanoTime() - index.getBuiltAtNanos() > TimeUnit.MINUTES.toNanos(maxAgeMinutes);
+    }
+
+    /**
+     * One school's slot: the published index and whether it needs a rebuild
+     */
+    private static final class SchoolCalendar {
+        private volatile AcademicCalendarIndex index;
+        private volatile boolean stale;
+    }
+}
@@ -0,0 +1,213 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.dto.AppointmentDto;
+import com.schoolsystem.dto.BookAppointmentRequest;
+import com.schoolsystem.dto.TimeSlotDto;
+import com.schoolsystem.entity.Appointment;
+import com.schoolsystem.enums.AppointmentStatus;
+import com.schoolsystem.exception.BadRequestException;
+import com.schoolsystem.exception.ResourceNotFoundException;
+import com.schoolsystem.exception.SlotUnavailableException;
+import com.schoolsystem.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * AppointmentService - Parent-teacher appointment scheduling
+ *
+ * Handles:
+ * - Free-slot search for a teacher (timetable + existing bookings)
+ * - Race-free booking (exclusion constraints, see migration V9)
+ * - Cancellation
+ * - Bulk reminder notifications (scheduled job)
+ */
+@Service
+public class AppointmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentService.class);
+
+    /** PostgreSQL SQLSTATE for exclusion_violation */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private static final int MAX_RANGE_DAYS = 31;
+
+    private static final String TIMETABLE_SQL =
+        "SELECT ts.day_of_week, ts.start_time, ts.end_time, ap.start_date, ap.end_date " +
+        "FROM timetable_slots ts LEFT JOIN academic_periods ap ON ap.id = ts.academic_period_id " +
+        "WHERE ts.teacher_id = ? " +
+        "AND (ap.id IS NULL OR (ap.start_date <= ? AND ap.end_date >= ?))";
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${appointments.working-hours.start:08:00}")
+    private String workingHoursStart;
+
+    @Value("${appointments.working-hours.end:18:00}")
+    private String workingHoursEnd;
+
+    @Value("${appointments.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}")
+    private DayOfWeek[] workingDays;
+
+    @Value("${appointments.slot-granularity-minutes:5}")
+    private int granularityMinutes;
+
+    @Value("${appointments.reminder.lead-hours:24}")
+    private int reminderLeadHours;
+
+    private LocalTime dayStart;
+    private LocalTime dayEnd;
+    private Set<DayOfWeek> workingDaySet;
+
+    @PostConstruct
+    public void init() {
+        dayStart = LocalTime.parse(workingHoursStart);
+        dayEnd = LocalTime.parse(workingHoursEnd);
+        workingDaySet = EnumSet.noneOf(DayOfWeek.class);
+        workingDaySet.addAll(List.of(workingDays));
+    }
+
+    /**
+     * Free slots of the given length for a teacher between two dates (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public List<TimeSlotDto> findFreeSlots(Long teacherId, LocalDate from, LocalDate to, int durationMinutes) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range must cover 1 to " + MAX_RANGE_DAYS + " days");
+        }
+
+        TeacherAvailabilityIndex index = buildIndex(teacherId, from, to);
+        return index.freeSlots(durationMinutes, LocalDateTime.now());
+    }
+
+    /**
+     * Book a slot for a parent
+     *
+     * The in-memory check gives a friendly answer for slots that are
+     * obviously taken; the exclusion constraints settle real races
+     * (two parents clicking the same slot at the same moment)
+     */
+    @Transactional
+    public AppointmentDto book(Long parentUserId, boolean isAdmin, BookAppointmentRequest request) {
+        if (!isAdmin && !isGuardianOf(parentUserId, request.getStudentId())) {
+            throw new ResourceNotFoundException("Student not found");
+        }
+
+        LocalDate day = request.getStart().toLocalDate();
+        TeacherAvailabilityIndex index = buildIndex(request.getTeacherId(), day, day);
+        if (!index.isFree(request.getStart(), request.getDurationMinutes())) {
+            throw new SlotUnavailableException("This time is not available");
+        }
+
+        Appointment appointment = new Appointment();
+        appointment.setTeacherId(request.getTeacherId());
+        appointment.setStudentId(request.getStudentId());
+        appointment.setParentId(parentUserId);
+        appointment.setCreatedBy(parentUserId);
+        appointment.setAppointmentDate(request.getStart());
+        appointment.setDurationMinutes(request.getDurationMinutes());
+        appointment.setPurpose(request.getPurpose());
+
+        try {
+            return new AppointmentDto(appointmentRepository.saveAndFlush(appointment));
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new SlotUnavailableException("This time was just booked by someone else");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cancel an appointment (parent who booked it, or admin)
+     *
+     * A cancelled row no longer takes part in the exclusion constraints,
+     * so the slot is immediately bookable again
+     */
+    @Transactional
+    public AppointmentDto cancel(Long userId, boolean isAdmin, Long appointmentId) {
+        Appointment appointment = appointmentRepository.findById(appointmentId)
+                .filter(a -> isAdmin || userId.equals(a.getParentId()) || userId.equals(a.getCreatedBy()))
+                .orElseThrow(() -> new ResourceNotFoundException("Appointment not found"));
+
+        appointment.setStatus(AppointmentStatus.CANCELLED);
+        return new AppointmentDto(appointmentRepository.save(appointment));
+    }
+
+    /**
+     * Queue reminders for everything starting within the lead time
+     *
+     * One INSERT ... SELECT per run, regardless of how many appointments
+     * are due (parents' evening can mean hundreds at once)
+     */
+    @Scheduled(cron = "${appointments.reminder.cron:0 */10 * * * *}")
+    @Transactional
+    public void queueReminders() {
+        int queued = appointmentRepository.queueReminders(LocalDateTime.now().plusHours(reminderLeadHours));
+        if (queued > 0) {
+            log.info("Queued {} appointment reminders", queued);
+        }
+    }
+
+    private TeacherAvailabilityIndex buildIndex(Long teacherId, LocalDate from, LocalDate to) {
+        TeacherAvailabilityIndex index = new TeacherAvailabilityIndex(
+            from, to, granularityMinutes, dayStart, dayEnd, workingDaySet
+        );
+
+        // 1. Weekly lessons from the timetable
+        jdbcTemplate.query(TIMETABLE_SQL, rs -> {
+            Date periodStart = rs.getDate("start_date");
+            Date periodEnd = rs.getDate("end_date");
+            index.markWeekly(
+                DayOfWeek.of(rs.getInt("day_of_week")),
+                rs.getTime("start_time").toLocalTime(),
+                rs.getTime("end_time").toLocalTime(),
+                periodStart != null ? periodStart.toLocalDate() : null,
+                periodEnd != null ? periodEnd.toLocalDate() : null
+            );
+        }, teacherId, Date.valueOf(to), Date.valueOf(from));
+
+        // 2. Appointments already booked (one day of look-back for overnight spill)
+        List<Appointment> booked = appointmentRepository.findActiveForTeacher(
+            teacherId, from.minusDays(1).atStartOfDay(), to.plusDays(1).atStartOfDay()
+        );
+        for (Appointment appointment : booked) {
+            index.markBusy(appointment.getAppointmentDate(), appointment.getEndTime());
+        }
+
+        return index;
+    }
+
+    private boolean isGuardianOf(Long parentUserId, Long studentId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM students WHERE id = ? AND guardian_id = ?)",
+            Boolean.class, studentId, parentUserId));
+    }
+
+    private boolean isExclusionViolation(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sql
+                && EXCLUSION_VIOLATION.equals(sql.getSQLState());
+    }
+}
@@ -0,0 +1,255 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.dto.BatchGradeRequest;
+import com.schoolsystem.dto.BatchGradeResult;
+import com.schoolsystem.dto.GradeEntry;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.exception.BadRequestException;
+import com.schoolsystem.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * AssignmentGradingService - Bulk work on one assignment
+ *
+ * Handles:
+ * - Download of all submissions as one ZIP, streamed straight into the
+ *   response (no temp file, memory does not grow with the number of files)
+ * - Batch grading: one INSERT ... SELECT FROM unnest(arrays) statement for
+ *   the whole list instead of one UPDATE per student
+ * - Section-wide performance recalculation afterwards (PerformanceService)
+ */
+@Service
+public class AssignmentGradingService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssignmentGradingService.class);
+
+    private static final Set<UserRole> SCHOOL_WIDE_ROLES = EnumSet.of(
+        UserRole.ADMIN, UserRole.PRINCIPAL, UserRole.VICE_PRINCIPAL
+    );
+
+    private static final String ASSIGNMENT_SQL =
+        "SELECT a.section_id, a.subject_id, a.max_marks, a.due_date, " +
+        "       (t.user_id = ? OR sec.class_teacher_id = ?) AS is_own " +
+        "FROM assignments a " +
+        "LEFT JOIN teachers t ON t.id = a.teacher_id " +
+        "LEFT JOIN sections sec ON sec.id = a.section_id " +
+        "WHERE a.id = ?";
+
+    private static final String SUBMISSION_FILES_SQL =
+        "SELECT st.admission_number, sub.submission_file_url, sub.file_name " +
+        "FROM assignment_submissions sub JOIN students st ON st.id = sub.student_id " +
+        "WHERE sub.assignment_id = ? AND sub.submission_file_url IS NOT NULL " +
+        "ORDER BY st.admission_number";
+
+    /**
+     * Only students of the assignment's section are graded; anyone else in
+     * the arrays is dropped by the join and reported as skipped
+     */
+    private static final String BATCH_GRADE_SQL =
+        "INSERT INTO assignment_submissions " +
+        "(assignment_id, student_id, marks_obtained, feedback, graded_by, graded_at) " +
+        "SELECT ?, g.student_id, g.marks_obtained, g.feedback, ?, ? " +
+        "FROM unnest(CAST(? AS bigint[]), CAST(? AS numeric[]), CAST(? AS text[])) " +
+        "     AS g(student_id, marks_obtained, feedback) " +
+        "JOIN students s ON s.id = g.student_id AND s.section_id = ? " +
+        "ON CONFLICT (assignment_id, student_id) DO UPDATE SET " +
+        "marks_obtained = EXCLUDED.marks_obtained, feedback = EXCLUDED.feedback, " +
+        "graded_by = EXCLUDED.graded_by, graded_at = EXCLUDED.graded_at";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SubmissionUploadService uploadService;
+
+    @Autowired
+    private PerformanceService performanceService;
+
+    /**
+     * Fails with 404 unless the user teaches the assignment, is the class
+     * teacher of its section, or has a school-wide role
+     */
+    @Transactional(readOnly = true)
+    public void checkCanManage(Long userId, UserRole role, Long assignmentId) {
+        loadAssignment(userId, role, assignmentId);
+    }
+
+    /**
+     * Write every submitted file of an assignment into a ZIP on the given stream
+     *
+     * Files are copied one at a time through a small buffer. Most hand-ins
+     * (PDF, DOCX, images) are already compressed, so the fastest deflate
+     * level is used.
+     */
+    public void writeSubmissionsZip(Long assignmentId, OutputStream out) throws IOException {
+        List<SubmissionFile> files = jdbcTemplate.query(SUBMISSION_FILES_SQL,
+            (rs, rowNum) -> new SubmissionFile(
+                rs.getString("admission_number"),
+                rs.getString("submission_file_url"),
+                rs.getString("file_name")
+            ), assignmentId);
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.setLevel(Deflater.BEST_SPEED);
+        Set<String> usedNames = new HashSet<>();
+
+        for (SubmissionFile file : files) {
+            Path path = uploadService.resolveStorageKey(file.storageKey);
+            String entryName = uniqueName(usedNames, entryName(file.admissionNumber, file.fileName));
+            if (!Files.isRegularFile(path)) {
+                // Row without a blob on disk - keep going, the rest are still useful
+                log.warn("Submission file missing for assignment {}: {}", assignmentId, file.storageKey);
+                continue;
+            }
+            zip.putNextEntry(new ZipEntry(entryName));
+            Files.copy(path, zip);
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * Grade many students in one statement, then recalculate the section's
+     * performance for the assignment's subject and period
+     */
+    @Transactional
+    public BatchGradeResult gradeBatch(Long userId, UserRole role, Long assignmentId, BatchGradeRequest request) {
+        AssignmentInfo assignment = loadAssignment(userId, role, assignmentId);
+
+        // Last entry wins for duplicates (ON CONFLICT cannot touch a row twice)
+        Map<Long, GradeEntry> byStudent = new LinkedHashMap<>();
+        for (GradeEntry entry : request.getGrades()) {
+            if (assignment.maxMarks != null && entry.getMarksObtained().compareTo(assignment.maxMarks) > 0) {
+                throw new BadRequestException("Marks for student " + entry.getStudentId()
+                        + " exceed the maximum of " + assignment.maxMarks);
+            }
+            byStudent.put(entry.getStudentId(), entry);
+        }
+
+        int size = byStudent.size();
+        Long[] studentIds = new Long[size];
+        BigDecimal[] marks = new BigDecimal[size];
+        String[] feedback = new String[size];
+        int i = 0;
+        for (GradeEntry entry : byStudent.values()) {
+            studentIds[i] = entry.getStudentId();
+            marks[i] = entry.getMarksObtained();
+            feedback[i] = entry.getFeedback();
+            i++;
+        }
+
+        Long gradedBy = jdbcTemplate.query("SELECT id FROM teachers WHERE user_id = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, userId);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        int graded = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(BATCH_GRADE_SQL);
+            ps.setLong(1, assignmentId);
+            ps.setObject(2, gradedBy, Types.BIGINT);
+            ps.setTimestamp(3, now);
+            ps.setArray(4, con.createArrayOf("bigint", studentIds));
+            ps.setArray(5, con.createArrayOf("numeric", marks));
+            ps.setArray(6, con.createArrayOf("text", feedback));
+            ps.setLong(7, assignment.sectionId);
+            return ps;
+        });
+
+        int performanceRows = 0;
+        Long periodId = performanceService.findPeriodFor(assignment.dueDate.toLocalDateTime().toLocalDate());
+        if (graded > 0 && periodId != null && assignment.subjectId != null) {
+            performanceRows = performanceService.recalculateSection(assignment.sectionId, assignment.subjectId, periodId);
+        }
+
+        log.info("Graded {} submissions for assignment {} ({} skipped, {} performance rows)",
+                 graded, assignmentId, size - graded, performanceRows);
+        return new BatchGradeResult(graded, size - graded, performanceRows);
+    }
+
+    private AssignmentInfo loadAssignment(Long userId, UserRole role, Long assignmentId) {
+        AssignmentInfo info = jdbcTemplate.query(ASSIGNMENT_SQL, rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            AssignmentInfo row = new AssignmentInfo();
+            row.sectionId = rs.getLong("section_id");
+            row.subjectId = rs.getObject("subject_id") != null ? rs.getLong("subject_id") : null;
+            row.maxMarks = rs.getBigDecimal("max_marks");
+            row.dueDate = rs.getTimestamp("due_date");
+            row.own = rs.getBoolean("is_own");
+            return row;
+        }, userId, userId, assignmentId);
+
+        if (info == null || !(info.own || SCHOOL_WIDE_ROLES.contains(role))) {
+            throw new ResourceNotFoundException("Assignment not found");
+        }
+        return info;
+    }
+
+    /**
+     * admissionNumber_fileName, sanitized as a whole: both come from user
+     * input and neither may add directories to the archive (zip slip)
+     */
+    private String entryName(String admissionNumber, String fileName) {
+        String name = (admissionNumber != null ? admissionNumber : "unknown") + "_"
+                + (fileName == null || fileName.isBlank() ? "submission" : fileName);
+        // No directories, drive letters or parent references inside the archive
+        return name.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").replace("..", "_");
+    }
+
+    private String uniqueName(Set<String> used, String name) {
+        String candidate = name;
+        int n = 1;
+        while (!used.add(candidate)) {
+            int dot = name.lastIndexOf('.');
+            candidate = dot > 0
+                    ? name.substring(0, dot) + "(" + n + ")" + name.substring(dot)
+                    : name + "(" + n + ")";
+            n++;
+        }
+        return candidate;
+    }
+
+    private static final class AssignmentInfo {
+        private Long sectionId;
+        private Long subjectId;
+        private BigDecimal maxMarks;
+        private Timestamp dueDate;
+        private boolean own;
+    }
+
+    private static final class SubmissionFile {
+        private final String admissionNumber;
+        private final String storageKey;
+        private final String fileName;
+
+        private SubmissionFile(String admissionNumber, String storageKey, String fileName) {
+            this.admissionNumber = admissionNumber;
+            this.storageKey = storageKey;
+            this.fileName = fileName;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.dto.AttendanceEntry;
+import com.schoolsystem.dto.AttendanceMarkResult;
+import com.schoolsystem.dto.AttendanceRecordDto;
+import com.schoolsystem.dto.MarkAttendanceRequest;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AttendanceService - Daily register of a section
+ *
+ * Handles:
+ * - The register for a day: every student of the section, marked or not
+ * - Marking the whole section in one INSERT ... SELECT FROM unnest(arrays)
+ *   statement; re-sending the register overwrites the day (ON CONFLICT)
+ *
+ * Who can see and mark: the section's class teacher, teachers with a
+ * subject in the section, and school-wide roles (SectionAccessService).
+ */
+@Service
+public class AttendanceService {
+
+    private static final String REGISTER_SQL =
+        "SELECT s.id, s.admission_number, p.first_name, p.last_name, a.is_present, a.remarks " +
+        "FROM students s " +
+        "LEFT JOIN user_profiles p ON p.user_id = s.user_id " +
+        "LEFT JOIN attendance a ON a.student_id = s.id AND a.date = ? " +
+        "WHERE s.section_id = ? " +
+        "ORDER BY p.last_name, p.first_name, s.admission_number";
+
+    /**
+     * Students outside the section are dropped by the join and reported as skipped
+     */
+    private static final String MARK_SQL =
+        "INSERT INTO attendance (student_id, date, is_present, remarks, marked_by) " +
+        "SELECT a.student_id, ?, a.is_present, a.remarks, ? " +
+        "FROM unnest(CAST(? AS bigint[]), CAST(? AS boolean[]), CAST(? AS text[])) " +
+        "     AS a(student_id, is_present, remarks) " +
+        "JOIN students s ON s.id = a.student_id AND s.section_id = ? " +
+        "ON CONFLICT (student_id, date) DO UPDATE SET " +
+        "is_present = EXCLUDED.is_present, remarks = EXCLUDED.remarks, marked_by = EXCLUDED.marked_by";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SectionAccessService sectionAccessService;
+
+    @Transactional(readOnly = true)
+    public List<AttendanceRecordDto> getRegister(Long userId, UserRole role, Long sectionId, LocalDate date) {
+        sectionAccessService.checkSectionAccess(userId, role, sectionId);
+        return jdbcTemplate.query(REGISTER_SQL, (rs, rowNum) -> new AttendanceRecordDto(
+            rs.getLong("id"),
+            rs.getString("admission_number"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            (Boolean) rs.getObject("is_present"),
+            rs.getString("remarks")
+        ), Date.valueOf(date), sectionId);
+    }
+
+    @Transactional
+    public AttendanceMarkResult markRegister(Long userId, UserRole role, Long sectionId, LocalDate date,
+                                             MarkAttendanceRequest request) {
+        if (date.isAfter(LocalDate.now())) {
+            throw new BadRequestException("Attendance cannot be marked for a future date");
+        }
+        sectionAccessService.checkSectionAccess(userId, role, sectionId);
+
+        // Last entry wins for duplicates (ON CONFLICT cannot touch a row twice)
+        Map<Long, AttendanceEntry> byStudent = new LinkedHashMap<>();
+        for (AttendanceEntry entry : request.getEntries()) {
+            byStudent.put(entry.getStudentId(), entry);
+        }
+
+        int size = byStudent.size();
+        Long[] studentIds = new Long[size];
+        Boolean[] present = new Boolean[size];
+        String[] remarks = new String[size];
+        int i = 0;
+        for (AttendanceEntry entry : byStudent.values()) {
+            studentIds[i] = entry.getStudentId();
+            present[i] = entry.getPresent();
+            remarks[i] = entry.getRemarks();
+            i++;
+        }
+
+        Long markedBy = jdbcTemplate.query("SELECT id FROM teachers WHERE user_id = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, userId);
+
+        int marked = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(MARK_SQL);
+            ps.setDate(1, Date.valueOf(date));
+            ps.setObject(2, markedBy, Types.BIGINT);
+            ps.setArray(3, con.createArrayOf("bigint", studentIds));
+            ps.setArray(4, con.createArrayOf("boolean", present));
+            ps.setArray(5, con.createArrayOf("text", remarks));
+            ps.setLong(6, sectionId);
+            return ps;
+        });
+        return new AttendanceMarkResult(marked, size - marked);
+    }
+}
@@ -0,0 +1,376 @@
+package com.schoolsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schoolsystem.enums.AuditOverflowPolicy;
+import com.schoolsystem.security.TenantContext;
+import com.schoolsystem.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AuditLogService - Asynchronous writer for the audit_log table
+ *
+ * Writing an audit row inside every @Transactional method would double
+ * the write latency of the request. Instead:
+ * 1. The request thread only takes a cheap snapshot (who, where, which values)
+ * 2. The snapshot goes into a bounded in-memory queue
+ * 3. A single background writer computes the JSON diffs
+ * 4. Rows are flushed as one multi-row INSERT per batch
+ *
+ * When the queue is full, audit.queue.overflow-policy decides whether the
+ * entry is dropped (and counted) or the caller waits for a free slot.
+ */
+@Service
+public class AuditLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogService.class);
+
+    public static final String ACTION_CREATE = "CREATE";
+    public static final String ACTION_UPDATE = "UPDATE";
+    public static final String ACTION_DELETE = "DELETE";
+
+    private static final String REDACTED = "***";
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO audit_log (user_id, action, entity_type, entity_id, " +
+            "old_value, new_value, ip_address, created_at, school_id) VALUES ";
+
+    /**
+     * The writer thread has no tenant, so school_id is spelled out: the
+     * request's school, else the acting user's (login), else the default
+     */
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?, ?, " +
+            "COALESCE(CAST(? AS bigint), (SELECT u.school_id FROM users u WHERE u.id = ?), 1))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.queue.capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${audit.queue.overflow-policy:DROP}")
+    private AuditOverflowPolicy overflowPolicy;
+
+    @Value("${audit.batch.size:200}")
+    private int batchSize;
+
+    @Value("${audit.batch.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${audit.redacted-fields:passwordHash,twoFactorSecret}")
+    private String[] redactedFields;
+
+    private BlockingQueue<AuditEntry> queue;
+    private Set<String> redacted;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final AtomicLong droppedEntries = new AtomicLong();
+    private final AtomicLong writtenEntries = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        redacted = new HashSet<>(Arrays.asList(redactedFields));
+        running = true;
+
+        writerThread = new Thread(this::drainLoop, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Stop accepting new work and flush whatever is still queued
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Record a newly persisted entity (all values go to new_value)
+     */
+    public void recordCreate(String entityType, Long entityId, String[] propertyNames, Object[] state) {
+        enqueue(ACTION_CREATE, entityType, entityId, propertyNames, null, state);
+    }
+
+    /**
+     * Record an update (only the changed properties end up in the diff)
+     */
+    public void recordUpdate(String entityType, Long entityId, String[] propertyNames,
+                             Object[] oldState, Object[] newState) {
+        enqueue(ACTION_UPDATE, entityType, entityId, propertyNames, oldState, newState);
+    }
+
+    /**
+     * Record a deleted entity (all values go to old_value)
+     */
+    public void recordDelete(String entityType, Long entityId, String[] propertyNames, Object[] state) {
+        enqueue(ACTION_DELETE, entityType, entityId, propertyNames, state, null);
+    }
+
+    /**
+     * Record a business action that is not an entity change (e.g. LOGIN)
+     */
+    public void recordAction(String action, String entityType, Long entityId) {
+        enqueue(action, entityType, entityId, null, null, null);
+    }
+
+    public long getDroppedCount() {
+        return droppedEntries.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenEntries.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Runs on the request thread: resolve user and IP, then hand off
+     */
+    private void enqueue(String action, String entityType, Long entityId, String[] propertyNames,
+                         Object[] oldState, Object[] newState) {
+        if (!enabled || !running) {
+            return;
+        }
+
+        AuditEntry entry = new AuditEntry(
+            currentUserId(), action, entityType, entityId,
+            propertyNames, oldState, newState,
+            currentIpAddress(), LocalDateTime.now(), TenantContext.getSchoolId()
+        );
+
+        if (overflowPolicy == AuditOverflowPolicy.BLOCK) {
+            try {
+                queue.put(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedEntries.incrementAndGet();
+            }
+        } else if (!queue.offer(entry)) {
+            // Log only the first drop of every thousand to avoid log storms
+            if (droppedEntries.incrementAndGet() % 1000 == 1) {
+                log.warn("Audit queue full ({} entries), dropping audit records", queueCapacity);
+            }
+        }
+    }
+
+    /**
+     * Background writer: wait for the first entry, then grab up to a full batch
+     */
+    private void drainLoop() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditEntry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // Shutdown requested - keep looping until the queue is empty
+                continue;
+            }
+
+            queue.drainTo(batch, batchSize - 1);
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<AuditEntry> batch) {
+        List<Object> params = new ArrayList<>(batch.size() * 10);
+        int rows = 0;
+
+        for (AuditEntry entry : batch) {
+            String[] diff = computeDiff(entry);
+            if (diff == null) {
+                continue;
+            }
+
+            params.add(entry.userId);
+            params.add(entry.action);
+            params.add(entry.entityType);
+            params.add(entry.entityId);
+            params.add(diff[0]);
+            params.add(diff[1]);
+            params.add(entry.ipAddress);
+            params.add(Timestamp.valueOf(entry.createdAt));
+            params.add(entry.schoolId);
+            params.add(entry.userId);
+            rows++;
+        }
+
+        if (rows == 0) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+
+        try {
+            jdbcTemplate.update(sql.toString(), params.toArray());
+            writtenEntries.addAndGet(rows);
+        } catch (DataAccessException e) {
+            log.error("Failed to write {} audit records", rows, e);
+        }
+    }
+
+    /**
+     * Build old_value / new_value JSON for one entry
+     *
+     * Returns null when an update touched nothing worth recording
+     */
+    private String[] computeDiff(AuditEntry entry) {
+        if (entry.propertyNames == null) {
+            return new String[] { null, null };
+        }
+
+        Map<String, Object> oldValues = entry.oldState != null ? new LinkedHashMap<>() : null;
+        Map<String, Object> newValues = entry.newState != null ? new LinkedHashMap<>() : null;
+
+        for (int i = 0; i < entry.propertyNames.length; i++) {
+            String name = entry.propertyNames[i];
+            Object oldValue = entry.oldState != null ? entry.oldState[i] : null;
+            Object newValue = entry.newState != null ? entry.newState[i] : null;
+
+            // For updates keep only properties that actually changed
+            if (oldValues != null && newValues != null && Objects.equals(oldValue, newValue)) {
+                continue;
+            }
+
+            boolean hide = redacted.contains(name);
+            if (oldValues != null) {
+                oldValues.put(name, hide && oldValue != null ? REDACTED : oldValue);
+            }
+            if (newValues != null) {
+                newValues.put(name, hide && newValue != null ? REDACTED : newValue);
+            }
+        }
+
+        if (ACTION_UPDATE.equals(entry.action) && newValues != null && newValues.isEmpty()) {
+            return null;
+        }
+
+        return new String[] { toJson(oldValues), toJson(newValues) };
+    }
+
+    private String toJson(Map<String, Object> values) {
+        if (values == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize audit values: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private String currentIpAddress() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+
+        // Already the client's address when the request came through a trusted
+        // proxy (server.forward-headers-strategy); X-Forwarded-For from anyone
+        // else is ignored, so the stored IP cannot be forged
+        HttpServletRequest request = servletAttributes.getRequest();
+        String ip = request.getRemoteAddr();
+
+        // ip_address is VARCHAR(50)
+        return ip != null && ip.length() > 50 ? ip.substring(0, 50) : ip;
+    }
+
+    /**
+     * Snapshot taken on the request thread - values are already detached
+     * from the Hibernate session, so the writer can read them safely
+     */
+    private static final class AuditEntry {
+        private final Long userId;
+        private final String action;
+        private final String entityType;
+        private final Long entityId;
+        private final String[] propertyNames;
+        private final Object[] oldState;
+        private final Object[] newState;
+        private final String ipAddress;
+        private final LocalDateTime createdAt;
+        private final Long schoolId;
+
+        private AuditEntry(Long userId, String action, String entityType, Long entityId,
+                           String[] propertyNames, Object[] oldState, Object[] newState,
+                           String ipAddress, LocalDateTime createdAt, Long schoolId) {
+            this.userId = userId;
+            this.action = action;
+            this.entityType = entityType;
+            this.entityId = entityId;
+            this.propertyNames = propertyNames;
+            this.oldState = oldState;
+            this.newState = newState;
+            this.ipAddress = ipAddress;
+            this.createdAt = createdAt;
+            this.schoolId = schoolId;
+        }
+    }
+}
@@ -3,13 +3,26 @@ package com.schoolsystem.service;
 import com.schoolsystem.dto.LoginRequest;
 import com.schoolsystem.dto.LoginResponse;
 import com.schoolsystem.entity.User;
+import com.schoolsystem.exception.BadRequestException;
+import com.schoolsystem.exception.InvalidTwoFactorCodeException;
+import com.schoolsystem.exception.ResourceNotFoundException;
 import com.schoolsystem.repository.UserRepository;
 import com.schoolsystem.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +38,21 @@ import java.time.LocalDateTime;
  * - Token generation
  * - Password validation
  * - Login tracking (last login timestamp)
+ * - Logout and password change (revoke tokens via TokenRevocationService)
+ * 
+ * Metrics (see /actuator/prometheus):
+ * - auth.login{flow, outcome}   - whole login, password or 2FA step
+ * - auth.login.phase{phase}     - authenticate (user lookup + BCrypt),
+ *                                 load_user, two_factor_send,
+ *                                 two_factor_verify, token_issue,
+ *                                 last_login_write
+ * - auth.login.failures{reason} - bad_credentials, unknown_user (also
+ *                                 deactivated), disabled, invalid_code, error
+ * 
+ * Failures surface as exceptions that GlobalExceptionHandler maps to 401
+ * (500 when authentication itself broke, reason "error"); the expected
+ * ones (wrong password, unknown user, wrong code) are stackless, so a
+ * flood of bad logins costs BCrypt and little else.
  */
 @Service
 public class AuthService {
@@ -44,6 +72,32 @@ public class AuthService {
     @Autowired
     private TwoFactorAuthService twoFactorAuthService;
     
+    @Autowired
+    private AuditLogService auditLogService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Timer authenticateTimer;
+    private Timer loadUserTimer;
+    private Timer twoFactorSendTimer;
+    private Timer twoFactorVerifyTimer;
+    private Timer tokenIssueTimer;
+    private Timer lastLoginWriteTimer;
+    
+    @PostConstruct
+    public void initMetrics() {
+        authenticateTimer = phaseTimer("authenticate");
+        loadUserTimer = phaseTimer("load_user");
+        twoFactorSendTimer = phaseTimer("two_factor_send");
+        twoFactorVerifyTimer = phaseTimer("two_factor_verify");
+        tokenIssueTimer = phaseTimer("token_issue");
+        lastLoginWriteTimer = phaseTimer("last_login_write");
+    }
+    
     /**
      * Authenticate user and generate JWT token
      * 
@@ -55,45 +109,55 @@ public class AuthService {
      */
     @Transactional
     public LoginResponse login(LoginRequest loginRequest) {
-        // 1. Authenticate user credentials
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                loginRequest.getUsername(),
-                loginRequest.getPassword()
-            )
-        );
-        
-        // 2. Load user from database
-        User user = userRepository.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        // 3. Check if 2FA is enabled
-        if (user.getTwoFactorEnabled()) {
-            // Send 2FA code via SMS (Africa's Talking)
-            twoFactorAuthService.sendTwoFactorCode(user);
+        Timer.Sample total = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            // 1. Authenticate user credentials (user lookup + BCrypt)
+            Authentication authentication = authenticateTimer.record(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(
+                    loginRequest.getUsername(),
+                    loginRequest.getPassword()
+                )
+            ));
+            
+            // 2. Load user from database
+            User user = loadUserTimer.record(() -> userRepository.findByUsername(loginRequest.getUsername())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found")));
             
-            // Return response indicating 2FA is required
-            return new LoginResponse(true);
+            // 3. Check if 2FA is enabled
+            if (user.getTwoFactorEnabled()) {
+                // Send 2FA code via SMS (Africa's Talking)
+                twoFactorSendTimer.record(() -> twoFactorAuthService.sendTwoFactorCode(user));
+                
+                // Return response indicating 2FA is required
+                outcome = "two_factor_required";
+                return new LoginResponse(true);
+            }
+            
+            // 4. Set authentication in context
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            
+            // 5. Generate JWT token
+            String jwt = tokenIssueTimer.record(() -> tokenProvider.generateToken(authentication));
+            
+            // 6. Update last login timestamp
+            recordLastLogin(user, "LOGIN");
+            
+            // 7. Return successful login response
+            outcome = "success";
+            return new LoginResponse(
+                jwt,
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getRole().toString()
+            );
+        } catch (AuthenticationException e) {
+            outcome = failureReason(e);
+            throw e;
+        } finally {
+            finishLogin(total, "password", outcome);
         }
-        
-        // 4. Set authentication in context
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        
-        // 5. Generate JWT token
-        String jwt = tokenProvider.generateToken(authentication);
-        
-        // 6. Update last login timestamp
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
-        
-        // 7. Return successful login response
-        return new LoginResponse(
-            jwt,
-            user.getId(),
-            user.getUsername(),
-            user.getEmail(),
-            user.getRole().toString()
-        );
     }
     
     /**
@@ -103,36 +167,45 @@ public class AuthService {
      */
     @Transactional
     public LoginResponse verifyTwoFactorAndLogin(String username, String code) {
-        // 1. Verify the 2FA code
-        boolean isValid = twoFactorAuthService.verifyTwoFactorCode(username, code);
-        
-        if (!isValid) {
-            throw new RuntimeException("Invalid verification code");
+        Timer.Sample total = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            // 1. Verify the 2FA code
+            boolean isValid = twoFactorVerifyTimer.record(
+                () -> twoFactorAuthService.verifyTwoFactorCode(username, code));
+            
+            if (!isValid) {
+                outcome = "invalid_code";
+                throw new InvalidTwoFactorCodeException();
+            }
+            
+            // 2. Load user
+            User user = loadUserTimer.record(() -> userRepository.findByUsername(username)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found")));
+            
+            // 3. Generate JWT token
+            String jwt = tokenIssueTimer.record(() -> tokenProvider.generateTokenFromUsername(
+                user.getUsername(),
+                user.getId(),
+                user.getRole().toString(),
+                user.getSchoolId()
+            ));
+            
+            // 4. Update last login
+            recordLastLogin(user, "LOGIN_2FA");
+            
+            // 5. Return login response
+            outcome = "success";
+            return new LoginResponse(
+                jwt,
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getRole().toString()
+            );
+        } finally {
+            finishLogin(total, "two_factor", outcome);
         }
-        
-        // 2. Load user
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        // 3. Generate JWT token
-        String jwt = tokenProvider.generateTokenFromUsername(
-            user.getUsername(),
-            user.getId(),
-            user.getRole().toString()
-        );
-        
-        // 4. Update last login
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
-        
-        // 5. Return login response
-        return new LoginResponse(
-            jwt,
-            user.getId(),
-            user.getUsername(),
-            user.getEmail(),
-            user.getRole().toString()
-        );
     }
     
     /**
@@ -141,16 +214,31 @@ public class AuthService {
     @Transactional
     public void changePassword(Long userId, String oldPassword, String newPassword) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         // Verify old password
         if (!passwordEncoder.matches(oldPassword, user.getPasswordHash())) {
-            throw new RuntimeException("Current password is incorrect");
+            throw new BadRequestException("Current password is incorrect");
         }
         
         // Encode and set new password
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        
+        // Sessions opened with the old password end here
+        tokenRevocationService.revokeUser(user.getId(), user.getUsername(), "PASSWORD_CHANGED");
+    }
+    
+    /**
+     * Logout - revoke the presented token so it stops working before it
+     * expires. Invalid or already expired tokens need nothing.
+     */
+    @Transactional
+    public void logout(String token) {
+        Claims claims = tokenProvider.parseValidToken(token);
+        if (claims != null) {
+            tokenRevocationService.revokeToken(claims, "LOGOUT");
+        }
     }
     
     /**
@@ -159,7 +247,7 @@ public class AuthService {
     @Transactional
     public void toggleTwoFactorAuth(Long userId, boolean enable) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         user.setTwoFactorEnabled(enable);
         
@@ -173,4 +261,53 @@ public class AuthService {
         
         userRepository.save(user);
     }
+    
+    private void recordLastLogin(User user, String action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // A direct UPDATE, so the write happens inside the timer: a change to the
+        // managed user would only be flushed at commit, after both timers stopped
+        userRepository.updateLastLogin(user.getId(), LocalDateTime.now());
+        auditLogService.recordAction(action, "User", user.getId());
+        sample.stop(lastLoginWriteTimer);
+    }
+    
+    /**
+     * Outcome and failure reason are fixed, low-cardinality values -
+     * never usernames or exception messages
+     */
+    private void finishLogin(Timer.Sample total, String flow, String outcome) {
+        total.stop(Timer.builder("auth.login")
+                .description("Login request, end to end")
+                .tag("flow", flow)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        
+        if (!"success".equals(outcome) && !"two_factor_required".equals(outcome)) {
+            Counter.builder("auth.login.failures")
+                    .description("Failed login attempts")
+                    .tag("reason", outcome)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+    
+    private String failureReason(AuthenticationException e) {
+        if (e instanceof UsernameNotFoundException) {
+            return "unknown_user";
+        }
+        if (e instanceof BadCredentialsException) {
+            return "bad_credentials";
+        }
+        if (e instanceof DisabledException || e instanceof LockedException) {
+            return "disabled";
+        }
+        return "error";
+    }
+    
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("auth.login.phase")
+                .description("Time spent in one step of the login flow")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
 }
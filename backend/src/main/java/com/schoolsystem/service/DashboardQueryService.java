@@ -0,0 +1,311 @@
+package com.schoolsystem.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DashboardQueryService - The SQL behind the dashboard widgets
+ *
+ * One small aggregate query per widget, each in its own read-only
+ * transaction (so a replica may serve it) because DashboardService runs
+ * them concurrently on separate threads. Statements are cancelled by the
+ * database after dashboard.widget-timeout-ms, so a widget the dashboard
+ * stopped waiting for does not keep its connection.
+ *
+ * Rows come back as maps with camelCase keys; dates as LocalDate /
+ * LocalDateTime.
+ */
+@Service
+public class DashboardQueryService {
+
+    private static final String ENROLMENT_SQL =
+        "SELECT (SELECT COUNT(*) FROM students) AS students, " +
+        "       (SELECT COUNT(*) FROM teachers) AS teachers, " +
+        "       (SELECT COUNT(*) FROM sections) AS sections";
+
+    private static final String ATTENDANCE_COLUMNS =
+        "SELECT COUNT(*) AS students, COUNT(a.id) AS marked, " +
+        "       COUNT(*) FILTER (WHERE a.is_present) AS present, " +
+        "       COUNT(*) FILTER (WHERE NOT a.is_present) AS absent " +
+        "FROM students s LEFT JOIN attendance a ON a.student_id = s.id AND a.date = ? ";
+
+    private static final String SCHOOL_ATTENDANCE_SQL = ATTENDANCE_COLUMNS;
+
+    private static final String SECTION_ATTENDANCE_SQL = ATTENDANCE_COLUMNS + "WHERE s.section_id = ?";
+
+    /** Uses the partial (school_id, due_date) index from V17 */
+    private static final String SCHOOL_FEES_SQL =
+        "SELECT COUNT(*) AS invoices, COALESCE(SUM(amount_due - amount_paid), 0) AS outstanding, " +
+        "       COUNT(*) FILTER (WHERE due_date < ?) AS overdue " +
+        "FROM payments WHERE payment_status <> 'PAID'";
+
+    private static final String GRADES_SINCE_SQL =
+        "SELECT COUNT(*) AS grades_entered, " +
+        "       ROUND(AVG(g.marks_obtained * 100 / NULLIF(e.max_marks, 0)), 1) AS average_percent " +
+        "FROM grades g JOIN exams e ON e.id = g.exam_id " +
+        "WHERE g.submitted_at >= ?";
+
+    private static final String FAILED_NOTIFICATIONS_SQL =
+        "SELECT COUNT(*) FROM notifications WHERE status = 'FAILED' AND created_at >= ?";
+
+    private static final String TEACHER_SECTIONS_SQL =
+        "SELECT s.id, c.class_name, s.section_name " +
+        "FROM sections s JOIN classes c ON c.id = s.class_id " +
+        "WHERE s.class_teacher_id = ? " +
+        "   OR s.id IN (SELECT ts.section_id FROM teacher_subjects ts JOIN teachers t ON t.id = ts.teacher_id " +
+        "               WHERE t.user_id = ?) " +
+        "ORDER BY c.class_level, c.class_name, s.section_name";
+
+    private static final String UNGRADED_SUBMISSIONS_SQL =
+        "SELECT COUNT(*) FROM assignment_submissions sub " +
+        "JOIN assignments a ON a.id = sub.assignment_id " +
+        "JOIN teachers t ON t.id = a.teacher_id " +
+        "WHERE t.user_id = ? AND sub.submitted_at IS NOT NULL AND sub.graded_at IS NULL";
+
+    private static final String TEACHER_ASSIGNMENTS_DUE_SQL =
+        "SELECT a.id, a.title, a.section_id, a.due_date, " +
+        "       (SELECT COUNT(*) FROM assignment_submissions sub " +
+        "        WHERE sub.assignment_id = a.id AND sub.submitted_at IS NOT NULL) AS submitted " +
+        "FROM assignments a JOIN teachers t ON t.id = a.teacher_id " +
+        "WHERE t.user_id = ? AND a.due_date >= ? AND a.due_date < ? " +
+        "ORDER BY a.due_date LIMIT ?";
+
+    private static final String SECTION_ASSIGNMENTS_DUE_SQL =
+        "SELECT a.id, a.title, sub.subject_name, a.due_date " +
+        "FROM assignments a LEFT JOIN subjects sub ON sub.id = a.subject_id " +
+        "WHERE a.section_id = ? AND a.due_date >= ? AND a.due_date < ? " +
+        "ORDER BY a.due_date LIMIT ?";
+
+    private static final String TEACHER_APPOINTMENTS_SQL =
+        "SELECT ap.id, ap.student_id, ap.appointment_date, ap.duration_minutes, ap.purpose " +
+        "FROM appointments ap JOIN teachers t ON t.id = ap.teacher_id " +
+        "WHERE t.user_id = ? AND ap.status = 'SCHEDULED' AND ap.appointment_date >= ? " +
+        "ORDER BY ap.appointment_date LIMIT ?";
+
+    private static final String PARENT_APPOINTMENTS_SQL =
+        "SELECT ap.id, ap.student_id, ap.appointment_date, ap.duration_minutes, ap.purpose " +
+        "FROM appointments ap " +
+        "WHERE ap.parent_id = ? AND ap.status = 'SCHEDULED' AND ap.appointment_date >= ? " +
+        "ORDER BY ap.appointment_date LIMIT ?";
+
+    private static final String STUDENT_SECTION_SQL =
+        "SELECT section_id FROM students WHERE user_id = ?";
+
+    private static final String STUDENT_ATTENDANCE_SQL =
+        "SELECT COUNT(*) AS days, COUNT(*) FILTER (WHERE a.is_present) AS present " +
+        "FROM attendance a JOIN students s ON s.id = a.student_id " +
+        "WHERE s.user_id = ? AND a.date BETWEEN ? AND ?";
+
+    private static final String STUDENT_GRADES_SQL =
+        "SELECT e.exam_name, sub.subject_name, e.exam_date, g.marks_obtained, e.max_marks, g.grade " +
+        "FROM grades g JOIN students s ON s.id = g.student_id " +
+        "JOIN exams e ON e.id = g.exam_id LEFT JOIN subjects sub ON sub.id = e.subject_id " +
+        "WHERE s.user_id = ? " +
+        "ORDER BY e.exam_date DESC, g.id DESC LIMIT ?";
+
+    private static final String STUDENT_FEES_SQL =
+        "SELECT COUNT(p.id) AS invoices, COALESCE(SUM(p.amount_due - p.amount_paid), 0) AS outstanding, " +
+        "       MIN(p.due_date) AS next_due_date " +
+        "FROM payments p JOIN students s ON s.id = p.student_id " +
+        "WHERE s.user_id = ? AND p.payment_status <> 'PAID'";
+
+    private static final String CHILDREN_ATTENDANCE_SQL =
+        "SELECT s.id AS student_id, p.first_name, COUNT(a.id) AS days, " +
+        "       COUNT(a.id) FILTER (WHERE a.is_present) AS present " +
+        "FROM students s LEFT JOIN user_profiles p ON p.user_id = s.user_id " +
+        "LEFT JOIN attendance a ON a.student_id = s.id AND a.date BETWEEN ? AND ? " +
+        "WHERE s.guardian_id = ? " +
+        "GROUP BY s.id, p.first_name ORDER BY s.id";
+
+    private static final String CHILDREN_FEES_SQL =
+        "SELECT s.id AS student_id, p.first_name, " +
+        "       COALESCE(SUM(pay.amount_due - pay.amount_paid), 0) AS outstanding, " +
+        "       MIN(pay.due_date) AS next_due_date " +
+        "FROM students s LEFT JOIN user_profiles p ON p.user_id = s.user_id " +
+        "LEFT JOIN payments pay ON pay.student_id = s.id AND pay.payment_status <> 'PAID' " +
+        "WHERE s.guardian_id = ? " +
+        "GROUP BY s.id, p.first_name ORDER BY s.id";
+
+    /** Latest few grades per child */
+    private static final String CHILDREN_GRADES_SQL =
+        "SELECT s.id AS student_id, p.first_name, r.exam_name, r.subject_name, r.exam_date, " +
+        "       r.marks_obtained, r.max_marks, r.grade " +
+        "FROM students s LEFT JOIN user_profiles p ON p.user_id = s.user_id " +
+        "CROSS JOIN LATERAL (" +
+        "    SELECT e.exam_name, sub.subject_name, e.exam_date, g.marks_obtained, e.max_marks, g.grade " +
+        "    FROM grades g JOIN exams e ON e.id = g.exam_id LEFT JOIN subjects sub ON sub.id = e.subject_id " +
+        "    WHERE g.student_id = s.id ORDER BY e.exam_date DESC, g.id DESC LIMIT ?) r " +
+        "WHERE s.guardian_id = ? " +
+        "ORDER BY s.id, r.exam_date DESC";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${dashboard.widget-timeout-ms:1500}")
+    private long widgetTimeoutMs;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Whole seconds only (JDBC query timeout)
+        jdbcTemplate.setQueryTimeout((int) Math.max(1, (widgetTimeoutMs + 999) / 1000));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> enrolment() {
+        return row(ENROLMENT_SQL);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> schoolAttendance(LocalDate date) {
+        return row(SCHOOL_ATTENDANCE_SQL, Date.valueOf(date));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> sectionAttendance(Long sectionId, LocalDate date) {
+        return row(SECTION_ATTENDANCE_SQL, Date.valueOf(date), sectionId);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> schoolFees(LocalDate today) {
+        return row(SCHOOL_FEES_SQL, Date.valueOf(today));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> gradesSince(LocalDateTime since) {
+        return row(GRADES_SINCE_SQL, Timestamp.valueOf(since));
+    }
+
+    @Transactional(readOnly = true)
+    public long failedNotificationsSince(LocalDateTime since) {
+        Long count = jdbcTemplate.queryForObject(FAILED_NOTIFICATIONS_SQL, Long.class, Timestamp.valueOf(since));
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Sections where the user is class teacher or teaches a subject
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> teacherSections(Long userId) {
+        return rows(TEACHER_SECTIONS_SQL, userId, userId);
+    }
+
+    @Transactional(readOnly = true)
+    public long ungradedSubmissions(Long userId) {
+        Long count = jdbcTemplate.queryForObject(UNGRADED_SUBMISSIONS_SQL, Long.class, userId);
+        return count != null ? count : 0;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> teacherAssignmentsDue(Long userId, LocalDateTime from, LocalDateTime to, int limit) {
+        return rows(TEACHER_ASSIGNMENTS_DUE_SQL, userId, Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> sectionAssignmentsDue(Long sectionId, LocalDateTime from, LocalDateTime to,
+                                                           int limit) {
+        return rows(SECTION_ASSIGNMENTS_DUE_SQL, sectionId, Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> teacherAppointments(Long userId, LocalDateTime from, int limit) {
+        return rows(TEACHER_APPOINTMENTS_SQL, userId, Timestamp.valueOf(from), limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> parentAppointments(Long userId, LocalDateTime from, int limit) {
+        return rows(PARENT_APPOINTMENTS_SQL, userId, Timestamp.valueOf(from), limit);
+    }
+
+    /**
+     * Section of the student with this user id, or null
+     */
+    @Transactional(readOnly = true)
+    public Long studentSection(Long userId) {
+        return jdbcTemplate.query(STUDENT_SECTION_SQL, rs -> rs.next() ? (Long) rs.getObject(1, Long.class) : null,
+                userId);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> studentAttendance(Long userId, LocalDate from, LocalDate to) {
+        return row(STUDENT_ATTENDANCE_SQL, userId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> studentGrades(Long userId, int limit) {
+        return rows(STUDENT_GRADES_SQL, userId, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> studentFees(Long userId) {
+        return row(STUDENT_FEES_SQL, userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> childrenAttendance(Long parentUserId, LocalDate from, LocalDate to) {
+        return rows(CHILDREN_ATTENDANCE_SQL, Date.valueOf(from), Date.valueOf(to), parentUserId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> childrenFees(Long parentUserId) {
+        return rows(CHILDREN_FEES_SQL, parentUserId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> childrenGrades(Long parentUserId, int perChild) {
+        return rows(CHILDREN_GRADES_SQL, perChild, parentUserId);
+    }
+
+    private Map<String, Object> row(String sql, Object... args) {
+        return camelCase(jdbcTemplate.queryForMap(sql, args));
+    }
+
+    private List<Map<String, Object>> rows(String sql, Object... args) {
+        return jdbcTemplate.queryForList(sql, args).stream().map(DashboardQueryService::camelCase).toList();
+    }
+
+    private static Map<String, Object> camelCase(Map<String, Object> row) {
+        Map<String, Object> result = new LinkedHashMap<>(row.size() * 2);
+        row.forEach((column, value) -> result.put(camelCase(column), jsonValue(value)));
+        return result;
+    }
+
+    private static String camelCase(String column) {
+        StringBuilder name = new StringBuilder(column.length());
+        boolean upper = false;
+        for (char c : column.toCharArray()) {
+            if (c == '_') {
+                upper = true;
+            } else {
+                name.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return name.toString();
+    }
+
+    private static Object jsonValue(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,399 @@
+package com.schoolsystem.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.schoolsystem.dto.DashboardDto;
+import com.schoolsystem.dto.DashboardWidgetDto;
+import com.schoolsystem.entity.AcademicPeriod;
+import com.schoolsystem.entity.AcademicYear;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.enums.DashboardWidgetScope;
+import com.schoolsystem.enums.DashboardWidgetStatus;
+import com.schoolsystem.security.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * DashboardService - One call for every number on a user's home screen
+ *
+ * Each role gets its own widget list (attendance today, fees outstanding,
+ * recent grades, unread messages, upcoming events, ...). For a dashboard:
+ * 1. Every widget is looked up in its cache - per user (short TTL) or
+ *    shared per school; per-section parts (a section's attendance or
+ *    assignments) are cached per section and reused by everyone in it
+ * 2. Misses run concurrently on a small bounded pool (dashboard.threads),
+ *    with the caller's school carried over to the worker thread
+ * 3. The request waits at most dashboard.widget-timeout-ms for all of them;
+ *    a widget that is late or fails is returned as TIMEOUT / ERROR and the
+ *    rest of the dashboard is still served
+ *
+ * A late widget keeps running and fills the cache for the next load.
+ * Identical misses from concurrent requests share one query.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    private static final int LIST_LIMIT = 5;
+    private static final int GRADES_PER_CHILD = 3;
+    private static final int DUE_SOON_DAYS = 7;
+    /** Attendance range when today is outside every period and year */
+    private static final int FALLBACK_ATTENDANCE_DAYS = 30;
+
+    @Autowired
+    private DashboardQueryService queries;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private AcademicCalendarService academicCalendarService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dashboard.threads:8}")
+    private int threads;
+
+    @Value("${dashboard.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${dashboard.widget-timeout-ms:1500}")
+    private long widgetTimeoutMs;
+
+    @Value("${dashboard.cache.user-ttl-seconds:30}")
+    private long userTtlSeconds;
+
+    @Value("${dashboard.cache.shared-ttl-seconds:60}")
+    private long sharedTtlSeconds;
+
+    @Value("${dashboard.cache.max-entries:20000}")
+    private long maxEntries;
+
+    private ThreadPoolExecutor executor;
+    private AsyncCache<String, Object> userCache;
+    private AsyncCache<String, Object> sharedCache;
+    private Map<UserRole, List<Widget>> widgetsByRole;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Bounded queue: when it is full a widget fails fast instead of piling up
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        userCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(userTtlSeconds))
+                .maximumSize(maxEntries)
+                .buildAsync();
+        sharedCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(sharedTtlSeconds))
+                .maximumSize(maxEntries)
+                .buildAsync();
+        widgetsByRole = defineWidgets();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Widgets of the user's role, in display order
+     */
+    public DashboardDto getDashboard(Long userId, UserRole role) {
+        Viewer viewer = new Viewer(userId, role, TenantContext.getSchoolId(), LocalDate.now());
+        List<Widget> widgets = widgetsByRole.getOrDefault(role, List.of());
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(widgetTimeoutMs);
+        List<CompletableFuture<Object>> pending = new ArrayList<>(widgets.size());
+        for (Widget widget : widgets) {
+            pending.add(load(widget, viewer));
+        }
+
+        List<DashboardWidgetDto> result = new ArrayList<>(widgets.size());
+        for (int i = 0; i < widgets.size(); i++) {
+            result.add(await(widgets.get(i), pending.get(i), start, deadline));
+        }
+        return new DashboardDto(role, LocalDateTime.now(), result);
+    }
+
+    private CompletableFuture<Object> load(Widget widget, Viewer viewer) {
+        AsyncCache<String, Object> cache = widget.scope == DashboardWidgetScope.USER ? userCache : sharedCache;
+        try {
+            return cache.get(cacheKey(widget, viewer), (key, cacheExecutor) ->
+                    CompletableFuture.supplyAsync(inSchool(viewer.schoolId, () -> widget.loader.apply(viewer)),
+                            executor));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private DashboardWidgetDto await(Widget widget, CompletableFuture<Object> future, long start, long deadline) {
+        try {
+            Object value = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return new DashboardWidgetDto(widget.name, DashboardWidgetStatus.OK, value, elapsedMs(start));
+        } catch (TimeoutException e) {
+            return degraded(widget, DashboardWidgetStatus.TIMEOUT, start);
+        } catch (ExecutionException e) {
+            log.warn("Dashboard widget {} failed: {}", widget.name, e.getCause().toString());
+            return degraded(widget, DashboardWidgetStatus.ERROR, start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return degraded(widget, DashboardWidgetStatus.ERROR, start);
+        }
+    }
+
+    private DashboardWidgetDto degraded(Widget widget, DashboardWidgetStatus status, long start) {
+        Counter.builder("dashboard.widgets.degraded")
+                .description("Dashboard widgets returned without a value")
+                .tag("widget", widget.name)
+                .tag("status", status.name())
+                .register(meterRegistry)
+                .increment();
+        return new DashboardWidgetDto(widget.name, status, null, elapsedMs(start));
+    }
+
+    /**
+     * Per-section part of a widget, shared by everyone in the section.
+     *
+     * A miss is loaded on the calling widget thread, which already runs in
+     * the viewer's school (see load); concurrent callers wait for that load.
+     * Not sharedCache.get(key, function): that loads on the common pool,
+     * outside the school. Not the dashboard executor either: a worker
+     * waiting for a task queued on its own pool can starve it.
+     */
+    private Object sectionPart(Viewer viewer, Long sectionId, String part, Supplier<Object> loader) {
+        String key = schoolKey(viewer) + ":section:" + sectionId + ":" + part;
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> cached = sharedCache.asMap().putIfAbsent(key, loading);
+        if (cached != null) {
+            return cached.join();
+        }
+        try {
+            Object value = loader.get();
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            sharedCache.asMap().remove(key, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static String cacheKey(Widget widget, Viewer viewer) {
+        return switch (widget.scope) {
+            case USER -> schoolKey(viewer) + ":user:" + viewer.userId + ":" + widget.name;
+            case SCHOOL -> schoolKey(viewer) + ":role:" + viewer.role + ":" + widget.name;
+        };
+    }
+
+    private static String schoolKey(Viewer viewer) {
+        return viewer.schoolId != null ? viewer.schoolId.toString() : "0";
+    }
+
+    /**
+     * Worker threads do not inherit TenantContext
+     */
+    private static <T> Supplier<T> inSchool(Long schoolId, Supplier<T> task) {
+        return () -> {
+            TenantContext.setSchoolId(schoolId);
+            try {
+                return task.get();
+            } finally {
+                TenantContext.clear();
+            }
+        };
+    }
+
+    private static long elapsedMs(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private Map<UserRole, List<Widget>> defineWidgets() {
+        Widget currentPeriod = new Widget("currentPeriod", DashboardWidgetScope.SCHOOL,
+                viewer -> academicCalendarService.currentPeriod());
+        Widget unreadMessages = new Widget("unreadMessages", DashboardWidgetScope.USER,
+                viewer -> messageService.getUnreadCount(viewer.userId));
+        // Per role: events are targeted at roles
+        Widget upcomingEvents = new Widget("upcomingEvents", DashboardWidgetScope.SCHOOL,
+                viewer -> eventService.getUpcoming(viewer.role, LIST_LIMIT));
+
+        List<Widget> schoolWide = List.of(
+                currentPeriod,
+                new Widget("enrolment", DashboardWidgetScope.SCHOOL, viewer -> queries.enrolment()),
+                new Widget("attendanceToday", DashboardWidgetScope.SCHOOL,
+                        viewer -> queries.schoolAttendance(viewer.today)),
+                new Widget("feesOutstanding", DashboardWidgetScope.SCHOOL,
+                        viewer -> queries.schoolFees(viewer.today)),
+                new Widget("gradesThisWeek", DashboardWidgetScope.SCHOOL,
+                        viewer -> queries.gradesSince(viewer.today.minusDays(DUE_SOON_DAYS).atStartOfDay())),
+                new Widget("failedNotifications", DashboardWidgetScope.SCHOOL,
+                        viewer -> queries.failedNotificationsSince(viewer.today.minusDays(1).atStartOfDay())),
+                upcomingEvents,
+                unreadMessages
+        );
+
+        List<Widget> teacher = List.of(
+                currentPeriod,
+                new Widget("sectionAttendanceToday", DashboardWidgetScope.USER, this::sectionAttendanceToday),
+                new Widget("ungradedSubmissions", DashboardWidgetScope.USER,
+                        viewer -> queries.ungradedSubmissions(viewer.userId)),
+                new Widget("assignmentsDue", DashboardWidgetScope.USER,
+                        viewer -> queries.teacherAssignmentsDue(viewer.userId, viewer.today.atStartOfDay(),
+                                viewer.today.plusDays(DUE_SOON_DAYS).atStartOfDay(), LIST_LIMIT)),
+                new Widget("upcomingAppointments", DashboardWidgetScope.USER,
+                        viewer -> queries.teacherAppointments(viewer.userId, LocalDateTime.now(), LIST_LIMIT)),
+                upcomingEvents,
+                unreadMessages
+        );
+
+        List<Widget> student = List.of(
+                currentPeriod,
+                new Widget("attendance", DashboardWidgetScope.USER, viewer -> {
+                    LocalDate[] range = attendanceRange(viewer.today);
+                    return queries.studentAttendance(viewer.userId, range[0], range[1]);
+                }),
+                new Widget("recentGrades", DashboardWidgetScope.USER,
+                        viewer -> queries.studentGrades(viewer.userId, LIST_LIMIT)),
+                new Widget("assignmentsDue", DashboardWidgetScope.USER, this::sectionAssignmentsDue),
+                new Widget("fees", DashboardWidgetScope.USER, viewer -> queries.studentFees(viewer.userId)),
+                upcomingEvents,
+                unreadMessages
+        );
+
+        List<Widget> parent = List.of(
+                currentPeriod,
+                new Widget("childrenAttendance", DashboardWidgetScope.USER, viewer -> {
+                    LocalDate[] range = attendanceRange(viewer.today);
+                    return queries.childrenAttendance(viewer.userId, range[0], range[1]);
+                }),
+                new Widget("childrenFees", DashboardWidgetScope.USER,
+                        viewer -> queries.childrenFees(viewer.userId)),
+                new Widget("childrenGrades", DashboardWidgetScope.USER,
+                        viewer -> queries.childrenGrades(viewer.userId, GRADES_PER_CHILD)),
+                new Widget("upcomingAppointments", DashboardWidgetScope.USER,
+                        viewer -> queries.parentAppointments(viewer.userId, LocalDateTime.now(), LIST_LIMIT)),
+                upcomingEvents,
+                unreadMessages
+        );
+
+        Map<UserRole, List<Widget>> byRole = new LinkedHashMap<>();
+        byRole.put(UserRole.ADMIN, schoolWide);
+        byRole.put(UserRole.PRINCIPAL, schoolWide);
+        byRole.put(UserRole.VICE_PRINCIPAL, schoolWide);
+        byRole.put(UserRole.CLASS_TEACHER, teacher);
+        byRole.put(UserRole.SUBJECT_TEACHER, teacher);
+        byRole.put(UserRole.STUDENT, student);
+        byRole.put(UserRole.PARENT, parent);
+        return byRole;
+    }
+
+    /**
+     * Today's attendance of each of the teacher's sections
+     */
+    private Object sectionAttendanceToday(Viewer viewer) {
+        List<Map<String, Object>> sections = queries.teacherSections(viewer.userId);
+        List<Map<String, Object>> result = new ArrayList<>(sections.size());
+        for (Map<String, Object> section : sections) {
+            Long sectionId = ((Number) section.get("id")).longValue();
+            Map<String, Object> row = new LinkedHashMap<>(section);
+            row.put("attendance", sectionPart(viewer, sectionId, "attendance:" + viewer.today,
+                    () -> queries.sectionAttendance(sectionId, viewer.today)));
+            result.add(row);
+        }
+        return result;
+    }
+
+    /**
+     * Assignments of the student's section due in the next week
+     */
+    private Object sectionAssignmentsDue(Viewer viewer) {
+        Long sectionId = queries.studentSection(viewer.userId);
+        if (sectionId == null) {
+            return List.of();
+        }
+        return sectionPart(viewer, sectionId, "assignmentsDue:" + viewer.today,
+                () -> queries.sectionAssignmentsDue(sectionId, viewer.today.atStartOfDay(),
+                        viewer.today.plusDays(DUE_SOON_DAYS).atStartOfDay(), LIST_LIMIT * 2));
+    }
+
+    /**
+     * Current period, else current year, else the last 30 days (inclusive)
+     */
+    private LocalDate[] attendanceRange(LocalDate today) {
+        AcademicPeriod period = academicCalendarService.currentPeriod();
+        if (period != null) {
+            return new LocalDate[] {period.getStartDate(), today};
+        }
+        AcademicYear year = academicCalendarService.currentYear();
+        if (year != null && !today.isBefore(year.getStartDate())) {
+            return new LocalDate[] {year.getStartDate(), today};
+        }
+        return new LocalDate[] {today.minusDays(FALLBACK_ATTENDANCE_DAYS), today};
+    }
+
+    /**
+     * Who the dashboard is for; widget loaders get nothing else
+     */
+    private static final class Viewer {
+        private final Long userId;
+        private final UserRole role;
+        private final Long schoolId;
+        private final LocalDate today;
+
+        private Viewer(Long userId, UserRole role, Long schoolId, LocalDate today) {
+            this.userId = userId;
+            this.role = role;
+            this.schoolId = schoolId;
+            this.today = today;
+        }
+    }
+
+    private static final class Widget {
+        private final String name;
+        private final DashboardWidgetScope scope;
+        private final Function<Viewer, Object> loader;
+
+        private Widget(String name, DashboardWidgetScope scope, Function<Viewer, Object> loader) {
+            this.name = name;
+            this.scope = scope;
+            this.loader = loader;
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.dto.EventDto;
+import com.schoolsystem.dto.EventRequest;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.exception.ResourceNotFoundException;
+import com.schoolsystem.security.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EventService - School events and the per-role feeds built from them
+ *
+ * Every dashboard asks "upcoming events for my role", and calendar apps
+ * poll the iCalendar feed every few minutes. Both are answered from an
+ * in-memory feed per UserRole:
+ * 1. Built with one query on the (target_audience, event_date) GIN index
+ * 2. Holds the sorted events, the rendered .ics bytes and their ETag
+ * 3. Dropped after every committed event write (generation counter) and
+ *    rebuilt at most every events.cache.ttl-seconds otherwise, so the time
+ *    window moves on and writes from other nodes show up
+ *
+ * A poll whose If-None-Match matches costs a map lookup and a 304.
+ *
+ * With tenancy the feeds are kept per school (TenantContext), since the
+ * query only sees the current school's events.
+ */
+@Service
+public class EventService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventService.class);
+
+    private static final String EVENT_COLUMNS =
+        "SELECT id, event_name, event_description, event_date, location, is_mandatory, " +
+        "CAST(target_audience AS text[]) AS audience, updated_at FROM events ";
+
+    private static final String ROLE_FEED_SQL = EVENT_COLUMNS +
+        "WHERE target_audience @> ARRAY[CAST(? AS user_role)] AND event_date >= ? AND event_date < ? " +
+        "ORDER BY event_date, id";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO events (event_name, event_description, event_date, location, is_mandatory, " +
+        "target_audience, created_by) VALUES (?, ?, ?, ?, ?, CAST(? AS user_role[]), ?) RETURNING id";
+
+    private static final String UPDATE_SQL =
+        "UPDATE events SET event_name = ?, event_description = ?, event_date = ?, location = ?, " +
+        "is_mandatory = ?, target_audience = CAST(? AS user_role[]) WHERE id = ?";
+
+    private static final String FEED_TOKEN_SEPARATOR = ".";
+
+    /** School part of a feed token issued without tenancy */
+    private static final String NO_SCHOOL = "-";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Value("${events.feed.past-days:30}")
+    private int pastDays;
+
+    @Value("${events.feed.horizon-days:180}")
+    private int horizonDays;
+
+    @Value("${events.cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    @Value("${events.feed.uid-domain:schoolsystem}")
+    private String uidDomain;
+
+    @Value("${events.feed.token-ttl-days:365}")
+    private long feedTokenTtlDays;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    /** School id (0 when unscoped) -> that school's feeds */
+    private final Map<Long, SchoolFeeds> schools = new ConcurrentHashMap<>();
+
+    /**
+     * Upcoming events for a role, soonest first
+     */
+    public List<EventDto> getUpcoming(UserRole role, int limit) {
+        List<EventDto> events = feedFor(role).events;
+        int lo = firstUpcoming(events, LocalDateTime.now());
+        return events.subList(lo, Math.min(events.size(), lo + Math.max(limit, 0)));
+    }
+
+    /**
+     * Changes whenever getUpcoming(role, ...) would: the feed's content hash
+     * plus where "upcoming" starts now. No copy of the list is made.
+     */
+    public String getUpcomingVersion(UserRole role) {
+        RoleFeed feed = feedFor(role);
+        return feed.etag.replace("\"", "") + "-" + firstUpcoming(feed.events, LocalDateTime.now());
+    }
+
+    /**
+     * Cached iCalendar feed for a role
+     */
+    public RoleFeed getCalendar(UserRole role) {
+        return feedFor(role);
+    }
+
+    @Transactional(readOnly = true)
+    public EventDto getEvent(Long id) {
+        return jdbcTemplate.query(EVENT_COLUMNS + "WHERE id = ?", EVENT_ROW_MAPPER, id)
+                .stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+    }
+
+    @Transactional
+    public EventDto create(Long userId, EventRequest request) {
+        Long id = jdbcTemplate.queryForObject(INSERT_SQL, Long.class,
+            request.getEventName(), request.getEventDescription(), Timestamp.valueOf(request.getEventDate()),
+            request.getLocation(), request.isMandatory(), audienceLiteral(request.getTargetAudience()), userId);
+        invalidateAfterCommit();
+        return getEvent(id);
+    }
+
+    @Transactional
+    public EventDto update(Long id, EventRequest request) {
+        int updated = jdbcTemplate.update(UPDATE_SQL,
+            request.getEventName(), request.getEventDescription(), Timestamp.valueOf(request.getEventDate()),
+            request.getLocation(), request.isMandatory(), audienceLiteral(request.getTargetAudience()), id);
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Event not found");
+        }
+        invalidateAfterCommit();
+        return getEvent(id);
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        if (jdbcTemplate.update("DELETE FROM events WHERE id = ?", id) == 0) {
+            throw new ResourceNotFoundException("Event not found");
+        }
+        invalidateAfterCommit();
+    }
+
+    /**
+     * Secret part of a personal calendar URL. Calendar apps cannot send a
+     * bearer token, so the URL itself carries user, role, school, issue time
+     * and an HMAC. Valid for events.feed.token-ttl-days, and revoked with
+     * the user's JWTs (password change, deactivation - TokenRevocationService).
+     */
+    public String feedToken(Long userId, UserRole role) {
+        Long schoolId = TenantContext.getSchoolId();
+        long issuedAt = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        String payload = String.join(FEED_TOKEN_SEPARATOR, userId.toString(), role.name(),
+                schoolId != null ? schoolId.toString() : NO_SCHOOL, Long.toString(issuedAt));
+        return payload + FEED_TOKEN_SEPARATOR + sign(payload);
+    }
+
+    /**
+     * Role and school encoded in a feed token, or null if the token is not
+     * genuine, has expired or was revoked. Tokens without an issue time
+     * (issued before they expired) are no longer accepted.
+     */
+    public FeedSubscription subscriptionFromFeedToken(String token) {
+        int lastDot = token.lastIndexOf(FEED_TOKEN_SEPARATOR);
+        if (lastDot <= 0) {
+            return null;
+        }
+        String payload = token.substring(0, lastDot);
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(lastDot + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return null;
+        }
+        // userId.ROLE.schoolId.issuedAt (epoch seconds)
+        String[] parts = payload.split("\\.");
+        if (parts.length != 4) {
+            return null;
+        }
+        try {
+            Long userId = Long.valueOf(parts[0]);
+            UserRole role = UserRole.valueOf(parts[1]);
+            Long schoolId = NO_SCHOOL.equals(parts[2]) ? null : Long.valueOf(parts[2]);
+            long issuedAtMs = TimeUnit.SECONDS.toMillis(Long.parseLong(parts[3]));
+            if (issuedAtMs + TimeUnit.DAYS.toMillis(feedTokenTtlDays) < System.currentTimeMillis()
+                    || tokenRevocationService.isUserRevoked(userId, issuedAtMs)) {
+                return null;
+            }
+            return new FeedSubscription(role, schoolId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sorted by date: skip what already started (kept for the calendar feed)
+     */
+    private static int firstUpcoming(List<EventDto> events, LocalDateTime now) {
+        int lo = 0;
+        int hi = events.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (events.get(mid).getEventDate().isBefore(now)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private RoleFeed feedFor(UserRole role) {
+        SchoolFeeds school = currentSchool();
+        long currentGeneration = school.generation.get();
+        RoleFeed feed = school.feeds.get(role);
+        if (feed != null && feed.generation == currentGeneration && !feed.isExpired(cacheTtlSeconds)) {
+            return feed;
+        }
+
+        // One rebuild at a time per school; readers that waited reuse the fresh feed
+        synchronized (school.feeds) {
+            feed = school.feeds.get(role);
+            if (feed == null || feed.generation != school.generation.get() || feed.isExpired(cacheTtlSeconds)) {
+                feed = buildFeed(role, school.generation.get());
+                school.feeds.put(role, feed);
+            }
+            return feed;
+        }
+    }
+
+    private SchoolFeeds currentSchool() {
+        Long schoolId = TenantContext.getSchoolId();
+        return schools.computeIfAbsent(schoolId != null ? schoolId : 0L, id -> new SchoolFeeds());
+    }
+
+    private RoleFeed buildFeed(UserRole role, long feedGeneration) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EventDto> events = List.copyOf(jdbcTemplate.query(ROLE_FEED_SQL, EVENT_ROW_MAPPER,
+            role.name(), Timestamp.valueOf(now.minusDays(pastDays)), Timestamp.valueOf(now.plusDays(horizonDays))));
+
+        byte[] ics = ICalendarWriter.render("School events", uidDomain, events);
+        String etag = "\"" + DigestUtils.md5DigestAsHex(ics) + "\"";
+
+        log.debug("Built {} event feed: {} events, etag {}", role, events.size(), etag);
+        return new RoleFeed(feedGeneration, System.nanoTime(), events, ics, etag);
+    }
+
+    /**
+     * Bump the generation once the write is visible to other transactions,
+     * otherwise a concurrent rebuild could cache the old rows again.
+     * An unscoped write may touch any school, so it drops every school's feeds.
+     */
+    private void invalidateAfterCommit() {
+        Runnable invalidate = TenantContext.getSchoolId() != null
+                ? currentSchool().generation::incrementAndGet
+                : () -> schools.values().forEach(school -> school.generation.incrementAndGet());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate.run();
+                }
+            });
+        } else {
+            invalidate.run();
+        }
+    }
+
+    /**
+     * PostgreSQL array literal; empty means every role
+     */
+    private String audienceLiteral(Set<UserRole> audience) {
+        Set<UserRole> roles = audience == null || audience.isEmpty()
+                ? EnumSet.allOf(UserRole.class)
+                : EnumSet.copyOf(audience);
+        return "{" + String.join(",", roles.stream().map(Enum::name).toList()) + "}";
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(("ical-feed:" + secret).getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 18));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static final RowMapper<EventDto> EVENT_ROW_MAPPER = (rs, rowNum) -> {
+        String[] audience = (String[]) rs.getArray("audience").getArray();
+        Set<UserRole> roles = EnumSet.noneOf(UserRole.class);
+        for (String role : audience) {
+            roles.add(UserRole.valueOf(role));
+        }
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return new EventDto(
+            rs.getLong("id"),
+            rs.getString("event_name"),
+            rs.getString("event_description"),
+            rs.getTimestamp("event_date").toLocalDateTime(),
+            rs.getString("location"),
+            rs.getBoolean("is_mandatory"),
+            roles,
+            updatedAt != null ? updatedAt.toLocalDateTime() : null
+        );
+    };
+
+    /**
+     * One school's feeds and the generation they were built at
+     */
+    private static final class SchoolFeeds {
+        private final Map<UserRole, RoleFeed> feeds = Collections.synchronizedMap(new EnumMap<>(UserRole.class));
+        private final AtomicLong generation = new AtomicLong();
+    }
+
+    /**
+     * Who a calendar feed URL was issued to
+     */
+    public static final class FeedSubscription {
+        private final UserRole role;
+        private final Long schoolId;
+
+        private FeedSubscription(UserRole role, Long schoolId) {
+            this.role = role;
+            this.schoolId = schoolId;
+        }
+
+        public UserRole getRole() {
+            return role;
+        }
+
+        public Long getSchoolId() {
+            return schoolId;
+        }
+    }
+
+    /**
+     * Immutable snapshot of one role's feed
+     */
+    public static final class RoleFeed {
+        private final long generation;
+        private final long builtAtNanos;
+        private final List<EventDto> events;
+        private final byte[] ics;
+        private final String etag;
+
+        private RoleFeed(long generation, long builtAtNanos, List<EventDto> events, byte[] ics, String etag) {
+            this.generation = generation;
+            this.builtAtNanos = builtAtNanos;
+            this.events = events;
+            this.ics = ics;
+            this.etag = etag;
+        }
+
+        private boolean isExpired(long ttlSeconds) {
+            return System.nanoTime() - builtAtNanos > ttlSeconds * 1_000_000_000L;
+        }
+
+        public byte[] getIcs() {
+            return ics;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.dto.SubjectStatsDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ExamAggregationService - Final weighted subject scores for a section
+ *
+ * 1. Three flat queries (students, exams, grades) fill an ExamScoreAggregator
+ * 2. Scores, class statistics, percentiles and ranks are computed in memory
+ * 3. Results are replaced in bulk: one DELETE and one INSERT ... unnest(arrays)
+ *    per table, whatever the section size
+ *
+ * The equivalent SQL GROUP BY + window function version is kept as a
+ * benchmark baseline (benchmark profile, ExamAggregationBenchmark).
+ */
+@Service
+public class ExamAggregationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExamAggregationService.class);
+
+    private static final String STUDENTS_SQL =
+        "SELECT id FROM students WHERE section_id = ? ORDER BY id";
+
+    private static final String EXAMS_SQL =
+        "SELECT id, subject_id, max_marks, COALESCE(weightage, 100) AS weightage FROM exams " +
+        "WHERE section_id = ? AND academic_period_id = ? AND subject_id IS NOT NULL AND max_marks > 0 " +
+        "ORDER BY subject_id, id";
+
+    private static final String GRADES_SQL =
+        "SELECT g.student_id, g.exam_id, g.marks_obtained FROM grades g " +
+        "JOIN exams e ON e.id = g.exam_id " +
+        "WHERE e.section_id = ? AND e.academic_period_id = ?";
+
+    private static final String INSERT_RESULTS_SQL =
+        "INSERT INTO subject_results (student_id, subject_id, academic_period_id, section_id, " +
+        "weighted_score, percentile, rank_in_section, exams_counted) " +
+        "SELECT r.student_id, r.subject_id, ?, ?, ROUND(CAST(r.score AS numeric), 2), " +
+        "ROUND(CAST(r.percentile AS numeric), 2), r.rank, r.exams " +
+        "FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[]), CAST(? AS float8[]), " +
+        "CAST(? AS float8[]), CAST(? AS int[]), CAST(? AS int[])) " +
+        "AS r(student_id, subject_id, score, percentile, rank, exams)";
+
+    private static final String INSERT_STATS_SQL =
+        "INSERT INTO subject_result_stats (section_id, subject_id, academic_period_id, student_count, " +
+        "mean_score, std_dev, p25, median, p75) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String STATS_SQL =
+        "SELECT subject_id, student_count, mean_score, std_dev, p25, median, p75 " +
+        "FROM subject_result_stats WHERE section_id = ? AND academic_period_id = ? ORDER BY subject_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Recompute and store final subject scores for a section and period
+     */
+    @Transactional
+    public List<SubjectStatsDto> aggregate(Long sectionId, Long academicPeriodId) {
+        long started = System.nanoTime();
+
+        ExamScoreAggregator aggregator = load(sectionId, academicPeriodId);
+        ExamScoreAggregator.Result result = aggregator.aggregate();
+
+        jdbcTemplate.update("DELETE FROM subject_results WHERE section_id = ? AND academic_period_id = ?",
+                            sectionId, academicPeriodId);
+        jdbcTemplate.update("DELETE FROM subject_result_stats WHERE section_id = ? AND academic_period_id = ?",
+                            sectionId, academicPeriodId);
+        int rows = writeResults(result, sectionId, academicPeriodId);
+        List<SubjectStatsDto> stats = writeStats(result, sectionId, academicPeriodId);
+
+        log.info("Aggregated section {} period {}: {} results, {} subjects in {} ms",
+                 sectionId, academicPeriodId, rows, stats.size(), (System.nanoTime() - started) / 1_000_000);
+        return stats;
+    }
+
+    @Transactional(readOnly = true)
+    public List<SubjectStatsDto> getStats(Long sectionId, Long academicPeriodId) {
+        return jdbcTemplate.query(STATS_SQL, (rs, rowNum) -> new SubjectStatsDto(
+            rs.getLong("subject_id"),
+            rs.getInt("student_count"),
+            rs.getBigDecimal("mean_score"),
+            rs.getBigDecimal("std_dev"),
+            rs.getBigDecimal("p25"),
+            rs.getBigDecimal("median"),
+            rs.getBigDecimal("p75")
+        ), sectionId, academicPeriodId);
+    }
+
+    private ExamScoreAggregator load(Long sectionId, Long academicPeriodId) {
+        long[] studentIds = jdbcTemplate.queryForList(STUDENTS_SQL, Long.class, sectionId)
+                .stream().mapToLong(Long::longValue).toArray();
+
+        List<long[]> examKeys = new ArrayList<>();
+        List<double[]> examValues = new ArrayList<>();
+        jdbcTemplate.query(EXAMS_SQL, rs -> {
+            examKeys.add(new long[] {rs.getLong("id"), rs.getLong("subject_id")});
+            examValues.add(new double[] {rs.getDouble("max_marks"), rs.getDouble("weightage")});
+        }, sectionId, academicPeriodId);
+
+        int exams = examKeys.size();
+        long[] examIds = new long[exams];
+        long[] subjectIds = new long[exams];
+        double[] maxMarks = new double[exams];
+        double[] weightage = new double[exams];
+        for (int e = 0; e < exams; e++) {
+            examIds[e] = examKeys.get(e)[0];
+            subjectIds[e] = examKeys.get(e)[1];
+            maxMarks[e] = examValues.get(e)[0];
+            weightage[e] = examValues.get(e)[1];
+        }
+
+        ExamScoreAggregator aggregator = new ExamScoreAggregator(studentIds, examIds, subjectIds, maxMarks, weightage);
+        jdbcTemplate.query(GRADES_SQL, rs -> {
+            aggregator.setMark(rs.getLong(1), rs.getLong(2), rs.getDouble(3));
+        }, sectionId, academicPeriodId);
+        return aggregator;
+    }
+
+    private int writeResults(ExamScoreAggregator.Result result, Long sectionId, Long academicPeriodId) {
+        int cells = result.getSubjectCount() * result.getStudentCount();
+        Long[] studentIds = new Long[cells];
+        Long[] subjectIds = new Long[cells];
+        Double[] scores = new Double[cells];
+        Double[] percentiles = new Double[cells];
+        Integer[] ranks = new Integer[cells];
+        Integer[] examsCounted = new Integer[cells];
+
+        int size = 0;
+        for (int k = 0; k < result.getSubjectCount(); k++) {
+            for (int s = 0; s < result.getStudentCount(); s++) {
+                double score = result.getScore(k, s);
+                if (Double.isNaN(score)) {
+                    continue;
+                }
+                studentIds[size] = result.getStudentId(s);
+                subjectIds[size] = result.getSubjectId(k);
+                scores[size] = score;
+                percentiles[size] = result.getPercentile(k, s);
+                ranks[size] = result.getRank(k, s);
+                examsCounted[size] = result.getExamsCounted(k, s);
+                size++;
+            }
+        }
+        if (size == 0) {
+            return 0;
+        }
+
+        int rows = size;
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_RESULTS_SQL);
+            ps.setLong(1, academicPeriodId);
+            ps.setLong(2, sectionId);
+            ps.setArray(3, array(con, "bigint", studentIds, rows));
+            ps.setArray(4, array(con, "bigint", subjectIds, rows));
+            ps.setArray(5, array(con, "float8", scores, rows));
+            ps.setArray(6, array(con, "float8", percentiles, rows));
+            ps.setArray(7, array(con, "int4", ranks, rows));
+            ps.setArray(8, array(con, "int4", examsCounted, rows));
+            return ps;
+        });
+    }
+
+    /**
+     * One row per subject - a handful per section, plain JDBC batch
+     */
+    private List<SubjectStatsDto> writeStats(ExamScoreAggregator.Result result, Long sectionId, Long academicPeriodId) {
+        List<SubjectStatsDto> stats = new ArrayList<>();
+        for (int k = 0; k < result.getSubjectCount(); k++) {
+            stats.add(new SubjectStatsDto(
+                result.getSubjectId(k),
+                result.getCount(k),
+                decimal(result.getMean(k)),
+                decimal(result.getStdDev(k)),
+                decimal(result.getP25(k)),
+                decimal(result.getMedian(k)),
+                decimal(result.getP75(k))
+            ));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_STATS_SQL, stats, stats.size(), (ps, s) -> {
+            ps.setLong(1, sectionId);
+            ps.setLong(2, s.getSubjectId());
+            ps.setLong(3, academicPeriodId);
+            ps.setInt(4, s.getStudentCount());
+            ps.setBigDecimal(5, s.getMean());
+            ps.setBigDecimal(6, s.getStdDev());
+            ps.setBigDecimal(7, s.getP25());
+            ps.setBigDecimal(8, s.getMedian());
+            ps.setBigDecimal(9, s.getP75());
+        });
+        return stats;
+    }
+
+    private Array array(Connection con, String type, Object[] values, int size) throws SQLException {
+        Object[] trimmed = size == values.length ? values : Arrays.copyOf(values, size);
+        return con.createArrayOf(type, trimmed);
+    }
+
+    private BigDecimal decimal(double value) {
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
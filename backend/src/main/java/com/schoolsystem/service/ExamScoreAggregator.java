@@ -0,0 +1,313 @@
+package com.schoolsystem.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ExamScoreAggregator - Weighted subject scores for one section and period
+ *
+ * Marks are held in flat primitive arrays laid out exam-major
+ * (marks[exam * students + student]), so every inner loop walks one exam
+ * column over consecutive students: no boxing, no branches, and C2 can
+ * vectorize it.
+ *
+ * Per student and subject:
+ *   score = sum(marks / max_marks * weightage) / sum(weightage) * 100
+ * over the exams the student actually sat. Per subject the class mean,
+ * population standard deviation, quartiles and every student's percentile
+ * and rank follow from one sort.
+ *
+ * Filled by ExamAggregationService from three queries; not thread-safe.
+ */
+public final class ExamScoreAggregator {
+
+    private final int studentCount;
+    private final int examCount;
+    private final int subjectCount;
+
+    private final long[] studentIds;
+    private final long[] subjectIds;
+
+    /** Subject index of each exam */
+    private final int[] examSubject;
+    /** weightage / max_marks * 100, so a mark turns into weighted points with one multiply */
+    private final double[] examScale;
+    private final double[] examWeight;
+
+    /** Marks obtained, 0 where no grade exists */
+    private final double[] marks;
+    /** 1 where a grade exists, else 0 */
+    private final double[] taken;
+
+    private final Map<Long, Integer> studentIndex;
+    private final Map<Long, Integer> examIndex;
+
+    /**
+     * @param studentIds     students of the section
+     * @param examIds        exams of the section in the period
+     * @param examSubjectIds subject of each exam
+     * @param maxMarks       max_marks of each exam (must be positive)
+     * @param weightage      weightage of each exam
+     */
+    public ExamScoreAggregator(long[] studentIds, long[] examIds, long[] examSubjectIds,
+                               double[] maxMarks, double[] weightage) {
+        this.studentCount = studentIds.length;
+        this.examCount = examIds.length;
+        this.studentIds = studentIds;
+
+        this.studentIndex = new HashMap<>(studentCount * 2);
+        for (int s = 0; s < studentCount; s++) {
+            studentIndex.put(studentIds[s], s);
+        }
+
+        this.examIndex = new HashMap<>(examCount * 2);
+        Map<Long, Integer> subjectIndex = new HashMap<>();
+        this.examSubject = new int[examCount];
+        this.examScale = new double[examCount];
+        this.examWeight = new double[examCount];
+        for (int e = 0; e < examCount; e++) {
+            examIndex.put(examIds[e], e);
+            examSubject[e] = subjectIndex.computeIfAbsent(examSubjectIds[e], id -> subjectIndex.size());
+            examWeight[e] = weightage[e];
+            examScale[e] = weightage[e] / maxMarks[e] * 100.0;
+        }
+
+        this.subjectCount = subjectIndex.size();
+        this.subjectIds = new long[subjectCount];
+        subjectIndex.forEach((id, k) -> subjectIds[k] = id);
+
+        this.marks = new double[examCount * studentCount];
+        this.taken = new double[examCount * studentCount];
+    }
+
+    /**
+     * Record a grade; unknown students or exams are ignored
+     */
+    public void setMark(long studentId, long examId, double marksObtained) {
+        Integer s = studentIndex.get(studentId);
+        Integer e = examIndex.get(examId);
+        if (s != null && e != null) {
+            setMarkAt(s, e, marksObtained);
+        }
+    }
+
+    public void setMarkAt(int studentIdx, int examIdx, double marksObtained) {
+        int cell = examIdx * studentCount + studentIdx;
+        marks[cell] = marksObtained;
+        taken[cell] = 1.0;
+    }
+
+    public Result aggregate() {
+        int n = studentCount;
+        double[] points = new double[subjectCount * n];
+        double[] weights = new double[subjectCount * n];
+        double[] counted = new double[subjectCount * n];
+
+        // 1. One pass over the marks matrix, column by column
+        for (int e = 0; e < examCount; e++) {
+            int in = e * n;
+            int out = examSubject[e] * n;
+            double scale = examScale[e];
+            double weight = examWeight[e];
+            for (int s = 0; s < n; s++) {
+                points[out + s] += marks[in + s] * scale;
+                weights[out + s] += taken[in + s] * weight;
+                counted[out + s] += taken[in + s];
+            }
+        }
+
+        Result result = new Result(studentIds, subjectIds, n);
+        double[] sorted = new double[n];
+
+        // 2. Per subject: scores, moments, then order statistics from one sort
+        for (int k = 0; k < subjectCount; k++) {
+            int base = k * n;
+            int count = 0;
+            double sum = 0;
+            double sumSquares = 0;
+
+            for (int s = 0; s < n; s++) {
+                double w = weights[base + s];
+                if (w > 0) {
+                    double score = points[base + s] / w;
+                    result.scores[base + s] = score;
+                    result.examsCounted[base + s] = (int) counted[base + s];
+                    sorted[count++] = score;
+                    sum += score;
+                    sumSquares += score * score;
+                } else {
+                    result.scores[base + s] = Double.NaN;
+                }
+            }
+
+            result.counts[k] = count;
+            if (count == 0) {
+                result.mean[k] = Double.NaN;
+                result.stdDev[k] = Double.NaN;
+                result.p25[k] = Double.NaN;
+                result.median[k] = Double.NaN;
+                result.p75[k] = Double.NaN;
+                continue;
+            }
+
+            double mean = sum / count;
+            result.mean[k] = mean;
+            result.stdDev[k] = Math.sqrt(Math.max(0, sumSquares / count - mean * mean));
+
+            Arrays.sort(sorted, 0, count);
+            result.p25[k] = quantile(sorted, count, 0.25);
+            result.median[k] = quantile(sorted, count, 0.50);
+            result.p75[k] = quantile(sorted, count, 0.75);
+
+            for (int s = 0; s < n; s++) {
+                double score = result.scores[base + s];
+                if (Double.isNaN(score)) {
+                    continue;
+                }
+                int below = lowerBound(sorted, count, score);
+                int notAbove = upperBound(sorted, count, score);
+                // Mid-rank percentile: classmates below plus half of the ties
+                result.percentiles[base + s] = (below + 0.5 * (notAbove - below)) * 100.0 / count;
+                result.ranks[base + s] = count - notAbove + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Linear interpolation between closest ranks (same as percentile_cont)
+     */
+    private static double quantile(double[] sorted, int count, double q) {
+        double position = q * (count - 1);
+        int lower = (int) position;
+        int upper = Math.min(lower + 1, count - 1);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+    }
+
+    private static int lowerBound(double[] sorted, int count, double value) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int upperBound(double[] sorted, int count, double value) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Aggregated scores, subject-major (value[subject * students + student]).
+     * Students without any grade in a subject have a NaN score.
+     */
+    public static final class Result {
+        private final long[] studentIds;
+        private final long[] subjectIds;
+        private final int studentCount;
+
+        private final double[] scores;
+        private final double[] percentiles;
+        private final int[] ranks;
+        private final int[] examsCounted;
+
+        private final int[] counts;
+        private final double[] mean;
+        private final double[] stdDev;
+        private final double[] p25;
+        private final double[] median;
+        private final double[] p75;
+
+        private Result(long[] studentIds, long[] subjectIds, int studentCount) {
+            this.studentIds = studentIds;
+            this.subjectIds = subjectIds;
+            this.studentCount = studentCount;
+            int cells = subjectIds.length * studentCount;
+            this.scores = new double[cells];
+            this.percentiles = new double[cells];
+            this.ranks = new int[cells];
+            this.examsCounted = new int[cells];
+            this.counts = new int[subjectIds.length];
+            this.mean = new double[subjectIds.length];
+            this.stdDev = new double[subjectIds.length];
+            this.p25 = new double[subjectIds.length];
+            this.median = new double[subjectIds.length];
+            this.p75 = new double[subjectIds.length];
+        }
+
+        public int getStudentCount() {
+            return studentCount;
+        }
+
+        public int getSubjectCount() {
+            return subjectIds.length;
+        }
+
+        public long getStudentId(int studentIdx) {
+            return studentIds[studentIdx];
+        }
+
+        public long getSubjectId(int subjectIdx) {
+            return subjectIds[subjectIdx];
+        }
+
+        public double getScore(int subjectIdx, int studentIdx) {
+            return scores[subjectIdx * studentCount + studentIdx];
+        }
+
+        public double getPercentile(int subjectIdx, int studentIdx) {
+            return percentiles[subjectIdx * studentCount + studentIdx];
+        }
+
+        public int getRank(int subjectIdx, int studentIdx) {
+            return ranks[subjectIdx * studentCount + studentIdx];
+        }
+
+        public int getExamsCounted(int subjectIdx, int studentIdx) {
+            return examsCounted[subjectIdx * studentCount + studentIdx];
+        }
+
+        /**
+         * Students with at least one grade in the subject
+         */
+        public int getCount(int subjectIdx) {
+            return counts[subjectIdx];
+        }
+
+        public double getMean(int subjectIdx) {
+            return mean[subjectIdx];
+        }
+
+        public double getStdDev(int subjectIdx) {
+            return stdDev[subjectIdx];
+        }
+
+        public double getP25(int subjectIdx) {
+            return p25[subjectIdx];
+        }
+
+        public double getMedian(int subjectIdx) {
+            return median[subjectIdx];
+        }
+
+        public double getP75(int subjectIdx) {
+            return p75[subjectIdx];
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.dto.EventDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * ICalendarWriter - Renders events as an RFC 5545 VCALENDAR
+ *
+ * event_date has no time zone, so DTSTART is written as floating local
+ * time (shown at the same wall-clock time wherever the calendar is).
+ * DTSTAMP comes from updated_at, not "now", so an unchanged event list
+ * always renders to the same bytes - that is what makes the ETag stable.
+ */
+public final class ICalendarWriter {
+
+    private static final DateTimeFormatter LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private ICalendarWriter() {
+    }
+
+    public static byte[] render(String calendarName, String uidDomain, List<EventDto> events) {
+        StringBuilder out = new StringBuilder(256 + events.size() * 256);
+        line(out, "BEGIN:VCALENDAR");
+        line(out, "VERSION:2.0");
+        line(out, "PRODID:-//School Management System//Events//EN");
+        line(out, "CALSCALE:GREGORIAN");
+        line(out, "METHOD:PUBLISH");
+        line(out, "X-WR-CALNAME:" + escape(calendarName));
+
+        for (EventDto event : events) {
+            line(out, "BEGIN:VEVENT");
+            line(out, "UID:event-" + event.getId() + "@" + uidDomain);
+            line(out, "DTSTAMP:" + utc(event.getUpdatedAt() != null ? event.getUpdatedAt() : event.getEventDate()));
+            line(out, "DTSTART:" + LOCAL.format(event.getEventDate()));
+            line(out, "DURATION:PT1H");
+            line(out, "SUMMARY:" + escape(event.getEventName()));
+            if (event.getEventDescription() != null) {
+                line(out, "DESCRIPTION:" + escape(event.getEventDescription()));
+            }
+            if (event.getLocation() != null) {
+                line(out, "LOCATION:" + escape(event.getLocation()));
+            }
+            if (event.isMandatory()) {
+                line(out, "PRIORITY:1");
+            }
+            line(out, "END:VEVENT");
+        }
+
+        line(out, "END:VCALENDAR");
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String utc(LocalDateTime time) {
+        return UTC.format(time.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC));
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                   .replace(";", "\\;")
+                   .replace(",", "\\,")
+                   .replace("\r\n", "\\n")
+                   .replace("\n", "\\n")
+                   .replace("\r", "\\n");
+    }
+
+    /**
+     * Append a content line, folded at 75 octets (continuation lines start
+     * with a space) without splitting a UTF-8 sequence
+     */
+    private static void line(StringBuilder out, String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int width = utf8Length(codePoint);
+            if (octets + width > MAX_LINE_OCTETS) {
+                out.append("\r\n ");
+                octets = 1;
+            }
+            out.appendCodePoint(codePoint);
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.append("\r\n");
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
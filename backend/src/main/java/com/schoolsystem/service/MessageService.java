@@ -0,0 +1,187 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.dto.MessageDto;
+import com.schoolsystem.dto.MessagePage;
+import com.schoolsystem.dto.SendMessageRequest;
+import com.schoolsystem.entity.Message;
+import com.schoolsystem.entity.User;
+import com.schoolsystem.exception.BadRequestException;
+import com.schoolsystem.exception.ResourceNotFoundException;
+import com.schoolsystem.repository.MessageRepository;
+import com.schoolsystem.repository.MessageUnreadCounterRepository;
+import com.schoolsystem.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MessageService - Parent-teacher messaging
+ * 
+ * Handles:
+ * - Sending messages and replies (threads via parent_message_id)
+ * - Keyset-paginated inbox (no OFFSET, no COUNT(*))
+ * - Whole-thread loading with one recursive query
+ * - Unread badge counts kept in message_unread_counters
+ */
+@Service
+public class MessageService {
+    
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    
+    /** Guards against a corrupted parent chain looping forever */
+    private static final int MAX_THREAD_DEPTH = 200;
+    
+    /**
+     * Walk up from the given message to the thread root, then down
+     * through every reply - one round trip for the whole conversation
+     */
+    private static final String THREAD_SQL =
+        "WITH RECURSIVE ancestors AS ( " +
+        "    SELECT id, parent_message_id, 0 AS depth FROM messages WHERE id = ? " +
+        "    UNION ALL " +
+        "    SELECT m.id, m.parent_message_id, a.depth + 1 " +
+        "    FROM messages m JOIN ancestors a ON m.id = a.parent_message_id " +
+        "    WHERE a.depth < " + MAX_THREAD_DEPTH +
+        "), thread AS ( " +
+        "    SELECT m.*, 0 AS depth FROM messages m " +
+        "    WHERE m.id = (SELECT id FROM ancestors ORDER BY depth DESC LIMIT 1) " +
+        "    UNION ALL " +
+        "    SELECT m.*, t.depth + 1 FROM messages m JOIN thread t ON m.parent_message_id = t.id " +
+        "    WHERE t.depth < " + MAX_THREAD_DEPTH +
+        ") " +
+        "SELECT t.id, t.sender_id, u.username AS sender_username, t.recipient_id, t.subject, t.body, " +
+        "       t.is_read, t.parent_message_id, t.created_at " +
+        "FROM thread t LEFT JOIN users u ON u.id = t.sender_id " +
+        "WHERE t.sender_id = ? OR t.recipient_id = ? " +
+        "ORDER BY t.created_at, t.id";
+    
+    private static final RowMapper<MessageDto> MESSAGE_ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new MessageDto(
+            rs.getLong("id"),
+            rs.getObject("sender_id", Long.class),
+            rs.getString("sender_username"),
+            rs.getObject("recipient_id", Long.class),
+            rs.getString("subject"),
+            rs.getString("body"),
+            rs.getBoolean("is_read"),
+            rs.getObject("parent_message_id", Long.class),
+            createdAt != null ? createdAt.toLocalDateTime() : null
+        );
+    };
+    
+    @Autowired
+    private MessageRepository messageRepository;
+    
+    @Autowired
+    private MessageUnreadCounterRepository unreadCounterRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Send a new message or a reply
+     * 
+     * The recipient's unread counter is bumped in the same transaction
+     */
+    @Transactional
+    public MessageDto send(Long senderId, SendMessageRequest request) {
+        if (!userRepository.existsById(request.getRecipientId())) {
+            throw new ResourceNotFoundException("Recipient not found");
+        }
+        
+        if (request.getParentMessageId() != null
+                && !messageRepository.isParticipant(request.getParentMessageId(), senderId)) {
+            throw new BadRequestException("Cannot reply to a message you are not part of");
+        }
+        
+        // References only - no need to load either user
+        User sender = userRepository.getReferenceById(senderId);
+        User recipient = userRepository.getReferenceById(request.getRecipientId());
+        
+        Message message = messageRepository.save(new Message(
+            sender, recipient, request.getSubject(), request.getBody(), request.getParentMessageId()
+        ));
+        unreadCounterRepository.increment(request.getRecipientId());
+        
+        return new MessageDto(
+            message.getId(), senderId, null, request.getRecipientId(),
+            message.getSubject(), message.getBody(), false,
+            message.getParentMessageId(), message.getCreatedAt()
+        );
+    }
+    
+    /**
+     * One inbox page, newest first
+     * 
+     * Pass the previous page's cursor (createdAt + id) to continue;
+     * pass nulls for the first page
+     */
+    @Transactional(readOnly = true)
+    public MessagePage getInbox(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        
+        // Fetch one extra row to know whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<MessageDto> rows = (beforeCreatedAt == null || beforeId == null)
+                ? messageRepository.findInbox(userId, limit)
+                : messageRepository.findInboxBefore(userId, beforeCreatedAt, beforeId, limit);
+        
+        if (rows.size() <= pageSize) {
+            return new MessagePage(rows, null, null);
+        }
+        
+        List<MessageDto> page = rows.subList(0, pageSize);
+        MessageDto last = page.get(pageSize - 1);
+        return new MessagePage(page, last.getCreatedAt(), last.getId());
+    }
+    
+    /**
+     * Whole conversation containing the given message, oldest first
+     * 
+     * Only messages the user sent or received are returned
+     */
+    @Transactional(readOnly = true)
+    public List<MessageDto> getThread(Long userId, Long messageId) {
+        if (!messageRepository.isParticipant(messageId, userId)) {
+            throw new ResourceNotFoundException("Message not found");
+        }
+        return jdbcTemplate.query(THREAD_SQL, MESSAGE_ROW_MAPPER, messageId, userId, userId);
+    }
+    
+    /**
+     * Unread badge - primary key lookup on the counter table
+     */
+    @Transactional(readOnly = true)
+    public int getUnreadCount(Long userId) {
+        return unreadCounterRepository.findById(userId)
+                .map(counter -> counter.getUnreadCount())
+                .orElse(0);
+    }
+    
+    @Transactional
+    public void markRead(Long userId, Long messageId) {
+        if (messageRepository.markRead(messageId, userId) == 1) {
+            unreadCounterRepository.decrement(userId);
+        }
+    }
+    
+    /**
+     * Mark everything read with one set-based statement
+     */
+    @Transactional
+    public void markAllRead(Long userId) {
+        messageRepository.markAllRead(userId);
+    }
+}
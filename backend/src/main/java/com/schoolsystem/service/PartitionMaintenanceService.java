@@ -0,0 +1,362 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.enums.PartitionRetentionPolicy;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * PartitionMaintenanceService - Monthly range partitions for append-heavy tables
+ *
+ * audit_log, sms_log and notifications only ever grow. As plain tables every
+ * query and every VACUUM has to walk the whole history. This service:
+ * 1. Converts each table (once) into a table PARTITION BY RANGE on its timestamp
+ * 2. Keeps a DEFAULT partition, so INSERTs still succeed when pre-creation
+ *    has been failing for longer than partition.premake-months
+ * 3. Pre-creates the next partition.premake-months monthly partitions, moving
+ *    any rows of that month out of the DEFAULT partition first
+ * 4. Applies the per-table retention policy (KEEP / DROP / ARCHIVE)
+ *
+ * Partitions are named <table>_pYYYYMM, the DEFAULT partition <table>_default.
+ * Archives are gzipped CSV files under partition.archive.dir/<table>/.
+ *
+ * Each table is handled in its own transaction guarded by an advisory lock,
+ * so several application instances can run the job safely.
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String PARTITION_MARKER = "_p";
+
+    private static final String DEFAULT_SUFFIX = "_default";
+
+    /**
+     * Managed table -> partition key column
+     */
+    private static final Map<String, String> MANAGED_TABLES = new LinkedHashMap<>();
+
+    static {
+        MANAGED_TABLES.put("audit_log", "created_at");
+        MANAGED_TABLES.put("sms_log", "sent_at");
+        MANAGED_TABLES.put("notifications", "created_at");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${partition.enabled:true}")
+    private boolean enabled;
+
+    @Value("${partition.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${partition.archive.dir:./archive}")
+    private String archiveDir;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            runMaintenance();
+        }
+    }
+
+    @Scheduled(cron = "${partition.maintenance.cron:0 30 2 * * *}")
+    public void scheduledMaintenance() {
+        if (enabled) {
+            runMaintenance();
+        }
+    }
+
+    /**
+     * Convert / pre-create / retire partitions for every managed table
+     *
+     * A failure on one table is logged and does not stop the others
+     */
+    public void runMaintenance() {
+        for (Map.Entry<String, String> table : MANAGED_TABLES.entrySet()) {
+            try {
+                maintainTable(table.getKey(), table.getValue());
+            } catch (RuntimeException e) {
+                log.error("Partition maintenance failed for {}", table.getKey(), e);
+            }
+        }
+    }
+
+    private void maintainTable(String table, String column) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table) != Boolean.TRUE) {
+                log.warn("Table {} does not exist, skipping partition maintenance", table);
+                return;
+            }
+
+            Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, "partition:" + table);
+            if (locked != Boolean.TRUE) {
+                log.info("Partition maintenance for {} is running elsewhere, skipping", table);
+                return;
+            }
+
+            if (!isPartitioned(table)) {
+                convertToPartitioned(table, column);
+            }
+            createDefaultPartition(table);
+
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= premakeMonths; i++) {
+                createPartition(table, column, current.plusMonths(i));
+            }
+
+            applyRetention(table);
+        });
+    }
+
+    private boolean isPartitioned(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+            Boolean.class, table));
+    }
+
+    /**
+     * One-off conversion of a plain table into a partitioned one
+     *
+     * Runs inside the caller's transaction, so either everything is swapped
+     * or nothing is. The primary key becomes (id, key column) because
+     * PostgreSQL requires the partition key in every unique constraint.
+     */
+    private void convertToPartitioned(String table, String column) {
+        String legacy = table + "_legacy";
+        log.info("Converting {} to monthly range partitions on {}", table, column);
+
+        // Capture everything we need to rebuild before the table is renamed
+        String primaryKey = jdbcTemplate.queryForObject(
+            "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'p'",
+            String.class, table);
+        List<String> indexDefinitions = jdbcTemplate.queryForList(
+            "SELECT pg_get_indexdef(i.indexrelid) FROM pg_index i " +
+            "WHERE i.indrelid = to_regclass(?) AND NOT i.indisprimary AND NOT i.indisunique",
+            String.class, table);
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+            "SELECT quote_ident(conname) || ' ' || pg_get_constraintdef(oid) FROM pg_constraint " +
+            "WHERE conrelid = to_regclass(?) AND contype = 'f'",
+            String.class, table);
+        List<String> columns = jdbcTemplate.queryForList(
+            "SELECT quote_ident(column_name) FROM information_schema.columns " +
+            "WHERE table_schema = current_schema() AND table_name = ? ORDER BY ordinal_position",
+            String.class, table);
+        String sequence = jdbcTemplate.queryForObject(
+            "SELECT pg_get_serial_sequence(?, 'id')", String.class, table);
+        // LIKE does not copy row-level security (per-school scoping, V15)
+        Boolean rowSecurity = jdbcTemplate.queryForObject(
+            "SELECT relrowsecurity FROM pg_class WHERE oid = to_regclass(?)", Boolean.class, table);
+
+        jdbcTemplate.execute("LOCK TABLE " + table + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("ALTER TABLE " + table + " RENAME TO " + legacy);
+        if (primaryKey != null) {
+            jdbcTemplate.execute("ALTER TABLE " + legacy + " RENAME CONSTRAINT " + primaryKey + " TO " + legacy + "_pkey");
+        }
+
+        jdbcTemplate.execute("CREATE TABLE " + table + " (LIKE " + legacy + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) " +
+                             "PARTITION BY RANGE (" + column + ")");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + table + "_pkey PRIMARY KEY (id, " + column + ")");
+
+        // Partitions for every month that already has data
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(" + column + ") FROM " + legacy, Timestamp.class);
+        YearMonth current = YearMonth.now();
+        YearMonth month = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : current;
+        for (; !month.isAfter(current); month = month.plusMonths(1)) {
+            createPartition(table, column, month);
+        }
+
+        // Rows without a timestamp get "now" - the key column is NOT NULL from here on
+        String columnList = String.join(", ", columns);
+        String selectList = columns.stream()
+                .map(c -> c.equals(column) ? "COALESCE(" + c + ", CURRENT_TIMESTAMP)" : c)
+                .collect(Collectors.joining(", "));
+        int copied = jdbcTemplate.update("INSERT INTO " + table + " (" + columnList + ") SELECT " + selectList + " FROM " + legacy);
+
+        if (sequence != null) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " OWNED BY " + table + ".id");
+        }
+        jdbcTemplate.execute("DROP TABLE " + legacy);
+
+        // Indexes created on the parent cascade to every partition
+        for (String definition : indexDefinitions) {
+            jdbcTemplate.execute(definition);
+        }
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + foreignKey);
+        }
+        if (Boolean.TRUE.equals(rowSecurity)) {
+            jdbcTemplate.execute("SELECT enable_school_scoping('" + table + "')");
+        }
+
+        log.info("Converted {} ({} rows moved)", table, copied);
+    }
+
+    private void createDefaultPartition(String table) {
+        jdbcTemplate.execute(
+            "CREATE TABLE IF NOT EXISTS " + table + DEFAULT_SUFFIX + " PARTITION OF " + table + " DEFAULT");
+    }
+
+    /**
+     * Create the partition for one month
+     *
+     * PostgreSQL refuses a new range while the DEFAULT partition still holds
+     * rows of it, so those rows (written while pre-creation was failing) are
+     * moved into a fresh table first, which is then attached as the month.
+     */
+    private void createPartition(String table, String column, YearMonth month) {
+        String partition = partitionName(table, month);
+        String bounds = "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition) == Boolean.TRUE) {
+            return;
+        }
+
+        String defaultPartition = table + DEFAULT_SUFFIX;
+        String inMonth = column + " >= '" + month.atDay(1) + "' AND " + column + " < '" + month.plusMonths(1).atDay(1) + "'";
+        boolean strayRows = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, defaultPartition) == Boolean.TRUE
+                && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + defaultPartition + " WHERE " + inMonth + ")", Boolean.class));
+        if (!strayRows) {
+            jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + table + " " + bounds);
+            return;
+        }
+
+        // Block new rows for the month until the partition is attached
+        jdbcTemplate.execute("LOCK TABLE " + defaultPartition + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + table + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update(
+            "WITH moved AS (DELETE FROM " + defaultPartition + " WHERE " + inMonth + " RETURNING *) " +
+            "INSERT INTO " + partition + " SELECT * FROM moved");
+        // Indexes and foreign keys of the parent are added to the partition on attach
+        jdbcTemplate.execute("ALTER TABLE " + table + " ATTACH PARTITION " + partition + " " + bounds);
+        log.warn("Moved {} rows of {} out of {} into {}", moved, month, defaultPartition, partition);
+    }
+
+    /**
+     * Drop or archive every partition older than the table's retention
+     *
+     * partition.<table>.retention-months = 0 (or policy KEEP) keeps everything
+     */
+    private void applyRetention(String table) {
+        PartitionRetentionPolicy policy = environment.getProperty(
+            "partition." + table + ".retention-policy", PartitionRetentionPolicy.class, PartitionRetentionPolicy.KEEP);
+        int retentionMonths = environment.getProperty(
+            "partition." + table + ".retention-months", Integer.class, 0);
+
+        if (policy == PartitionRetentionPolicy.KEEP || retentionMonths <= 0) {
+            return;
+        }
+
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        List<String> partitions = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+            String.class, table);
+
+        for (String partition : partitions) {
+            YearMonth month = partitionMonth(table, partition);
+            if (month == null || !month.isBefore(cutoff)) {
+                continue;
+            }
+
+            if (policy == PartitionRetentionPolicy.ARCHIVE) {
+                archivePartition(table, partition);
+            }
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            log.info("Retired partition {} ({})", partition, policy);
+        }
+    }
+
+    /**
+     * Stream a partition to <archive dir>/<table>/<partition>.csv.gz with COPY
+     *
+     * Written to a temp file first and moved into place, so a crash never
+     * leaves a half-written archive next to a dropped partition.
+     */
+    private void archivePartition(String table, String partition) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            Path directory = Paths.get(archiveDir, table);
+            Files.createDirectories(directory);
+            Path target = directory.resolve(partition + ".csv.gz");
+            Path temp = directory.resolve(partition + ".csv.gz.tmp");
+
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                copyManager.copyOut("COPY " + partition + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+            }
+
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Archived partition {} to {}", partition, target);
+        } catch (IOException | SQLException e) {
+            throw new IllegalStateException("Could not archive partition " + partition, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private String partitionName(String table, YearMonth month) {
+        return table + PARTITION_MARKER + month.format(SUFFIX_FORMAT);
+    }
+
+    private YearMonth partitionMonth(String table, String partition) {
+        String prefix = table + PARTITION_MARKER;
+        if (!partition.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(prefix.length()), SUFFIX_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.dto.PersonSearchResultDto;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.listener.PeopleSearchListener;
+import com.schoolsystem.security.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * PeopleSearchService - Finding users by name, username, email or admission number
+ *
+ * Two lookups:
+ * 1. search() - fuzzy, for the search page: pg_trgm similarity and
+ *    substring matches plus a prefix full-text match on names, served by
+ *    the V19-V22 GIN indexes and ranked by trigram similarity
+ * 2. typeahead() - prefix only, for pickers: answered from the school's
+ *    in-memory PeopleTypeaheadIndex without a query
+ *
+ * Both only return active users whose role the caller may see (students
+ * and parents only find staff, teachers everyone but administrators).
+ *
+ * Typeahead indexes are kept current incrementally:
+ * - committed JPA edits of users and profiles (PeopleSearchListener) mark
+ *   the school dirty; the next typeahead call merges the changed rows
+ * - every search.typeahead.refresh-ms the same merge picks up plain-SQL
+ *   edits (the bulk importer, other instances) via updated_at
+ * - every search.typeahead.full-refresh-minutes the index is rebuilt, which
+ *   drops hard-deleted users
+ */
+@Service
+public class PeopleSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(PeopleSearchService.class);
+
+    private static final int MAX_LIMIT = 50;
+
+    private static final String PEOPLE_SQL =
+        "SELECT u.id, CAST(u.role AS text) AS role, COALESCE(u.is_active, TRUE) AS active, " +
+        "p.first_name, p.last_name, u.username, u.email, s.admission_number " +
+        "FROM users u " +
+        "LEFT JOIN user_profiles p ON p.user_id = u.id " +
+        "LEFT JOIN students s ON s.user_id = u.id " +
+        "WHERE u.school_id = ? ";
+
+    private static final String ALL_PEOPLE_SQL = PEOPLE_SQL + "AND COALESCE(u.is_active, TRUE)";
+
+    /** Rows are re-read when the user, the profile or the student record changed */
+    private static final String CHANGED_PEOPLE_SQL = PEOPLE_SQL +
+        "AND u.id IN (SELECT id FROM users WHERE updated_at > ? " +
+        "UNION SELECT user_id FROM user_profiles WHERE updated_at > ? " +
+        "UNION SELECT user_id FROM students WHERE updated_at > ?)";
+
+    /**
+     * Candidates come from one indexed predicate per table; only they are
+     * joined and scored. Parameters: name x3, tsquery x2, username x2,
+     * email, admission number x2, then the four similarity terms, school,
+     * roles, limit.
+     */
+    private static final String FUZZY_SEARCH_SQL =
+        "WITH candidates AS (" +
+        " SELECT user_id FROM user_profiles" +
+        " WHERE (first_name || ' ' || last_name) % ?" +
+        " OR (first_name || ' ' || last_name) ILIKE ?" +
+        " OR (? <> '' AND to_tsvector('simple', first_name || ' ' || last_name) @@ to_tsquery('simple', ?))" +
+        " UNION SELECT id FROM users WHERE username % ? OR username ILIKE ? OR email ILIKE ?" +
+        " UNION SELECT user_id FROM students WHERE admission_number % ? OR admission_number ILIKE ?" +
+        ") " +
+        "SELECT u.id, CAST(u.role AS text) AS role, p.first_name, p.last_name, u.username, u.email, " +
+        "s.admission_number, GREATEST(" +
+        " similarity(COALESCE(p.first_name || ' ' || p.last_name, ''), ?)," +
+        " similarity(u.username, ?), similarity(u.email, ?)," +
+        " similarity(COALESCE(s.admission_number, ''), ?)) AS score " +
+        "FROM candidates c " +
+        "JOIN users u ON u.id = c.user_id " +
+        "LEFT JOIN user_profiles p ON p.user_id = u.id " +
+        "LEFT JOIN students s ON s.user_id = u.id " +
+        "WHERE u.school_id = ? AND COALESCE(u.is_active, TRUE) AND CAST(u.role AS text) = ANY(?) " +
+        "ORDER BY score DESC, u.id " +
+        "LIMIT ?";
+
+    private static final Set<UserRole> STAFF = EnumSet.of(UserRole.PRINCIPAL, UserRole.VICE_PRINCIPAL,
+            UserRole.CLASS_TEACHER, UserRole.SUBJECT_TEACHER);
+
+    private static final Map<UserRole, Set<UserRole>> VISIBLE_ROLES = new EnumMap<>(UserRole.class);
+
+    static {
+        VISIBLE_ROLES.put(UserRole.ADMIN, EnumSet.allOf(UserRole.class));
+        VISIBLE_ROLES.put(UserRole.PRINCIPAL, EnumSet.allOf(UserRole.class));
+        VISIBLE_ROLES.put(UserRole.VICE_PRINCIPAL, EnumSet.allOf(UserRole.class));
+        VISIBLE_ROLES.put(UserRole.CLASS_TEACHER, EnumSet.complementOf(EnumSet.of(UserRole.ADMIN)));
+        VISIBLE_ROLES.put(UserRole.SUBJECT_TEACHER, EnumSet.complementOf(EnumSet.of(UserRole.ADMIN)));
+        VISIBLE_ROLES.put(UserRole.STUDENT, STAFF);
+        VISIBLE_ROLES.put(UserRole.PARENT, STAFF);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /** Changes this close before the last poll are read again (transactions commit late) */
+    @Value("${search.typeahead.overlap-seconds:60}")
+    private long overlapSeconds;
+
+    @Value("${search.typeahead.full-refresh-minutes:30}")
+    private long fullRefreshMinutes;
+
+    private final Map<Long, SchoolPeople> schools = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerListener() {
+        PeopleSearchListener listener = new PeopleSearchListener(this);
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    /**
+     * Fuzzy search ranked by similarity; queries shorter than two
+     * characters return nothing
+     */
+    public List<PersonSearchResultDto> search(String query, UserRole callerRole, int limit) {
+        String text = PeopleTypeaheadIndex.normalize(query);
+        if (text.length() < 2) {
+            return Collections.emptyList();
+        }
+        String contains = "%" + escapeLike(text) + "%";
+        String prefixQuery = prefixTsQuery(text);
+        String[] roles = visibleRoles(callerRole).stream().map(Enum::name).toArray(String[]::new);
+        return jdbcTemplate.query(FUZZY_SEARCH_SQL, (rs, rowNum) -> new PersonSearchResultDto(
+                        rs.getLong("id"),
+                        UserRole.valueOf(rs.getString("role")),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getString("username"),
+                        rs.getString("email"),
+                        rs.getString("admission_number"),
+                        rs.getDouble("score")),
+                text, contains, prefixQuery, prefixQuery,
+                text, contains, contains,
+                text, contains,
+                text, text, text, text,
+                TenantContext.currentOrDefault(), roles, clamp(limit));
+    }
+
+    /**
+     * Users with a name, username, email or admission number starting with
+     * the prefix, from the in-memory index
+     */
+    public List<PersonSearchResultDto> typeahead(String prefix, UserRole callerRole, int limit) {
+        return index().search(prefix, visibleRoles(callerRole), clamp(limit));
+    }
+
+    /**
+     * The current school's typeahead index, built on first use and brought
+     * up to date first if the school was marked dirty
+     */
+    public PeopleTypeaheadIndex index() {
+        long schoolId = TenantContext.currentOrDefault();
+        SchoolPeople people = schools.computeIfAbsent(schoolId, id -> new SchoolPeople());
+        PeopleTypeaheadIndex index = people.index;
+        if (index != null && !people.dirty) {
+            return index;
+        }
+        refresh(schoolId, people, false, true);
+        return people.index;
+    }
+
+    /**
+     * Mark one school's typeahead index dirty, or every school's when
+     * schoolId is null
+     */
+    public void invalidate(Long schoolId) {
+        if (schoolId == null) {
+            schools.values().forEach(people -> people.dirty = true);
+            return;
+        }
+        SchoolPeople people = schools.get(schoolId);
+        if (people != null) {
+            people.dirty = true;
+        }
+    }
+
+    /**
+     * Merge recent changes into every loaded school's index, rebuilding the
+     * ones due for a full refresh
+     */
+    @Scheduled(fixedDelayString = "${search.typeahead.refresh-ms:30000}",
+               initialDelayString = "${search.typeahead.refresh-ms:30000}")
+    public void refreshLoadedSchools() {
+        for (Map.Entry<Long, SchoolPeople> entry : schools.entrySet()) {
+            SchoolPeople people = entry.getValue();
+            boolean full = people.index != null && System.nanoTime() - people.builtAtNanos
+                    > TimeUnit.MINUTES.toNanos(fullRefreshMinutes);
+            try {
+                refresh(entry.getKey(), people, full, false);
+            } catch (RuntimeException e) {
+                log.warn("Typeahead refresh failed for school {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private void refresh(long schoolId, SchoolPeople people, boolean full, boolean onlyIfDirty) {
+        synchronized (people) {
+            if (onlyIfDirty && people.index != null && !people.dirty) {
+                // Another request merged the changes while this one waited
+                return;
+            }
+            // Cleared before reading, so an edit committed meanwhile marks it again
+            people.dirty = false;
+            Timestamp pollStart = jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class);
+            try {
+                if (people.index == null || full) {
+                    people.index = load(schoolId);
+                    people.builtAtNanos = System.nanoTime();
+                } else {
+                    people.index = merge(schoolId, people.index, people.polledAt);
+                }
+                people.polledAt = pollStart;
+            } catch (RuntimeException e) {
+                people.dirty = true;
+                if (people.index == null) {
+                    throw e;
+                }
+                log.warn("Typeahead update failed for school {}, serving the previous index: {}",
+                        schoolId, e.getMessage());
+            }
+        }
+    }
+
+    private PeopleTypeaheadIndex load(long schoolId) {
+        long start = System.nanoTime();
+        List<PersonSearchResultDto> people = new ArrayList<>();
+        jdbcTemplate.query(ALL_PEOPLE_SQL, (ResultSet rs) -> {
+            people.add(person(rs));
+        }, schoolId);
+        PeopleTypeaheadIndex index = PeopleTypeaheadIndex.of(people);
+        log.debug("Typeahead for school {} indexed: {} people in {} ms",
+                schoolId, index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    private PeopleTypeaheadIndex merge(long schoolId, PeopleTypeaheadIndex index, Timestamp since) {
+        Timestamp from = new Timestamp(since.getTime() - TimeUnit.SECONDS.toMillis(overlapSeconds));
+        List<PersonSearchResultDto> upserts = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        jdbcTemplate.query(CHANGED_PEOPLE_SQL, (ResultSet rs) -> {
+            PersonSearchResultDto person = person(rs);
+            if (!rs.getBoolean("active")) {
+                removed.add(person.getUserId());
+            } else if (!samePerson(person, index.get(person.getUserId()))) {
+                upserts.add(person);
+            }
+        }, schoolId, from, from, from);
+        if (upserts.isEmpty() && removed.stream().noneMatch(id -> index.get(id) != null)) {
+            return index;
+        }
+        log.debug("Typeahead for school {}: {} changed, {} deactivated", schoolId, upserts.size(), removed.size());
+        return index.withChanges(upserts, removed);
+    }
+
+    private static PersonSearchResultDto person(ResultSet rs) throws SQLException {
+        return new PersonSearchResultDto(
+                rs.getLong("id"),
+                UserRole.valueOf(rs.getString("role")),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("username"),
+                rs.getString("email"),
+                rs.getString("admission_number"),
+                null);
+    }
+
+    private static boolean samePerson(PersonSearchResultDto a, PersonSearchResultDto b) {
+        return b != null && a.getRole() == b.getRole()
+                && Objects.equals(a.getFirstName(), b.getFirstName())
+                && Objects.equals(a.getLastName(), b.getLastName())
+                && Objects.equals(a.getUsername(), b.getUsername())
+                && Objects.equals(a.getEmail(), b.getEmail())
+                && Objects.equals(a.getAdmissionNumber(), b.getAdmissionNumber());
+    }
+
+    private static Set<UserRole> visibleRoles(UserRole callerRole) {
+        return VISIBLE_ROLES.getOrDefault(callerRole, Collections.emptySet());
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /** "ann lee" -> "ann:* & lee:*"; punctuation is dropped so to_tsquery cannot fail */
+    private static String prefixTsQuery(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * One school's slot: the published index, when it was last fully built
+     * and polled, and whether a committed edit is waiting to be merged
+     */
+    private static final class SchoolPeople {
+        private volatile PeopleTypeaheadIndex index;
+        private volatile boolean dirty;
+        private long builtAtNanos;
+        private Timestamp polledAt;
+    }
+}
@@ -0,0 +1,174 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.dto.PersonSearchResultDto;
+import com.schoolsystem.entity.UserRole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PeopleTypeaheadIndex - Immutable sorted-array prefix index of one school's people
+ *
+ * Every person is filed under a few lower-cased keys ("first last",
+ * "last first", username, email, admission number). The keys sit in one
+ * sorted array, so a prefix lookup is a binary search for the first key
+ * >= prefix followed by a short scan while keys still start with it.
+ *
+ * Changes never modify an index: withChanges() merges the changed people
+ * into a new one in O(n + k log k), and PeopleSearchService swaps it in.
+ */
+public final class PeopleTypeaheadIndex {
+
+    /** Bounds a lookup whose prefix matches mostly people the caller may not see */
+    private static final int MAX_SCANNED_KEYS = 2000;
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparing((Entry entry) -> entry.key)
+            .thenComparing(entry -> entry.person.getUserId());
+
+    private final String[] keys;
+    private final PersonSearchResultDto[] owners;
+    private final Map<Long, PersonSearchResultDto> people;
+
+    private PeopleTypeaheadIndex(List<Entry> entries, Map<Long, PersonSearchResultDto> people) {
+        this.keys = new String[entries.size()];
+        this.owners = new PersonSearchResultDto[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).key;
+            owners[i] = entries.get(i).person;
+        }
+        this.people = people;
+    }
+
+    public static PeopleTypeaheadIndex of(Collection<PersonSearchResultDto> people) {
+        Map<Long, PersonSearchResultDto> byId = new HashMap<>(people.size() * 2);
+        List<Entry> entries = new ArrayList<>(people.size() * 5);
+        for (PersonSearchResultDto person : people) {
+            byId.put(person.getUserId(), person);
+            addEntries(entries, person);
+        }
+        entries.sort(ENTRY_ORDER);
+        return new PeopleTypeaheadIndex(entries, byId);
+    }
+
+    /**
+     * A new index with the given people added or replaced and the removed
+     * ones dropped; this one is left as it is
+     */
+    public PeopleTypeaheadIndex withChanges(Collection<PersonSearchResultDto> upserts, Collection<Long> removedUserIds) {
+        Set<Long> changed = new HashSet<>(removedUserIds);
+        List<Entry> added = new ArrayList<>(upserts.size() * 5);
+        for (PersonSearchResultDto person : upserts) {
+            changed.add(person.getUserId());
+            addEntries(added, person);
+        }
+        added.sort(ENTRY_ORDER);
+
+        Map<Long, PersonSearchResultDto> byId = new HashMap<>(people);
+        byId.keySet().removeAll(changed);
+        upserts.forEach(person -> byId.put(person.getUserId(), person));
+
+        // Merge the surviving old entries (already sorted) with the new ones
+        List<Entry> merged = new ArrayList<>(keys.length + added.size());
+        int next = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (changed.contains(owners[i].getUserId())) {
+                continue;
+            }
+            Entry old = new Entry(keys[i], owners[i]);
+            while (next < added.size() && ENTRY_ORDER.compare(added.get(next), old) < 0) {
+                merged.add(added.get(next++));
+            }
+            merged.add(old);
+        }
+        merged.addAll(added.subList(next, added.size()));
+        return new PeopleTypeaheadIndex(merged, byId);
+    }
+
+    /**
+     * People with a key starting with the prefix, in key order
+     *
+     * @param visibleRoles roles the caller may see; others are skipped
+     */
+    public List<PersonSearchResultDto> search(String prefix, Set<UserRole> visibleRoles, int limit) {
+        String normalized = normalize(prefix);
+        List<PersonSearchResultDto> result = new ArrayList<>(Math.min(limit, 32));
+        if (normalized.isEmpty() || limit <= 0) {
+            return result;
+        }
+        int start = lowerBound(normalized);
+        int end = Math.min(keys.length, start + MAX_SCANNED_KEYS);
+        for (int i = start; i < end && keys[i].startsWith(normalized); i++) {
+            PersonSearchResultDto person = owners[i];
+            // Several keys of one person can match ("ann" -> "ann lee", "anne@...")
+            if (visibleRoles.contains(person.getRole()) && !result.contains(person)) {
+                result.add(person);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The indexed person with this id, or null
+     */
+    public PersonSearchResultDto get(Long userId) {
+        return people.get(userId);
+    }
+
+    public int size() {
+        return people.size();
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private int lowerBound(String prefix) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static void addEntries(List<Entry> entries, PersonSearchResultDto person) {
+        Set<String> personKeys = new LinkedHashSet<>();
+        String first = normalize(person.getFirstName());
+        String last = normalize(person.getLastName());
+        personKeys.add(normalize(first + " " + last));
+        personKeys.add(normalize(last + " " + first));
+        personKeys.add(normalize(person.getUsername()));
+        personKeys.add(normalize(person.getEmail()));
+        personKeys.add(normalize(person.getAdmissionNumber()));
+        personKeys.remove("");
+        for (String key : personKeys) {
+            entries.add(new Entry(key, person));
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final PersonSearchResultDto person;
+
+        private Entry(String key, PersonSearchResultDto person) {
+            this.key = key;
+            this.person = person;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.schoolsystem.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * PerformanceService - Keeps performance_tracking in sync with marks
+ *
+ * Recalculation is done for a whole section at once in one statement:
+ * 1. Collect every graded assignment and exam of the subject in the period
+ *    as a percentage
+ * 2. Average per student, RANK() inside the section
+ * 3. Compare with the student's previous period for percentage_change/trend
+ * 4. Upsert all rows against UNIQUE(student_id, subject_id, academic_period_id)
+ *
+ * Ranks depend on every student of the section, so recalculating row by row
+ * would be both slower and wrong while half-way through.
+ */
+@Service
+public class PerformanceService {
+
+    /** Percentage-point change below which the trend counts as STABLE */
+    private static final int STABLE_BAND = 2;
+
+    private static final String RECALCULATE_SECTION_SQL =
+        "WITH period AS ( " +
+        "    SELECT id, start_date, end_date FROM academic_periods WHERE id = ? " +
+        "), scores AS ( " +
+        "    SELECT sub.student_id, sub.marks_obtained * 100.0 / a.max_marks AS pct " +
+        "    FROM assignment_submissions sub " +
+        "    JOIN assignments a ON a.id = sub.assignment_id " +
+        "    CROSS JOIN period p " +
+        "    WHERE a.section_id = ? AND a.subject_id = ? AND a.max_marks > 0 " +
+        "      AND sub.marks_obtained IS NOT NULL " +
+        "      AND a.due_date >= p.start_date AND a.due_date < p.end_date + 1 " +
+        "    UNION ALL " +
+        "    SELECT g.student_id, g.marks_obtained * 100.0 / e.max_marks " +
+        "    FROM grades g " +
+        "    JOIN exams e ON e.id = g.exam_id " +
+        "    WHERE e.section_id = ? AND e.subject_id = ? AND e.academic_period_id = (SELECT id FROM period) " +
+        "      AND e.max_marks > 0 " +
+        "), averages AS ( " +
+        "    SELECT s.id AS student_id, ROUND(AVG(sc.pct), 2) AS average_score " +
+        "    FROM students s JOIN scores sc ON sc.student_id = s.id " +
+        "    WHERE s.section_id = ? " +
+        "    GROUP BY s.id " +
+        "), ranked AS ( " +
+        "    SELECT av.student_id, av.average_score, " +
+        "           RANK() OVER (ORDER BY av.average_score DESC) AS rank_in_class, " +
+        "           av.average_score - prev.average_score AS change " +
+        "    FROM averages av " +
+        "    LEFT JOIN LATERAL ( " +
+        "        SELECT pt.average_score FROM performance_tracking pt " +
+        "        JOIN academic_periods ap ON ap.id = pt.academic_period_id " +
+        "        WHERE pt.student_id = av.student_id AND pt.subject_id = ? " +
+        "          AND ap.start_date < (SELECT start_date FROM period) " +
+        "        ORDER BY ap.start_date DESC LIMIT 1 " +
+        "    ) prev ON true " +
+        ") " +
+        "INSERT INTO performance_tracking " +
+        "(student_id, subject_id, academic_period_id, average_score, grade, rank_in_class, percentage_change, trend) " +
+        "SELECT r.student_id, ?, (SELECT id FROM period), r.average_score, " +
+        "       CASE WHEN r.average_score >= 80 THEN 'A' WHEN r.average_score >= 70 THEN 'B' " +
+        "            WHEN r.average_score >= 60 THEN 'C' WHEN r.average_score >= 50 THEN 'D' " +
+        "            WHEN r.average_score >= 40 THEN 'E' ELSE 'F' END, " +
+        "       r.rank_in_class, r.change, " +
+        "       CASE WHEN r.change IS NULL THEN NULL " +
+        "            WHEN r.change > " + STABLE_BAND + " THEN CAST('IMPROVING' AS performance_trend) " +
+        "            WHEN r.change < -" + STABLE_BAND + " THEN CAST('DECLINING' AS performance_trend) " +
+        "            ELSE CAST('STABLE' AS performance_trend) END " +
+        "FROM ranked r " +
+        "ON CONFLICT (student_id, subject_id, academic_period_id) DO UPDATE SET " +
+        "    average_score = EXCLUDED.average_score, grade = EXCLUDED.grade, " +
+        "    rank_in_class = EXCLUDED.rank_in_class, percentage_change = EXCLUDED.percentage_change, " +
+        "    trend = EXCLUDED.trend";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    /**
+     * Academic period containing the given date (the shortest one, so a
+     * term wins over the whole year), or null - from the reference cache
+     */
+    public Long findPeriodFor(LocalDate date) {
+        return referenceDataService.findPeriodFor(date);
+    }
+
+    /**
+     * Recalculate performance_tracking for every student of a section in one
+     * subject and period
+     *
+     * @return number of performance rows written
+     */
+    @Transactional
+    public int recalculateSection(Long sectionId, Long subjectId, Long academicPeriodId) {
+        return jdbcTemplate.update(RECALCULATE_SECTION_SQL,
+            academicPeriodId,
+            sectionId, subjectId,
+            sectionId, subjectId,
+            sectionId,
+            subjectId,
+            subjectId);
+    }
+}
@@ -0,0 +1,235 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.config.ReferenceDataCacheConfig;
+import com.schoolsystem.dto.CacheRegionStatsDto;
+import com.schoolsystem.entity.AcademicPeriod;
+import com.schoolsystem.entity.AcademicYear;
+import com.schoolsystem.entity.SchoolClass;
+import com.schoolsystem.entity.Section;
+import com.schoolsystem.entity.Subject;
+import com.schoolsystem.exception.BadRequestException;
+import com.schoolsystem.exception.ResourceNotFoundException;
+import com.schoolsystem.repository.SchoolClassRepository;
+import com.schoolsystem.repository.SectionRepository;
+import com.schoolsystem.repository.SubjectRepository;
+import com.schoolsystem.security.TenantContext;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * ReferenceDataService - Classes, sections, subjects and the academic
+ * calendar, served from the second-level cache
+ *
+ * Handles:
+ * - Lists per school (query cache) and single rows by id (entity cache)
+ * - The academic calendar and the period a date falls in (AcademicCalendarService)
+ * - Sections by id for attendance access checks
+ * - Warm-up at startup, eviction and hit ratios for the admin endpoints
+ *
+ * A cache hit never reaches PostgreSQL, so row-level security cannot
+ * filter it: every list query takes the school as a parameter and rows
+ * fetched by id are checked against TenantContext here.
+ */
+@Service
+public class ReferenceDataService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataService.class);
+
+    @Autowired
+    private SchoolClassRepository schoolClassRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private AcademicCalendarService academicCalendarService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${reference.cache.warm-up:true}")
+    private boolean warmUpEnabled;
+
+    @Transactional(readOnly = true)
+    public List<SchoolClass> getClasses() {
+        return schoolClassRepository.findBySchoolIdOrderByClassLevelAscClassNameAsc(TenantContext.currentOrDefault());
+    }
+
+    /**
+     * Sections of one class, or of the whole school when classId is null
+     */
+    @Transactional(readOnly = true)
+    public List<Section> getSections(Long classId) {
+        return classId != null
+                ? sectionRepository.findBySchoolIdAndClassIdOrderBySectionName(TenantContext.currentOrDefault(), classId)
+                : sectionRepository.findBySchoolIdOrderByClassIdAscSectionNameAsc(TenantContext.currentOrDefault());
+    }
+
+    /**
+     * Section by id, or null when it does not exist in the current school
+     */
+    @Transactional(readOnly = true)
+    public Section findSection(Long sectionId) {
+        return sectionRepository.findById(sectionId)
+                .filter(section -> inCurrentSchool(section.getSchoolId()))
+                .orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Subject> getSubjects() {
+        return subjectRepository.findBySchoolIdOrderBySubjectName(TenantContext.currentOrDefault());
+    }
+
+    /**
+     * Newest first (from the calendar index)
+     */
+    public List<AcademicYear> getAcademicYears() {
+        return academicCalendarService.index().getYears();
+    }
+
+    /**
+     * The year flagged is_current, else the one containing today
+     */
+    public AcademicYear getCurrentAcademicYear() {
+        AcademicYear year = academicCalendarService.currentYear();
+        if (year == null) {
+            throw new ResourceNotFoundException("No current academic year");
+        }
+        return year;
+    }
+
+    /**
+     * Periods of one year, or of every year when academicYearId is null,
+     * in calendar order (from the calendar index)
+     */
+    public List<AcademicPeriod> getPeriods(Long academicYearId) {
+        List<AcademicPeriod> periods = academicCalendarService.index().getPeriods();
+        if (academicYearId == null) {
+            return periods;
+        }
+        return periods.stream().filter(period -> academicYearId.equals(period.getAcademicYearId())).toList();
+    }
+
+    /**
+     * The period containing today
+     */
+    public AcademicPeriod getCurrentPeriod() {
+        AcademicPeriod period = academicCalendarService.currentPeriod();
+        if (period == null) {
+            throw new ResourceNotFoundException("No academic period covers today");
+        }
+        return period;
+    }
+
+    /**
+     * Academic period containing the given date (the shortest one, so a
+     * term wins over the whole year), or null
+     */
+    public Long findPeriodFor(LocalDate date) {
+        AcademicPeriod period = academicCalendarService.periodOn(date);
+        return period != null ? period.getId() : null;
+    }
+
+    /**
+     * Load every school's reference data once, so the first morning
+     * requests do not all miss at the same time
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUpEnabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Long> schools = jdbcTemplate.queryForList("SELECT id FROM schools WHERE is_active ORDER BY id", Long.class);
+        int rows = 0;
+        for (Long schoolId : schools) {
+            TenantContext.setSchoolId(schoolId);
+            try {
+                rows += getClasses().size() + getSections(null).size() + getSubjects().size()
+                        + getAcademicYears().size() + getPeriods(null).size();
+            } catch (RuntimeException e) {
+                log.warn("Reference cache warm-up failed for school {}: {}", schoolId, e.getMessage());
+            } finally {
+                TenantContext.clear();
+            }
+        }
+        log.info("Reference cache warmed: {} rows for {} schools in {} ms",
+                rows, schools.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Drop one region, or every reference region when region is null -
+     * after editing reference rows with plain SQL. Only this node's cache.
+     */
+    public void evict(String region) {
+        org.hibernate.Cache cache = sessionFactory().getCache();
+        if (region == null) {
+            ReferenceDataCacheConfig.ENTITY_REGIONS.forEach(cache::evictRegion);
+            cache.evictRegion(ReferenceDataCacheConfig.QUERY_REGION);
+            academicCalendarService.invalidate(null);
+        } else if (ReferenceDataCacheConfig.ENTITY_REGIONS.contains(region)
+                || ReferenceDataCacheConfig.QUERY_REGION.equals(region)) {
+            cache.evictRegion(region);
+            academicCalendarService.invalidate(null);
+        } else {
+            throw new BadRequestException("Unknown cache region: " + region);
+        }
+        log.info("Evicted reference cache {}", region != null ? region : "(all regions)");
+    }
+
+    /**
+     * Hits, misses and hit ratio per region (also exported as
+     * hibernate.second.level.cache.requests{region,result})
+     */
+    public List<CacheRegionStatsDto> getStats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        List<String> regions = new ArrayList<>(ReferenceDataCacheConfig.ENTITY_REGIONS);
+        regions.add(ReferenceDataCacheConfig.QUERY_REGION);
+
+        List<CacheRegionStatsDto> result = new ArrayList<>(regions.size());
+        for (String region : regions) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                // JCache cannot count entries: Hibernate reports Long.MIN_VALUE
+                long entries = Math.max(stats.getElementCountInMemory(), -1);
+                result.add(new CacheRegionStatsDto(region, stats.getHitCount(), stats.getMissCount(),
+                        stats.getPutCount(), entries));
+            }
+        }
+        return result;
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Unscoped callers (tenancy off, scheduled jobs) may see every school
+     */
+    private static boolean inCurrentSchool(Long schoolId) {
+        Long current = TenantContext.getSchoolId();
+        return current == null || Objects.equals(current, schoolId);
+    }
+}
@@ -0,0 +1,117 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.security.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * ResourceVersionService - Cheap version tags for conditional GETs
+ *
+ * Controllers ask for a resource's ETag before loading it and answer
+ * If-None-Match with 304 when it still matches, so an unchanged inbox,
+ * event list or result sheet costs one index lookup (or nothing) instead
+ * of the full query and JSON body. Versions come from what already changes
+ * with the data:
+ * - updated_at / calculated_at columns (message_unread_counters, events,
+ *   subject_result_stats)
+ * - in-memory content hashes (event feeds, the academic calendar index)
+ *
+ * Tags are weak (W/"..."): they name a version of the data, not the exact
+ * bytes, which differ with gzip. Tags of per-user or per-role responses
+ * carry the user / role and school, so a browser shared between accounts
+ * never gets a 304 for someone else's copy.
+ */
+@Service
+public class ResourceVersionService {
+
+    private static final String INBOX_VERSION_SQL =
+        "SELECT unread_count, updated_at FROM message_unread_counters WHERE user_id = ?";
+
+    private static final String EVENT_VERSION_SQL =
+        "SELECT updated_at FROM events WHERE id = ?";
+
+    private static final String RESULT_STATS_VERSION_SQL =
+        "SELECT COUNT(*), MAX(calculated_at) FROM subject_result_stats " +
+        "WHERE section_id = ? AND academic_period_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private AcademicCalendarService academicCalendarService;
+
+    /**
+     * Inbox pages of one user: every new message and every read bumps the
+     * user's unread counter row
+     */
+    @Transactional(readOnly = true)
+    public String inbox(Long userId) {
+        String version = jdbcTemplate.query(INBOX_VERSION_SQL,
+                rs -> rs.next() ? rs.getInt(1) + "-" + millis(rs.getTimestamp(2)) : "0", userId);
+        return weak("inbox", userId, version);
+    }
+
+    /**
+     * Upcoming events for a role (from the in-memory feed, no query)
+     */
+    public String upcomingEvents(UserRole role) {
+        return weak("events", school(), role, eventService.getUpcomingVersion(role));
+    }
+
+    /**
+     * One event, or null when it does not exist (let the service answer 404)
+     */
+    @Transactional(readOnly = true)
+    public String event(Long eventId) {
+        return jdbcTemplate.query(EVENT_VERSION_SQL,
+                rs -> rs.next() ? weak("event", eventId, millis(rs.getTimestamp(1))) : null, eventId);
+    }
+
+    /**
+     * Academic years and periods. Includes the date: the "current" ones
+     * change at midnight without any edit.
+     */
+    public String academicCalendar() {
+        return weak("calendar", school(), academicCalendarService.index().getVersion(), LocalDate.now());
+    }
+
+    /**
+     * Class statistics of a section and period; every aggregation run
+     * rewrites them with a new calculated_at
+     */
+    @Transactional(readOnly = true)
+    public String resultStats(Long sectionId, Long periodId) {
+        String version = jdbcTemplate.query(RESULT_STATS_VERSION_SQL,
+                rs -> rs.next() ? rs.getLong(1) + "-" + millis(rs.getTimestamp(2)) : "0", sectionId, periodId);
+        return weak("results", sectionId, periodId, version);
+    }
+
+    private static String school() {
+        Long schoolId = TenantContext.getSchoolId();
+        return schoolId != null ? schoolId.toString() : "0";
+    }
+
+    private static long millis(Timestamp timestamp) {
+        return timestamp != null ? timestamp.getTime() : 0;
+    }
+
+    private static String weak(Object... parts) {
+        StringBuilder tag = new StringBuilder("W/\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                tag.append('-');
+            }
+            tag.append(parts[i]);
+        }
+        return tag.append('"').toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.entity.Section;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * SectionAccessService - Who may work with a section's records
+ *
+ * The section's class teacher, teachers with a subject in the section, and
+ * school-wide roles. Used by the section-scoped endpoints (attendance
+ * register, exam results) before they read or write anything.
+ */
+@Service
+public class SectionAccessService {
+
+    private static final Set<UserRole> SCHOOL_WIDE_ROLES = EnumSet.of(
+        UserRole.ADMIN, UserRole.PRINCIPAL, UserRole.VICE_PRINCIPAL
+    );
+
+    private static final String TEACHES_IN_SECTION_SQL =
+        "SELECT EXISTS (SELECT 1 FROM teacher_subjects ts JOIN teachers t ON t.id = ts.teacher_id " +
+        "               WHERE ts.section_id = ? AND t.user_id = ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    /**
+     * 404 for a section that does not exist or is not the user's
+     *
+     * The section (and its class teacher) comes from the reference cache, so
+     * school-wide roles and class teachers - the morning register - need no
+     * query; subject teachers cost one
+     */
+    public void checkSectionAccess(Long userId, UserRole role, Long sectionId) {
+        Section section = referenceDataService.findSection(sectionId);
+        if (section == null) {
+            throw new ResourceNotFoundException("Section not found");
+        }
+        if (SCHOOL_WIDE_ROLES.contains(role) || userId.equals(section.getClassTeacherId())) {
+            return;
+        }
+        Boolean teaches = jdbcTemplate.queryForObject(TEACHES_IN_SECTION_SQL, Boolean.class, sectionId, userId);
+        if (!Boolean.TRUE.equals(teaches)) {
+            throw new ResourceNotFoundException("Section not found");
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.dto.StartUploadRequest;
+import com.schoolsystem.dto.UploadStatusDto;
+import com.schoolsystem.entity.AssignmentSubmission;
+import com.schoolsystem.entity.UploadSession;
+import com.schoolsystem.entity.UserRole;
+import com.schoolsystem.exception.BadRequestException;
+import com.schoolsystem.exception.ResourceNotFoundException;
+import com.schoolsystem.exception.UploadOffsetMismatchException;
+import com.schoolsystem.repository.AssignmentSubmissionRepository;
+import com.schoolsystem.repository.UploadSessionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SubmissionUploadService - Resumable, chunked assignment uploads
+ *
+ * Why chunks instead of one multipart request?
+ * 1. Multipart buffers the whole file per request - hundreds of students
+ *    uploading in the last hour before a deadline would fill the heap
+ * 2. A dropped connection loses only the current chunk, not the file
+ *
+ * Flow:
+ * 1. start()      - creates an upload_sessions row and an empty .part file
+ * 2. writeChunk() - streams the request body into the .part file through a
+ *                   FileChannel with a fixed 64 KB buffer, hashing as it goes
+ * 3. last chunk   - SHA-256 names the file (content-addressed, so identical
+ *                   uploads are stored once) and the submission row is
+ *                   upserted against UNIQUE(assignment_id, student_id)
+ *
+ * Chunks must arrive in order. Uploads are node-local (the .part file is on
+ * this node's disk), so load balancers need sticky routing on /api/uploads.
+ */
+@Service
+public class SubmissionUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(SubmissionUploadService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String PARTIAL_DIR = "partial";
+    private static final String BLOB_DIR = "blobs";
+
+    private static final Set<UserRole> SCHOOL_WIDE_ROLES = EnumSet.of(
+        UserRole.ADMIN, UserRole.PRINCIPAL, UserRole.VICE_PRINCIPAL
+    );
+
+    /**
+     * Same ownership rule as the ZIP download (AssignmentGradingService):
+     * the teacher of the assignment or the class teacher of its section
+     */
+    private static final String CAN_MANAGE_SQL =
+        "SELECT EXISTS (SELECT 1 FROM assignments a " +
+        "LEFT JOIN teachers t ON t.id = a.teacher_id " +
+        "LEFT JOIN sections sec ON sec.id = a.section_id " +
+        "WHERE a.id = ? AND (t.user_id = ? OR sec.class_teacher_id = ?))";
+
+    private static final String UPSERT_SUBMISSION_SQL =
+        "INSERT INTO assignment_submissions " +
+        "(assignment_id, student_id, submission_file_url, file_name, content_type, file_size, file_sha256, submitted_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (assignment_id, student_id) DO UPDATE SET " +
+        "submission_file_url = EXCLUDED.submission_file_url, file_name = EXCLUDED.file_name, " +
+        "content_type = EXCLUDED.content_type, file_size = EXCLUDED.file_size, " +
+        "file_sha256 = EXCLUDED.file_sha256, submitted_at = EXCLUDED.submitted_at " +
+        "RETURNING id";
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${file.upload.dir}")
+    private String uploadDir;
+
+    @Value("${uploads.max-file-size:50MB}")
+    private DataSize maxFileSize;
+
+    @Value("${uploads.max-chunk-size:5MB}")
+    private DataSize maxChunkSize;
+
+    @Value("${uploads.session-ttl-hours:24}")
+    private int sessionTtlHours;
+
+    private Path root;
+    private Path partialRoot;
+    private Path blobRoot;
+
+    /**
+     * Per-upload lock and running digest. Lost on restart - the digest is
+     * then rebuilt from the .part file on the next chunk.
+     */
+    private final Map<UUID, UploadState> states = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        partialRoot = Files.createDirectories(root.resolve(PARTIAL_DIR));
+        blobRoot = Files.createDirectories(root.resolve(BLOB_DIR));
+    }
+
+    /**
+     * Open a new upload for the current student
+     */
+    @Transactional
+    public UploadStatusDto start(Long userId, Long assignmentId, StartUploadRequest request) {
+        Long studentId = findStudentId(userId);
+        if (studentId == null || !assignmentExists(assignmentId)) {
+            throw new ResourceNotFoundException("Assignment not found");
+        }
+        if (request.getTotalSize() > maxFileSize.toBytes()) {
+            throw new BadRequestException("File is larger than " + maxFileSize.toMegabytes() + " MB");
+        }
+
+        UploadSession session = uploadSessionRepository.save(new UploadSession(
+            assignmentId, studentId, request.getFileName(), request.getContentType(), request.getTotalSize()
+        ));
+
+        try {
+            Files.deleteIfExists(partialFile(session.getId()));
+            Files.createFile(partialFile(session.getId()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create upload file", e);
+        }
+
+        return toStatus(session);
+    }
+
+    @Transactional(readOnly = true)
+    public UploadStatusDto getStatus(Long userId, UUID uploadId) {
+        return toStatus(loadOwnedSession(userId, uploadId));
+    }
+
+    /**
+     * Append one chunk starting at offset
+     *
+     * Deliberately not @Transactional: no DB connection is held while the
+     * (possibly slow) client streams the body
+     */
+    public UploadStatusDto writeChunk(Long userId, UUID uploadId, long offset, InputStream body) {
+        UploadSession session = loadOwnedSession(userId, uploadId);
+        if (offset != session.getReceivedBytes()) {
+            throw new UploadOffsetMismatchException(session.getReceivedBytes());
+        }
+
+        UploadState state = states.computeIfAbsent(uploadId, id -> new UploadState());
+        if (!state.lock.tryLock()) {
+            // Another chunk of this upload is being written right now
+            throw new UploadOffsetMismatchException(session.getReceivedBytes());
+        }
+
+        try {
+            Path partial = partialFile(uploadId);
+            if (state.hashedBytes != offset) {
+                state.rehash(partial, offset);
+            }
+
+            long written = appendChunk(session, state, partial, offset, body);
+            long newOffset = offset + written;
+
+            Integer advanced = new TransactionTemplate(transactionManager).execute(
+                status -> uploadSessionRepository.advance(uploadId, offset, newOffset));
+            if (advanced == null || advanced == 0) {
+                state.invalidate();
+                throw new UploadOffsetMismatchException(offset);
+            }
+            session.setReceivedBytes(newOffset);
+
+            if (session.isComplete()) {
+                return finish(session, state, partial);
+            }
+            return toStatus(session);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Stored file of a submission, if the user may see it
+     * (the student, their guardian, a teacher who manages the assignment,
+     * or a school-wide role)
+     */
+    @Transactional(readOnly = true)
+    public StoredFile openSubmissionFile(Long userId, UserRole role, Long submissionId) {
+        AssignmentSubmission submission = submissionRepository.findById(submissionId)
+                .filter(s -> s.getSubmissionFileUrl() != null)
+                .filter(s -> SCHOOL_WIDE_ROLES.contains(role)
+                        || canManageAssignment(userId, s.getAssignmentId())
+                        || canSeeStudent(userId, s.getStudentId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Submission not found"));
+
+        return new StoredFile(
+            resolveStorageKey(submission.getSubmissionFileUrl()),
+            submission.getFileName(),
+            submission.getContentType(),
+            submission.getFileSize() != null ? submission.getFileSize() : 0L
+        );
+    }
+
+    /**
+     * Absolute path for a stored content key, refusing anything outside the
+     * upload directory
+     */
+    public Path resolveStorageKey(String storageKey) {
+        Path path = root.resolve(storageKey).normalize();
+        if (!path.startsWith(blobRoot)) {
+            throw new ResourceNotFoundException("File not found");
+        }
+        return path;
+    }
+
+    /**
+     * Remove uploads nobody touched for uploads.session-ttl-hours
+     */
+    @Scheduled(cron = "${uploads.cleanup.cron:0 15 * * * *}")
+    @Transactional
+    public void cleanupAbandonedUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(sessionTtlHours);
+        for (UploadSession session : uploadSessionRepository.findByUpdatedAtBefore(cutoff)) {
+            try {
+                Files.deleteIfExists(partialFile(session.getId()));
+            } catch (IOException e) {
+                log.warn("Could not delete partial upload {}: {}", session.getId(), e.getMessage());
+            }
+            states.remove(session.getId());
+            uploadSessionRepository.delete(session);
+        }
+    }
+
+    private long appendChunk(UploadSession session, UploadState state, Path partial,
+                             long offset, InputStream body) {
+        long remaining = session.getTotalSize() - offset;
+        long limit = Math.min(remaining, maxChunkSize.toBytes());
+        long written = 0;
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.WRITE);
+             ReadableByteChannel in = Channels.newChannel(body)) {
+            // Drop anything a previously interrupted chunk left behind
+            channel.truncate(offset);
+            long position = offset;
+
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                written += buffer.remaining();
+                if (written > limit) {
+                    state.invalidate();
+                    throw new BadRequestException("Chunk exceeds the upload size or the maximum chunk size");
+                }
+
+                state.digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                buffer.clear();
+            }
+
+            if (written == 0) {
+                throw new BadRequestException("Empty chunk");
+            }
+            state.hashedBytes = offset + written;
+            return written;
+        } catch (IOException e) {
+            state.invalidate();
+            throw new UncheckedIOException("Upload interrupted, resume from byte " + offset, e);
+        }
+    }
+
+    /**
+     * Last chunk arrived: move into content-addressed storage and record
+     * the submission in one upsert
+     */
+    private UploadStatusDto finish(UploadSession session, UploadState state, Path partial) {
+        String sha256 = HexFormat.of().formatHex(state.digest.digest());
+        String storageKey = BLOB_DIR + "/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+        Path target = root.resolve(storageKey);
+
+        try {
+            Files.createDirectories(target.getParent());
+            if (Files.exists(target)) {
+                // Same bytes already stored - dedup
+                Files.delete(partial);
+            } else {
+                try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+                Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same content won the move
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // Cleanup job retries
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store upload", e);
+        }
+
+        Long submissionId = new TransactionTemplate(transactionManager).execute(status -> {
+            Long id = jdbcTemplate.queryForObject(UPSERT_SUBMISSION_SQL, Long.class,
+                session.getAssignmentId(), session.getStudentId(), storageKey,
+                session.getFileName(), session.getContentType(), session.getTotalSize(), sha256);
+            uploadSessionRepository.deleteById(session.getId());
+            return id;
+        });
+
+        states.remove(session.getId());
+        log.debug("Upload {} stored as {} (submission {})", session.getId(), sha256, submissionId);
+        return toStatus(session).completed(submissionId, sha256);
+    }
+
+    private UploadSession loadOwnedSession(Long userId, UUID uploadId) {
+        Long studentId = findStudentId(userId);
+        return uploadSessionRepository.findById(uploadId)
+                .filter(s -> s.getStudentId().equals(studentId))
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found"));
+    }
+
+    private Long findStudentId(Long userId) {
+        return jdbcTemplate.query("SELECT id FROM students WHERE user_id = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, userId);
+    }
+
+    private boolean assignmentExists(Long assignmentId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM assignments WHERE id = ?)", Boolean.class, assignmentId));
+    }
+
+    private boolean canManageAssignment(Long userId, Long assignmentId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            CAN_MANAGE_SQL, Boolean.class, assignmentId, userId, userId));
+    }
+
+    private boolean canSeeStudent(Long userId, Long studentId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM students WHERE id = ? AND (user_id = ? OR guardian_id = ?))",
+            Boolean.class, studentId, userId, userId));
+    }
+
+    private Path partialFile(UUID uploadId) {
+        return partialRoot.resolve(uploadId + ".part");
+    }
+
+    private UploadStatusDto toStatus(UploadSession session) {
+        return new UploadStatusDto(session.getId(), session.getFileName(), session.getTotalSize(),
+                                   session.getReceivedBytes(), maxChunkSize.toBytes());
+    }
+
+    /**
+     * A stored submission file ready to be streamed
+     */
+    public static final class StoredFile {
+        private final Path path;
+        private final String fileName;
+        private final String contentType;
+        private final long size;
+
+        public StoredFile(Path path, String fileName, String contentType, long size) {
+            this.path = path;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.size = size;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+
+    /**
+     * Running SHA-256 of the bytes received so far
+     */
+    private static final class UploadState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private MessageDigest digest = newDigest();
+        private long hashedBytes = 0;
+
+        /**
+         * After a restart or a failed chunk: hash the first n bytes again
+         */
+        private void rehash(Path partial, long length) {
+            digest = newDigest();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.READ)) {
+                long position = 0;
+                while (position < length) {
+                    buffer.limit((int) Math.min(BUFFER_SIZE, length - position));
+                    int read = channel.read(buffer, position);
+                    if (read < 0) {
+                        throw new IOException("Partial file shorter than recorded progress");
+                    }
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                    position += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not resume upload", e);
+            }
+            hashedBytes = length;
+        }
+
+        private void invalidate() {
+            hashedBytes = -1;
+        }
+
+        private static MessageDigest newDigest() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
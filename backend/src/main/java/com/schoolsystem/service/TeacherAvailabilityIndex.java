@@ -0,0 +1,182 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.dto.TimeSlotDto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * TeacherAvailabilityIndex - In-memory busy map for one teacher over a date range
+ *
+ * Each day is a BitSet of fixed-size cells (e.g. 5 minutes). A set bit means
+ * "busy": outside working hours, teaching (timetable) or already booked.
+ * Free-slot search and "is this slot free?" are then just nextSetBit /
+ * nextClearBit scans instead of comparing every slot against every
+ * appointment.
+ *
+ * Built per request by AppointmentService from two queries; not thread-safe.
+ */
+public final class TeacherAvailabilityIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final LocalDate firstDay;
+    private final int granularityMinutes;
+    private final int cellsPerDay;
+    private final BitSet[] busy;
+
+    /**
+     * @param firstDay           first day covered (inclusive)
+     * @param lastDay            last day covered (inclusive)
+     * @param granularityMinutes cell size; must divide 1440
+     * @param dayStart           working hours start
+     * @param dayEnd             working hours end
+     * @param workingDays        days on which appointments can be booked
+     */
+    public TeacherAvailabilityIndex(LocalDate firstDay, LocalDate lastDay, int granularityMinutes,
+                                    LocalTime dayStart, LocalTime dayEnd, Set<DayOfWeek> workingDays) {
+        this.firstDay = firstDay;
+        this.granularityMinutes = granularityMinutes;
+        this.cellsPerDay = MINUTES_PER_DAY / granularityMinutes;
+
+        int days = (int) ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+        this.busy = new BitSet[days];
+
+        int openCell = cellFloor(dayStart);
+        int closeCell = cellCeil(dayEnd);
+        for (int i = 0; i < days; i++) {
+            BitSet day = new BitSet(cellsPerDay);
+            if (workingDays.contains(firstDay.plusDays(i).getDayOfWeek())) {
+                day.set(0, openCell);
+                day.set(closeCell, cellsPerDay);
+            } else {
+                day.set(0, cellsPerDay);
+            }
+            busy[i] = day;
+        }
+    }
+
+    /**
+     * Block a recurring weekly lesson on every matching day inside
+     * [validFrom, validTo] (the academic period of the timetable slot;
+     * null means unbounded)
+     */
+    public void markWeekly(DayOfWeek dayOfWeek, LocalTime start, LocalTime end,
+                           LocalDate validFrom, LocalDate validTo) {
+        int fromCell = cellFloor(start);
+        int toCell = cellCeil(end);
+
+        for (int i = 0; i < busy.length; i++) {
+            LocalDate date = firstDay.plusDays(i);
+            if (date.getDayOfWeek() != dayOfWeek
+                    || (validFrom != null && date.isBefore(validFrom))
+                    || (validTo != null && date.isAfter(validTo))) {
+                continue;
+            }
+            busy[i].set(fromCell, toCell);
+        }
+    }
+
+    /**
+     * Block a one-off [start, end) interval, e.g. an existing appointment
+     */
+    public void markBusy(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime cursor = start;
+        while (cursor.isBefore(end)) {
+            int dayIndex = dayIndex(cursor.toLocalDate());
+            LocalDateTime nextMidnight = cursor.toLocalDate().plusDays(1).atStartOfDay();
+            LocalDateTime segmentEnd = end.isBefore(nextMidnight) ? end : nextMidnight;
+
+            if (dayIndex >= 0 && dayIndex < busy.length) {
+                int toCell = segmentEnd.equals(nextMidnight) ? cellsPerDay : cellCeil(segmentEnd.toLocalTime());
+                busy[dayIndex].set(cellFloor(cursor.toLocalTime()), toCell);
+            }
+            cursor = segmentEnd;
+        }
+    }
+
+    /**
+     * Is [start, start + duration) completely free?
+     */
+    public boolean isFree(LocalDateTime start, int durationMinutes) {
+        int dayIndex = dayIndex(start.toLocalDate());
+        if (dayIndex < 0 || dayIndex >= busy.length) {
+            return false;
+        }
+
+        int startMinute = start.getHour() * 60 + start.getMinute();
+        if (start.getSecond() != 0 || start.getNano() != 0 || startMinute % granularityMinutes != 0) {
+            return false;
+        }
+
+        int fromCell = startMinute / granularityMinutes;
+        int toCell = fromCell + cellsFor(durationMinutes);
+        if (toCell > cellsPerDay) {
+            return false;
+        }
+
+        int nextBusy = busy[dayIndex].nextSetBit(fromCell);
+        return nextBusy == -1 || nextBusy >= toCell;
+    }
+
+    /**
+     * Every bookable slot of the given length, packed back to back
+     * inside each free gap, starting no earlier than notBefore
+     */
+    public List<TimeSlotDto> freeSlots(int durationMinutes, LocalDateTime notBefore) {
+        int needed = cellsFor(durationMinutes);
+        List<TimeSlotDto> slots = new ArrayList<>();
+
+        for (int i = 0; i < busy.length; i++) {
+            LocalDate date = firstDay.plusDays(i);
+            BitSet day = busy[i];
+
+            int cell = 0;
+            if (date.equals(notBefore.toLocalDate())) {
+                cell = cellCeil(notBefore.toLocalTime());
+            } else if (date.isBefore(notBefore.toLocalDate())) {
+                continue;
+            }
+
+            while (true) {
+                cell = day.nextClearBit(cell);
+                if (cell + needed > cellsPerDay) {
+                    break;
+                }
+                int nextBusy = day.nextSetBit(cell);
+                if (nextBusy == -1 || nextBusy >= cell + needed) {
+                    LocalDateTime start = date.atStartOfDay().plusMinutes((long) cell * granularityMinutes);
+                    slots.add(new TimeSlotDto(start, start.plusMinutes(durationMinutes)));
+                    cell += needed;
+                } else {
+                    cell = nextBusy;
+                }
+            }
+        }
+        return slots;
+    }
+
+    private int dayIndex(LocalDate date) {
+        return (int) ChronoUnit.DAYS.between(firstDay, date);
+    }
+
+    private int cellsFor(int minutes) {
+        return (minutes + granularityMinutes - 1) / granularityMinutes;
+    }
+
+    private int cellFloor(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / granularityMinutes;
+    }
+
+    private int cellCeil(LocalTime time) {
+        int minutes = time.getHour() * 60 + time.getMinute() + (time.getSecond() > 0 || time.getNano() > 0 ? 1 : 0);
+        return Math.min((minutes + granularityMinutes - 1) / granularityMinutes, cellsPerDay);
+    }
+}
@@ -0,0 +1,279 @@
+package com.schoolsystem.service;
+
+import com.schoolsystem.security.BloomFilter;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TokenRevocationService - Which unexpired JWTs must no longer be accepted
+ *
+ * Revocations are rows in token_revocations (V23) and are mirrored in
+ * memory, so JwtAuthenticationFilter checks a token without touching the
+ * database:
+ * - revoked token ids (jti, logout) - a BloomFilter answers "not revoked"
+ *   for almost every token; only on a hit is the exact map consulted
+ * - revoked users (password change, deactivation) - username (and user
+ *   id) -> time; tokens issued up to that second are rejected. Calendar
+ *   feed tokens (EventService) are checked by user id
+ *
+ * Handles:
+ * 1. Revoke - inserts the row and updates memory once the transaction
+ *    commits
+ * 2. Sync - every security.revocation.sync-ms rows written by other
+ *    instances or the users deactivation trigger are read in (with an
+ *    overlap, so late-committing transactions are not missed)
+ * 3. Compact - security.revocation.compaction-cron deletes rows whose
+ *    tokens have expired anyway, prunes memory and rebuilds the filter
+ *
+ * Ids and usernames are unique across schools, so one set serves all of
+ * them; the scheduled jobs run unscoped and see every school's rows.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO token_revocations (jti, user_id, reason, expires_at) VALUES (?, ?, ?, ?)";
+
+    private static final String CHANGED_SQL =
+        "SELECT r.jti, r.user_id, r.revoked_at, r.expires_at, u.username " +
+        "FROM token_revocations r LEFT JOIN users u ON u.id = r.user_id " +
+        "WHERE r.revoked_at > ?";
+
+    /** Token rows expire with the token, user rows after the longest token lifetime (in seconds) */
+    private static final String COMPACT_SQL =
+        "DELETE FROM token_revocations WHERE COALESCE(expires_at, revoked_at + make_interval(secs => ?)) < CURRENT_TIMESTAMP";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshTokenLifetimeMs;
+
+    /** Calendar feed tokens outlive every JWT */
+    @Value("${events.feed.token-ttl-days:365}")
+    private long feedTokenTtlDays;
+
+    /** How long a user revocation must be kept: the longest token lifetime */
+    private long maxTokenLifetimeMs;
+
+    @Value("${security.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${security.revocation.sync-overlap-seconds:60}")
+    private long syncOverlapSeconds;
+
+    /** jti -> expiry (epoch ms) */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /** username -> tokens issued at or before this second are revoked (epoch ms) */
+    private final Map<String, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    /** The same by user id, for tokens that carry no username */
+    private final Map<Long, Long> revokedUserIds = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter tokenFilter;
+
+    private Timestamp syncedUpTo;
+
+    private Counter revokedTokenHits;
+    private Counter revokedUserHits;
+    private Counter falsePositives;
+
+    @PostConstruct
+    public void init() {
+        maxTokenLifetimeMs = Math.max(refreshTokenLifetimeMs, TimeUnit.DAYS.toMillis(feedTokenTtlDays));
+        tokenFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+        revokedTokenHits = rejections("token");
+        revokedUserHits = rejections("user");
+        falsePositives = Counter.builder("security.jwt.revocation.filter.false_positives")
+                .description("Bloom filter hits for token ids that were not revoked")
+                .register(meterRegistry);
+        Gauge.builder("security.jwt.revocation.entries", revokedTokens, Map::size)
+                .tag("kind", "token")
+                .register(meterRegistry);
+        Gauge.builder("security.jwt.revocation.entries", revokedUsers, Map::size)
+                .tag("kind", "user")
+                .register(meterRegistry);
+        sync();
+    }
+
+    /**
+     * Whether a verified token has been revoked - memory only
+     */
+    public boolean isRevoked(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId != null && tokenFilter.mightContain(tokenId)) {
+            if (revokedTokens.containsKey(tokenId)) {
+                revokedTokenHits.increment();
+                return true;
+            }
+            falsePositives.increment();
+        }
+        if (!revokedUsers.isEmpty()) {
+            Long revokedAt = revokedUsers.get(claims.getSubject());
+            Date issuedAt = claims.getIssuedAt();
+            if (revokedAt != null && issuedAt != null && issuedAt.getTime() <= revokedAt) {
+                revokedUserHits.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the user's tokens issued at issuedAtMs have been revoked -
+     * memory only
+     */
+    public boolean isUserRevoked(Long userId, long issuedAtMs) {
+        Long revokedAt = revokedUserIds.get(userId);
+        if (revokedAt != null && issuedAtMs <= revokedAt) {
+            revokedUserHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Revoke one token (logout); the row lives until the token's expiry
+     */
+    public void revokeToken(Claims claims, String reason) {
+        String tokenId = claims.getId();
+        if (tokenId == null) {
+            // Issued before tokens had ids; only a user-wide revocation can stop it
+            return;
+        }
+        long expiresAt = claims.getExpiration().getTime();
+        jdbcTemplate.update(INSERT_SQL, tokenId, null, reason, new Timestamp(expiresAt));
+        afterCommit(() -> addToken(tokenId, expiresAt));
+    }
+
+    /**
+     * Revoke every token the user holds now (password change,
+     * deactivation); tokens issued later are unaffected
+     */
+    public void revokeUser(Long userId, String username, String reason) {
+        jdbcTemplate.update(INSERT_SQL, null, userId, reason, null);
+        long revokedAt = System.currentTimeMillis();
+        afterCommit(() -> addUser(userId, username, revokedAt));
+    }
+
+    /**
+     * Read revocations written since the last sync (by any instance)
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.sync-ms:5000}",
+               initialDelayString = "${security.revocation.sync-ms:5000}")
+    public synchronized void sync() {
+        Timestamp syncStart = jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+        Timestamp from = syncedUpTo == null ? new Timestamp(0)
+                : new Timestamp(syncedUpTo.getTime() - TimeUnit.SECONDS.toMillis(syncOverlapSeconds));
+        jdbcTemplate.query(CHANGED_SQL, (ResultSet rs) -> {
+            String tokenId = rs.getString("jti");
+            if (tokenId != null) {
+                Timestamp expiresAt = rs.getTimestamp("expires_at");
+                addToken(tokenId, expiresAt != null ? expiresAt.getTime() : Long.MAX_VALUE);
+            } else {
+                long userId = rs.getLong("user_id");
+                if (!rs.wasNull()) {
+                    addUser(userId, rs.getString("username"), rs.getTimestamp("revoked_at").getTime());
+                }
+            }
+        }, from);
+        if (syncedUpTo == null) {
+            log.info("Token revocations loaded: {} tokens, {} users", revokedTokens.size(), revokedUsers.size());
+        }
+        syncedUpTo = syncStart;
+    }
+
+    /**
+     * Delete revocations of tokens that have expired anyway and rebuild the
+     * filter without them
+     */
+    @Scheduled(cron = "${security.revocation.compaction-cron:0 20 * * * *}")
+    public synchronized void compact() {
+        int deleted = jdbcTemplate.update(COMPACT_SQL, TimeUnit.MILLISECONDS.toSeconds(maxTokenLifetimeMs));
+        long now = System.currentTimeMillis();
+        int before = revokedTokens.size() + revokedUsers.size();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        revokedUsers.values().removeIf(revokedAt -> revokedAt + maxTokenLifetimeMs < now);
+        revokedUserIds.values().removeIf(revokedAt -> revokedAt + maxTokenLifetimeMs < now);
+        rebuildFilter();
+        log.info("Token revocations compacted: {} rows deleted, {} entries dropped from memory, {} left",
+                deleted, before - revokedTokens.size() - revokedUsers.size(),
+                revokedTokens.size() + revokedUsers.size());
+    }
+
+    /** Synchronized with rebuildFilter(), so no add lands in a filter being replaced */
+    private synchronized void addToken(String tokenId, long expiresAt) {
+        if (expiresAt < System.currentTimeMillis()) {
+            return;
+        }
+        // Map first, so a filter hit always finds the entry
+        revokedTokens.put(tokenId, expiresAt);
+        tokenFilter.add(tokenId);
+        if (revokedTokens.size() > tokenFilter.getCapacity()) {
+            rebuildFilter();
+        }
+    }
+
+    private void addUser(Long userId, String username, long revokedAt) {
+        // Tokens carry whole seconds; one issued later in the same second is revoked too
+        long revokedSecond = revokedAt - revokedAt % 1000;
+        revokedUserIds.merge(userId, revokedSecond, Math::max);
+        if (username != null) {
+            revokedUsers.merge(username, revokedSecond, Math::max);
+        }
+    }
+
+    private synchronized void rebuildFilter() {
+        BloomFilter filter = new BloomFilter(Math.max(expectedEntries, revokedTokens.size() * 2), falsePositiveRate);
+        revokedTokens.keySet().forEach(filter::add);
+        tokenFilter = filter;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Counter rejections(String kind) {
+        return Counter.builder("security.jwt.revoked")
+                .description("Verified tokens rejected because they were revoked")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
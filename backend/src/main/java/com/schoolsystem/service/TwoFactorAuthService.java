@@ -1,6 +1,7 @@
 package com.schoolsystem.service;
 
 import com.schoolsystem.entity.User;
+import com.schoolsystem.entity.UserProfile;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
@@ -106,9 +107,10 @@ public class TwoFactorAuthService {
      * Send SMS code via Africa's Talking
      * 
      * TODO: Implement actual Africa's Talking integration
-     * For now, just logs the code
+     * For now, just logs the code. Protected so the load-test backend can
+     * capture codes instead (src/loadtest: LoadTestBackend)
      */
-    private void sendSmsCode(User user, String code) {
+    protected void sendSmsCode(User user, String code) {
         // Get phone number from user profile
         String phoneNumber = getUserPhoneNumber(user);
         
@@ -132,9 +134,8 @@ public class TwoFactorAuthService {
      * Helper to get phone number from user
      */
     private String getUserPhoneNumber(User user) {
-        // TODO: Get from user profile when we implement UserProfile entity
-        // For now, return null (will be implemented later)
-        return null;
+        UserProfile profile = user.getProfile();
+        return profile != null ? profile.getPhoneNumber() : null;
     }
     
     /**
@@ -0,0 +1,26 @@
+-- V10: Resumable, chunked assignment uploads
+--
+-- upload_sessions tracks how far each upload got, so a student on a flaky
+-- connection resumes from received_bytes instead of starting over.
+-- Finished files are stored content-addressed (by SHA-256), so identical
+-- uploads share one file on disk.
+
+CREATE TABLE upload_sessions (
+    id UUID PRIMARY KEY,
+    assignment_id BIGINT NOT NULL REFERENCES assignments(id) ON DELETE CASCADE,
+    student_id BIGINT NOT NULL REFERENCES students(id) ON DELETE CASCADE,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100),
+    total_size BIGINT NOT NULL CHECK (total_size > 0),
+    received_bytes BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_upload_sessions_updated ON upload_sessions(updated_at);
+
+ALTER TABLE assignment_submissions
+    ADD COLUMN file_name VARCHAR(255),
+    ADD COLUMN content_type VARCHAR(100),
+    ADD COLUMN file_size BIGINT,
+    ADD COLUMN file_sha256 CHAR(64);
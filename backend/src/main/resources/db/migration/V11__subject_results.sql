@@ -0,0 +1,37 @@
+-- V11: Weighted final subject scores per section and academic period
+--
+-- Written in bulk by ExamAggregationService (one DELETE + one INSERT per
+-- table per run) from the exams.weightage / exams.max_marks / grades data.
+
+CREATE TABLE subject_results (
+    id BIGSERIAL PRIMARY KEY,
+    student_id BIGINT NOT NULL REFERENCES students(id) ON DELETE CASCADE,
+    subject_id BIGINT NOT NULL REFERENCES subjects(id) ON DELETE CASCADE,
+    academic_period_id BIGINT NOT NULL REFERENCES academic_periods(id) ON DELETE CASCADE,
+    section_id BIGINT NOT NULL REFERENCES sections(id) ON DELETE CASCADE,
+    weighted_score DECIMAL(5, 2) NOT NULL,
+    percentile DECIMAL(5, 2) NOT NULL,
+    rank_in_section INTEGER NOT NULL,
+    exams_counted INTEGER NOT NULL,
+    calculated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(student_id, subject_id, academic_period_id)
+);
+
+CREATE INDEX idx_subject_results_section_period ON subject_results(section_id, academic_period_id);
+
+CREATE TABLE subject_result_stats (
+    section_id BIGINT NOT NULL REFERENCES sections(id) ON DELETE CASCADE,
+    subject_id BIGINT NOT NULL REFERENCES subjects(id) ON DELETE CASCADE,
+    academic_period_id BIGINT NOT NULL REFERENCES academic_periods(id) ON DELETE CASCADE,
+    student_count INTEGER NOT NULL,
+    mean_score DECIMAL(5, 2),
+    std_dev DECIMAL(5, 2),
+    p25 DECIMAL(5, 2),
+    median DECIMAL(5, 2),
+    p75 DECIMAL(5, 2),
+    calculated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (section_id, subject_id, academic_period_id)
+);
+
+-- Loading a section-period's exams
+CREATE INDEX idx_exams_section_period ON exams(section_id, academic_period_id);
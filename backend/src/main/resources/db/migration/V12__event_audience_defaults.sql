@@ -0,0 +1,22 @@
+-- V12: Events feed per role
+--
+-- "Upcoming events for my role" is target_audience @> ARRAY[role] AND
+-- event_date >= now(). To keep that a single GIN-indexable predicate,
+-- "everyone" is stored as the full role list instead of NULL / '{}'.
+-- btree_gin lets event_date sit in the same GIN index (V13).
+
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+UPDATE events
+SET target_audience = enum_range(NULL::user_role)
+WHERE target_audience IS NULL OR cardinality(target_audience) = 0;
+
+ALTER TABLE events
+    ALTER COLUMN target_audience SET DEFAULT enum_range(NULL::user_role),
+    ALTER COLUMN target_audience SET NOT NULL;
+
+-- DTSTAMP / LAST-MODIFIED in the iCalendar feed
+ALTER TABLE events ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+CREATE TRIGGER update_events_updated_at BEFORE UPDATE ON events
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
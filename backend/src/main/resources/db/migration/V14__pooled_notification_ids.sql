@@ -0,0 +1,19 @@
+-- V14: Sequence-allocated notification ids
+--
+-- Notification used IDENTITY, which makes Hibernate insert one row per
+-- round trip (it needs each generated key back) and disables JDBC
+-- batching. The entity now uses a pooled sequence optimizer with
+-- allocationSize = 50: one nextval reserves 50 ids, so a batch of 50
+-- inserts costs one sequence call plus one batched INSERT.
+--
+-- The column DEFAULT stays nextval(...), so plain SQL inserts keep
+-- working; each of them just uses up one 50-id block (BIGINT, no concern).
+--
+-- INCREMENT BY 50 must be kept in step with Notification's
+-- @SequenceGenerator(allocationSize = 50) by hand - change one, change the
+-- other in a new migration; ddl-auto=none never alters the sequence. A
+-- larger allocationSize would hand out duplicate ids, so startup fails on
+-- a mismatch (hibernate.id.sequence.increment_size_mismatch_strategy,
+-- pinned to EXCEPTION in application.properties).
+
+ALTER SEQUENCE notifications_id_seq INCREMENT BY 50;
@@ -0,0 +1,97 @@
+-- V15: Multi-school tenancy
+--
+-- Every table gets a school_id and a row-level security policy. The
+-- application tells PostgreSQL which school a connection works for with
+-- the app.school_id setting (TenantScopedDataSource, when tenancy.enabled):
+--
+--   app.school_id unset -> unscoped: single-school deployments, scheduled
+--                          jobs, Flyway - behaves exactly as before
+--   app.school_id = 42  -> only school 42's rows are visible or writable
+--
+-- Inserts need no change: school_id defaults to the connection's school
+-- (school 1 when unscoped). Superusers and table owners bypass RLS, so
+-- scoped connections also SET ROLE school_tenant (created below) - FORCE
+-- ROW LEVEL SECURITY covers owners that are not superusers.
+
+CREATE TABLE schools (
+    id BIGSERIAL PRIMARY KEY,
+    code VARCHAR(50) UNIQUE NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    is_active BOOLEAN DEFAULT true,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO schools (id, code, name) VALUES (1, 'default', 'Default School');
+ALTER SEQUENCE schools_id_seq RESTART WITH 2;
+
+CREATE FUNCTION current_school_id() RETURNS BIGINT
+    LANGUAGE sql STABLE PARALLEL SAFE
+    AS $$ SELECT CAST(NULLIF(current_setting('app.school_id', true), '') AS BIGINT) $$;
+
+-- Also called by PartitionMaintenanceService after it recreates a table as partitioned
+CREATE FUNCTION enable_school_scoping(tbl REGCLASS) RETURNS void
+    LANGUAGE plpgsql
+    AS $$
+BEGIN
+    EXECUTE format('ALTER TABLE %s ENABLE ROW LEVEL SECURITY', tbl);
+    EXECUTE format('ALTER TABLE %s FORCE ROW LEVEL SECURITY', tbl);
+    IF EXISTS (SELECT 1 FROM pg_policy WHERE polrelid = tbl AND polname = 'school_isolation') THEN
+        EXECUTE format('DROP POLICY school_isolation ON %s', tbl);
+    END IF;
+    EXECUTE format('CREATE POLICY school_isolation ON %s ' ||
+                   'USING (current_school_id() IS NULL OR school_id = current_school_id()) ' ||
+                   'WITH CHECK (current_school_id() IS NULL OR school_id = current_school_id())', tbl);
+END
+$$;
+
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'users', 'user_profiles', 'academic_years', 'academic_periods', 'classes', 'sections',
+        'subjects', 'students', 'teachers', 'teacher_subjects', 'timetable_slots', 'fee_structures',
+        'payments', 'exams', 'grades', 'assignments', 'assignment_submissions', 'upload_sessions',
+        'attendance', 'performance_tracking', 'subject_results', 'subject_result_stats',
+        'notifications', 'sms_log', 'messages', 'message_unread_counters', 'appointments',
+        'events', 'audit_log']
+    LOOP
+        -- Non-volatile default: no table rewrite
+        EXECUTE format('ALTER TABLE %I ADD COLUMN school_id BIGINT NOT NULL ' ||
+                       'DEFAULT COALESCE(current_school_id(), 1) REFERENCES schools(id)', t);
+        PERFORM enable_school_scoping(CAST(t AS REGCLASS));
+    END LOOP;
+END
+$$;
+
+-- Natural keys are unique per school (usernames and emails stay global:
+-- login has to find the user before it knows the school)
+ALTER TABLE subjects
+    DROP CONSTRAINT IF EXISTS subjects_subject_code_key,
+    ADD CONSTRAINT subjects_school_subject_code_key UNIQUE (school_id, subject_code);
+ALTER TABLE students
+    DROP CONSTRAINT IF EXISTS students_admission_number_key,
+    ADD CONSTRAINT students_school_admission_number_key UNIQUE (school_id, admission_number);
+ALTER TABLE teachers
+    DROP CONSTRAINT IF EXISTS teachers_employee_number_key,
+    ADD CONSTRAINT teachers_school_employee_number_key UNIQUE (school_id, employee_number);
+
+-- Role the application switches to on scoped connections. Needs CREATEROLE;
+-- without it the migration still succeeds and the role must be created by a DBA.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_roles WHERE rolname = 'school_tenant') THEN
+        CREATE ROLE school_tenant NOLOGIN;
+    END IF;
+    IF NOT pg_has_role(current_user, 'school_tenant', 'MEMBER') THEN
+        EXECUTE format('GRANT school_tenant TO %I', current_user);
+    END IF;
+    EXECUTE format('GRANT USAGE ON SCHEMA %I TO school_tenant', current_schema());
+    EXECUTE format('GRANT SELECT, INSERT, UPDATE, DELETE ON ALL TABLES IN SCHEMA %I TO school_tenant', current_schema());
+    EXECUTE format('GRANT USAGE, SELECT, UPDATE ON ALL SEQUENCES IN SCHEMA %I TO school_tenant', current_schema());
+    EXECUTE format('ALTER DEFAULT PRIVILEGES IN SCHEMA %I GRANT SELECT, INSERT, UPDATE, DELETE ON TABLES TO school_tenant', current_schema());
+    EXECUTE format('ALTER DEFAULT PRIVILEGES IN SCHEMA %I GRANT USAGE, SELECT, UPDATE ON SEQUENCES TO school_tenant', current_schema());
+EXCEPTION WHEN insufficient_privilege THEN
+    RAISE NOTICE 'Role school_tenant not set up (%) - create it before enabling tenancy.enabled', SQLERRM;
+END
+$$;
@@ -0,0 +1,15 @@
+-- V18: People search (PeopleSearchService)
+--
+-- pg_trgm backs fuzzy / substring matching of names, usernames, emails and
+-- admission numbers; its GIN indexes (V19-V22) also serve ILIKE '%x%'.
+-- Trusted extension since PostgreSQL 13, so the database owner may create it.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- The typeahead index picks up changed people by updated_at; users and
+-- user_profiles already keep it (V1 triggers), students did not.
+-- CURRENT_TIMESTAMP is stable, so existing rows are not rewritten.
+ALTER TABLE students ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+CREATE TRIGGER update_students_updated_at BEFORE UPDATE ON students
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
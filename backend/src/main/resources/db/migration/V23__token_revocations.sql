@@ -0,0 +1,38 @@
+-- V23: Revoked JWTs
+--
+-- Read into memory by TokenRevocationService, which JwtAuthenticationFilter
+-- asks on every request. One row per revocation:
+--   jti set  -> that one token (logout); kept until its exp (expires_at)
+--   jti null -> every token of user_id issued up to revoked_at (password
+--               change, deactivation); kept for the longest token lifetime
+-- Times are compared with the epoch seconds in tokens, hence TIMESTAMPTZ.
+
+CREATE TABLE token_revocations (
+    id BIGSERIAL PRIMARY KEY,
+    school_id BIGINT NOT NULL DEFAULT COALESCE(current_school_id(), 1) REFERENCES schools(id),
+    jti VARCHAR(64),
+    user_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
+    reason VARCHAR(30) NOT NULL,
+    revoked_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMPTZ,
+    CHECK (jti IS NOT NULL OR user_id IS NOT NULL)
+);
+
+CREATE INDEX idx_token_revocations_revoked_at ON token_revocations (revoked_at);
+
+SELECT enable_school_scoping('token_revocations');
+
+-- Deactivating a user by any path (plain SQL included) revokes their tokens
+CREATE FUNCTION revoke_tokens_on_deactivation() RETURNS TRIGGER
+    LANGUAGE plpgsql
+    AS $$
+BEGIN
+    INSERT INTO token_revocations (school_id, user_id, reason)
+    VALUES (NEW.school_id, NEW.id, 'DEACTIVATED');
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER revoke_tokens_on_user_deactivation AFTER UPDATE OF is_active ON users
+    FOR EACH ROW WHEN (OLD.is_active IS DISTINCT FROM false AND NEW.is_active = false)
+    EXECUTE FUNCTION revoke_tokens_on_deactivation();
@@ -0,0 +1,16 @@
+-- V6: Per-user unread message counters
+-- Maintained by MessageService on send / mark-read so unread badges never
+-- need COUNT(*) over messages.
+
+CREATE TABLE message_unread_counters (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    unread_count INTEGER NOT NULL DEFAULT 0 CHECK (unread_count >= 0),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Backfill from existing messages
+INSERT INTO message_unread_counters (user_id, unread_count)
+SELECT recipient_id, COUNT(*)
+FROM messages
+WHERE is_read = false AND recipient_id IS NOT NULL
+GROUP BY recipient_id;
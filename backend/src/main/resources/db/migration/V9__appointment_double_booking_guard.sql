@@ -0,0 +1,35 @@
+-- V9: Race-free appointment booking and bulk reminders
+--
+-- Exclusion constraints make overlapping active bookings impossible at the
+-- database level, no matter how many parents book at the same moment:
+-- - a teacher cannot have two active appointments that overlap
+-- - a parent cannot be in two places at once either (parents' evening)
+-- Only SCHEDULED / RESCHEDULED rows take part, so cancelled slots free up.
+-- NOTE: fails if existing data already contains overlaps - clean those first.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE appointments
+    ADD CONSTRAINT appointments_teacher_no_overlap EXCLUDE USING gist (
+        teacher_id WITH =,
+        tsrange(appointment_date,
+                appointment_date + COALESCE(duration_minutes, 30) * INTERVAL '1 minute') WITH &&
+    ) WHERE (status IN ('SCHEDULED', 'RESCHEDULED'));
+
+ALTER TABLE appointments
+    ADD CONSTRAINT appointments_parent_no_overlap EXCLUDE USING gist (
+        parent_id WITH =,
+        tsrange(appointment_date,
+                appointment_date + COALESCE(duration_minutes, 30) * INTERVAL '1 minute') WITH &&
+    ) WHERE (status IN ('SCHEDULED', 'RESCHEDULED'));
+
+-- Set by the reminder job so each appointment is reminded exactly once
+ALTER TABLE appointments ADD COLUMN reminder_sent_at TIMESTAMP;
+
+CREATE INDEX idx_appointments_reminder_due ON appointments(appointment_date)
+    WHERE reminder_sent_at IS NULL AND status IN ('SCHEDULED', 'RESCHEDULED');
+
+CREATE INDEX idx_timetable_slots_teacher ON timetable_slots(teacher_id, day_of_week);
+
+CREATE TRIGGER update_appointments_updated_at BEFORE UPDATE ON appointments
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -1,5 +1,9 @@
 -- School Management System Database Schema
 -- PostgreSQL 14+
+--
+-- Reference copy of the V1 baseline. The application applies the schema
+-- (and every later change) itself through Flyway: see db/migration and
+-- com.schoolsystem.migration. Add new changes as migrations, not here.
 
 -- Create database (run separately if needed)
 -- CREATE DATABASE school_management_db;